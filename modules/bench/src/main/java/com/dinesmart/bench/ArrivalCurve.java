@@ -0,0 +1,51 @@
+package com.dinesmart.bench;
+
+import java.time.Duration;
+
+/**
+ * How many parties walk in per minute at each point of a service, for {@link RushSimulator}.
+ * Demonstrates:
+ * - A functional interface with static factories and a `default` method that composes it.
+ */
+@FunctionalInterface
+public interface ArrivalCurve {
+
+    /**
+     * @param minutesSinceOpening The simulated time since the doors opened.
+     * @return The mean arrival rate at that time, in parties per minute; zero or less means nobody comes.
+     */
+    double partiesPerMinute(double minutesSinceOpening);
+
+    /**
+     * @param factor The load multiplier, e.g. 1.5 for a fully booked night with walk-ins on top.
+     * @return This curve with every rate multiplied by {@code factor}.
+     */
+    default ArrivalCurve scaledBy(double factor) {
+        return minutes -> factor * partiesPerMinute(minutes);
+    }
+
+    /**
+     * @param perMinute The arrival rate.
+     * @return A curve with the same rate all service long.
+     */
+    static ArrivalCurve constant(double perMinute) {
+        return minutes -> perMinute;
+    }
+
+    /**
+     * A dinner service: a bell-shaped curve peaking 40% into the service, e.g. at 19:30 for a
+     * 17:30-22:30 service, with a quarter of the peak rate at opening and a trickle near closing.
+     * @param service The length of the service.
+     * @param peakPerMinute The arrival rate at the peak.
+     * @return The curve.
+     */
+    static ArrivalCurve dinnerRush(Duration service, double peakPerMinute) {
+        double length = service.toMinutes();
+        double peakAt = 0.4 * length;
+        double width = 0.25 * length;
+        return minutes -> {
+            double z = (minutes - peakAt) / width;
+            return peakPerMinute * Math.exp(-0.5 * z * z);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.dinesmart.bench;
+
+import com.dinesmart.util.DateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DateUtil#formatDateTime(LocalDateTime, Locale, ZoneId)} for the supported locales.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DateUtilBenchmark {
+
+    @Param({"en", "fr"})
+    private String language;
+
+    private Locale locale;
+    private ZoneId zone;
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setUp() {
+        locale = Locale.forLanguageTag(language);
+        zone = ZoneId.of("Europe/Paris");
+        dateTime = LocalDateTime.of(2024, 6, 1, 19, 30, 15);
+    }
+
+    @Benchmark
+    public Optional<String> formatDateTime() {
+        return DateUtil.formatDateTime(dateTime, locale, zone);
+    }
+}
@@ -0,0 +1,110 @@
+package com.dinesmart.bench;
+
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.model.entities.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures entity construction and validation in the records' compact constructors.
+ * Demonstrates:
+ * - JMH `@State` objects holding inputs, so setup cost stays out of the measurement.
+ * - Returning results from `@Benchmark` methods to defeat dead-code elimination.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EntityBenchmark {
+
+    private List<Map<MenuItem, Integer>> baskets;
+    private List<Order> orders;
+    private MenuItem item;
+    private LocalDateTime now;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        baskets = Fixtures.baskets(Fixtures.menu(), 64);
+        now = LocalDateTime.of(2024, 6, 1, 19, 30);
+        orders = baskets.stream()
+            .map(basket -> new Order(1, 4, now, basket, OrderStatus.PENDING, OrderLines.copyOf(basket).total()))
+            .toList();
+        item = baskets.get(0).keySet().iterator().next();
+    }
+
+    // Cycles through the inputs so the JIT cannot specialise on a single basket
+    private int nextIndex() {
+        next = (next + 1) & 63;
+        return next;
+    }
+
+    /**
+     * Order construction from a mutable map, including the defensive copy into {@link OrderLines}.
+     */
+    @Benchmark
+    public Order constructOrder() {
+        Map<MenuItem, Integer> basket = baskets.get(nextIndex());
+        return new Order(7, 4, now, basket, OrderStatus.PENDING, Money.of(1L, Fixtures.EUR));
+    }
+
+    /**
+     * Re-creating an order from an existing one, where the copy is skipped.
+     */
+    @Benchmark
+    public Order copyOrder() {
+        Order order = orders.get(nextIndex());
+        return new Order(order.id(), order.tableId(), order.orderTime(), order.items(),
+                         OrderStatus.PREPARING, order.totalAmount());
+    }
+
+    /**
+     * A status flip through the wither, which also skips recomputing the total.
+     */
+    @Benchmark
+    public Order withStatus() {
+        return orders.get(nextIndex()).withStatus(OrderStatus.PREPARING);
+    }
+
+    /**
+     * Adding items through the wither: merged lines, shared menu items, incremental total.
+     */
+    @Benchmark
+    public Order withAddedItems() {
+        return orders.get(nextIndex()).withAddedItems(Map.of(item, 1));
+    }
+
+    @Benchmark
+    public Money calculateTotal() {
+        return orders.get(nextIndex()).calculateTotal();
+    }
+
+    @Benchmark
+    public MenuItem constructMenuItem() {
+        return new MenuItem(item.id(), item.name(), item.description(), item.price(), item.category(), true);
+    }
+
+    @Benchmark
+    public Table constructTable() {
+        return new Table(nextIndex(), 4, true, "ORD-42");
+    }
+}
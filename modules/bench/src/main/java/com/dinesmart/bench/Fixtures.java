@@ -0,0 +1,74 @@
+package com.dinesmart.bench;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.BeverageCategory;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.FoodCategory;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.service.impl.InMemoryMenuItemService;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared, deterministic test data for the benchmarks: a menu of realistic size and
+ * typical order baskets built from it.
+ */
+final class Fixtures {
+
+    static final Currency EUR = Currency.getInstance("EUR");
+    static final int MENU_SIZE = 200;
+
+    static final List<Category> CATEGORIES = List.of(
+        new FoodCategory(1, "Starters", true),
+        new FoodCategory(2, "Mains", false),
+        new FoodCategory(3, "Desserts", true),
+        new BeverageCategory(4, "Soft Drinks", false),
+        new BeverageCategory(5, "Wine", true)
+    );
+
+    private Fixtures() {
+        throw new AssertionError("Fixtures cannot be instantiated.");
+    }
+
+    /**
+     * @return A menu service holding {@link #MENU_SIZE} items spread over {@link #CATEGORIES}.
+     */
+    static InMemoryMenuItemService menu() {
+        InMemoryMenuItemService menu = new InMemoryMenuItemService();
+        try {
+            for (int i = 0; i < MENU_SIZE; i++) {
+                Category category = CATEGORIES.get(i % CATEGORIES.size());
+                menu.addMenuItem("Dish " + i, "Description of dish " + i,
+                                 Money.of(450 + (i * 37) % 2500, EUR), category, true);
+            }
+        } catch (DineSmartException e) {
+            throw new IllegalStateException("Could not build benchmark menu", e);
+        }
+        return menu;
+    }
+
+    /**
+     * Builds {@code count} baskets of 2-6 distinct items each, as a waiter would enter them.
+     * @param menu The menu to pick items from.
+     * @param count The number of baskets.
+     * @return Mutable `HashMap` baskets, so order construction pays for its defensive copy.
+     */
+    static List<Map<MenuItem, Integer>> baskets(InMemoryMenuItemService menu, int count) {
+        List<MenuItem> items = menu.getAllMenuItems();
+        List<Map<MenuItem, Integer>> baskets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<MenuItem, Integer> basket = new HashMap<>();
+            int lines = 2 + i % 5;
+            for (int j = 0; j < lines; j++) {
+                basket.put(items.get((i * 31 + j * 7) % items.size()), 1 + (i + j) % 3);
+            }
+            baskets.add(basket);
+        }
+        return baskets;
+    }
+}
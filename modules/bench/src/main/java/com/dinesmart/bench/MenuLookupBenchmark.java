@@ -0,0 +1,66 @@
+package com.dinesmart.bench;
+
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.service.MenuItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MenuItemService} lookups by id, name and category on a 200-item menu.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MenuLookupBenchmark {
+
+    private MenuItemService menu;
+    private int[] ids;
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        menu = Fixtures.menu();
+        List<MenuItem> items = menu.getAllMenuItems();
+        ids = items.stream().mapToInt(MenuItem::id).toArray();
+        // Waiters type names in any case and with stray spaces
+        names = items.stream().map(item -> " " + item.name().toUpperCase() + " ").toArray(String[]::new);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % ids.length;
+        return next;
+    }
+
+    @Benchmark
+    public Optional<MenuItem> byId() {
+        return menu.getMenuItemById(ids[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<MenuItem> byName() {
+        return menu.getMenuItemByName(names[nextIndex()]);
+    }
+
+    @Benchmark
+    public List<MenuItem> byCategory() {
+        Category category = Fixtures.CATEGORIES.get(nextIndex() % Fixtures.CATEGORIES.size());
+        return menu.getMenuItemsByCategory(category);
+    }
+}
@@ -0,0 +1,127 @@
+package com.dinesmart.bench;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.core.service.impl.ConcurrentOrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the order workflow (create, move through the kitchen, pay) on one shared
+ * {@link OrderService} under 1, 4 and 16 threads.
+ * Demonstrates:
+ * - `Scope.Benchmark` state shared by all benchmark threads vs. `Scope.Thread` state per thread.
+ * - `@Threads` to measure contention.
+ *
+ * Each operation deletes its order at the end so the service stays at a steady size
+ * instead of growing for the whole run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderWorkflowBenchmark {
+
+    private static final OrderStatus[] KITCHEN_FLOW = {
+        OrderStatus.PREPARING, OrderStatus.READY_FOR_SERVE, OrderStatus.SERVED, OrderStatus.PAID
+    };
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        OrderService orders;
+
+        @Setup
+        public void setUp() throws DineSmartException {
+            orders = new ConcurrentOrderService();
+            // Background of open orders, as during service, so index maintenance is realistic
+            List<Map<MenuItem, Integer>> baskets = Fixtures.baskets(Fixtures.menu(), 200);
+            for (int i = 0; i < baskets.size(); i++) {
+                orders.createOrder(1 + i % 40, baskets.get(i));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Waiter {
+        List<Map<MenuItem, Integer>> baskets;
+        int next;
+
+        @Setup
+        public void setUp() {
+            baskets = Fixtures.baskets(Fixtures.menu(), 64);
+        }
+
+        Map<MenuItem, Integer> nextBasket() {
+            next = (next + 1) & 63;
+            return baskets.get(next);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Order workflow1(Service service, Waiter waiter) throws DineSmartException {
+        return runWorkflow(service.orders, waiter);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Order workflow4(Service service, Waiter waiter) throws DineSmartException {
+        return runWorkflow(service.orders, waiter);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Order workflow16(Service service, Waiter waiter) throws DineSmartException {
+        return runWorkflow(service.orders, waiter);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Order create1(Service service, Waiter waiter) throws DineSmartException {
+        return createAndDelete(service.orders, waiter);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Order create4(Service service, Waiter waiter) throws DineSmartException {
+        return createAndDelete(service.orders, waiter);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Order create16(Service service, Waiter waiter) throws DineSmartException {
+        return createAndDelete(service.orders, waiter);
+    }
+
+    private static Order runWorkflow(OrderService orders, Waiter waiter) throws DineSmartException {
+        Order order = orders.createOrder(1 + waiter.next % 40, waiter.nextBasket());
+        for (OrderStatus status : KITCHEN_FLOW) {
+            orders.updateOrderStatus(order.id(), status);
+        }
+        orders.deleteOrder(order.id());
+        return order;
+    }
+
+    private static Order createAndDelete(OrderService orders, Waiter waiter) throws DineSmartException {
+        Order order = orders.createOrder(1 + waiter.next % 40, waiter.nextBasket());
+        orders.deleteOrder(order.id());
+        return order;
+    }
+}
@@ -0,0 +1,108 @@
+package com.dinesmart.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A `record` describing one simulated service for {@link RushSimulator}. All durations are simulated time.
+ *
+ * @param tables         The capacity of every table on the floor.
+ * @param service        How long the doors are open; parties already seated still finish afterwards.
+ * @param speedup        How many simulated seconds pass per real second, e.g. 60 for a minute per second.
+ * @param arrivals       The arrival rate over the service.
+ * @param maxSeatWait    How long a party waits for a table before walking away.
+ * @param kitchenSlots   How many dishes the kitchen prepares at once (cooks times the dishes each has going).
+ * @param barSlots       How many drinks the bar prepares at once; idle bar slots help the kitchen.
+ * @param terminals      The number of floor and kitchen screens polling the order service.
+ * @param refresh        How often each terminal refreshes.
+ * @param virtualThreads Whether actors run on virtual threads (when the runtime has them) or platform threads.
+ * @param jdbcUrl        An embedded database to write orders through, or null to stay in memory.
+ * @param seed           The seed of all random choices, so runs with the same configuration are comparable.
+ */
+public record RushConfig(
+    List<Integer> tables,
+    Duration service,
+    double speedup,
+    ArrivalCurve arrivals,
+    Duration maxSeatWait,
+    int kitchenSlots,
+    int barSlots,
+    int terminals,
+    Duration refresh,
+    boolean virtualThreads,
+    String jdbcUrl,
+    long seed
+) {
+    // Compact constructor for validation
+    public RushConfig {
+        if (tables == null || tables.isEmpty()) {
+            throw new IllegalArgumentException("The floor needs at least one table.");
+        }
+        tables = List.copyOf(tables);
+        for (int capacity : tables) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Table capacity must be positive.");
+            }
+        }
+        if (service == null || service.isNegative() || service.isZero()) {
+            throw new IllegalArgumentException("Service length must be positive.");
+        }
+        if (!(speedup > 0.0)) {
+            throw new IllegalArgumentException("Speedup must be positive.");
+        }
+        if (arrivals == null) {
+            throw new IllegalArgumentException("Arrival curve cannot be null.");
+        }
+        if (maxSeatWait == null || maxSeatWait.isNegative()) {
+            throw new IllegalArgumentException("Maximum seat wait cannot be null or negative.");
+        }
+        if (kitchenSlots <= 0 || barSlots < 0 || terminals < 0) {
+            throw new IllegalArgumentException("The kitchen needs a slot; slot and terminal counts cannot be negative.");
+        }
+        if (refresh == null || refresh.isNegative() || refresh.isZero()) {
+            throw new IllegalArgumentException("Terminal refresh interval must be positive.");
+        }
+    }
+
+    /**
+     * A typical evening for a restaurant of a given size: a five-hour service at 60x speed (five real
+     * minutes), a dinner-rush curve peaking at one party per minute per 200 seats (enough to fill the
+     * floor), a mix of two-, four- and six-seat tables, a kitchen slot per 3 seats, a bar slot and a
+     * screen per 30 seats.
+     * @param seats The number of seats, e.g. 300.
+     * @return The configuration, running in memory on virtual threads.
+     */
+    public static RushConfig forSeats(int seats) {
+        if (seats < 2) {
+            throw new IllegalArgumentException("A restaurant needs at least two seats.");
+        }
+        List<Integer> tables = new ArrayList<>();
+        int remaining = seats;
+        for (int i = 0; remaining > 0; i++) {
+            // Per 5 tables: 2 two-tops, 2 four-tops and a six-top (22% / 44% / 33% of the seats)
+            int capacity = Math.min(remaining, switch (i % 5) {
+                case 0, 2 -> 2;
+                case 1, 3 -> 4;
+                default -> 6;
+            });
+            tables.add(capacity);
+            remaining -= capacity;
+        }
+        Duration service = Duration.ofHours(5);
+        return new RushConfig(tables, service, 60.0, ArrivalCurve.dinnerRush(service, seats / 200.0),
+                              Duration.ofMinutes(20), Math.max(1, seats / 3), Math.max(1, seats / 30),
+                              Math.max(1, seats / 30), Duration.ofSeconds(15), true, null, 42L);
+    }
+
+    /**
+     * @return The total number of seats.
+     */
+    public int seats() {
+        int seats = 0;
+        for (int capacity : tables) {
+            seats += capacity;
+        }
+        return seats;
+    }
+}
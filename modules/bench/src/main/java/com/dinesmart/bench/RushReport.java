@@ -0,0 +1,160 @@
+package com.dinesmart.bench;
+
+import com.dinesmart.core.analytics.ItemSales;
+import com.dinesmart.core.analytics.SalesFigures;
+import com.dinesmart.core.analytics.SalesReport;
+import com.dinesmart.core.service.metrics.LatencyHistogram;
+import com.dinesmart.core.service.metrics.MethodMetrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of one {@link RushSimulator} run.
+ *
+ * @param config          The simulated service.
+ * @param elapsed         The real time the run took.
+ * @param virtualThreads  Whether the actors actually ran on virtual threads.
+ * @param arrived         The parties that walked in.
+ * @param seated          The parties that got a table.
+ * @param walkedAway      The parties that gave up waiting for a table.
+ * @param paid            The parties that ate and paid.
+ * @param cancelled       The orders cancelled, by guests or because the kitchen never finished them.
+ * @param failed          The parties whose visit ended with an unexpected exception.
+ * @param peakParties     The largest number of parties in the restaurant at once, waiting or seated.
+ * @param peakOpenOrders  The largest number of orders being worked on at once.
+ * @param seatWait        How long seated parties waited for a table, in simulated seconds.
+ * @param ticketTime      How long the kitchen took from firing an order to ready, in simulated seconds.
+ * @param methods         Latency and errors of every service method called.
+ * @param lockSamples     Thread samples that found a thread waiting to acquire a lock, by code location.
+ * @param threadSamples   The total number of thread samples taken.
+ * @param stolenTasks     Kitchen tasks done by another station than the one they were routed to.
+ * @param commitBatches   Group commits made, or zero when running in memory.
+ * @param sales           The paid orders as seen by {@code SalesAnalytics}.
+ */
+public record RushReport(
+    RushConfig config,
+    Duration elapsed,
+    boolean virtualThreads,
+    long arrived,
+    long seated,
+    long walkedAway,
+    long paid,
+    long cancelled,
+    long failed,
+    int peakParties,
+    int peakOpenOrders,
+    LatencyHistogram.Snapshot seatWait,
+    LatencyHistogram.Snapshot ticketTime,
+    List<MethodMetrics> methods,
+    Map<String, Long> lockSamples,
+    long threadSamples,
+    long stolenTasks,
+    long commitBatches,
+    SalesReport sales
+) {
+
+    /**
+     * @return All calls made to the services.
+     */
+    public long calls() {
+        long calls = 0;
+        for (MethodMetrics method : methods) {
+            calls += method.getCalls();
+        }
+        return calls;
+    }
+
+    /**
+     * @return All calls that threw a {@code DineSmartException}.
+     */
+    public long errors() {
+        long errors = 0;
+        for (MethodMetrics method : methods) {
+            errors += method.getErrors();
+        }
+        return errors;
+    }
+
+    /**
+     * @return The report as plain text, one section per concern.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        out.append(String.format("DineSmart rush: %d seats at %d tables, %s service at %.0fx, %s, %s threads%n",
+                                 config.seats(), config.tables().size(), config.service(), config.speedup(),
+                                 config.jdbcUrl() == null ? "in memory" : config.jdbcUrl(),
+                                 virtualThreads ? "virtual" : "platform"));
+        out.append(String.format("Ran for %.1f s%n%n", seconds));
+
+        out.append("Guests\n");
+        out.append(String.format("  arrived %d, seated %d, walked away %d, paid %d, cancelled %d, failed %d%n",
+                                 arrived, seated, walkedAway, paid, cancelled, failed));
+        out.append(String.format("  peak parties in house %d, peak open orders %d%n", peakParties, peakOpenOrders));
+        out.append("  seat wait   ").append(minutes(seatWait)).append('\n');
+        out.append("  ticket time ").append(minutes(ticketTime)).append('\n');
+        out.append(String.format("  kitchen tasks stolen %d%s%n%n", stolenTasks,
+                                 config.jdbcUrl() == null ? "" : ", group commits " + commitBatches));
+
+        SalesFigures total = sales.total();
+        out.append("Sales\n");
+        out.append(String.format("  revenue %s, %d tickets, average ticket %s, %d items sold%n",
+                                 total.revenue(), total.tickets(), total.averageTicket(), total.itemsSold()));
+        out.append("  best sellers");
+        String separator = " ";
+        for (ItemSales item : sales.itemMix().subList(0, Math.min(5, sales.itemMix().size()))) {
+            out.append(separator).append(item.name()).append(" x").append(item.quantity());
+            separator = ", ";
+        }
+        out.append("\n\n");
+
+        out.append("Throughput and latency\n");
+        out.append(String.format("  %,d calls, %.0f calls/s, %,d errors (%.3f%%)%n",
+                                 calls(), calls() / seconds, errors(), percent(errors(), calls())));
+        out.append(String.format("  %-38s %9s %9s %9s %9s %9s %7s%n",
+                                 "method", "calls/s", "p50 us", "p99 us", "p999 us", "max us", "errors"));
+        for (MethodMetrics method : methods) {
+            if (method.getCalls() == 0) {
+                continue;
+            }
+            LatencyHistogram.Snapshot latency = method.latency().snapshot();
+            out.append(String.format("  %-38s %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n",
+                                     method.service() + "." + method.method(), method.getCalls() / seconds,
+                                     latency.p50() / 1e3, latency.p99() / 1e3, latency.p999() / 1e3,
+                                     latency.max() / 1e3, method.getErrors()));
+            if (method.getErrors() > 0) {
+                out.append("      ").append(method.getErrorsByCause()).append('\n');
+            }
+        }
+
+        out.append("\nLock contention");
+        out.append(virtualThreads ? " (platform threads only; rerun with --platform-threads to include actors)\n" : "\n");
+        long contended = 0;
+        for (long count : lockSamples.values()) {
+            contended += count;
+        }
+        out.append(String.format("  %,d of %,d thread samples waiting for a lock (%.2f%%)%n",
+                                 contended, threadSamples, percent(contended, threadSamples)));
+        lockSamples.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(10)
+            .forEach(e -> out.append(String.format("  %8d  %s%n", e.getValue(), e.getKey())));
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    private static String minutes(LatencyHistogram.Snapshot seconds) {
+        return String.format("n=%d mean=%.1f min p50=%.1f min p99=%.1f min max=%.1f min", seconds.count(),
+                             seconds.mean() / 60, seconds.p50() / 60.0, seconds.p99() / 60.0, seconds.max() / 60.0);
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : 100.0 * part / whole;
+    }
+}
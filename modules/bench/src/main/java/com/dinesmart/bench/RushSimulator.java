@@ -0,0 +1,650 @@
+package com.dinesmart.bench;
+
+import com.dinesmart.core.analytics.SalesAnalytics;
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.kitchen.KitchenScheduler;
+import com.dinesmart.core.kitchen.PrepTask;
+import com.dinesmart.core.kitchen.Station;
+import com.dinesmart.core.kitchen.StationRouter;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.model.entities.Table;
+import com.dinesmart.core.service.MenuItemService;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.core.service.impl.ConcurrentOrderService;
+import com.dinesmart.core.service.impl.GroupCommitOrderService;
+import com.dinesmart.core.service.impl.InMemoryTableService;
+import com.dinesmart.core.service.metrics.InstrumentedMenuItemService;
+import com.dinesmart.core.service.metrics.InstrumentedOrderService;
+import com.dinesmart.core.service.metrics.LatencyHistogram;
+import com.dinesmart.core.service.metrics.MethodMetrics;
+import com.dinesmart.core.service.metrics.ServiceMetrics;
+import com.dinesmart.data.dao.JdbcOrderCommitter;
+import com.dinesmart.data.dao.JdbcOrderDAO;
+import com.dinesmart.data.database.ConnectionPool;
+import com.dinesmart.data.database.PoolConfig;
+import com.dinesmart.data.database.Schema;
+import com.dinesmart.util.VirtualThreads;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plays a whole dinner service against the order, menu and table services and reports throughput,
+ * tail latency, lock contention and error rates. Unlike the JMH benchmarks, which measure one call
+ * in a tight loop, it answers "does the server keep up with a full restaurant on a Saturday night?".
+ * Demonstrates:
+ * - One thread per actor: every party, kitchen slot and terminal is a plain blocking loop on its own
+ *   (virtual, when available) thread, instead of a hand-written event loop.
+ * - A non-homogeneous Poisson process, generated by thinning, for realistic arrivals.
+ * - `ThreadMXBean` sampling to find where threads wait for locks.
+ * - The decorators of {@code core.service.metrics} to measure every service call.
+ *
+ * Each party waits for the best free table (or walks away), browses the menu, orders, fires the
+ * order to the kitchen, sometimes orders another round of drinks or cancels, waits for the food,
+ * eats, pays and leaves. The {@link KitchenScheduler} routes the dishes to kitchen and bar slots,
+ * which move finished orders to {@code READY_FOR_SERVE}. Time is compressed by {@link RushConfig#speedup()}.
+ *
+ * With a JDBC URL, order writes go through {@link GroupCommitOrderService} and {@link JdbcOrderCommitter}
+ * into that database (its driver must be on the class path), so call latencies include the commit.
+ * The menu and tables stay in memory, as in the application.
+ * <pre>
+ * java -cp "out/bench:out/data:out/core:out/util:lib/*" com.dinesmart.bench.RushSimulator \
+ *     --seats 300 --load 1.5 --speedup 120 --jdbc "jdbc:h2:mem:rush;DB_CLOSE_DELAY=-1"
+ * </pre>
+ */
+public final class RushSimulator {
+
+    private static final Logger LOGGER = Logger.getLogger(RushSimulator.class.getName());
+
+    private static final int[] PARTY_SIZES = {1, 2, 2, 2, 2, 2, 3, 3, 4, 4, 4, 5, 6};
+    private static final Duration SEAT_RETRY = Duration.ofMinutes(1);
+    private static final Duration BROWSE = Duration.ofMinutes(8);
+    private static final Duration SECOND_ROUND = Duration.ofMinutes(6);
+    private static final Duration CHANGE_OF_MIND = Duration.ofMinutes(3);
+    private static final Duration KITCHEN_TIMEOUT = Duration.ofMinutes(90);
+    private static final Duration MIN_MEAL = Duration.ofMinutes(35);
+    private static final int MEAL_SPREAD_MINUTES = 30;
+    private static final int CANCEL_PERCENT = 2;
+    private static final int SECOND_ROUND_PERCENT = 30;
+    private static final long STAFF_POLL_MILLIS = 100;
+    private static final long SAMPLE_MILLIS = 20;
+    private static final int SAMPLE_DEPTH = 24;
+
+    private static final Category STARTERS = Fixtures.CATEGORIES.get(0);
+    private static final Category MAINS = Fixtures.CATEGORIES.get(1);
+    private static final Category DESSERTS = Fixtures.CATEGORIES.get(2);
+    private static final Category SOFT_DRINKS = Fixtures.CATEGORIES.get(3);
+    private static final Category WINE = Fixtures.CATEGORIES.get(4);
+
+    private final RushConfig config;
+    private final ServiceMetrics metrics = new ServiceMetrics(null);
+    private final MethodMetrics seatParty = metrics.forMethod("TableService", "seatParty");
+    private final MethodMetrics releaseTable = metrics.forMethod("TableService", "releaseTable");
+    private final MethodMetrics getFreeTables = metrics.forMethod("TableService", "getFreeTables");
+    private final Map<Integer, CountDownLatch> ready = new ConcurrentHashMap<>(); // Order id -> signalled when ready
+    private final LatencyHistogram seatWait = new LatencyHistogram();
+    private final LatencyHistogram ticketTime = new LatencyHistogram();
+    private final LongAdder arrived = new LongAdder();
+    private final LongAdder seated = new LongAdder();
+    private final LongAdder walkedAway = new LongAdder();
+    private final LongAdder paid = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger inHouse = new AtomicInteger();
+    private final AtomicInteger peakInHouse = new AtomicInteger();
+    private final AtomicInteger openOrders = new AtomicInteger();
+    private final AtomicInteger peakOpenOrders = new AtomicInteger();
+    private final Map<String, Long> lockSamples = new TreeMap<>(); // Written by the sampler only
+    private long threadSamples;                                    // Written by the sampler only
+
+    private OrderService orders;
+    private MenuItemService menu;
+    private InMemoryTableService tables;
+    private KitchenScheduler kitchen;
+    private volatile boolean closing;
+
+    /**
+     * @param config The service to simulate.
+     */
+    public RushSimulator(RushConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("Config cannot be null.");
+        }
+        this.config = config;
+    }
+
+    /**
+     * Runs the simulation and prints the report. Options (all optional): {@code --seats N} (default 300),
+     * {@code --hours H}, {@code --speedup X}, {@code --load F} (multiplies the arrival rate),
+     * {@code --jdbc URL}, {@code --platform-threads} and {@code --seed S}.
+     * @param args The command line.
+     * @throws Exception if the simulation cannot be set up or is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        RushConfig config = parse(args);
+        System.out.println(new RushSimulator(config).run().format());
+    }
+
+    /**
+     * Runs the simulation: opens the doors for {@link RushConfig#service()}, then waits for the
+     * parties still inside to finish. Can only be called once.
+     * @return The report.
+     * @throws DineSmartException if the database cannot be set up.
+     * @throws InterruptedException if interrupted while the simulation runs.
+     */
+    public RushReport run() throws DineSmartException, InterruptedException {
+        if (orders != null) {
+            throw new IllegalStateException("A simulator runs once.");
+        }
+        ConcurrentOrderService inMemory = new ConcurrentOrderService();
+        ConnectionPool pool = null;
+        GroupCommitOrderService groupCommit = null;
+        OrderService backend = inMemory;
+        if (config.jdbcUrl() != null) {
+            pool = new ConnectionPool(PoolConfig.defaults(config.jdbcUrl(), null, null));
+            try {
+                pool.execute(db -> {
+                    Schema.createIfMissing(db);
+                    return null;
+                });
+            } catch (DineSmartException e) {
+                pool.close();
+                throw e;
+            }
+            groupCommit = new GroupCommitOrderService(inMemory, new JdbcOrderCommitter(pool, new JdbcOrderDAO(pool)));
+            backend = new CommittedOrderService(inMemory, groupCommit);
+        }
+        orders = new InstrumentedOrderService(backend, metrics);
+        menu = new InstrumentedMenuItemService(Fixtures.menu(), metrics);
+        tables = new InMemoryTableService();
+        for (int i = 0; i < config.tables().size(); i++) {
+            tables.addTable(i + 1, config.tables().get(i));
+        }
+        kitchen = new KitchenScheduler(orders, List.of(Station.of("kitchen"), new Station("bar", Set.of("kitchen"))),
+                                       StationRouter.byKind("kitchen", "bar"));
+        inMemory.addVetoingListener(kitchen.readinessGuard());
+        inMemory.addOrderChangeListener(tables);
+        inMemory.addOrderChangeListener(kitchen);
+        SalesAnalytics sales = new SalesAnalytics(Fixtures.EUR);
+        inMemory.addOrderChangeListener(sales);
+        inMemory.addOrderChangeListener(new OrderChangeListener() {
+            @Override
+            public void statusChanged(Order before, Order after) {
+                CountDownLatch latch = after.status() == OrderStatus.READY_FOR_SERVE ? ready.get(after.id()) : null;
+                if (latch != null) {
+                    latch.countDown();
+                }
+            }
+        });
+
+        boolean virtual = config.virtualThreads() && VirtualThreads.isSupported();
+        ExecutorService parties = actors("dinesmart-rush-party");
+        ExecutorService staff = actors("dinesmart-rush-staff");
+        Thread sampler = new Thread(this::sampleLocks, "dinesmart-rush-sampler");
+        sampler.setDaemon(true);
+        LocalDateTime opened = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        long start = System.nanoTime();
+        try {
+            sampler.start();
+            for (int i = 0; i < config.kitchenSlots(); i++) {
+                staff.execute(() -> prepare("kitchen"));
+            }
+            for (int i = 0; i < config.barSlots(); i++) {
+                staff.execute(() -> prepare("bar"));
+            }
+            SplittableRandom random = new SplittableRandom(config.seed());
+            for (int i = 0; i < config.terminals(); i++) {
+                SplittableRandom terminalRandom = random.split();
+                staff.execute(() -> refresh(terminalRandom));
+            }
+            openDoors(parties, random);
+            parties.shutdown();
+            parties.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            closing = true;
+            parties.shutdownNow();
+            staff.shutdownNow();
+            staff.awaitTermination(1, TimeUnit.MINUTES);
+            sampler.interrupt();
+            sampler.join();
+            if (groupCommit != null) {
+                groupCommit.close();
+            }
+            if (pool != null) {
+                pool.close();
+            }
+            metrics.close();
+        }
+        return new RushReport(config, Duration.ofNanos(System.nanoTime() - start), virtual,
+                              arrived.sum(), seated.sum(), walkedAway.sum(), paid.sum(), cancelled.sum(), failed.sum(),
+                              peakInHouse.get(), peakOpenOrders.get(), seatWait.snapshot(), ticketTime.snapshot(),
+                              metrics.all(), lockSamples, threadSamples, kitchen.stolenTaskCount(),
+                              groupCommit == null ? 0L : groupCommit.batchCount(),
+                              // Orders carry real time stamps, so whole hours around the run cover them all
+                              sales.report(opened, LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1)));
+    }
+
+    // ---- Actors --------------------------------------------------------------------------------
+
+    // Generates arrivals until closing time by thinning: candidates come at the curve's peak rate and
+    // each is kept with probability rate(t) / peak.
+    private void openDoors(ExecutorService parties, SplittableRandom random) throws InterruptedException {
+        double serviceMinutes = config.service().toSeconds() / 60.0;
+        double peak = 0.0;
+        for (double minute = 0.0; minute <= serviceMinutes; minute += 0.5) {
+            peak = Math.max(peak, config.arrivals().partiesPerMinute(minute));
+        }
+        if (!(peak > 0.0)) {
+            return;
+        }
+        long opened = System.nanoTime();
+        double minute = 0.0;
+        int number = 0;
+        while (true) {
+            minute += -Math.log(1.0 - random.nextDouble()) / peak;
+            if (minute >= serviceMinutes) {
+                return;
+            }
+            if (random.nextDouble() * peak >= config.arrivals().partiesPerMinute(minute)) {
+                continue;
+            }
+            long wait = opened + realNanos(minute * 60e9) - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            int party = ++number;
+            SplittableRandom partyRandom = random.split();
+            arrived.increment();
+            parties.execute(() -> visit(party, partyRandom));
+        }
+    }
+
+    private void visit(int party, SplittableRandom random) {
+        raisePeak(peakInHouse, inHouse.incrementAndGet());
+        try {
+            int size = PARTY_SIZES[random.nextInt(PARTY_SIZES.length)];
+            long arrivedAt = System.nanoTime();
+            Optional<Table> table = waitForTable(size, "party-" + party, arrivedAt);
+            if (table.isEmpty()) {
+                walkedAway.increment();
+                return;
+            }
+            seated.increment();
+            seatWait.record(simulatedSeconds(System.nanoTime() - arrivedAt));
+            Order order;
+            try {
+                pause(BROWSE);
+                order = orders.createOrder(table.get().id(), basket(size, random));
+            } catch (InterruptedException | DineSmartException | RuntimeException e) {
+                release(table.get().id()); // No order, so nothing else will free the table
+                throw e;
+            }
+            // From here the table service frees the table when the order is paid, cancelled or deleted
+            raisePeak(peakOpenOrders, openOrders.incrementAndGet());
+            boolean done = false;
+            try {
+                dine(order, random);
+                done = true;
+            } finally {
+                openOrders.decrementAndGet();
+                ready.remove(order.id());
+                if (!done) {
+                    abandon(order); // The failure itself is counted below
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Shutting down
+        } catch (DineSmartException | RuntimeException e) {
+            failed.increment();
+            LOGGER.log(Level.FINE, "Party " + party + " failed", e);
+        } finally {
+            inHouse.decrementAndGet();
+        }
+    }
+
+    private Optional<Table> waitForTable(int size, String ref, long arrivedAt) throws DineSmartException,
+                                                                                    InterruptedException {
+        long giveUp = arrivedAt + realNanos(config.maxSeatWait().toNanos());
+        while (true) {
+            long start = System.nanoTime();
+            Optional<Table> table;
+            try {
+                table = tables.seatParty(size, ref);
+            } catch (DineSmartException e) {
+                seatParty.recordError(e);
+                throw e;
+            } finally {
+                seatParty.record(System.nanoTime() - start);
+            }
+            if (table.isPresent() || System.nanoTime() - giveUp >= 0) {
+                return table;
+            }
+            pause(SEAT_RETRY);
+        }
+    }
+
+    private void dine(Order order, SplittableRandom random) throws DineSmartException, InterruptedException {
+        CountDownLatch isReady = new CountDownLatch(1);
+        ready.put(order.id(), isReady);
+        long fired = System.nanoTime();
+        orders.updateOrderStatus(order.id(), OrderStatus.PREPARING);
+        if (random.nextInt(100) < CANCEL_PERCENT) {
+            pause(CHANGE_OF_MIND);
+            cancel(order);
+            return;
+        }
+        if (random.nextInt(100) < SECOND_ROUND_PERCENT) {
+            pause(SECOND_ROUND);
+            if (isReady.getCount() > 0) {
+                orders.addItemsToOrder(order.id(), Map.of(pick(random.nextBoolean() ? WINE : SOFT_DRINKS, random), 2));
+            }
+        }
+        if (!isReady.await(realNanos(KITCHEN_TIMEOUT.toNanos()), TimeUnit.NANOSECONDS)) {
+            cancel(order); // The guests give up on the kitchen
+            return;
+        }
+        ticketTime.record(simulatedSeconds(System.nanoTime() - fired));
+        orders.updateOrderStatus(order.id(), OrderStatus.SERVED);
+        pause(MIN_MEAL.plusMinutes(random.nextInt(MEAL_SPREAD_MINUTES)));
+        orders.updateOrderStatus(order.id(), OrderStatus.PAID);
+        paid.increment();
+    }
+
+    // Closes the order of a party whose visit failed midway, so its table is not held forever:
+    // cancelled if still open, otherwise deleted, and as a last resort the table is released directly
+    private void abandon(Order order) {
+        try {
+            Optional<Order> current = orders.getOrderById(order.id());
+            if (current.isPresent() && !current.get().status().isTerminal()) {
+                orders.updateOrderStatus(order.id(), OrderStatus.CANCELLED);
+            }
+            return;
+        } catch (DineSmartException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Could not cancel abandoned order " + order.id(), e);
+        }
+        try {
+            if (!orders.deleteOrder(order.id())) {
+                release(order.tableId());
+            }
+        } catch (DineSmartException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not free table " + order.tableId() + " of abandoned order " + order.id(), e);
+        }
+    }
+
+    private void cancel(Order order) throws DineSmartException {
+        if (orders.updateOrderStatus(order.id(), OrderStatus.CANCELLED)) {
+            cancelled.increment();
+        }
+    }
+
+    private void release(int tableId) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            tables.releaseTable(tableId);
+        } catch (DineSmartException e) {
+            releaseTable.recordError(e);
+            throw e;
+        } finally {
+            releaseTable.record(System.nanoTime() - start);
+        }
+    }
+
+    // Every guest has a main and a drink; some also have a starter or a dessert
+    private Map<MenuItem, Integer> basket(int size, SplittableRandom random) {
+        menu.searchMenuItems("dish " + random.nextInt(20), null, true, 10); // Looking up a dish by name
+        Map<MenuItem, Integer> basket = new HashMap<>();
+        for (int guest = 0; guest < size; guest++) {
+            basket.merge(pick(MAINS, random), 1, Integer::sum);
+            basket.merge(pick(random.nextInt(3) == 0 ? WINE : SOFT_DRINKS, random), 1, Integer::sum);
+            if (random.nextInt(2) == 0) {
+                basket.merge(pick(STARTERS, random), 1, Integer::sum);
+            }
+            if (random.nextInt(5) < 2) {
+                basket.merge(pick(DESSERTS, random), 1, Integer::sum);
+            }
+        }
+        return basket;
+    }
+
+    private MenuItem pick(Category category, SplittableRandom random) {
+        List<MenuItem> items = menu.getMenuItemsByCategory(category);
+        return items.get(random.nextInt(items.size()));
+    }
+
+    // A kitchen or bar slot: prepares one dish at a time, most urgent first
+    private void prepare(String station) {
+        try {
+            while (!closing) {
+                Optional<PrepTask> task = kitchen.poll(station, Duration.ofMillis(STAFF_POLL_MILLIS));
+                if (task.isPresent()) {
+                    pause(task.get().prepTime());
+                    kitchen.complete(task.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Closing
+        }
+    }
+
+    // A floor or kitchen screen, refreshing its views like the order and table panels do
+    private void refresh(SplittableRandom random) {
+        try {
+            pause(Duration.ofMillis((long) (random.nextDouble() * config.refresh().toMillis())));
+            while (!closing) {
+                orders.getAllActiveOrders();
+                orders.getOrdersByStatus(OrderStatus.READY_FOR_SERVE);
+                long start = System.nanoTime();
+                tables.getFreeTables();
+                getFreeTables.record(System.nanoTime() - start);
+                pause(config.refresh());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Closing
+        }
+    }
+
+    // Counts, per code location, how often a DineSmart thread is found waiting to acquire a lock.
+    // Virtual threads are invisible to ThreadMXBean, so only platform threads are sampled.
+    private void sampleLocks() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long self = Thread.currentThread().getId();
+        try {
+            while (!closing) {
+                for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), SAMPLE_DEPTH)) {
+                    if (info == null || info.getThreadId() == self || !info.getThreadName().startsWith("dinesmart-")) {
+                        continue;
+                    }
+                    threadSamples++;
+                    if (waitsForLock(info)) {
+                        lockSamples.merge(siteOf(info), 1L, Long::sum);
+                    }
+                }
+                Thread.sleep(SAMPLE_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Closing
+        }
+    }
+
+    private static boolean waitsForLock(ThreadInfo info) {
+        return switch (info.getThreadState()) {
+            case BLOCKED -> true; // On a monitor
+            // Parked on a ReentrantLock or ReentrantReadWriteLock, not on a Condition or a queue
+            case WAITING, TIMED_WAITING -> info.getLockName() != null
+                                           && info.getLockName().startsWith("java.util.concurrent.locks.Reentrant");
+            default -> false;
+        };
+    }
+
+    private static String siteOf(ThreadInfo info) {
+        String lock = info.getLockName();
+        lock = lock.substring(lock.lastIndexOf('.') + 1, lock.indexOf('@') < 0 ? lock.length() : lock.indexOf('@'));
+        for (StackTraceElement frame : info.getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith("com.dinesmart.")) {
+                return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName() + " on " + lock;
+            }
+        }
+        return lock;
+    }
+
+    // ---- Helpers -------------------------------------------------------------------------------
+
+    private ExecutorService actors(String name) {
+        if (config.virtualThreads()) {
+            return VirtualThreads.newPerTaskExecutor(name);
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private void pause(Duration simulated) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(realNanos(simulated.toNanos()));
+    }
+
+    private long realNanos(double simulatedNanos) {
+        return (long) (simulatedNanos / config.speedup());
+    }
+
+    private long simulatedSeconds(long realNanos) {
+        return Math.round(realNanos * config.speedup() / 1e9);
+    }
+
+    private static void raisePeak(AtomicInteger peak, int value) {
+        peak.accumulateAndGet(value, Math::max);
+    }
+
+    private static RushConfig parse(String[] args) {
+        int seats = 300;
+        Double hours = null;
+        Double speedup = null;
+        double load = 1.0;
+        String jdbcUrl = null;
+        boolean virtualThreads = true;
+        Long seed = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seats" -> seats = Integer.parseInt(args[++i]);
+                case "--hours" -> hours = Double.parseDouble(args[++i]);
+                case "--speedup" -> speedup = Double.parseDouble(args[++i]);
+                case "--load" -> load = Double.parseDouble(args[++i]);
+                case "--jdbc" -> jdbcUrl = args[++i];
+                case "--platform-threads" -> virtualThreads = false;
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        RushConfig defaults = RushConfig.forSeats(seats);
+        Duration service = hours == null ? defaults.service() : Duration.ofMinutes(Math.round(hours * 60));
+        ArrivalCurve arrivals = hours == null ? defaults.arrivals()
+                                              : ArrivalCurve.dinnerRush(service, seats / 200.0);
+        return new RushConfig(defaults.tables(), service, speedup == null ? defaults.speedup() : speedup,
+                              arrivals.scaledBy(load), defaults.maxSeatWait(), defaults.kitchenSlots(),
+                              defaults.barSlots(), defaults.terminals(), defaults.refresh(), virtualThreads,
+                              jdbcUrl, seed == null ? defaults.seed() : seed);
+    }
+
+    // Blocking OrderService over a GroupCommitOrderService: writes return once committed, reads go to memory
+    private static final class CommittedOrderService implements OrderService {
+
+        private final OrderService reads;
+        private final GroupCommitOrderService writes;
+
+        CommittedOrderService(OrderService reads, GroupCommitOrderService writes) {
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        @Override
+        public Order createOrder(int tableId, Map<MenuItem, Integer> items) throws DineSmartException {
+            return await(writes.createOrder(tableId, items));
+        }
+
+        @Override
+        public Optional<Order> getOrderById(int orderId) {
+            return reads.getOrderById(orderId);
+        }
+
+        @Override
+        public boolean updateOrderStatus(int orderId, OrderStatus newStatus) throws DineSmartException {
+            return await(writes.updateOrderStatus(orderId, newStatus));
+        }
+
+        @Override
+        public boolean addItemsToOrder(int orderId, Map<MenuItem, Integer> itemsToAdd) throws DineSmartException {
+            return await(writes.addItemsToOrder(orderId, itemsToAdd));
+        }
+
+        @Override
+        public List<Order> getAllActiveOrders() {
+            return reads.getAllActiveOrders();
+        }
+
+        @Override
+        public List<Order> getOrdersByStatus(OrderStatus status) {
+            return reads.getOrdersByStatus(status);
+        }
+
+        @Override
+        public List<Order> getOrdersForTable(int tableId) {
+            return reads.getOrdersForTable(tableId);
+        }
+
+        @Override
+        public List<Order> getActiveOrders(int afterOrderId, int limit) {
+            return reads.getActiveOrders(afterOrderId, limit);
+        }
+
+        @Override
+        public boolean deleteOrder(int orderId) throws DineSmartException {
+            return await(writes.deleteOrder(orderId));
+        }
+
+        private static <T> T await(CompletableFuture<T> result) throws DineSmartException {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DineSmartException("Interrupted while waiting for a commit.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof DineSmartException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new DineSmartException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.dinesmart.core.analytics;
+
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.Money;
+
+/**
+ * Sales of all the items of one menu category.
+ *
+ * @param category The category.
+ * @param quantity The number of units sold.
+ * @param revenue  The line revenue (unit price times quantity).
+ */
+public record CategorySales(Category category, long quantity, Money revenue) {
+}
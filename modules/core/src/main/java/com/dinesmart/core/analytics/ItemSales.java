@@ -0,0 +1,14 @@
+package com.dinesmart.core.analytics;
+
+import com.dinesmart.core.model.entities.Money;
+
+/**
+ * One line of an item mix report: how much of a menu item was sold.
+ *
+ * @param menuItemId The menu item's id.
+ * @param name       The item's name as last sold.
+ * @param quantity   The number of units sold.
+ * @param revenue    The line revenue (unit price times quantity).
+ */
+public record ItemSales(int menuItemId, String name, long quantity, Money revenue) {
+}
@@ -0,0 +1,238 @@
+package com.dinesmart.core.analytics;
+
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.util.Validator;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Sales analytics over paid orders: revenue, tickets, covers, average ticket and item mix,
+ * per hour, day, table and menu category.
+ * Demonstrates:
+ * - Incrementally maintained rollups: each order is added to its hour's totals once, when it is paid,
+ *   so a report over whole hours merges at most one small rollup per hour instead of re-reading orders.
+ * - A columnar in-memory copy of the paid order lines, scanned with fork/join for ranges that do not
+ *   start and end on the hour.
+ * - `ConcurrentSkipListMap.subMap` to pick the rollups of a range.
+ *
+ * Register it with {@code ConcurrentOrderService.addOrderChangeListener(analytics)}: ordinary listeners
+ * hear of a change only once no vetoing listener (such as an {@code OrderJournal}) can abort it, so only
+ * payments that went through are counted. Orders from before
+ * the server started can be loaded with {@link #record(Order)}, e.g. through
+ * {@code OrderDAO.forEachBetween(from, to, analytics::record)}. Each order is counted once, however
+ * often it is recorded. Reports never block order entry: the listener only does a few array and map
+ * updates under a lock that reports hold for one hour's rollup at a time.
+ *
+ * All amounts must be in one currency; orders in another are logged and left out. The POS does not
+ * record party sizes, so covers come from a pluggable estimate (one per ticket by default).
+ * Hours and days are those of the order times as stored.
+ * <pre>
+ * orderService.addVetoingListener(journal);       // May veto
+ * orderService.addOrderChangeListener(analytics); // Only sees changes that went through
+ * </pre>
+ */
+public class SalesAnalytics implements OrderChangeListener {
+
+    private static final Logger LOGGER = Logger.getLogger(SalesAnalytics.class.getName());
+    private static final int SECONDS_PER_HOUR = 3600;
+
+    private final Currency currency;
+    private final ToIntFunction<Order> covers;
+    private final ForkJoinPool pool;
+    private final ConcurrentSkipListMap<Long, SalesTotals> hourly = new ConcurrentSkipListMap<>(); // Guarded per rollup
+    private final SalesColumns columns = new SalesColumns();                                        // Appends guarded by 'this'
+    private final Set<Integer> recorded = ConcurrentHashMap.newKeySet();
+    private final Map<Category, Integer> categoryCodes = new HashMap<>();                           // Guarded by 'this'
+    private volatile Category[] categories = new Category[0];                                       // Code -> category
+    private final Map<Integer, ItemName> itemNames = new ConcurrentHashMap<>();      // Name from the newest sale
+
+    /**
+     * Creates an engine that counts one cover per ticket and scans on the common fork-join pool.
+     * @param currency The currency of all orders.
+     */
+    public SalesAnalytics(Currency currency) {
+        this(currency, order -> 1, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an engine.
+     * @param currency The currency of all orders.
+     * @param covers Estimates the number of guests of an order, e.g. from the table's capacity.
+     * @param pool Runs ad-hoc scans; a pool smaller than the machine leaves cores free for order entry.
+     */
+    public SalesAnalytics(Currency currency, ToIntFunction<Order> covers, ForkJoinPool pool) {
+        if (Validator.isNull(currency) || Validator.isNull(covers) || Validator.isNull(pool)) {
+            throw new IllegalArgumentException("Currency, covers estimate and pool cannot be null.");
+        }
+        this.currency = currency;
+        this.covers = covers;
+        this.pool = pool;
+    }
+
+    /**
+     * Counts an order if it is paid and has not been counted before.
+     * @param order The order.
+     * @return true if the order was counted.
+     */
+    public boolean record(Order order) {
+        if (order.status() != OrderStatus.PAID) {
+            return false;
+        }
+        if (!currency.equals(order.totalAmount().currency())) {
+            LOGGER.warning("Order " + order.id() + " is in " + order.totalAmount().currency()
+                           + ", not " + currency + "; left out of the sales figures.");
+            return false;
+        }
+        if (!recorded.add(order.id())) {
+            return false;
+        }
+        long time = SalesTotals.epochSecond(order.orderTime());
+        long hour = SalesTotals.hourOf(time);
+        int guests = Math.max(0, covers.applyAsInt(order));
+        long total = order.totalAmount().minorUnits();
+        OrderLines lines = order.lines();
+
+        SalesTotals rollup = hourly.computeIfAbsent(hour, k -> new SalesTotals());
+        int[] codes = new int[lines.size()];
+        synchronized (this) {
+            for (int i = 0; i < lines.size(); i++) {
+                MenuItem item = lines.itemAt(i);
+                codes[i] = categoryCode(item.category());
+                columns.append(time, order.tableId(), codes[i], item.id(), lines.quantityAt(i),
+                               item.price().minorUnits() * lines.quantityAt(i),
+                               i == 0 ? total : 0, i == 0 ? guests : 0);
+            }
+        }
+        synchronized (rollup) {
+            rollup.addTicket(hour, order.tableId(), total, guests);
+            for (int i = 0; i < lines.size(); i++) {
+                MenuItem item = lines.itemAt(i);
+                rollup.addLine(hour, order.tableId(), codes[i], item.id(), lines.quantityAt(i),
+                               item.price().minorUnits() * lines.quantityAt(i));
+            }
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            // Backfilled orders may arrive after newer ones, so keep the name with the latest order time
+            ItemName name = new ItemName(lines.itemAt(i).name(), time);
+            itemNames.merge(lines.itemIdAt(i), name, (old, fresh) -> fresh.soldAt() >= old.soldAt() ? fresh : old);
+        }
+        return true;
+    }
+
+    @Override
+    public void statusChanged(Order before, Order after) {
+        record(after); // Never vetoes: a payment must not fail because of reporting
+    }
+
+    /**
+     * Reports on the paid orders placed in a range. Ranges that start and end on the hour are served
+     * from the hourly rollups; others are scanned.
+     * @param from The inclusive start.
+     * @param to The exclusive end.
+     * @return The report.
+     */
+    public SalesReport report(LocalDateTime from, LocalDateTime to) {
+        requireRange(from, to);
+        long start = SalesTotals.epochSecond(from);
+        long end = SalesTotals.epochSecond(to);
+        if (from.getNano() != 0 || to.getNano() != 0 || start % SECONDS_PER_HOUR != 0 || end % SECONDS_PER_HOUR != 0) {
+            return scan(from, to);
+        }
+        SalesTotals totals = new SalesTotals();
+        for (SalesTotals rollup : hourly.subMap(start / SECONDS_PER_HOUR, end / SECONDS_PER_HOUR).values()) {
+            synchronized (rollup) {
+                totals.merge(rollup);
+            }
+        }
+        return totals.toReport(from, to, currency, this::category, this::itemName, true);
+    }
+
+    /**
+     * Reports on the paid orders placed in a range by scanning all paid order lines in parallel,
+     * whatever the range. Order times are compared to the second.
+     * @param from The inclusive start.
+     * @param to The exclusive end.
+     * @return The report.
+     */
+    public SalesReport scan(LocalDateTime from, LocalDateTime to) {
+        requireRange(from, to);
+        long start = SalesTotals.epochSecond(from);
+        long end = SalesTotals.epochSecond(to);
+        SalesTotals totals = columns.scan(pool, start, end);
+        return totals.toReport(from, to, currency, this::category, this::itemName, false);
+    }
+
+    /**
+     * @return The number of paid orders counted.
+     */
+    public int recordedOrders() {
+        return recorded.size();
+    }
+
+    /**
+     * @return The order lines held for scans.
+     */
+    public long recordedLines() {
+        return columns.rows();
+    }
+
+    /**
+     * @return The hours that have rollups, as the start of each hour.
+     */
+    public List<LocalDateTime> rolledUpHours() {
+        List<LocalDateTime> hours = new ArrayList<>();
+        for (Long hour : hourly.keySet()) {
+            hours.add(LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC));
+        }
+        return hours;
+    }
+
+    // Must hold 'this'
+    private int categoryCode(Category category) {
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            code = categoryCodes.size();
+            categoryCodes.put(category, code);
+            Category[] grown = Arrays.copyOf(categories, code + 1);
+            grown[code] = category;
+            categories = grown;
+        }
+        return code;
+    }
+
+    private Category category(int code) {
+        return categories[code];
+    }
+
+    private String itemName(int menuItemId) {
+        ItemName name = itemNames.get(menuItemId);
+        return name == null ? "#" + menuItemId : name.name();
+    }
+
+    private record ItemName(String name, long soldAt) {
+    }
+
+    private static void requireRange(LocalDateTime from, LocalDateTime to) {
+        if (Validator.isNull(from) || Validator.isNull(to) || !from.isBefore(to)) {
+            throw new IllegalArgumentException("The range must be non-null and 'from' must be before 'to'.");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.dinesmart.core.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Package-private append-only columnar store of paid order lines, for ad-hoc range scans.
+ * Demonstrates:
+ * - A columnar layout: one primitive array per field, so a scan reads memory sequentially and
+ *   never touches `Order` or `MenuItem` objects.
+ * - Fixed-size chunks with min/max order times ("zone maps"), so a scan skips chunks outside its range.
+ * - `RecursiveTask` fork/join over the chunks.
+ * - Safe publication without locking readers: rows are written before the chunk's `volatile` size is raised,
+ *   and a full chunk is never written again.
+ *
+ * One row per order line; the first line of each order also carries the order's total and covers
+ * ({@code ticketRevenue != 0} marks it, as paid orders always have a positive total).
+ */
+final class SalesColumns {
+
+    static final int CHUNK_ROWS = 4096;
+    private static final int CHUNKS_PER_TASK = 4;
+
+    // One chunk of rows; only the appending thread writes, always above 'size'
+    static final class Chunk {
+        final long[] time = new long[CHUNK_ROWS];        // Order time, epoch seconds (UTC)
+        final int[] table = new int[CHUNK_ROWS];
+        final int[] category = new int[CHUNK_ROWS];      // Category code
+        final int[] item = new int[CHUNK_ROWS];          // Menu item id
+        final int[] quantity = new int[CHUNK_ROWS];
+        final long[] lineRevenue = new long[CHUNK_ROWS];
+        final long[] ticketRevenue = new long[CHUNK_ROWS];
+        final int[] covers = new int[CHUNK_ROWS];
+        volatile long minTime = Long.MAX_VALUE;
+        volatile long maxTime = Long.MIN_VALUE;
+        volatile int size;
+    }
+
+    private volatile Chunk[] chunks = {new Chunk()};
+
+    /**
+     * Appends one order line. Callers must serialize appends (the analytics engine holds its lock).
+     */
+    void append(long time, int tableId, int categoryCode, int menuItemId, int quantity,
+                long lineRevenue, long ticketRevenue, int covers) {
+        Chunk[] current = chunks;
+        Chunk chunk = current[current.length - 1];
+        if (chunk.size == CHUNK_ROWS) {
+            chunk = new Chunk();
+            Chunk[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = chunk;
+            chunks = grown;
+        }
+        int row = chunk.size;
+        chunk.time[row] = time;
+        chunk.table[row] = tableId;
+        chunk.category[row] = categoryCode;
+        chunk.item[row] = menuItemId;
+        chunk.quantity[row] = quantity;
+        chunk.lineRevenue[row] = lineRevenue;
+        chunk.ticketRevenue[row] = ticketRevenue;
+        chunk.covers[row] = covers;
+        // Widen the zone map before publishing the row, so no reader skips a chunk holding a visible row
+        if (time < chunk.minTime) {
+            chunk.minTime = time;
+        }
+        if (time > chunk.maxTime) {
+            chunk.maxTime = time;
+        }
+        chunk.size = row + 1;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    long rows() {
+        Chunk[] current = chunks;
+        return (long) (current.length - 1) * CHUNK_ROWS + current[current.length - 1].size;
+    }
+
+    /**
+     * Aggregates the rows with {@code from <= time < to}.
+     * @param pool Runs the scan tasks.
+     */
+    SalesTotals scan(ForkJoinPool pool, long from, long to) {
+        Chunk[] snapshot = chunks;
+        return pool.invoke(new ScanTask(snapshot, 0, snapshot.length, from, to));
+    }
+
+    private static final class ScanTask extends RecursiveTask<SalesTotals> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Chunk[] chunks;
+        private final int lo;
+        private final int hi;
+        private final long from;
+        private final long to;
+
+        ScanTask(Chunk[] chunks, int lo, int hi, long from, long to) {
+            this.chunks = chunks;
+            this.lo = lo;
+            this.hi = hi;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SalesTotals compute() {
+            if (hi - lo <= CHUNKS_PER_TASK) {
+                SalesTotals totals = new SalesTotals();
+                for (int i = lo; i < hi; i++) {
+                    scanChunk(chunks[i], totals);
+                }
+                return totals;
+            }
+            int mid = (lo + hi) >>> 1;
+            ScanTask left = new ScanTask(chunks, lo, mid, from, to);
+            left.fork();
+            SalesTotals right = new ScanTask(chunks, mid, hi, from, to).compute();
+            return left.join().merge(right);
+        }
+
+        private void scanChunk(Chunk chunk, SalesTotals totals) {
+            int size = chunk.size; // Read first: rows below it and the zone map covering them are visible
+            if (size == 0 || chunk.maxTime < from || chunk.minTime >= to) {
+                return;
+            }
+            long[] time = chunk.time;
+            for (int row = 0; row < size; row++) {
+                long t = time[row];
+                if (t < from || t >= to) {
+                    continue;
+                }
+                long hour = SalesTotals.hourOf(t);
+                int table = chunk.table[row];
+                if (chunk.ticketRevenue[row] != 0) {
+                    totals.addTicket(hour, table, chunk.ticketRevenue[row], chunk.covers[row]);
+                }
+                totals.addLine(hour, table, chunk.category[row], chunk.item[row], chunk.quantity[row],
+                               chunk.lineRevenue[row]);
+            }
+        }
+    }
+}
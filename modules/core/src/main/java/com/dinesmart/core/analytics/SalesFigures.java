@@ -0,0 +1,42 @@
+package com.dinesmart.core.analytics;
+
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.util.Validator;
+
+/**
+ * Headline sales figures for a period, a table or a whole report.
+ * Demonstrates:
+ * - Java 17 `record` with a compact constructor for validation.
+ *
+ * @param revenue   The sum of the paid orders' totals.
+ * @param tickets   The number of paid orders.
+ * @param covers    The number of guests served, as estimated by {@link SalesAnalytics}.
+ * @param itemsSold The number of menu items sold (sum of line quantities).
+ */
+public record SalesFigures(Money revenue, long tickets, long covers, long itemsSold) {
+
+    public SalesFigures {
+        if (Validator.isNull(revenue)) {
+            throw new IllegalArgumentException("Revenue cannot be null.");
+        }
+        if (tickets < 0 || covers < 0 || itemsSold < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative.");
+        }
+    }
+
+    /**
+     * @return The revenue per ticket, rounded half up to the minor unit; zero if there are no tickets.
+     */
+    public Money averageTicket() {
+        if (tickets == 0) {
+            return Money.zero(revenue.currency());
+        }
+        long minor = revenue.minorUnits();
+        long average = minor / tickets;
+        long remainder = minor % tickets;
+        if (Math.abs(remainder) * 2 >= tickets) {
+            average += Long.signum(minor);
+        }
+        return Money.of(average, revenue.currency());
+    }
+}
@@ -0,0 +1,45 @@
+package com.dinesmart.core.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Sales over a range of order times, broken down by hour, day, table, category and menu item.
+ * Only paid orders are counted.
+ * Demonstrates:
+ * - A `record` with defensive, unmodifiable copies of its collection components.
+ *
+ * @param from         The inclusive start of the range.
+ * @param to           The exclusive end of the range.
+ * @param total        The figures for the whole range.
+ * @param byHour       Figures per hour that had sales, keyed by the start of the hour.
+ * @param byDay        Figures per day that had sales.
+ * @param byTable      Figures per table id.
+ * @param byCategory   Category sales, best-selling (by revenue) first.
+ * @param itemMix      Item sales, best-selling (by quantity) first.
+ * @param fromRollups  true if the report was assembled from the hourly rollups rather than by scanning orders.
+ */
+public record SalesReport(
+    LocalDateTime from,
+    LocalDateTime to,
+    SalesFigures total,
+    SortedMap<LocalDateTime, SalesFigures> byHour,
+    SortedMap<LocalDate, SalesFigures> byDay,
+    Map<Integer, SalesFigures> byTable,
+    List<CategorySales> byCategory,
+    List<ItemSales> itemMix,
+    boolean fromRollups
+) {
+    public SalesReport {
+        byHour = Collections.unmodifiableSortedMap(new TreeMap<>(byHour));
+        byDay = Collections.unmodifiableSortedMap(new TreeMap<>(byDay));
+        byTable = Map.copyOf(byTable);
+        byCategory = List.copyOf(byCategory);
+        itemMix = List.copyOf(itemMix);
+    }
+}
@@ -0,0 +1,139 @@
+package com.dinesmart.core.analytics;
+
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.Money;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Package-private mutable sales counters: an hourly rollup, or the partial result of one scan task.
+ * Demonstrates:
+ * - Counters kept in primitive `long[]` vectors, so adding an order line allocates nothing once a key exists.
+ * - Combining partial results with {@link #merge(SalesTotals)}, the "join" of fork/join.
+ *
+ * Not thread-safe. Amounts are in minor units of the analytics currency; hours are counted from
+ * the epoch, with order times taken as UTC.
+ */
+final class SalesTotals {
+
+    // Figure vectors: {revenue, tickets, covers, itemsSold}
+    private static final int REVENUE = 0;
+    private static final int TICKETS = 1;
+    private static final int COVERS = 2;
+    private static final int ITEMS = 3;
+    // Mix vectors: {quantity, lineRevenue}
+    private static final int QUANTITY = 0;
+    private static final int LINE_REVENUE = 1;
+
+    private final long[] total = new long[4];
+    private final Map<Long, long[]> byHour = new HashMap<>();
+    private final Map<Integer, long[]> byTable = new HashMap<>();
+    private final Map<Integer, long[]> byCategory = new HashMap<>(); // Category code -> mix
+    private final Map<Integer, long[]> byItem = new HashMap<>();     // Menu item id -> mix
+
+    static long hourOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, 3600L);
+    }
+
+    static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Counts one paid order, without its lines.
+     */
+    void addTicket(long hour, int tableId, long revenue, int covers) {
+        addFigures(total, revenue, 1, covers, 0);
+        addFigures(byHour.computeIfAbsent(hour, k -> new long[4]), revenue, 1, covers, 0);
+        addFigures(byTable.computeIfAbsent(tableId, k -> new long[4]), revenue, 1, covers, 0);
+    }
+
+    /**
+     * Counts one order line.
+     */
+    void addLine(long hour, int tableId, int categoryCode, int menuItemId, int quantity, long lineRevenue) {
+        total[ITEMS] += quantity;
+        byHour.computeIfAbsent(hour, k -> new long[4])[ITEMS] += quantity;
+        byTable.computeIfAbsent(tableId, k -> new long[4])[ITEMS] += quantity;
+        addMix(byCategory.computeIfAbsent(categoryCode, k -> new long[2]), quantity, lineRevenue);
+        addMix(byItem.computeIfAbsent(menuItemId, k -> new long[2]), quantity, lineRevenue);
+    }
+
+    /**
+     * Adds another set of totals to this one.
+     * @param other The totals to add; not modified.
+     * @return This, for chaining.
+     */
+    SalesTotals merge(SalesTotals other) {
+        addAll(total, other.total);
+        other.byHour.forEach((hour, v) -> addAll(byHour.computeIfAbsent(hour, k -> new long[4]), v));
+        other.byTable.forEach((table, v) -> addAll(byTable.computeIfAbsent(table, k -> new long[4]), v));
+        other.byCategory.forEach((code, v) -> addAll(byCategory.computeIfAbsent(code, k -> new long[2]), v));
+        other.byItem.forEach((item, v) -> addAll(byItem.computeIfAbsent(item, k -> new long[2]), v));
+        return this;
+    }
+
+    /**
+     * Builds the immutable report.
+     */
+    SalesReport toReport(LocalDateTime from, LocalDateTime to, Currency currency,
+                         IntFunction<Category> categories, IntFunction<String> itemNames, boolean fromRollups) {
+        TreeMap<LocalDateTime, SalesFigures> hours = new TreeMap<>();
+        TreeMap<LocalDate, long[]> days = new TreeMap<>();
+        byHour.forEach((hour, v) -> {
+            LocalDateTime start = LocalDateTime.ofEpochSecond(hour * 3600L, 0, ZoneOffset.UTC);
+            hours.put(start, figures(v, currency));
+            addAll(days.computeIfAbsent(start.toLocalDate(), k -> new long[4]), v);
+        });
+        TreeMap<LocalDate, SalesFigures> dayFigures = new TreeMap<>();
+        days.forEach((day, v) -> dayFigures.put(day, figures(v, currency)));
+
+        Map<Integer, SalesFigures> tables = new HashMap<>();
+        byTable.forEach((table, v) -> tables.put(table, figures(v, currency)));
+
+        List<CategorySales> categorySales = new ArrayList<>();
+        byCategory.forEach((code, v) -> categorySales.add(
+            new CategorySales(categories.apply(code), v[QUANTITY], Money.of(v[LINE_REVENUE], currency))));
+        categorySales.sort(Comparator.comparingLong((CategorySales c) -> c.revenue().minorUnits()).reversed());
+
+        List<ItemSales> items = new ArrayList<>();
+        byItem.forEach((id, v) -> items.add(
+            new ItemSales(id, itemNames.apply(id), v[QUANTITY], Money.of(v[LINE_REVENUE], currency))));
+        items.sort(Comparator.comparingLong(ItemSales::quantity).reversed().thenComparingInt(ItemSales::menuItemId));
+
+        return new SalesReport(from, to, figures(total, currency), hours, dayFigures, tables,
+                               categorySales, items, fromRollups);
+    }
+
+    private static SalesFigures figures(long[] v, Currency currency) {
+        return new SalesFigures(Money.of(v[REVENUE], currency), v[TICKETS], v[COVERS], v[ITEMS]);
+    }
+
+    private static void addFigures(long[] v, long revenue, int tickets, int covers, int items) {
+        v[REVENUE] += revenue;
+        v[TICKETS] += tickets;
+        v[COVERS] += covers;
+        v[ITEMS] += items;
+    }
+
+    private static void addMix(long[] v, int quantity, long lineRevenue) {
+        v[QUANTITY] += quantity;
+        v[LINE_REVENUE] += lineRevenue;
+    }
+
+    private static void addAll(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+}
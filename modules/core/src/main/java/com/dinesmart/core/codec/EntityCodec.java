@@ -0,0 +1,527 @@
+package com.dinesmart.core.codec;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.BeverageCategory;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.FoodCategory;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.model.entities.Role;
+import com.dinesmart.core.model.entities.Table;
+import com.dinesmart.core.model.entities.User;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact, versioned binary encoding of the core records, read and written directly on a `ByteBuffer`.
+ * A purpose-built replacement for Java serialization: no class descriptors, no reflection,
+ * and a value costs a few bytes plus its strings.
+ * Demonstrates:
+ * - Variable-length integers (LEB128) and zig-zag encoding for small numbers.
+ * - `instanceof` pattern matching over a `sealed interface`, writing each `Category` variant with its own tag.
+ * - Encoding ASCII strings without an intermediate `byte[]`, and decoding straight from a heap buffer's array.
+ *
+ * Every top-level value starts with {@code [byte type][byte version]}, so a reader can reject
+ * foreign data and keep reading values written by older versions. Nested values (the category of
+ * a menu item, the items of an order) are written without that header. Orders have a fixed-size
+ * header, which {@link OrderView} reads in place without decoding the order.
+ *
+ * Writes throw `BufferOverflowException` if the buffer is too small; use the {@code sizeOf}
+ * methods to size it. Reads start at the buffer's position and leave it after the value.
+ */
+public final class EntityCodec { // 'final' to prevent inheritance, utility class pattern
+
+    /** The current format version, written into every value. */
+    public static final byte VERSION = 1;
+
+    static final byte FOOD_CATEGORY = 1;
+    static final byte BEVERAGE_CATEGORY = 2;
+    static final byte MENU_ITEM = 3;
+    static final byte TABLE = 4;
+    static final byte USER = 5;
+    static final byte ORDER = 6;
+
+    static final int HEADER = 2;
+    // Fixed order header, after the type and version bytes:
+    // id, tableId, epochSecond, nano, status, totalMinorUnits, currency, lineCount
+    static final int ORDER_ID = HEADER;
+    static final int ORDER_TABLE_ID = ORDER_ID + 4;
+    static final int ORDER_EPOCH_SECOND = ORDER_TABLE_ID + 4;
+    static final int ORDER_NANO = ORDER_EPOCH_SECOND + 8;
+    static final int ORDER_STATUS = ORDER_NANO + 4;
+    static final int ORDER_TOTAL = ORDER_STATUS + 1;
+    static final int ORDER_CURRENCY = ORDER_TOTAL + 8;
+    static final int ORDER_LINE_COUNT = ORDER_CURRENCY + 3;
+    static final int ORDER_LINES = ORDER_LINE_COUNT + 4;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final Role[] ROLES = Role.values();
+
+    // Private constructor to prevent instantiation for a utility class
+    private EntityCodec() {
+        throw new AssertionError("EntityCodec cannot be instantiated.");
+    }
+
+    // ---- Sizes ---------------------------------------------------------------------------------
+
+    /**
+     * @param category A category.
+     * @return The number of bytes {@link #write(ByteBuffer, Category)} writes for it.
+     */
+    public static int sizeOf(Category category) {
+        return HEADER + categoryBodySize(category);
+    }
+
+    /**
+     * @param item A menu item.
+     * @return The number of bytes {@link #write(ByteBuffer, MenuItem)} writes for it.
+     */
+    public static int sizeOf(MenuItem item) {
+        return HEADER + menuItemBodySize(item);
+    }
+
+    /**
+     * @param table A table.
+     * @return The number of bytes {@link #write(ByteBuffer, Table)} writes for it.
+     */
+    public static int sizeOf(Table table) {
+        return HEADER + varIntSize(table.id()) + varIntSize(table.capacity()) + 1
+               + nullableStringSize(table.currentOrderRef());
+    }
+
+    /**
+     * @param user A user.
+     * @return The number of bytes {@link #write(ByteBuffer, User)} writes for it.
+     */
+    public static int sizeOf(User user) {
+        return HEADER + varIntSize(user.id()) + stringSize(user.username()) + stringSize(user.passwordHash()) + 1;
+    }
+
+    /**
+     * @param order An order.
+     * @return The number of bytes {@link #write(ByteBuffer, Order)} writes for it.
+     */
+    public static int sizeOf(Order order) {
+        OrderLines lines = order.lines();
+        int size = ORDER_LINES;
+        for (int i = 0; i < lines.size(); i++) {
+            size += varIntSize(lines.quantityAt(i)) + menuItemBodySize(lines.itemAt(i));
+        }
+        return size;
+    }
+
+    // ---- Writing -------------------------------------------------------------------------------
+
+    /**
+     * @param out The buffer to write to, at its position.
+     * @param category The category to write.
+     */
+    public static void write(ByteBuffer out, Category category) {
+        out.put(categoryTag(category)).put(VERSION);
+        writeCategoryBody(out, category);
+    }
+
+    /**
+     * @param out The buffer to write to, at its position.
+     * @param item The menu item to write.
+     */
+    public static void write(ByteBuffer out, MenuItem item) {
+        out.put(MENU_ITEM).put(VERSION);
+        writeMenuItemBody(out, item);
+    }
+
+    /**
+     * @param out The buffer to write to, at its position.
+     * @param table The table to write.
+     */
+    public static void write(ByteBuffer out, Table table) {
+        out.put(TABLE).put(VERSION);
+        putVarInt(out, table.id());
+        putVarInt(out, table.capacity());
+        out.put(table.occupied() ? (byte) 1 : 0);
+        putNullableString(out, table.currentOrderRef());
+    }
+
+    /**
+     * @param out The buffer to write to, at its position.
+     * @param user The user to write.
+     */
+    public static void write(ByteBuffer out, User user) {
+        out.put(USER).put(VERSION);
+        putVarInt(out, user.id());
+        putString(out, user.username());
+        putString(out, user.passwordHash());
+        out.put((byte) user.role().ordinal());
+    }
+
+    /**
+     * @param out The buffer to write to, at its position.
+     * @param order The order to write.
+     */
+    public static void write(ByteBuffer out, Order order) {
+        Money total = order.totalAmount();
+        OrderLines lines = order.lines();
+        out.put(ORDER).put(VERSION);
+        out.putInt(order.id()).putInt(order.tableId());
+        out.putLong(order.orderTime().toEpochSecond(ZoneOffset.UTC)).putInt(order.orderTime().getNano());
+        out.put((byte) order.status().ordinal());
+        out.putLong(total.minorUnits());
+        putCurrency(out, total.currency());
+        out.putInt(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            putVarInt(out, lines.quantityAt(i));
+            writeMenuItemBody(out, lines.itemAt(i));
+        }
+    }
+
+    // ---- Reading -------------------------------------------------------------------------------
+
+    /**
+     * @param in The buffer to read from, at its position.
+     * @return The category.
+     * @throws DineSmartException if the data is not a valid category.
+     */
+    public static Category readCategory(ByteBuffer in) throws DineSmartException {
+        try {
+            byte tag = in.get();
+            checkVersion(in.get());
+            return readCategoryBody(in, tag);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw malformed("category", e);
+        }
+    }
+
+    /**
+     * @param in The buffer to read from, at its position.
+     * @return The menu item.
+     * @throws DineSmartException if the data is not a valid menu item.
+     */
+    public static MenuItem readMenuItem(ByteBuffer in) throws DineSmartException {
+        try {
+            readHeader(in, MENU_ITEM, "a menu item");
+            return readMenuItemBody(in);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw malformed("menu item", e);
+        }
+    }
+
+    /**
+     * @param in The buffer to read from, at its position.
+     * @return The table.
+     * @throws DineSmartException if the data is not a valid table.
+     */
+    public static Table readTable(ByteBuffer in) throws DineSmartException {
+        try {
+            readHeader(in, TABLE, "a table");
+            int id = getVarInt(in);
+            int capacity = getVarInt(in);
+            boolean occupied = in.get() != 0;
+            return new Table(id, capacity, occupied, getNullableString(in));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw malformed("table", e);
+        }
+    }
+
+    /**
+     * @param in The buffer to read from, at its position.
+     * @return The user.
+     * @throws DineSmartException if the data is not a valid user.
+     */
+    public static User readUser(ByteBuffer in) throws DineSmartException {
+        try {
+            readHeader(in, USER, "a user");
+            int id = getVarInt(in);
+            String username = getString(in);
+            String passwordHash = getString(in);
+            return new User(id, username, passwordHash, role(in.get()));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw malformed("user", e);
+        }
+    }
+
+    /**
+     * @param in The buffer to read from, at its position.
+     * @return The order.
+     * @throws DineSmartException if the data is not a valid order.
+     */
+    public static Order readOrder(ByteBuffer in) throws DineSmartException {
+        try {
+            readHeader(in, ORDER, "an order");
+            int id = in.getInt();
+            int tableId = in.getInt();
+            LocalDateTime time = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+            OrderStatus status = status(in.get());
+            long totalMinorUnits = in.getLong();
+            Currency currency = getCurrency(in);
+            int lineCount = in.getInt();
+            if (lineCount < 0 || lineCount > in.remaining()) {
+                throw new IllegalArgumentException("Bad line count " + lineCount);
+            }
+            Map<MenuItem, Integer> items = new LinkedHashMap<>(lineCount * 2);
+            for (int i = 0; i < lineCount; i++) {
+                int quantity = getVarInt(in);
+                items.put(readMenuItemBody(in), quantity);
+            }
+            return new Order(id, tableId, time, items, status, Money.of(totalMinorUnits, currency));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw malformed("order", e);
+        }
+    }
+
+    // ---- Bodies --------------------------------------------------------------------------------
+
+    private static byte categoryTag(Category category) {
+        return category instanceof FoodCategory ? FOOD_CATEGORY : BEVERAGE_CATEGORY; // The interface is sealed
+    }
+
+    private static int categoryBodySize(Category category) {
+        int id = category instanceof FoodCategory food ? food.id() : ((BeverageCategory) category).id();
+        return varIntSize(id) + stringSize(category.name()) + 1;
+    }
+
+    // The category's type is its tag, written before the body (in the header at the top level)
+    private static void writeCategoryBody(ByteBuffer out, Category category) {
+        if (category instanceof FoodCategory food) {
+            putVarInt(out, food.id());
+            putString(out, food.name());
+            out.put(food.isVeganFriendly() ? (byte) 1 : 0);
+        } else if (category instanceof BeverageCategory beverage) {
+            putVarInt(out, beverage.id());
+            putString(out, beverage.name());
+            out.put(beverage.hasAlcohol() ? (byte) 1 : 0);
+        }
+    }
+
+    private static Category readCategoryBody(ByteBuffer in, byte tag) {
+        if (tag != FOOD_CATEGORY && tag != BEVERAGE_CATEGORY) {
+            throw new IllegalArgumentException("Unknown category type " + tag);
+        }
+        int id = getVarInt(in);
+        String name = getString(in);
+        boolean flag = in.get() != 0;
+        return tag == FOOD_CATEGORY ? new FoodCategory(id, name, flag) : new BeverageCategory(id, name, flag);
+    }
+
+    private static int menuItemBodySize(MenuItem item) {
+        return varIntSize(item.id()) + stringSize(item.name()) + nullableStringSize(item.description())
+               + varLongSize(zigZag(item.price().minorUnits())) + 3 + 1 + categoryBodySize(item.category()) + 1;
+    }
+
+    private static void writeMenuItemBody(ByteBuffer out, MenuItem item) {
+        putVarInt(out, item.id());
+        putString(out, item.name());
+        putNullableString(out, item.description());
+        putVarLong(out, zigZag(item.price().minorUnits()));
+        putCurrency(out, item.price().currency());
+        out.put(categoryTag(item.category()));
+        writeCategoryBody(out, item.category());
+        out.put(item.available() ? (byte) 1 : 0);
+    }
+
+    private static MenuItem readMenuItemBody(ByteBuffer in) {
+        int id = getVarInt(in);
+        String name = getString(in);
+        String description = getNullableString(in);
+        long priceMinorUnits = unZigZag(getVarLong(in));
+        Money price = Money.of(priceMinorUnits, getCurrency(in));
+        Category category = readCategoryBody(in, in.get());
+        return new MenuItem(id, name, description, price, category, in.get() != 0);
+    }
+
+    // ---- Primitives ----------------------------------------------------------------------------
+
+    private static void readHeader(ByteBuffer in, byte type, String what) {
+        byte tag = in.get();
+        if (tag != type) {
+            throw new IllegalArgumentException("Expected " + what + " but found type " + tag);
+        }
+        checkVersion(in.get());
+    }
+
+    static void checkVersion(byte version) {
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported format version " + version);
+        }
+    }
+
+    private static DineSmartException malformed(String what, RuntimeException cause) {
+        String reason = cause instanceof BufferUnderflowException ? "truncated" : cause.getMessage();
+        return new DineSmartException("Malformed " + what + " data: " + reason, cause);
+    }
+
+    static OrderStatus status(byte ordinal) {
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new IllegalArgumentException("Unknown order status " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+
+    private static Role role(byte ordinal) {
+        if (ordinal < 0 || ordinal >= ROLES.length) {
+            throw new IllegalArgumentException("Unknown role " + ordinal);
+        }
+        return ROLES[ordinal];
+    }
+
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Variable-length int is too long");
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Variable-length long is too long");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63); // Small negative numbers become small positive ones
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putCurrency(ByteBuffer out, Currency currency) {
+        String code = currency.getCurrencyCode();
+        out.put((byte) code.charAt(0)).put((byte) code.charAt(1)).put((byte) code.charAt(2));
+    }
+
+    static Currency getCurrency(ByteBuffer in) {
+        char[] code = {(char) in.get(), (char) in.get(), (char) in.get()};
+        return Currency.getInstance(new String(code)); // Currency caches its instances
+    }
+
+    private static int stringSize(String s) {
+        int bytes = utf8Length(s);
+        return varIntSize(bytes) + bytes;
+    }
+
+    // A null string is written as length 0, any other as its length + 1
+    private static int nullableStringSize(String s) {
+        if (s == null) {
+            return 1;
+        }
+        int bytes = utf8Length(s);
+        return varIntSize(bytes + 1) + bytes;
+    }
+
+    private static void putString(ByteBuffer out, String s) {
+        putVarInt(out, utf8Length(s));
+        putUtf8(out, s);
+    }
+
+    private static void putNullableString(ByteBuffer out, String s) {
+        if (s == null) {
+            out.put((byte) 0);
+            return;
+        }
+        putVarInt(out, utf8Length(s) + 1);
+        putUtf8(out, s);
+    }
+
+    private static String getString(ByteBuffer in) {
+        return getUtf8(in, getVarInt(in));
+    }
+
+    private static String getNullableString(ByteBuffer in) {
+        int length = getVarInt(in);
+        return length == 0 ? null : getUtf8(in, length - 1);
+    }
+
+    private static int utf8Length(String s) {
+        int length = s.length();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return s.getBytes(StandardCharsets.UTF_8).length; // Rare: names are mostly ASCII
+            }
+        }
+        return length;
+    }
+
+    private static void putUtf8(ByteBuffer out, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) {
+                out.put(s.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        for (int i = 0; i < s.length(); i++) {
+            out.put((byte) s.charAt(i));
+        }
+    }
+
+    private static String getUtf8(ByteBuffer in, int length) {
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String s;
+        if (in.hasArray()) {
+            s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return s;
+    }
+}
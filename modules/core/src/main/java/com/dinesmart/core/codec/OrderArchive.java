@@ -0,0 +1,44 @@
+package com.dinesmart.core.codec;
+
+import com.dinesmart.core.model.entities.Order;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes orders as a sequence of length-prefixed {@link EntityCodec} records, the layout that
+ * {@link OrderView} scans. An archive can be a heap buffer, a direct buffer or a memory-mapped file.
+ * Demonstrates:
+ * - Length-prefixed framing, so a reader can skip a record without decoding it.
+ *
+ * Layout: {@code [int length][order record]} repeated; the length excludes its own four bytes.
+ */
+public final class OrderArchive { // 'final' to prevent inheritance, utility class pattern
+
+    static final int FRAME_HEADER = 4;
+
+    // Private constructor to prevent instantiation for a utility class
+    private OrderArchive() {
+        throw new AssertionError("OrderArchive cannot be instantiated.");
+    }
+
+    /**
+     * @param order An order.
+     * @return The number of bytes {@link #append(ByteBuffer, Order)} writes for it.
+     */
+    public static int frameSize(Order order) {
+        return FRAME_HEADER + EntityCodec.sizeOf(order);
+    }
+
+    /**
+     * Appends an order at the buffer's position.
+     * @param out The archive.
+     * @param order The order to append.
+     * @throws java.nio.BufferOverflowException if it does not fit; see {@link #frameSize(Order)}.
+     */
+    public static void append(ByteBuffer out, Order order) {
+        int lengthAt = out.position();
+        out.position(lengthAt + FRAME_HEADER);
+        EntityCodec.write(out, order);
+        out.putInt(lengthAt, out.position() - lengthAt - FRAME_HEADER);
+    }
+}
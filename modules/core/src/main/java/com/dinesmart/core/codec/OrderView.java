@@ -0,0 +1,164 @@
+package com.dinesmart.core.codec;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+
+/**
+ * Cursor over an {@link OrderArchive} that reads the fields of each order in place.
+ * Demonstrates:
+ * - The flyweight pattern: one reusable view instead of one object per record.
+ * - Zero-copy access with absolute `ByteBuffer.getInt`/`getLong` at fixed offsets, leaving
+ *   the buffer's position untouched.
+ *
+ * Only {@link #toOrder()} decodes the order lines; scanning an archive for, say, the paid total
+ * of a day reads a few bytes per order and allocates nothing:
+ * <pre>
+ * OrderView view = new OrderView(archive);
+ * while (view.next()) {
+ *     if (view.status() == OrderStatus.PAID) {
+ *         total += view.totalMinorUnits();
+ *     }
+ * }
+ * </pre>
+ * A view is not thread-safe, but several views may read the same buffer concurrently.
+ */
+public final class OrderView {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int nextFrame;
+    private int offset = -1; // Start of the current record
+    private int length;
+
+    /**
+     * @param archive The archive, read from its position to its limit.
+     */
+    public OrderView(ByteBuffer archive) {
+        this.buffer = archive;
+        this.limit = archive.limit();
+        this.nextFrame = archive.position();
+    }
+
+    /**
+     * Moves to the next order.
+     * @return false at the end of the archive.
+     * @throws DineSmartException if the archive is truncated or corrupt.
+     */
+    public boolean next() throws DineSmartException {
+        if (nextFrame == limit) {
+            offset = -1;
+            return false;
+        }
+        if (limit - nextFrame < OrderArchive.FRAME_HEADER) {
+            throw new DineSmartException("Truncated order archive at byte " + nextFrame + ".");
+        }
+        int recordLength = buffer.getInt(nextFrame);
+        int start = nextFrame + OrderArchive.FRAME_HEADER;
+        if (recordLength < EntityCodec.ORDER_LINES || recordLength > limit - start) {
+            throw new DineSmartException("Corrupt order archive at byte " + nextFrame + ".");
+        }
+        try {
+            if (buffer.get(start) != EntityCodec.ORDER) {
+                throw new IllegalArgumentException("Not an order record");
+            }
+            EntityCodec.checkVersion(buffer.get(start + 1));
+            EntityCodec.status(buffer.get(start + EntityCodec.ORDER_STATUS));
+        } catch (IllegalArgumentException e) {
+            throw new DineSmartException("Corrupt order archive at byte " + nextFrame + ": " + e.getMessage(), e);
+        }
+        offset = start;
+        length = recordLength;
+        nextFrame = start + recordLength;
+        return true;
+    }
+
+    /**
+     * @return The order id.
+     */
+    public int id() {
+        return buffer.getInt(at(EntityCodec.ORDER_ID));
+    }
+
+    /**
+     * @return The table id.
+     */
+    public int tableId() {
+        return buffer.getInt(at(EntityCodec.ORDER_TABLE_ID));
+    }
+
+    /**
+     * @return The order time as seconds since the epoch, reading the local time as UTC.
+     *         Cheaper than {@link #orderTime()} for range checks.
+     */
+    public long orderEpochSecond() {
+        return buffer.getLong(at(EntityCodec.ORDER_EPOCH_SECOND));
+    }
+
+    /**
+     * @return The order time.
+     */
+    public LocalDateTime orderTime() {
+        return LocalDateTime.ofEpochSecond(orderEpochSecond(), buffer.getInt(at(EntityCodec.ORDER_NANO)), ZoneOffset.UTC);
+    }
+
+    /**
+     * @return The order status.
+     */
+    public OrderStatus status() {
+        return STATUSES[buffer.get(at(EntityCodec.ORDER_STATUS))];
+    }
+
+    /**
+     * @return The total in minor units of {@link #currency()}.
+     */
+    public long totalMinorUnits() {
+        return buffer.getLong(at(EntityCodec.ORDER_TOTAL));
+    }
+
+    /**
+     * @return The currency of the total.
+     */
+    public Currency currency() {
+        return EntityCodec.getCurrency(buffer.duplicate().position(at(EntityCodec.ORDER_CURRENCY)));
+    }
+
+    /**
+     * @return The total amount.
+     */
+    public Money totalAmount() {
+        return Money.of(totalMinorUnits(), currency());
+    }
+
+    /**
+     * @return The number of order lines.
+     */
+    public int lineCount() {
+        return buffer.getInt(at(EntityCodec.ORDER_LINE_COUNT));
+    }
+
+    /**
+     * Decodes the whole current order, including its lines.
+     * @return The order.
+     * @throws DineSmartException if the record is corrupt.
+     */
+    public Order toOrder() throws DineSmartException {
+        int start = at(0);
+        return EntityCodec.readOrder(buffer.duplicate().limit(start + length).position(start));
+    }
+
+    private int at(int field) {
+        if (offset < 0) {
+            throw new IllegalStateException("No current order; call next() first.");
+        }
+        return offset + field;
+    }
+}
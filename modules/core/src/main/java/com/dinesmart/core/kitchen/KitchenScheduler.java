@@ -0,0 +1,406 @@
+package com.dinesmart.core.kitchen;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.util.Validator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decides what each kitchen station prepares next. When an order moves to {@code PREPARING}, each
+ * of its lines becomes a {@link PrepTask} for the station its menu item is routed to; when the last
+ * task of an order is completed, the order is moved to {@code READY_FOR_SERVE}.
+ * Demonstrates:
+ * - One `PriorityQueue` per station, ordered by a composed `Comparator`.
+ * - Work stealing: a station with an empty queue takes the most urgent task of the busiest
+ *   station it {@linkplain Station#covers() covers}, instead of idling.
+ * - `ReentrantLock` with a `Condition` for blocking and timed takes.
+ * - Implementing {@link OrderChangeListener} to react to status changes.
+ *
+ * Priority: every line of an order should be ready at the same time, its order time plus its longest
+ * line's preparation time. Each task therefore has a "start by" time (that ready time minus its own
+ * preparation time), and stations work earliest start-by first; ties go to the longer task, then the
+ * lower table and order id. Long dishes of old orders come first and drinks are started last.
+ *
+ * Register the scheduler with {@code ConcurrentOrderService.addOrderChangeListener}, so it only
+ * queues work for changes that went through. Its own callbacks never throw. An order that leaves
+ * {@code PREPARING} any other way (served early, paid, cancelled) has its remaining tasks dropped.
+ * Items can be added while the last task is being completed; register {@link #readinessGuard()}
+ * with {@code addVetoingListener} so such an order is not marked ready until they are prepared too.
+ * <pre>
+ * orderService.addVetoingListener(kitchen.readinessGuard()); // Before a journal: it has no side effects
+ * orderService.addOrderChangeListener(kitchen);
+ * </pre>
+ */
+public class KitchenScheduler implements OrderChangeListener {
+
+    private static final Logger LOGGER = Logger.getLogger(KitchenScheduler.class.getName());
+
+    /** The order in which each station takes its tasks. */
+    public static final Comparator<PrepTask> PRIORITY = Comparator.comparing(PrepTask::startBy)
+        .thenComparing(PrepTask::prepTime, Comparator.reverseOrder())
+        .thenComparingInt(PrepTask::tableId)
+        .thenComparingInt(PrepTask::orderId);
+
+    private final OrderService orderService;
+    private final StationRouter router;
+    private final PrepTimeEstimator estimator;
+    private final Map<String, Station> stations = new LinkedHashMap<>();
+    private final Map<String, PriorityQueue<PrepTask>> queues = new HashMap<>();
+    private final Map<Integer, Integer> outstanding = new HashMap<>(); // Order id -> tasks queued or in progress
+    private final Set<Integer> advancing = new HashSet<>();            // Orders this scheduler is marking ready
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final LongAdder stolen = new LongAdder();
+    private final OrderChangeListener readinessGuard = new ReadinessGuard();
+
+    /**
+     * Creates a scheduler with the default preparation time estimates.
+     * @param orderService Used to move finished orders to {@code READY_FOR_SERVE}.
+     * @param stations The kitchen stations; the first one also takes lines routed to unknown stations.
+     * @param router Routes menu items to stations.
+     */
+    public KitchenScheduler(OrderService orderService, Collection<Station> stations, StationRouter router) {
+        this(orderService, stations, router, PrepTimeEstimator.defaults());
+    }
+
+    /**
+     * Creates a scheduler.
+     * @param orderService Used to move finished orders to {@code READY_FOR_SERVE}.
+     * @param stations The kitchen stations; the first one also takes lines routed to unknown stations.
+     * @param router Routes menu items to stations.
+     * @param estimator Estimates preparation times.
+     */
+    public KitchenScheduler(OrderService orderService, Collection<Station> stations, StationRouter router,
+                            PrepTimeEstimator estimator) {
+        if (Validator.isNull(orderService) || Validator.isNull(stations) || Validator.isNull(router)
+                || Validator.isNull(estimator)) {
+            throw new IllegalArgumentException("Order service, stations, router and estimator cannot be null.");
+        }
+        if (stations.isEmpty()) {
+            throw new IllegalArgumentException("The kitchen needs at least one station.");
+        }
+        for (Station station : stations) {
+            if (this.stations.putIfAbsent(station.name(), station) != null) {
+                throw new IllegalArgumentException("Duplicate station: " + station.name());
+            }
+            queues.put(station.name(), new PriorityQueue<>(PRIORITY));
+        }
+        this.orderService = orderService;
+        this.router = router;
+        this.estimator = estimator;
+    }
+
+    // ---- Order events --------------------------------------------------------------------------
+
+    @Override
+    public void statusChanged(Order before, Order after) {
+        if (after.status() == OrderStatus.PREPARING && before.status() != OrderStatus.PREPARING) {
+            schedule(after);
+        } else if (after.status() != OrderStatus.PREPARING) {
+            cancel(after.id()); // Out of the kitchen, whoever moved it: nothing left to cook
+        }
+    }
+
+    @Override
+    public void itemsAdded(Order before, Order after) {
+        if (after.status() != OrderStatus.PREPARING) {
+            return; // Still pending: the whole order is scheduled when it starts
+        }
+        OrderLines lines = after.lines();
+        int[] added = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            Integer previous = before.items().get(lines.itemAt(i));
+            added[i] = lines.quantityAt(i) - (previous == null ? 0 : previous);
+        }
+        enqueue(after, added);
+    }
+
+    @Override
+    public void orderDeleted(Order order) {
+        cancel(order.id());
+    }
+
+    /**
+     * A listener without side effects that vetoes this scheduler's own move of an order to
+     * {@code READY_FOR_SERVE} when items were added after its last task was completed. It runs under
+     * the order's lock, like {@link #itemsAdded(Order, Order)}, so the two cannot interleave; the
+     * order is marked ready once the added items are done. Other moves to ready are never vetoed.
+     * @return The guard, to register with {@code ConcurrentOrderService.addVetoingListener}.
+     */
+    public OrderChangeListener readinessGuard() {
+        return readinessGuard;
+    }
+
+    /**
+     * Queues every line of an order, e.g. for orders already in preparation when the scheduler starts.
+     * @param order The order.
+     */
+    public void schedule(Order order) {
+        OrderLines lines = order.lines();
+        int[] quantities = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            quantities[i] = lines.quantityAt(i);
+        }
+        enqueue(order, quantities);
+    }
+
+    // ---- Stations ------------------------------------------------------------------------------
+
+    /**
+     * Waits for the next task of a station: its own most urgent task or, if it has none, one stolen
+     * from the busiest station it covers. A stolen task keeps its original {@link PrepTask#station()}.
+     * @param station The station name.
+     * @return The task, now in progress.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public PrepTask take(String station) throws InterruptedException {
+        Station self = station(station);
+        lock.lock();
+        try {
+            PrepTask task;
+            while ((task = next(self)) == null) {
+                workAvailable.await();
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #take(String)}, but gives up after a timeout.
+     * @param station The station name.
+     * @param timeout How long to wait for a task.
+     * @return The task, or empty if none became available in time.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Optional<PrepTask> poll(String station, Duration timeout) throws InterruptedException {
+        Station self = station(station);
+        long nanos = timeout.toNanos();
+        lock.lock();
+        try {
+            PrepTask task;
+            while ((task = next(self)) == null) {
+                if (nanos <= 0) {
+                    return Optional.empty();
+                }
+                nanos = workAvailable.awaitNanos(nanos);
+            }
+            return Optional.of(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a task as done. Completing the last task of an order moves it to {@code READY_FOR_SERVE}.
+     * @param task A task returned by {@link #take(String)} or {@link #poll(String, Duration)}.
+     * @return true if this completed the order and it was moved to {@code READY_FOR_SERVE}.
+     */
+    public boolean complete(PrepTask task) {
+        boolean last;
+        lock.lock();
+        try {
+            Integer count = outstanding.get(task.orderId());
+            if (count == null) {
+                return false; // Cancelled or deleted meanwhile
+            }
+            last = count == 1;
+            if (last) {
+                outstanding.remove(task.orderId());
+            } else {
+                outstanding.put(task.orderId(), count - 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Outside our lock: the order service calls back into statusChanged with the order locked
+        return last && advance(task.orderId());
+    }
+
+    /**
+     * @param station The station name.
+     * @return The number of tasks waiting at the station.
+     */
+    public int queueLength(String station) {
+        station(station);
+        lock.lock();
+        try {
+            return queues.get(station).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param orderId An order id.
+     * @return The number of its tasks that are queued or in progress.
+     */
+    public int outstandingTasks(int orderId) {
+        lock.lock();
+        try {
+            return outstanding.getOrDefault(orderId, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of tasks taken by a station other than the one they were routed to.
+     */
+    public long stolenTaskCount() {
+        return stolen.sum();
+    }
+
+    // ---- Internals -----------------------------------------------------------------------------
+
+    private Station station(String name) {
+        Station station = stations.get(name);
+        if (station == null) {
+            throw new IllegalArgumentException("Unknown station: " + name);
+        }
+        return station;
+    }
+
+    // Must be called with the lock held.
+    private PrepTask next(Station self) {
+        PrepTask own = queues.get(self.name()).poll();
+        if (own != null) {
+            return own;
+        }
+        PriorityQueue<PrepTask> busiest = null;
+        for (String covered : self.covers()) {
+            PriorityQueue<PrepTask> queue = queues.get(covered);
+            if (queue != null && !queue.isEmpty() && (busiest == null || queue.size() > busiest.size())) {
+                busiest = queue;
+            }
+        }
+        if (busiest == null) {
+            return null;
+        }
+        stolen.increment();
+        return busiest.poll(); // Its most urgent task: that station's cook is already busy
+    }
+
+    private void enqueue(Order order, int[] quantities) {
+        OrderLines lines = order.lines();
+        Duration[] prepTimes = new Duration[lines.size()];
+        Duration longest = Duration.ZERO;
+        for (int i = 0; i < lines.size(); i++) {
+            if (quantities[i] > 0) {
+                prepTimes[i] = estimator.estimate(lines.itemAt(i), quantities[i]);
+                if (prepTimes[i].compareTo(longest) > 0) {
+                    longest = prepTimes[i];
+                }
+            }
+        }
+        LocalDateTime readyBy = order.orderTime().plus(longest);
+        List<PrepTask> tasks = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            if (quantities[i] > 0) {
+                tasks.add(new PrepTask(order.id(), order.tableId(), order.orderTime(), lines.itemAt(i), quantities[i],
+                                       routeOf(lines, i), prepTimes[i], readyBy.minus(prepTimes[i])));
+            }
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (PrepTask task : tasks) {
+                queues.get(task.station()).add(task);
+            }
+            outstanding.merge(order.id(), tasks.size(), Integer::sum);
+            workAvailable.signalAll(); // Any station that covers these may take them
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String routeOf(OrderLines lines, int index) {
+        String station = router.stationFor(lines.itemAt(index));
+        if (station == null || !stations.containsKey(station)) {
+            String fallback = stations.keySet().iterator().next();
+            LOGGER.warning("No station '" + station + "' for " + lines.itemAt(index).name() + "; sending it to " + fallback);
+            return fallback;
+        }
+        return station;
+    }
+
+    private void cancel(int orderId) {
+        lock.lock();
+        try {
+            if (outstanding.remove(orderId) != null) {
+                for (PriorityQueue<PrepTask> queue : queues.values()) {
+                    queue.removeIf(task -> task.orderId() == orderId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean advance(int orderId) {
+        lock.lock();
+        try {
+            advancing.add(orderId);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return orderService.updateOrderStatus(orderId, OrderStatus.READY_FOR_SERVE);
+        } catch (DineSmartException e) {
+            // E.g. cancelled between the last task and now, or items added meanwhile
+            LOGGER.log(Level.INFO, "Order " + orderId + " not marked ready: " + e.getMessage());
+            return false;
+        } finally {
+            lock.lock();
+            try {
+                advancing.remove(orderId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Runs before the change becomes visible, with the order locked
+    private final class ReadinessGuard implements OrderChangeListener {
+        @Override
+        public void statusChanged(Order before, Order after) throws DineSmartException {
+            if (after.status() != OrderStatus.READY_FOR_SERVE) {
+                return;
+            }
+            lock.lock();
+            try {
+                int tasks = outstanding.getOrDefault(after.id(), 0);
+                if (advancing.contains(after.id()) && tasks > 0) {
+                    throw new DineSmartException("Order " + after.id() + " has " + tasks + " new tasks in preparation.");
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.dinesmart.core.kitchen;
+
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.util.Validator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A `record` for one order line to be prepared at one kitchen station.
+ *
+ * @param orderId    The order the line belongs to.
+ * @param tableId    The table the order is for.
+ * @param orderTime  When the order was placed.
+ * @param item       The menu item to prepare.
+ * @param quantity   How many to prepare.
+ * @param station    The station the line is routed to.
+ * @param prepTime   The estimated preparation time of the whole line.
+ * @param startBy    When the line should be started for the whole order to be ready together:
+ *                   the order's time plus its longest line, minus this line's preparation time.
+ */
+public record PrepTask(
+    int orderId,
+    int tableId,
+    LocalDateTime orderTime,
+    MenuItem item,
+    int quantity,
+    String station,
+    Duration prepTime,
+    LocalDateTime startBy
+) {
+    public PrepTask {
+        if (Validator.isNull(orderTime) || Validator.isNull(item) || Validator.isNull(prepTime)
+                || Validator.isNull(startBy)) {
+            throw new IllegalArgumentException("Order time, item, preparation time and start time cannot be null.");
+        }
+        if (Validator.isNullOrEmpty(station)) {
+            throw new IllegalArgumentException("Station cannot be null or empty.");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive.");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.dinesmart.core.kitchen;
+
+import com.dinesmart.core.model.entities.BeverageCategory;
+import com.dinesmart.core.model.entities.MenuItem;
+
+import java.time.Duration;
+
+/**
+ * Estimates how long an order line takes to prepare.
+ * Demonstrates:
+ * - A functional interface with a static factory for the default behaviour.
+ */
+@FunctionalInterface
+public interface PrepTimeEstimator {
+
+    /**
+     * @param item The menu item.
+     * @param quantity How many are prepared together.
+     * @return The estimated time for the whole line.
+     */
+    Duration estimate(MenuItem item, int quantity);
+
+    /**
+     * Each extra portion adds a quarter of the base time, since portions are cooked side by side.
+     * @param food The time for one portion of food.
+     * @param beverage The time for one beverage.
+     * @return An estimator by category kind.
+     */
+    static PrepTimeEstimator byKind(Duration food, Duration beverage) {
+        return (item, quantity) -> {
+            Duration base = item.category() instanceof BeverageCategory ? beverage : food;
+            return base.plus(base.dividedBy(4).multipliedBy(quantity - 1L));
+        };
+    }
+
+    /**
+     * @return 12 minutes per food line and 2 minutes per beverage line, plus a quarter for each extra portion.
+     */
+    static PrepTimeEstimator defaults() {
+        return byKind(Duration.ofMinutes(12), Duration.ofMinutes(2));
+    }
+}
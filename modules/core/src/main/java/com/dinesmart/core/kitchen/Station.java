@@ -0,0 +1,29 @@
+package com.dinesmart.core.kitchen;
+
+import com.dinesmart.util.Validator;
+
+import java.util.Set;
+
+/**
+ * A `record` describing a kitchen station and which other stations it can help out when idle.
+ *
+ * @param name   The station name, as returned by a {@link StationRouter}.
+ * @param covers The stations whose tasks this one may steal; it never steals from stations not listed.
+ */
+public record Station(String name, Set<String> covers) {
+
+    public Station {
+        if (Validator.isNullOrEmpty(name)) {
+            throw new IllegalArgumentException("Station name cannot be null or empty.");
+        }
+        covers = Validator.isNull(covers) ? Set.of() : Set.copyOf(covers);
+    }
+
+    /**
+     * @param name The station name.
+     * @return A station that only works on its own tasks.
+     */
+    public static Station of(String name) {
+        return new Station(name, Set.of());
+    }
+}
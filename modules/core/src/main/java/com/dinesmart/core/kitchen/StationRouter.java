@@ -0,0 +1,47 @@
+package com.dinesmart.core.kitchen;
+
+import com.dinesmart.core.model.entities.BeverageCategory;
+import com.dinesmart.core.model.entities.FoodCategory;
+import com.dinesmart.core.model.entities.MenuItem;
+
+import java.util.Map;
+
+/**
+ * Decides which kitchen station prepares a menu item.
+ * Demonstrates:
+ * - A functional interface with static factory methods returning lambdas.
+ * - `instanceof` pattern matching over the sealed `Category` interface.
+ */
+@FunctionalInterface
+public interface StationRouter {
+
+    /**
+     * @param item A menu item.
+     * @return The name of the station that prepares it.
+     */
+    String stationFor(MenuItem item);
+
+    /**
+     * @param kitchen The station for all food.
+     * @param bar The station for all beverages.
+     * @return A router by category kind.
+     */
+    static StationRouter byKind(String kitchen, String bar) {
+        return item -> item.category() instanceof BeverageCategory ? bar : kitchen;
+    }
+
+    /**
+     * Routes food by category name (e.g. "Grill", "Salads"), falling back to {@code kitchen} for
+     * food categories not in the map, and sends all beverages to {@code bar}.
+     * @param foodStations Food category name to station name.
+     * @param kitchen The station for other food.
+     * @param bar The station for all beverages.
+     * @return A router by food category.
+     */
+    static StationRouter byFoodCategory(Map<String, String> foodStations, String kitchen, String bar) {
+        Map<String, String> routes = Map.copyOf(foodStations);
+        return item -> item.category() instanceof FoodCategory food
+            ? routes.getOrDefault(food.name(), kitchen)
+            : bar;
+    }
+}
@@ -8,12 +8,13 @@ import com.dinesmart.util.Validator;
  * - Java 17 `record` feature for immutable data carriers.
  * - Compact constructor for validation.
  * - Overrides of `equals()`, `hashCode()`, `toString()` are automatically generated.
+ * - "Wither" methods for the fields that change in service, sharing all other components.
  */
 public record MenuItem(
     int id,
     String name,
     String description,
-    double price,
+    Money price, // Exact fixed-point amount, see Money
     Category category, // Using our sealed interface for category
     boolean available
 ) {
@@ -25,11 +26,28 @@ public record MenuItem(
         if (Validator.isNullOrEmpty(name)) {
             throw new IllegalArgumentException("Menu Item name cannot be null or empty.");
         }
-        if (!Validator.isPositive(price)) {
+        if (Validator.isNull(price) || !price.isPositive()) {
             throw new IllegalArgumentException("Menu Item price must be positive.");
         }
         if (Validator.isNull(category)) {
             throw new IllegalArgumentException("Menu Item category cannot be null.");
         }
     }
+
+    /**
+     * @param newPrice The new price.
+     * @return This item with another price; this one is unchanged.
+     * @throws IllegalArgumentException if {@code newPrice} is null or not positive.
+     */
+    public MenuItem withPrice(Money newPrice) {
+        return newPrice.equals(price) ? this : new MenuItem(id, name, description, newPrice, category, available);
+    }
+
+    /**
+     * @param newAvailable Whether the item can be ordered.
+     * @return This item with the given availability; this one is unchanged.
+     */
+    public MenuItem withAvailable(boolean newAvailable) {
+        return newAvailable == available ? this : new MenuItem(id, name, description, price, category, newAvailable);
+    }
 }
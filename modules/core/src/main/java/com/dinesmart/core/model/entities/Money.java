@@ -0,0 +1,203 @@
+package com.dinesmart.core.model.entities;
+
+import com.dinesmart.util.LocalizedFormats;
+import com.dinesmart.util.Validator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * A `record` representing an exact amount of money as a `long` count of minor units
+ * (e.g. cents) in a given {@link Currency}.
+ * Demonstrates:
+ * - Fixed-point arithmetic with primitives instead of `double` (no rounding drift, exact comparisons).
+ * - Overflow-safe arithmetic with `Math.addExact` / `Math.multiplyExact`.
+ * - Implementing `Comparable` on a record.
+ *
+ * Rates such as tax or discounts are expressed in basis points (1/100 of a percent,
+ * so 825 = 8.25%) and rounded explicitly with a {@link RoundingMode}.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    private static final long BASIS_POINTS = 10_000L;
+
+    // Compact constructor for validation
+    public Money {
+        if (Validator.isNull(currency)) {
+            throw new IllegalArgumentException("Currency cannot be null.");
+        }
+    }
+
+    /**
+     * Creates an amount from minor units, e.g. {@code Money.of(1250, EUR)} is 12.50 EUR.
+     * @param minorUnits The amount in minor units.
+     * @param currency The currency.
+     * @return The money amount.
+     */
+    public static Money of(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Creates an amount from a decimal major-unit value, rounding half-even to the
+     * currency's number of fraction digits.
+     * @param amount The amount in major units, e.g. {@code 12.5}.
+     * @param currency The currency.
+     * @return The money amount.
+     */
+    public static Money ofMajor(BigDecimal amount, Currency currency) {
+        if (Validator.isNull(amount)) {
+            throw new IllegalArgumentException("Amount cannot be null.");
+        }
+        BigDecimal minor = amount.setScale(fractionDigits(currency), RoundingMode.HALF_EVEN).movePointRight(fractionDigits(currency));
+        return new Money(minor.longValueExact(), currency);
+    }
+
+    /**
+     * Parses a plain decimal string such as {@code "12.50"}.
+     * @param amount The decimal string.
+     * @param currency The currency.
+     * @return The money amount.
+     * @throws NumberFormatException if the string is not a valid decimal number.
+     */
+    public static Money parse(String amount, Currency currency) {
+        return ofMajor(new BigDecimal(amount.trim()), currency);
+    }
+
+    /**
+     * @param currency The currency.
+     * @return A zero amount in the given currency.
+     */
+    public static Money zero(Currency currency) {
+        return new Money(0L, currency);
+    }
+
+    /**
+     * @param currency The currency.
+     * @return The number of minor-unit digits of the currency (0 for currencies without minor units).
+     */
+    public static int fractionDigits(Currency currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * @param other The amount to add; must have the same currency.
+     * @return The sum.
+     */
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * @param other The amount to subtract; must have the same currency.
+     * @return The difference.
+     */
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * @param quantity The multiplier, e.g. a line quantity.
+     * @return This amount multiplied by {@code quantity}.
+     */
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(minorUnits, (long) quantity), currency);
+    }
+
+    /**
+     * Computes a proportional part of this amount, e.g. the tax due on it.
+     * @param basisPoints The rate in basis points (825 = 8.25%).
+     * @param rounding How to round a fractional minor unit.
+     * @return The rounded portion of this amount.
+     */
+    public Money portion(int basisPoints, RoundingMode rounding) {
+        return new Money(divide(Math.multiplyExact(minorUnits, (long) basisPoints), BASIS_POINTS, rounding), currency);
+    }
+
+    /**
+     * @param basisPoints The tax rate in basis points.
+     * @return This amount plus tax, with the tax rounded half-up.
+     */
+    public Money withTax(int basisPoints) {
+        return plus(portion(basisPoints, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * @param basisPoints The discount rate in basis points.
+     * @return This amount minus the discount, with the discount rounded half-even.
+     */
+    public Money discounted(int basisPoints) {
+        return minus(portion(basisPoints, RoundingMode.HALF_EVEN));
+    }
+
+    /**
+     * @return true if this amount is greater than zero.
+     */
+    public boolean isPositive() {
+        return Validator.isPositive(minorUnits);
+    }
+
+    /**
+     * @return This amount as a decimal in major units, e.g. {@code 12.50}.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * Formats the amount for display, e.g. "$12.50" in English or "12,50 $US" in French.
+     * @param locale The display locale.
+     * @return The localized amount.
+     */
+    public String format(Locale locale) {
+        return LocalizedFormats.formatCurrency(minorUnits, currency, locale);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+
+    /**
+     * Divides two longs with an explicit rounding mode, without going through `BigDecimal`.
+     * @param dividend The dividend.
+     * @param divisor The divisor; must be positive.
+     * @param rounding The rounding mode.
+     * @return The rounded quotient.
+     */
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = Math.floorDiv(dividend, divisor);
+        long remainder = Math.floorMod(dividend, divisor); // 0 <= remainder < divisor
+        if (remainder == 0) {
+            return quotient;
+        }
+        long twice = remainder * 2;
+        boolean roundUp = switch (rounding) {
+            case FLOOR -> false;
+            case CEILING -> true;
+            case DOWN -> dividend < 0;   // towards zero
+            case UP -> dividend >= 0;    // away from zero
+            case HALF_UP -> twice > divisor || (twice == divisor && dividend >= 0);
+            case HALF_DOWN -> twice > divisor || (twice == divisor && dividend < 0);
+            case HALF_EVEN -> twice > divisor || (twice == divisor && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary.");
+        };
+        return roundUp ? quotient + 1 : quotient;
+    }
+}
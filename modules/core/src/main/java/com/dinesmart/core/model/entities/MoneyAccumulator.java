@@ -0,0 +1,91 @@
+package com.dinesmart.core.model.entities;
+
+import com.dinesmart.util.Validator;
+
+import java.util.Currency;
+
+/**
+ * A mutable running total of {@link Money} amounts in a single currency.
+ * Demonstrates:
+ * - Accumulating with a primitive `long` so summing millions of lines allocates nothing.
+ * - Combining partial results (`merge`) so each thread can keep its own accumulator.
+ *
+ * Not thread-safe: use one accumulator per thread and {@link #merge(MoneyAccumulator)} the results.
+ */
+public final class MoneyAccumulator {
+
+    private final Currency currency;
+    private long minorUnits;
+
+    /**
+     * Creates an accumulator starting at zero.
+     * @param currency The currency of every amount added.
+     */
+    public MoneyAccumulator(Currency currency) {
+        if (Validator.isNull(currency)) {
+            throw new IllegalArgumentException("Currency cannot be null.");
+        }
+        this.currency = currency;
+    }
+
+    /**
+     * @param amount The amount to add; must be in this accumulator's currency.
+     * @return This accumulator, for chaining.
+     */
+    public MoneyAccumulator add(Money amount) {
+        requireCurrency(amount);
+        minorUnits = Math.addExact(minorUnits, amount.minorUnits());
+        return this;
+    }
+
+    /**
+     * Adds {@code unitPrice * quantity}, e.g. one order line.
+     * @param unitPrice The unit price; must be in this accumulator's currency.
+     * @param quantity The quantity.
+     * @return This accumulator, for chaining.
+     */
+    public MoneyAccumulator addLine(Money unitPrice, int quantity) {
+        requireCurrency(unitPrice);
+        minorUnits = Math.addExact(minorUnits, Math.multiplyExact(unitPrice.minorUnits(), (long) quantity));
+        return this;
+    }
+
+    /**
+     * @param other Another accumulator in the same currency.
+     * @return This accumulator, for chaining.
+     */
+    public MoneyAccumulator merge(MoneyAccumulator other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+        minorUnits = Math.addExact(minorUnits, other.minorUnits);
+        return this;
+    }
+
+    /**
+     * @return The running total in minor units.
+     */
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * @return The running total as a `Money` value.
+     */
+    public Money total() {
+        return Money.of(minorUnits, currency);
+    }
+
+    /**
+     * Resets the running total to zero.
+     */
+    public void reset() {
+        minorUnits = 0L;
+    }
+
+    private void requireCurrency(Money amount) {
+        if (!currency.equals(amount.currency())) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + amount.currency());
+        }
+    }
+}
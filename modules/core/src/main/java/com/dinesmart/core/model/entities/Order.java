@@ -1,8 +1,6 @@
 package com.dinesmart.core.model.entities;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import com.dinesmart.util.Validator; // Using Validator from util module
@@ -11,10 +9,11 @@ import com.dinesmart.util.Validator; // Using Validator from util module
  * A `record` representing a customer order, showcasing nested records and collections.
  * Demonstrates:
  * - Records within records (OrderItem).
- * - Use of `Map` for order items, `LocalDateTime` for timestamps.
+ * - Use of `Map` for order items, `LocalDateTime` for timestamps, `Money` for amounts.
  * - Validation in compact constructor.
- * - Defensive copying for mutable collections (`Map`).
+ * - Defensive copying for mutable collections (`Map`) into compact {@link OrderLines}.
  * - Generics with `Map<MenuItem, Integer>`.
+ * - "Wither" methods that derive a changed copy and reuse the unchanged, already immutable components.
  */
 public record Order(
     int id,
@@ -22,7 +21,7 @@ public record Order(
     LocalDateTime orderTime,
     Map<MenuItem, Integer> items, // MenuItem -> Quantity
     OrderStatus status,
-    double totalAmount
+    Money totalAmount
 ) {
     // Compact constructor for validation and defensive copying
     public Order {
@@ -41,20 +40,54 @@ public record Order(
         if (Validator.isNull(status)) {
             throw new IllegalArgumentException("Order status cannot be null.");
         }
-        if (!Validator.isPositive(totalAmount)) {
+        if (Validator.isNull(totalAmount) || !totalAmount.isPositive()) {
             throw new IllegalArgumentException("Total amount must be positive.");
         }
 
         // Defensive copy for the mutable map to ensure immutability of the record
         // This is crucial for records containing mutable components.
-        items = Collections.unmodifiableMap(new HashMap<>(items));
+        // OrderLines stores the lines in parallel arrays and is returned as-is if already compact.
+        items = OrderLines.copyOf(items);
+    }
+
+    /**
+     * Returns the order lines in their compact form, for index-based iteration without allocation.
+     * @return The immutable order lines backing {@link #items()}.
+     */
+    public OrderLines lines() {
+        return (OrderLines) items;
+    }
+
+    /**
+     * Returns this order in another status. The lines and total are reused as they are, so this costs
+     * one record allocation and the constructor's null checks, not a copy of the items.
+     * @param newStatus The new status.
+     * @return The changed order; this one is unchanged.
+     * @throws IllegalArgumentException if {@code newStatus} is null.
+     */
+    public Order withStatus(OrderStatus newStatus) {
+        return newStatus == status ? this : new Order(id, tableId, orderTime, items, newStatus, totalAmount);
+    }
+
+    /**
+     * Returns this order with more items: quantities of items already on the order are summed, new items
+     * are appended, and the total grows by the value of the added items rather than being recomputed.
+     * @param added The menu items and quantities to add.
+     * @return The changed order; this one is unchanged.
+     * @throws IllegalArgumentException if {@code added} contains null entries or another currency.
+     */
+    public Order withAddedItems(Map<MenuItem, Integer> added) {
+        if (added.isEmpty()) {
+            return this;
+        }
+        OrderLines addedLines = OrderLines.copyOf(added);
+        return new Order(id, tableId, orderTime, lines().plus(addedLines), status,
+                         totalAmount.plus(addedLines.total()));
     }
 
     // Method to calculate total amount, useful for consistency check
-    public double calculateTotal() {
-        return items.entrySet().stream()
-                    .mapToDouble(entry -> entry.getKey().price() * entry.getValue())
-                    .sum();
+    public Money calculateTotal() {
+        return lines().total();
     }
 
     /**
@@ -0,0 +1,270 @@
+package com.dinesmart.core.model.entities;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact, immutable storage for the lines of an {@link Order}, exposed as a read-only
+ * {@code Map<MenuItem, Integer>} so callers keep using the familiar `Map` API.
+ * Demonstrates:
+ * - Extending `AbstractMap` to provide a custom read-only `Map` view.
+ * - Parallel arrays (`MenuItem[]` and primitive `int[]`) instead of one `HashMap.Node` per entry.
+ * - Overriding `forEach`, `equals` and `hashCode` to avoid allocating entries on hot paths.
+ * - Structural sharing: {@link #plus(Map)} copies the arrays but shares the `MenuItem` instances.
+ *
+ * An order has a handful of lines, so a linear scan for {@link #get(Object)} is cheaper than
+ * hashing a whole `MenuItem` record (including its strings) the way `HashMap` does.
+ */
+public final class OrderLines extends AbstractMap<MenuItem, Integer> {
+
+    private final MenuItem[] items;
+    private final int[] quantities;
+    private final Currency currency;
+
+    private OrderLines(MenuItem[] items, int[] quantities, Currency currency) {
+        this.items = items;
+        this.quantities = quantities;
+        this.currency = currency;
+    }
+
+    /**
+     * Returns compact lines holding the same mappings as {@code source}.
+     * If {@code source} already is an `OrderLines` it is returned as-is, since it is immutable.
+     *
+     * @param source The map of menu items to quantities.
+     * @return An immutable `OrderLines` instance.
+     * @throws IllegalArgumentException if a key or quantity is null, or the items use different currencies.
+     */
+    public static OrderLines copyOf(Map<MenuItem, Integer> source) {
+        if (source instanceof OrderLines lines) {
+            return lines;
+        }
+        int size = source.size();
+        MenuItem[] items = new MenuItem[size];
+        int[] quantities = new int[size];
+        Currency currency = null;
+        int i = 0;
+        for (Map.Entry<MenuItem, Integer> entry : source.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Order lines cannot contain null items or quantities.");
+            }
+            Currency itemCurrency = entry.getKey().price().currency();
+            if (currency == null) {
+                currency = itemCurrency;
+            } else if (!currency.equals(itemCurrency)) {
+                throw new IllegalArgumentException("Order lines must all use the same currency.");
+            }
+            items[i] = entry.getKey();
+            quantities[i] = entry.getValue();
+            i++;
+        }
+        return new OrderLines(items, quantities, currency);
+    }
+
+    /**
+     * Returns these lines with {@code added} merged in: quantities of items already present are
+     * summed, new items are appended. The menu items themselves are shared, not copied.
+     *
+     * @param added The menu items and quantities to add.
+     * @return New lines; this instance is unchanged.
+     * @throws IllegalArgumentException if a key or quantity is null, an item uses another currency,
+     *                                  or a summed quantity would overflow.
+     */
+    public OrderLines plus(Map<MenuItem, Integer> added) {
+        MenuItem[] mergedItems = Arrays.copyOf(items, items.length + added.size());
+        int[] mergedQuantities = Arrays.copyOf(quantities, mergedItems.length);
+        Currency mergedCurrency = currency;
+        int size = items.length;
+        for (Map.Entry<MenuItem, Integer> entry : added.entrySet()) {
+            MenuItem item = entry.getKey();
+            if (item == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Order lines cannot contain null items or quantities.");
+            }
+            if (mergedCurrency == null) {
+                mergedCurrency = item.price().currency();
+            } else if (!mergedCurrency.equals(item.price().currency())) {
+                throw new IllegalArgumentException("Order lines must all use the same currency.");
+            }
+            int index = indexOf(item);
+            if (index >= 0) {
+                try {
+                    mergedQuantities[index] = Math.addExact(mergedQuantities[index], entry.getValue());
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("Quantity of " + item.name() + " would overflow.", e);
+                }
+            } else {
+                mergedItems[size] = item;
+                mergedQuantities[size++] = entry.getValue();
+            }
+        }
+        if (size < mergedItems.length) {
+            mergedItems = Arrays.copyOf(mergedItems, size);
+            mergedQuantities = Arrays.copyOf(mergedQuantities, size);
+        }
+        return new OrderLines(mergedItems, mergedQuantities, mergedCurrency);
+    }
+
+    /**
+     * @param index The line index, from 0 to {@code size() - 1}.
+     * @return The menu item on that line.
+     */
+    public MenuItem itemAt(int index) {
+        return items[index];
+    }
+
+    /**
+     * @param index The line index, from 0 to {@code size() - 1}.
+     * @return The id of the menu item on that line.
+     */
+    public int itemIdAt(int index) {
+        return items[index].id();
+    }
+
+    /**
+     * @param index The line index, from 0 to {@code size() - 1}.
+     * @return The quantity on that line.
+     */
+    public int quantityAt(int index) {
+        return quantities[index];
+    }
+
+    /**
+     * @return The currency shared by all lines, or null if there are no lines.
+     */
+    public Currency currency() {
+        return currency;
+    }
+
+    /**
+     * Sums {@code price * quantity} over all lines in minor units, without allocating.
+     * @return The total of all lines in minor units.
+     */
+    public long totalMinorUnits() {
+        long total = 0L;
+        for (int i = 0; i < items.length; i++) {
+            total = Math.addExact(total, Math.multiplyExact(items[i].price().minorUnits(), (long) quantities[i]));
+        }
+        return total;
+    }
+
+    /**
+     * @return The total of all lines.
+     * @throws IllegalStateException if there are no lines (and therefore no currency).
+     */
+    public Money total() {
+        if (currency == null) {
+            throw new IllegalStateException("Empty order lines have no currency.");
+        }
+        return Money.of(totalMinorUnits(), currency);
+    }
+
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? quantities[index] : null;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super MenuItem, ? super Integer> action) {
+        for (int i = 0; i < items.length; i++) {
+            action.accept(items[i], quantities[i]);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<MenuItem, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<MenuItem, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < items.length;
+                    }
+
+                    @Override
+                    public Map.Entry<MenuItem, Integer> next() {
+                        if (next >= items.length) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return new AbstractMap.SimpleImmutableEntry<>(items[i], quantities[i]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return items.length;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof OrderLines other)) {
+            return super.equals(o);
+        }
+        if (other.items.length != items.length) {
+            return false;
+        }
+        for (int i = 0; i < items.length; i++) {
+            int j = other.indexOf(items[i]);
+            if (j < 0 || other.quantities[j] != quantities[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Same value as AbstractMap.hashCode(): sum of (key.hashCode() ^ value.hashCode())
+        int hash = 0;
+        for (int i = 0; i < items.length; i++) {
+            hash += items[i].hashCode() ^ quantities[i];
+        }
+        return hash;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof MenuItem item)) {
+            return -1;
+        }
+        // Cheap id comparison first; full record equality only on an id match
+        for (int i = 0; i < items.length; i++) {
+            MenuItem candidate = items[i];
+            if (candidate == item || (candidate.id() == item.id() && candidate.equals(item))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
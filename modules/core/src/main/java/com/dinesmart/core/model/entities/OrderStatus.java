@@ -2,7 +2,8 @@ package com.dinesmart.core.model.entities;
 
 /**
  * Represents the possible statuses of a restaurant order.
- * Demonstrates the use of a simple `enum`.
+ * Demonstrates the use of a simple `enum`, with a `switch` expression
+ * describing the allowed lifecycle transitions.
  */
 public enum OrderStatus {
     PENDING,       // Order has been placed but not yet prepared
@@ -11,4 +12,32 @@ public enum OrderStatus {
     SERVED,        // Order has been served
     PAID,          // Payment has been received for the order
     CANCELLED;     // Order has been cancelled
+
+    /**
+     * Checks whether an order in this status may move to {@code next}.
+     * The lifecycle is PENDING -> PREPARING -> READY_FOR_SERVE -> SERVED -> PAID,
+     * and any non-terminal order may be CANCELLED.
+     *
+     * @param next The requested status.
+     * @return true if the transition is legal, false otherwise.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        if (next == CANCELLED) {
+            return !isTerminal();
+        }
+        return switch (this) {
+            case PENDING -> next == PREPARING;
+            case PREPARING -> next == READY_FOR_SERVE;
+            case READY_FOR_SERVE -> next == SERVED;
+            case SERVED -> next == PAID;
+            case PAID, CANCELLED -> false;
+        };
+    }
+
+    /**
+     * @return true if no further transitions are possible (PAID or CANCELLED).
+     */
+    public boolean isTerminal() {
+        return this == PAID || this == CANCELLED;
+    }
 }
@@ -2,11 +2,19 @@ package com.dinesmart.core.model.entities;
 
 /**
  * Represents the roles a user can have in the DineSmart application.
- * Demonstrates the use of a simple `enum`.
+ * Demonstrates the use of a simple `enum`; roles are declared from most to least privileged.
  */
 public enum Role {
     ADMIN,      // Full administrative access
     MANAGER,    // Management-level access
     STAFF,      // General staff access (e.g., taking orders)
     GUEST;      // Limited access (e.g., viewing menu, but no orders)
+
+    /**
+     * @param required The least privileged role allowed to perform an action.
+     * @return true if this role is {@code required} or more privileged.
+     */
+    public boolean includes(Role required) {
+        return ordinal() <= required.ordinal();
+    }
 }
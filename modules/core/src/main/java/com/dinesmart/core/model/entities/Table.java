@@ -1,5 +1,7 @@
 package com.dinesmart.core.model.entities;
 
+import com.dinesmart.util.Validator;
+
 /**
  * A `record` representing a dining table in the restaurant.
  * Demonstrates:
@@ -21,11 +23,11 @@ public record Table(
             throw new IllegalArgumentException("Table capacity must be positive.");
         }
         // If occupied, currentOrderRef should not be null or empty
-        if (occupied && (currentOrderRef == null || currentOrderRef.trim().isEmpty())) {
+        if (occupied && Validator.isNullOrEmpty(currentOrderRef)) {
             throw new IllegalArgumentException("Occupied table must have a valid order reference.");
         }
         // If not occupied, currentOrderRef should be null
-        if (!occupied && currentOrderRef != null && !currentOrderRef.trim().isEmpty()) {
+        if (!occupied && !Validator.isNullOrEmpty(currentOrderRef)) {
             throw new IllegalArgumentException("Unoccupied table should not have an order reference.");
         }
     }
@@ -0,0 +1,372 @@
+package com.dinesmart.core.replication;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.core.service.events.OrderEvent;
+import com.dinesmart.core.service.impl.ConcurrentOrderService;
+import com.dinesmart.util.Validator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A follower terminal's {@link OrderService}: a local copy of the primary's orders, kept up to date
+ * by a {@link ReplicationPrimary}, so screens refresh from memory instead of asking the server.
+ * Demonstrates:
+ * - A background `Thread` reading a framed TCP stream, with reconnects after failures.
+ * - Reusing {@link ConcurrentOrderService} as a read model through {@code restore} and {@code replicate}.
+ * - `ReentrantLock` and `Condition` for waiting until the copy reaches an offset.
+ *
+ * All queries are answered locally. Writes throw a {@code DineSmartException} until the replica is
+ * promoted with {@link #promote(InetSocketAddress)}, after which it is the primary for the others.
+ * Orders the primary has archived are dropped here as well; look them up in the archive.
+ *
+ * Failover: give every terminal the same list of terminal addresses in promotion order, the first
+ * being the initial primary, and this terminal's index in it. After losing its primary, a replica
+ * tries the other terminals in turn. If {@link ReplicationConfig#promoteAfter()} is set, the terminal
+ * at index {@code i > 0} promotes itself once it has heard from no primary for {@code i} times that
+ * delay, so the terminal at index 1 takes over first and the others follow it. A replica that has
+ * never synchronized does not promote itself.
+ */
+public class ReplicaOrderService implements OrderService, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ReplicaOrderService.class.getName());
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<InetSocketAddress> terminals;
+    private final int self;
+    private final ReplicationConfig config;
+    private final ConcurrentOrderService local = new ConcurrentOrderService();
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progressed = progressLock.newCondition();
+    private final Thread receiver;
+    private volatile long epoch = ReplicationProtocol.NONE;
+    private volatile long offset = ReplicationProtocol.NONE;
+    private volatile InetSocketAddress following;
+    private volatile Socket socket;
+    private volatile ReplicationPrimary primary; // Set once promoted
+    private volatile boolean stopped;            // No longer following
+    private volatile boolean closed;
+
+    /**
+     * Follows a primary, without automatic promotion.
+     * @param primary The primary's address.
+     * @param config The replication settings.
+     */
+    public ReplicaOrderService(InetSocketAddress primary, ReplicationConfig config) {
+        this(List.of(primary), -1, config);
+    }
+
+    /**
+     * Follows whichever terminal is the primary.
+     * @param terminals The replication addresses of all terminals in promotion order; the first is the initial primary.
+     * @param self This terminal's index in {@code terminals}, or -1 if it never becomes the primary by itself.
+     * @param config The replication settings.
+     */
+    public ReplicaOrderService(List<InetSocketAddress> terminals, int self, ReplicationConfig config) {
+        if (Validator.isNull(terminals) || terminals.isEmpty() || Validator.isNull(config)) {
+            throw new IllegalArgumentException("Terminals and config cannot be null or empty.");
+        }
+        if (self < -1 || self >= terminals.size() || (self >= 0 && terminals.size() == 1)) {
+            throw new IllegalArgumentException("This terminal's index must be -1 or point into the other terminals.");
+        }
+        this.terminals = List.copyOf(terminals);
+        this.self = self;
+        this.config = config;
+        this.receiver = new Thread(this::receive, "dinesmart-replica");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    // ---- Replication state ---------------------------------------------------------------------
+
+    /**
+     * @return The offset reached: every change before it has been applied; -1 before the first snapshot.
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * @return The epoch of the primary the local copy comes from; -1 before the first snapshot.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * @return true while connected to a primary.
+     */
+    public boolean isConnected() {
+        return following != null;
+    }
+
+    /**
+     * @return The primary this terminal became, or empty if it is still a follower.
+     */
+    public Optional<ReplicationPrimary> primary() {
+        return Optional.ofNullable(primary);
+    }
+
+    /**
+     * Waits until the local copy includes every change before {@code target}, e.g. a
+     * {@link ReplicationPrimary#head()} read after a write, to read that write locally.
+     * @param target The offset to wait for.
+     * @param timeout How long to wait.
+     * @return true if the offset was reached in time.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitOffset(long target, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        progressLock.lock();
+        try {
+            while (offset < target) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = progressed.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    /**
+     * Stops following and makes this terminal the primary, listening on {@code address}. Call it
+     * when the primary is known to be gone; other terminals must then follow this address.
+     * @param address The address to accept followers on.
+     * @return The new primary; this service accepts writes from now on.
+     * @throws DineSmartException if the replica is closed or the address cannot be bound; it has
+     *                            stopped following either way.
+     */
+    public ReplicationPrimary promote(InetSocketAddress address) throws DineSmartException {
+        stopReceiving(); // Outside the monitor: the receiver may be promoting itself
+        synchronized (this) {
+            if (primary != null) {
+                return primary;
+            }
+            if (closed) {
+                throw new DineSmartException("Replica is closed.");
+            }
+            long newEpoch = Math.max(epoch + 1, System.currentTimeMillis());
+            primary = new ReplicationPrimary(local, address, config, newEpoch, Math.max(offset, 0L));
+        }
+        LOGGER.warning("Promoted to replication primary at offset " + offset + " with "
+                       + local.getAllOrders().size() + " orders.");
+        return primary;
+    }
+
+    /**
+     * Stops following, or stops being the primary if promoted.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        stopReceiving();
+        synchronized (this) {
+            if (primary != null) {
+                primary.close();
+            }
+        }
+    }
+
+    // ---- OrderService --------------------------------------------------------------------------
+
+    @Override
+    public Order createOrder(int tableId, Map<MenuItem, Integer> items) throws DineSmartException {
+        return writable().createOrder(tableId, items);
+    }
+
+    @Override
+    public Optional<Order> getOrderById(int orderId) {
+        return local.getOrderById(orderId);
+    }
+
+    @Override
+    public boolean updateOrderStatus(int orderId, OrderStatus newStatus) throws DineSmartException {
+        return writable().updateOrderStatus(orderId, newStatus);
+    }
+
+    @Override
+    public boolean addItemsToOrder(int orderId, Map<MenuItem, Integer> itemsToAdd) throws DineSmartException {
+        return writable().addItemsToOrder(orderId, itemsToAdd);
+    }
+
+    @Override
+    public List<Order> getAllActiveOrders() {
+        return local.getAllActiveOrders();
+    }
+
+    @Override
+    public List<Order> getOrdersByStatus(OrderStatus status) {
+        return local.getOrdersByStatus(status);
+    }
+
+    @Override
+    public List<Order> getOrdersForTable(int tableId) {
+        return local.getOrdersForTable(tableId);
+    }
+
+    @Override
+    public List<Order> getActiveOrders(int afterOrderId, int limit) {
+        return local.getActiveOrders(afterOrderId, limit);
+    }
+
+    @Override
+    public boolean deleteOrder(int orderId) throws DineSmartException {
+        return writable().deleteOrder(orderId);
+    }
+
+    // ---- Internals -----------------------------------------------------------------------------
+
+    private OrderService writable() throws DineSmartException {
+        if (primary == null) {
+            throw new DineSmartException("This terminal is a read-only replica; send order changes to the primary.");
+        }
+        return local;
+    }
+
+    private void receive() {
+        long lastContact = System.nanoTime();
+        int next = 0;
+        while (!stopped) {
+            if (next == self) {
+                next = (next + 1) % terminals.size();
+            }
+            InetSocketAddress address = terminals.get(next);
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                if (stopped) {
+                    return; // Stopped before the socket was published
+                }
+                connection.connect(address, (int) config.primaryTimeout().toMillis());
+                follow(connection, address);
+            } catch (IOException e) {
+                if (following != null && !stopped) {
+                    LOGGER.warning("Lost replication primary " + address + ": " + e);
+                }
+                LOGGER.log(Level.FINE, "No replication primary at " + address, e);
+            } finally {
+                socket = null;
+                if (following != null) {
+                    following = null;
+                    lastContact = System.nanoTime();
+                }
+            }
+            next = (next + 1) % terminals.size();
+            if (shouldPromote(lastContact)) {
+                try {
+                    promote(terminals.get(self));
+                } catch (DineSmartException e) {
+                    LOGGER.log(Level.SEVERE, "Could not promote this terminal to replication primary.", e);
+                }
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(config.reconnectDelay().toNanos());
+            } catch (InterruptedException e) {
+                return; // Stopped
+            }
+        }
+    }
+
+    private boolean shouldPromote(long lastContact) {
+        if (self <= 0 || config.promoteAfter().isZero() || epoch == ReplicationProtocol.NONE || stopped) {
+            return false;
+        }
+        return System.nanoTime() - lastContact >= config.promoteAfter().toNanos() * self;
+    }
+
+    private void follow(Socket connection, InetSocketAddress address) throws IOException {
+        connection.setTcpNoDelay(true);
+        connection.setSoTimeout((int) config.primaryTimeout().toMillis());
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), BUFFER_SIZE));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        ReplicationProtocol.writeHello(out, epoch, offset);
+        following = address;
+        while (!stopped) {
+            byte frame = in.readByte();
+            switch (frame) {
+                case ReplicationProtocol.SNAPSHOT -> {
+                    long snapshotEpoch = in.readLong();
+                    long snapshotOffset = in.readLong();
+                    int lastOrderId = in.readInt();
+                    List<Order> orders = ReplicationProtocol.readOrders(in, in.readInt());
+                    local.restore(orders);
+                    local.reserveIdsThrough(lastOrderId);
+                    epoch = snapshotEpoch;
+                    advance(snapshotOffset);
+                    LOGGER.info("Synchronized " + orders.size() + " orders from " + address + " at offset "
+                                + snapshotOffset + ".");
+                }
+                case ReplicationProtocol.CHANGES -> {
+                    long first = in.readLong();
+                    int count = in.readInt();
+                    ReplicationProtocol.checkCount(count);
+                    if (first != offset) {
+                        throw new IOException("Replication gap: expected offset " + offset + ", got " + first + ".");
+                    }
+                    for (int i = 0; i < count; i++) {
+                        OrderEvent change = ReplicationProtocol.readChange(in);
+                        local.replicate(change.orderId(),
+                                        change.type() == OrderEvent.Type.DELETED ? null : change.order());
+                    }
+                    advance(first + count);
+                }
+                case ReplicationProtocol.HEARTBEAT -> {
+                    in.readLong(); // Epoch, unchanged within a connection
+                    in.readLong(); // Head, equal to our offset when idle
+                }
+                default -> throw new IOException("Unknown replication frame " + frame + ".");
+            }
+        }
+    }
+
+    private void advance(long reached) {
+        progressLock.lock();
+        try {
+            offset = reached;
+            progressed.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    private void stopReceiving() {
+        stopped = true;
+        Socket connection = socket;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Could not close the replication connection.", e);
+            }
+        }
+        if (Thread.currentThread() != receiver) {
+            receiver.interrupt();
+            try {
+                receiver.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dinesmart.core.replication;
+
+import com.dinesmart.util.Validator;
+
+import java.time.Duration;
+
+/**
+ * A `record` holding the settings shared by a {@link ReplicationPrimary} and its {@link ReplicaOrderService}s.
+ *
+ * @param retainedChanges How many recent changes the primary keeps for followers catching up; a follower
+ *                        further behind receives a full snapshot instead.
+ * @param maxBatch        The most changes sent in one frame.
+ * @param heartbeat       How often the primary speaks to an idle follower.
+ * @param primaryTimeout  How long a follower waits for the primary before dropping the connection.
+ * @param reconnectDelay  How long a follower waits between connection attempts.
+ * @param promoteAfter    How long a follower waits for any primary, per rank, before promoting itself;
+ *                        zero never promotes automatically.
+ */
+public record ReplicationConfig(
+    int retainedChanges,
+    int maxBatch,
+    Duration heartbeat,
+    Duration primaryTimeout,
+    Duration reconnectDelay,
+    Duration promoteAfter
+) {
+
+    public ReplicationConfig {
+        if (retainedChanges <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("Retained changes and batch size must be positive.");
+        }
+        if (!isPositive(heartbeat) || !isPositive(primaryTimeout) || !isPositive(reconnectDelay)) {
+            throw new IllegalArgumentException("Heartbeat, primary timeout and reconnect delay must be positive.");
+        }
+        if (primaryTimeout.compareTo(heartbeat) <= 0) {
+            throw new IllegalArgumentException("Primary timeout must be longer than the heartbeat.");
+        }
+        if (Validator.isNull(promoteAfter) || promoteAfter.isNegative()) {
+            throw new IllegalArgumentException("Promotion delay cannot be null or negative.");
+        }
+    }
+
+    /**
+     * @return 100,000 retained changes, batches of 256, a heartbeat every second, a primary considered
+     *         gone after 3 s, reconnects every 500 ms and no automatic promotion.
+     */
+    public static ReplicationConfig defaults() {
+        return new ReplicationConfig(100_000, 256, Duration.ofSeconds(1), Duration.ofSeconds(3),
+                                     Duration.ofMillis(500), Duration.ZERO);
+    }
+
+    /**
+     * @param delay How long a follower waits for any primary, per rank, before promoting itself.
+     * @return These settings with automatic promotion after {@code delay}.
+     */
+    public ReplicationConfig withPromoteAfter(Duration delay) {
+        return new ReplicationConfig(retainedChanges, maxBatch, heartbeat, primaryTimeout, reconnectDelay, delay);
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return duration != null && !duration.isNegative() && !duration.isZero();
+    }
+}
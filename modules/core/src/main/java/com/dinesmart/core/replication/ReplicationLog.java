@@ -0,0 +1,144 @@
+package com.dinesmart.core.replication;
+
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.service.events.OrderEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The primary's ordered log of order changes: a ring of the most recent changes for followers catching
+ * up, plus the latest state of every order for followers that need a snapshot.
+ * Demonstrates:
+ * - A ring buffer indexed by {@code offset % capacity}.
+ * - `Condition.awaitNanos` for readers waiting on new entries.
+ *
+ * Offsets count changes since the log was created, starting at its start offset; a follower at
+ * offset {@code n} has applied every change before {@code n}. A {@code DELETED} change also stands
+ * for an archived order leaving memory, so the state holds only what the primary still holds.
+ */
+final class ReplicationLog {
+
+    // The state of every order at some offset
+    record Snapshot(long offset, List<Order> orders) {
+    }
+
+    private final long epoch;
+    private final OrderEvent[] ring;
+    private final long start;
+    private final Map<Integer, Order> state = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long head;                              // Offset of the next change
+    private Set<Integer> touched = new HashSet<>(); // Orders changed while seeding; null once seeded
+
+    ReplicationLog(long epoch, long start, int capacity) {
+        this.epoch = epoch;
+        this.start = start;
+        this.head = start;
+        this.ring = new OrderEvent[capacity];
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Adds the orders that existed before the log started listening. Orders already changed through
+     * {@link #append(OrderEvent)} keep their newer state.
+     */
+    void seed(Collection<Order> orders) {
+        lock.lock();
+        try {
+            for (Order order : orders) {
+                if (!touched.contains(order.id())) {
+                    state.putIfAbsent(order.id(), order);
+                }
+            }
+            touched = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void append(OrderEvent event) {
+        lock.lock();
+        try {
+            ring[(int) (head % ring.length)] = event;
+            head++;
+            if (event.type() == OrderEvent.Type.DELETED) {
+                state.remove(event.orderId());
+            } else {
+                state.put(event.orderId(), event.order());
+            }
+            if (touched != null) {
+                touched.add(event.orderId());
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long head() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Snapshot snapshot() {
+        lock.lock();
+        try {
+            List<Order> orders = new ArrayList<>(state.values());
+            orders.sort(Comparator.comparingInt(Order::id));
+            return new Snapshot(head, orders);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies up to {@code max} changes starting at {@code from}, waiting if there are none yet.
+     * @return The offset after the last change copied ({@code from} if none arrived in time),
+     *         or -1 if {@code from} is no longer retained or lies in the future.
+     */
+    long read(long from, int max, List<OrderEvent> out, long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = timeoutNanos;
+            while (from == head && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (from < Math.max(start, head - ring.length) || from > head) {
+                return -1;
+            }
+            long end = Math.min(head, from + max);
+            for (long offset = from; offset < end; offset++) {
+                out.add(ring[(int) (offset % ring.length)]);
+            }
+            return end;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean retains(long offset) {
+        lock.lock();
+        try {
+            return offset >= Math.max(start, head - ring.length) && offset <= head;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
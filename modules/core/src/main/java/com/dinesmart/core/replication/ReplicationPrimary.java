@@ -0,0 +1,244 @@
+package com.dinesmart.core.replication;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.core.service.events.OrderEvent;
+import com.dinesmart.core.service.impl.ConcurrentOrderService;
+import com.dinesmart.util.Validator;
+import com.dinesmart.util.VirtualThreads;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ships every change of a {@link ConcurrentOrderService} to follower terminals over TCP, so they can
+ * answer order queries from memory. Followers connect with a {@link ReplicaOrderService}.
+ * Demonstrates:
+ * - `ServerSocket` with one sender thread per follower, from {@link VirtualThreads}.
+ * - `DataOutputStream` over a `BufferedOutputStream` for a compact framed protocol ({@link ReplicationProtocol}).
+ * - Implementing {@link OrderChangeListener} to capture changes in commit order.
+ *
+ * Changes are numbered by offset in a {@link ReplicationLog}. A follower reconnecting with the offset it
+ * reached continues from there if the change is still retained, and otherwise receives a snapshot of
+ * every order; it also receives a snapshot when it last followed another primary (another epoch).
+ * Each change carries the whole order, so replaying one twice is harmless. A slow follower never
+ * slows down the order service: it falls behind, then catches up from a snapshot. Orders evicted
+ * by a {@code TieredOrderService} are removed from the log's state and from every follower.
+ *
+ * The primary registers as an ordinary listener, so it only ships changes that went through.
+ * A failed primary must rejoin as a follower of the promoted one.
+ */
+public class ReplicationPrimary implements OrderChangeListener, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ReplicationPrimary.class.getName());
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ConcurrentOrderService orders;
+    private final ReplicationConfig config;
+    private final ReplicationLog log;
+    private final ServerSocket server;
+    private final ExecutorService senders;
+    private final Thread acceptor;
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Starts replicating an order service, accepting followers on the given address.
+     * @param orders The service whose changes are replicated; its current orders are the initial state.
+     * @param address The address to listen on; port 0 picks a free port, see {@link #port()}.
+     * @param config The replication settings.
+     * @throws DineSmartException if the address cannot be bound.
+     */
+    public ReplicationPrimary(ConcurrentOrderService orders, InetSocketAddress address, ReplicationConfig config)
+            throws DineSmartException {
+        this(orders, address, config, System.currentTimeMillis(), 0L);
+    }
+
+    // Used when a follower is promoted: a new epoch, continuing at the offset it had reached
+    ReplicationPrimary(ConcurrentOrderService orders, InetSocketAddress address, ReplicationConfig config,
+                       long epoch, long startOffset) throws DineSmartException {
+        if (Validator.isNull(orders) || Validator.isNull(address) || Validator.isNull(config)) {
+            throw new IllegalArgumentException("Orders, address and config cannot be null.");
+        }
+        this.orders = orders;
+        this.config = config;
+        this.log = new ReplicationLog(epoch, startOffset, config.retainedChanges());
+        try {
+            server = new ServerSocket();
+            server.setReuseAddress(true);
+            server.bind(address);
+        } catch (IOException e) {
+            throw new DineSmartException("Could not listen for replication followers on " + address + ".", e);
+        }
+        orders.addOrderChangeListener(this);
+        log.seed(orders.getAllOrders()); // After registering, so no change falls in between
+        senders = VirtualThreads.newPerTaskExecutor("dinesmart-replication-sender");
+        acceptor = new Thread(this::acceptFollowers, "dinesmart-replication-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        LOGGER.info("Replication primary listening on port " + server.getLocalPort() + ", epoch " + epoch + ".");
+    }
+
+    @Override
+    public void orderCreated(Order order) {
+        log.append(new OrderEvent(OrderEvent.Type.CREATED, order));
+    }
+
+    @Override
+    public void itemsAdded(Order before, Order after) {
+        log.append(new OrderEvent(OrderEvent.Type.ITEMS_ADDED, after));
+    }
+
+    @Override
+    public void statusChanged(Order before, Order after) {
+        log.append(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, after));
+    }
+
+    @Override
+    public void orderDeleted(Order order) {
+        log.append(new OrderEvent(OrderEvent.Type.DELETED, order));
+    }
+
+    // An archived order leaves the followers' copies as it left the primary's; shipped as a removal
+    @Override
+    public void orderEvicted(Order order) {
+        log.append(new OrderEvent(OrderEvent.Type.DELETED, order));
+    }
+
+    /**
+     * @return The port followers connect to.
+     */
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * @return The epoch of this primary; it changes whenever a new primary takes over.
+     */
+    public long epoch() {
+        return log.epoch();
+    }
+
+    /**
+     * @return The offset the next change will get; a follower at this offset is up to date.
+     */
+    public long head() {
+        return log.head();
+    }
+
+    /**
+     * @return The number of followers currently connected.
+     */
+    public int followerCount() {
+        return followers.size();
+    }
+
+    /**
+     * Stops replicating and disconnects all followers. The order service keeps working.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        orders.removeOrderChangeListener(this);
+        closeQuietly(server);
+        for (Socket follower : followers) {
+            closeQuietly(follower);
+        }
+        senders.shutdownNow();
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptFollowers() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.log(Level.WARNING, "Could not accept a replication follower.", e);
+                }
+                continue;
+            }
+            followers.add(socket);
+            try {
+                senders.execute(() -> serve(socket));
+            } catch (RejectedExecutionException e) {
+                followers.remove(socket); // Closing
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout((int) config.primaryTimeout().toMillis());
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            ReplicationProtocol.Hello hello = ReplicationProtocol.readHello(in);
+            long offset = hello.epoch() == log.epoch() && log.retains(hello.offset())
+                ? hello.offset()
+                : sendSnapshot(out);
+            out.flush();
+            LOGGER.info("Follower " + socket.getRemoteSocketAddress() + " joined at offset " + offset + ".");
+            List<OrderEvent> batch = new ArrayList<>(config.maxBatch());
+            long heartbeatNanos = config.heartbeat().toNanos();
+            while (!closed) {
+                batch.clear();
+                long next = log.read(offset, config.maxBatch(), batch, heartbeatNanos);
+                if (next < 0) {
+                    LOGGER.info("Follower " + socket.getRemoteSocketAddress() + " fell behind; sending a snapshot.");
+                    offset = sendSnapshot(out);
+                } else if (batch.isEmpty()) {
+                    ReplicationProtocol.writeHeartbeat(out, log.epoch(), offset);
+                } else {
+                    ReplicationProtocol.writeChanges(out, offset, batch);
+                    offset = next;
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                LOGGER.info("Follower " + socket.getRemoteSocketAddress() + " disconnected: " + e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Closing
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        ReplicationLog.Snapshot snapshot = log.snapshot();
+        // Read after the snapshot: the id only grows, so the follower never reserves too little
+        ReplicationProtocol.writeSnapshot(out, log.epoch(), snapshot.offset(), orders.lastOrderId(), snapshot.orders());
+        return snapshot.offset();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not close " + closeable, e);
+        }
+    }
+}
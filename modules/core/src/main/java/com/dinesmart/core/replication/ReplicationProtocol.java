@@ -0,0 +1,141 @@
+package com.dinesmart.core.replication;
+
+import com.dinesmart.core.codec.EntityCodec;
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.service.events.OrderEvent;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The replication wire format. Everything is big-endian, as written by `DataOutputStream`.
+ * <pre>
+ * follower -> primary, once:  HELLO     [int magic][byte version][long epoch][long offset]
+ * primary -> follower:        SNAPSHOT  [byte 1][long epoch][long offset][int last order id][int count][order]...
+ *                             CHANGES   [byte 2][long first offset][int count]([byte type][order])...
+ *                             HEARTBEAT [byte 3][long epoch][long head]
+ * order:                      [int length][EntityCodec order record]
+ * </pre>
+ * A follower that has never synced sends epoch and offset -1. Changes have consecutive offsets.
+ * The last order id covers orders the primary no longer holds (archived ones), so a promoted
+ * follower does not issue their ids again.
+ */
+final class ReplicationProtocol { // 'final' to prevent inheritance, utility class pattern
+
+    static final int MAGIC = 0x44535250; // "DSRP"
+    static final byte VERSION = 2;
+    static final byte SNAPSHOT = 1;
+    static final byte CHANGES = 2;
+    static final byte HEARTBEAT = 3;
+    static final long NONE = -1L;
+
+    private static final int MAX_ORDER_BYTES = 1 << 24;
+
+    private static final OrderEvent.Type[] TYPES = OrderEvent.Type.values();
+
+    // What a follower asks for
+    record Hello(long epoch, long offset) {
+    }
+
+    // Private constructor to prevent instantiation for a utility class
+    private ReplicationProtocol() {
+        throw new AssertionError("ReplicationProtocol cannot be instantiated.");
+    }
+
+    static void writeHello(DataOutputStream out, long epoch, long offset) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(epoch);
+        out.writeLong(offset);
+        out.flush();
+    }
+
+    static Hello readHello(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a DineSmart replication client.");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replication protocol version " + version + ".");
+        }
+        return new Hello(in.readLong(), in.readLong());
+    }
+
+    static void writeSnapshot(DataOutputStream out, long epoch, long offset, int lastOrderId,
+                              Collection<Order> orders) throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(epoch);
+        out.writeLong(offset);
+        out.writeInt(lastOrderId);
+        out.writeInt(orders.size());
+        for (Order order : orders) {
+            writeOrder(out, order);
+        }
+    }
+
+    static void writeChanges(DataOutputStream out, long first, List<OrderEvent> changes) throws IOException {
+        out.writeByte(CHANGES);
+        out.writeLong(first);
+        out.writeInt(changes.size());
+        for (OrderEvent change : changes) {
+            out.writeByte(change.type().ordinal());
+            writeOrder(out, change.order());
+        }
+    }
+
+    static void writeHeartbeat(DataOutputStream out, long epoch, long head) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(epoch);
+        out.writeLong(head);
+    }
+
+    static List<Order> readOrders(DataInputStream in, int count) throws IOException {
+        checkCount(count);
+        List<Order> orders = new ArrayList<>(Math.min(count, 4096)); // Do not trust the count for sizing
+        for (int i = 0; i < count; i++) {
+            orders.add(readOrder(in));
+        }
+        return orders;
+    }
+
+    static void checkCount(int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Corrupt replication stream: count " + count + ".");
+        }
+    }
+
+    static OrderEvent readChange(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        if (type >= TYPES.length) {
+            throw new IOException("Unknown change type " + type + ".");
+        }
+        return new OrderEvent(TYPES[type], readOrder(in));
+    }
+
+    private static void writeOrder(DataOutputStream out, Order order) throws IOException {
+        byte[] record = new byte[EntityCodec.sizeOf(order)];
+        EntityCodec.write(ByteBuffer.wrap(record), order);
+        out.writeInt(record.length);
+        out.write(record);
+    }
+
+    private static Order readOrder(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length <= 0 || length > MAX_ORDER_BYTES) {
+            throw new IOException("Corrupt replication stream: order of " + length + " bytes.");
+        }
+        byte[] record = new byte[length];
+        in.readFully(record);
+        try {
+            return EntityCodec.readOrder(ByteBuffer.wrap(record));
+        } catch (DineSmartException e) {
+            throw new IOException("Corrupt replication stream: " + e.getMessage(), e);
+        }
+    }
+}
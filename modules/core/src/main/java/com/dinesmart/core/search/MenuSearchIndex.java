@@ -0,0 +1,345 @@
+package com.dinesmart.core.search;
+
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over menu item names and descriptions for the type-ahead box.
+ * Demonstrates:
+ * - An inverted index: a sorted term dictionary (`TreeMap`) mapping each term to the items containing it.
+ * - `TreeMap.subMap` for prefix queries ("bur" matches "burger").
+ * - A bounded Damerau-Levenshtein distance for typo tolerance ("buger", "pizaz"); only terms sharing the
+ *   first letter (or the first two, swapped) are compared, so a query never scans the whole dictionary.
+ * - `ReadWriteLock`: many concurrent searches, rare incremental updates.
+ *
+ * Matching is accent- and case-insensitive ("creme" finds "Cr&egrave;me"). Every query term must
+ * match (by exact term, prefix, or a prefix within a small edit distance); hits are ranked with
+ * name matches above description matches, exact above prefix above fuzzy.
+ */
+public final class MenuSearchIndex {
+
+    // Field bits stored in the postings
+    private static final int IN_NAME = 1;
+    private static final int IN_DESCRIPTION = 2;
+
+    // Scores per query term: {name, description}
+    private static final int[] EXACT = {100, 30};
+    private static final int[] PREFIX = {70, 20};
+    private static final int[] FUZZY = {45, 12};
+    private static final int FUZZY_PENALTY = 10;     // Per edit
+    private static final int NAME_PREFIX_BONUS = 60; // The whole query starts the item's name
+
+    private static final Comparator<SearchHit> RANKING = Comparator
+        .comparingInt(SearchHit::score).reversed()
+        .thenComparingInt((SearchHit hit) -> hit.item().name().length())
+        .thenComparing(hit -> hit.item().name());
+
+    // An indexed item with its terms, kept to remove its postings on update
+    private record Document(MenuItem item, String foldedName, String[] nameTerms, String[] descriptionTerms) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Document> documents = new HashMap<>();                   // Guarded by lock
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();    // term -> (item id -> field bits)
+    private volatile long version = -1L;
+
+    /**
+     * Creates an empty index.
+     */
+    public MenuSearchIndex() {
+        // Populated through put() or sync()
+    }
+
+    /**
+     * Adds an item, or re-indexes it if an item with the same id is already present.
+     * @param item The item to index.
+     */
+    public void put(MenuItem item) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(item.id());
+            addDocument(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an item from the index.
+     * @param itemId The item's id.
+     * @return true if the item was indexed.
+     */
+    public boolean remove(int itemId) {
+        lock.writeLock().lock();
+        try {
+            return removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Brings the index up to date with a versioned menu, re-indexing only the items that changed.
+     * Calls with a version not newer than the last one synced are ignored, so concurrent callers
+     * cannot move the index back to an older menu.
+     *
+     * @param menuVersion The version of the menu contents.
+     * @param items All items of that version.
+     */
+    public void sync(long menuVersion, Collection<MenuItem> items) {
+        if (menuVersion <= version) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (menuVersion <= version) {
+                return;
+            }
+            Set<Integer> stale = new HashSet<>(documents.keySet());
+            for (MenuItem item : items) {
+                stale.remove(item.id());
+                Document existing = documents.get(item.id());
+                if (existing == null || (existing.item() != item && !existing.item().equals(item))) {
+                    removeDocument(item.id());
+                    addDocument(item);
+                }
+            }
+            for (Integer id : stale) {
+                removeDocument(id);
+            }
+            version = menuVersion;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The menu version last passed to {@link #sync(long, Collection)}, or -1.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return The number of indexed items.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query         The text typed by the user; may be partial or misspelled.
+     * @param category      Only return items of this category, or null for any.
+     * @param availableOnly Whether to skip items that are currently unavailable.
+     * @param limit         The maximum number of hits.
+     * @return The best hits, best first; empty if the query has no terms.
+     */
+    public List<SearchHit> search(String query, Category category, boolean availableOnly, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        String[] queryTerms = TextFolding.terms(query);
+        if (queryTerms.length == 0) {
+            return new ArrayList<>();
+        }
+        String foldedQuery = String.join(" ", queryTerms);
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = null;
+            for (String term : queryTerms) {
+                Map<Integer, Integer> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query term must match: keep the intersection and add up the scores
+                    Map<Integer, Integer> both = new HashMap<>();
+                    for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                        Integer score = termScores.get(entry.getKey());
+                        if (score != null) {
+                            both.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                MenuItem item = document.item();
+                if ((category != null && !category.equals(item.category())) || (availableOnly && !item.available())) {
+                    continue;
+                }
+                int score = entry.getValue();
+                if (document.foldedName().startsWith(foldedQuery)) {
+                    score += NAME_PREFIX_BONUS;
+                }
+                hits.add(new SearchHit(item, score));
+            }
+            hits.sort(RANKING);
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score of every item matching one query term. Must hold the read lock.
+    private Map<Integer, Integer> scoreTerm(String term) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        Map<Integer, Integer> exact = postings.get(term);
+        if (exact != null) {
+            addScores(scores, exact, EXACT, 0);
+        }
+        // Prefix: every term sorting between 'term' and 'term' followed by the largest char
+        for (Map<Integer, Integer> matches : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            addScores(scores, matches, PREFIX, 0);
+        }
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            // Like most spellers, assume the first letter is right or swapped with the second,
+            // so only the terms starting with one of those two letters need to be scanned
+            int[][] rows = new int[3][term.length() + 1];
+            char first = term.charAt(0);
+            char second = term.charAt(1);
+            scoreFuzzy(scores, term, maxEdits, rows, startingWith(first), (char) 0);
+            if (second != first) {
+                scoreFuzzy(scores, term, maxEdits, rows, startingWith(second), first);
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Map<Integer, Integer>> startingWith(char letter) {
+        return postings.subMap(String.valueOf(letter), true, String.valueOf((char) (letter + 1)), false);
+    }
+
+    // Scores terms within 'maxEdits' of 'term'; if 'secondLetter' is set, only terms with that second letter.
+    private static void scoreFuzzy(Map<Integer, Integer> scores, String term, int maxEdits, int[][] rows,
+                                   Map<String, Map<Integer, Integer>> candidates, char secondLetter) {
+        for (Map.Entry<String, Map<Integer, Integer>> entry : candidates.entrySet()) {
+            String candidate = entry.getKey();
+            if (candidate.length() < term.length() - maxEdits || candidate.startsWith(term)) {
+                continue; // Too short to be within reach, or already scored as exact or prefix
+            }
+            if (secondLetter != 0 && (candidate.length() < 2 || candidate.charAt(1) != secondLetter)) {
+                continue;
+            }
+            int edits = prefixDistance(term, candidate, maxEdits, rows);
+            if (edits <= maxEdits) {
+                addScores(scores, entry.getValue(), FUZZY, edits * FUZZY_PENALTY);
+            }
+        }
+    }
+
+    private static void addScores(Map<Integer, Integer> scores, Map<Integer, Integer> matches, int[] points, int penalty) {
+        for (Map.Entry<Integer, Integer> match : matches.entrySet()) {
+            int fields = match.getValue();
+            int score = ((fields & IN_NAME) != 0 ? points[0] : points[1]) - penalty;
+            scores.merge(match.getKey(), score, Math::max);
+        }
+    }
+
+    /**
+     * Returns the smallest edit distance (insertions, deletions, substitutions and adjacent
+     * transpositions) between {@code query} and any prefix of {@code term}, or {@code max + 1}
+     * as soon as it is known to exceed {@code max}. The table is filled one term character at a time,
+     * keeping only the last three rows.
+     */
+    static int prefixDistance(String query, String term, int max, int[][] rows) {
+        int m = query.length();
+        int[] older = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int i = 0; i <= m; i++) {
+            previous[i] = i; // Distance from query[0..i) to the empty prefix
+        }
+        int best = previous[m];
+        int previousMin = 0;
+        int limit = Math.min(term.length(), m + max);
+        for (int j = 1; j <= limit; j++) {
+            char t = term.charAt(j - 1);
+            current[0] = j;
+            int rowMin = current[0];
+            for (int i = 1; i <= m; i++) {
+                char q = query.charAt(i - 1);
+                int cost = q == t ? 0 : 1;
+                int value = Math.min(Math.min(previous[i] + 1, current[i - 1] + 1), previous[i - 1] + cost);
+                if (i > 1 && j > 1 && q == term.charAt(j - 2) && query.charAt(i - 2) == t) {
+                    value = Math.min(value, older[i - 2] + 1);
+                }
+                current[i] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            best = Math.min(best, current[m]);
+            if (rowMin > max && previousMin >= max) {
+                break; // No longer prefix can get back under the limit, not even by a transposition
+            }
+            previousMin = rowMin;
+            int[] recycled = older;
+            older = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(best, max + 1);
+    }
+
+    // Must hold the write lock.
+    private void addDocument(MenuItem item) {
+        String[] nameTerms = TextFolding.terms(item.name());
+        String[] descriptionTerms = TextFolding.terms(item.description());
+        String foldedName = String.join(" ", nameTerms);
+        documents.put(item.id(), new Document(item, foldedName, nameTerms, descriptionTerms));
+        for (String term : nameTerms) {
+            postings.computeIfAbsent(term, k -> new HashMap<>()).merge(item.id(), IN_NAME, (a, b) -> a | b);
+        }
+        for (String term : descriptionTerms) {
+            postings.computeIfAbsent(term, k -> new HashMap<>()).merge(item.id(), IN_DESCRIPTION, (a, b) -> a | b);
+        }
+    }
+
+    // Must hold the write lock.
+    private boolean removeDocument(int itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return false;
+        }
+        unpost(document.nameTerms(), itemId);
+        unpost(document.descriptionTerms(), itemId);
+        return true;
+    }
+
+    private void unpost(String[] terms, int itemId) {
+        for (String term : terms) {
+            Map<Integer, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(itemId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.dinesmart.core.search;
+
+import com.dinesmart.core.model.entities.MenuItem;
+
+/**
+ * A `record` holding one search result and its relevance score (higher is better).
+ *
+ * @param item  The matching menu item.
+ * @param score The relevance score; only meaningful relative to other hits of the same query.
+ */
+public record SearchHit(MenuItem item, int score) {
+}
@@ -0,0 +1,68 @@
+package com.dinesmart.core.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Package-private text normalisation shared by indexing and querying.
+ * Demonstrates:
+ * - `java.text.Normalizer` (NFD) to split accented letters into base letter + combining mark.
+ * - `Character` classification methods for tokenizing.
+ *
+ * "Cr&egrave;me Br&ucirc;l&eacute;e" and "creme brulee" both become the terms {@code [creme, brulee]}.
+ */
+final class TextFolding {
+
+    private TextFolding() {
+        throw new AssertionError("TextFolding cannot be instantiated.");
+    }
+
+    /**
+     * Lower-cases {@code text} and removes accents and other combining marks.
+     * @param text The text to fold.
+     * @return The folded text.
+     */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case '\u0153', '\u0152' -> out.append("oe"); // Ligature oe, as in "oeuf"
+                case '\u00e6', '\u00c6' -> out.append("ae");
+                case '\u00df' -> out.append("ss");          // German sharp s
+                default -> out.append(c);
+            }
+        }
+        return out.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits folded text into distinct terms, in order of first appearance.
+     * @param text The raw text; may be null.
+     * @return The terms.
+     */
+    static String[] terms(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String folded = fold(text);
+        Set<String> terms = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,40 @@
+package com.dinesmart.core.security;
+
+import com.dinesmart.util.Validator;
+
+import java.time.Duration;
+
+/**
+ * A `record` holding the settings of an {@link AuthenticationService}.
+ *
+ * @param hashIterations  The PBKDF2 iteration count for new password hashes; existing hashes keep
+ *                        the count they were created with. Higher is slower for attackers and for logins.
+ * @param workers         The number of threads verifying passwords, so a burst of logins is bounded
+ *                        in CPU use instead of starting one hash per caller.
+ * @param maxPendingLogins How many logins may wait for a worker before new ones are refused.
+ * @param sessionLifetime How long a session token stays valid after login, typically one shift.
+ */
+public record AuthConfig(int hashIterations, int workers, int maxPendingLogins, Duration sessionLifetime) {
+
+    public AuthConfig {
+        if (hashIterations < PasswordHasher.MIN_ITERATIONS || hashIterations > PasswordHasher.MAX_ITERATIONS) {
+            throw new IllegalArgumentException("Hash iterations must be between " + PasswordHasher.MIN_ITERATIONS
+                                               + " and " + PasswordHasher.MAX_ITERATIONS + ".");
+        }
+        if (workers <= 0 || maxPendingLogins < 0) {
+            throw new IllegalArgumentException("Workers must be positive and pending logins cannot be negative.");
+        }
+        if (Validator.isNull(sessionLifetime) || sessionLifetime.isNegative() || sessionLifetime.isZero()) {
+            throw new IllegalArgumentException("Session lifetime must be positive.");
+        }
+    }
+
+    /**
+     * @return 600,000 PBKDF2-HMAC-SHA256 iterations, up to 4 workers (fewer on small machines),
+     *         64 queued logins and 12-hour sessions.
+     */
+    public static AuthConfig defaults() {
+        int workers = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        return new AuthConfig(600_000, workers, 64, Duration.ofHours(12));
+    }
+}
@@ -0,0 +1,253 @@
+package com.dinesmart.core.security;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Role;
+import com.dinesmart.core.model.entities.User;
+import com.dinesmart.util.Validator;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Logs users in against their stored password hashes and answers role checks from a session cache.
+ * Demonstrates:
+ * - A bounded `ThreadPoolExecutor` (fixed workers, `ArrayBlockingQueue`) for CPU-heavy work, so a
+ *   shift change with dozens of logins queues up instead of saturating the machine.
+ * - `CompletableFuture` results, so the Swing event dispatch thread never waits for a hash.
+ * - `ConcurrentHashMap` as a session cache with expiry checked on read.
+ * - A nested functional interface for the user source, e.g. {@code userDao::findByUsername}.
+ *
+ * Logging in costs one deliberately slow {@link PasswordHasher} verification on a worker. Every
+ * later permission check is {@link #require(String, Role)}: a map lookup and a clock read, with no
+ * hashing and no database query, cheap enough for every order edit.
+ * <pre>
+ * auth.login(username, password).whenComplete((session, error) -&gt;
+ *     SwingUtilities.invokeLater(() -&gt; showLoginResult(session, error)));
+ * ...
+ * auth.require(session.token(), Role.STAFF); // Before each order action
+ * </pre>
+ * Sessions keep the role the user had at login; call {@link #logoutUser(int)} after changing a role.
+ */
+public class AuthenticationService implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(AuthenticationService.class.getName());
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * Finds a user by name; runs on a login worker, so it may query the database.
+     */
+    @FunctionalInterface
+    public interface UserLookup {
+
+        /**
+         * @param username The name entered at login.
+         * @return The user, or empty if there is none.
+         * @throws DineSmartException if the users cannot be read.
+         */
+        Optional<User> findByUsername(String username) throws DineSmartException;
+    }
+
+    private final UserLookup users;
+    private final AuthConfig config;
+    private final Clock clock;
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor workers;
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom tokens = new SecureRandom();
+    private final String decoyHash; // Verified for unknown users, so they take as long as known ones
+
+    /**
+     * Creates a service with the default settings.
+     * @param users Finds users by name.
+     */
+    public AuthenticationService(UserLookup users) {
+        this(users, AuthConfig.defaults(), Clock.systemUTC());
+    }
+
+    /**
+     * Creates a service. Hashes a decoy password up front, so this takes about as long as one login.
+     * @param users Finds users by name.
+     * @param config The hashing, worker and session settings.
+     * @param clock The clock used for session expiry.
+     */
+    public AuthenticationService(UserLookup users, AuthConfig config, Clock clock) {
+        if (Validator.isNull(users) || Validator.isNull(config) || Validator.isNull(clock)) {
+            throw new IllegalArgumentException("User lookup, config and clock cannot be null.");
+        }
+        this.users = users;
+        this.config = config;
+        this.clock = clock;
+        this.hasher = new PasswordHasher(config.hashIterations());
+        this.decoyHash = hasher.hash("decoy".toCharArray()); // Not on first use: that login would pay for two hashes
+        BlockingQueue<Runnable> queue = config.maxPendingLogins() == 0
+            ? new SynchronousQueue<>()
+            : new ArrayBlockingQueue<>(config.maxPendingLogins());
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(config.workers(), config.workers(), 0L, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread t = new Thread(r, "dinesmart-auth-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Verifies a password on a worker thread and opens a session if it matches.
+     * @param username The name entered.
+     * @param password The password entered; it is copied, so the caller may clear the array at once.
+     * @return A future completed with the new session, or exceptionally with a {@code DineSmartException}
+     *         if the credentials are wrong, the users cannot be read, or too many logins are pending.
+     */
+    public CompletableFuture<Session> login(String username, char[] password) {
+        CompletableFuture<Session> result = new CompletableFuture<>();
+        if (Validator.isNullOrEmpty(username) || Validator.isNull(password)) {
+            result.completeExceptionally(new DineSmartException("Username and password are required."));
+            return result;
+        }
+        char[] copy = password.clone();
+        try {
+            workers.execute(() -> {
+                try {
+                    result.complete(authenticate(username, copy));
+                } catch (DineSmartException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    Arrays.fill(copy, '\0');
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Arrays.fill(copy, '\0');
+            result.completeExceptionally(new DineSmartException("Too many logins in progress; please try again."));
+        }
+        return result;
+    }
+
+    /**
+     * @param token A session token.
+     * @return The session, or empty if the token is unknown, logged out or expired.
+     */
+    public Optional<Session> session(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (!clock.instant().isBefore(session.expiresAt())) {
+            sessions.remove(token, session);
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    /**
+     * Checks that a session may perform an action; meant to run before every protected action.
+     * @param token The session token.
+     * @param minimum The least privileged role allowed to perform the action.
+     * @return The session.
+     * @throws DineSmartException if the session is missing or expired, or its role is not sufficient.
+     */
+    public Session require(String token, Role minimum) throws DineSmartException {
+        Session session = session(token).orElseThrow(
+            () -> new DineSmartException("Not logged in, or the session has expired."));
+        if (!session.role().includes(minimum)) {
+            throw new DineSmartException("User " + session.username() + " (" + session.role()
+                                         + ") is not allowed to do this; it requires " + minimum + ".");
+        }
+        return session;
+    }
+
+    /**
+     * @param token The session token.
+     * @return true if the session existed.
+     */
+    public boolean logout(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Ends every session of a user, e.g. after their role changed or their account was removed.
+     * @param userId The user's id.
+     * @return The number of sessions ended.
+     */
+    public int logoutUser(int userId) {
+        int ended = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().userId() == userId) {
+                it.remove();
+                ended++;
+            }
+        }
+        return ended;
+    }
+
+    /**
+     * @return The number of unexpired sessions.
+     */
+    public int activeSessions() {
+        purgeExpired();
+        return sessions.size();
+    }
+
+    /**
+     * Hashes a new password with the configured cost, for storing in a {@link User}. Slow: call it off
+     * the event dispatch thread.
+     * @param password The password; the caller should clear the array afterwards.
+     * @return The hash.
+     */
+    public String hashPassword(char[] password) {
+        return hasher.hash(password);
+    }
+
+    /**
+     * Stops the login workers and ends all sessions.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        sessions.clear();
+    }
+
+    // Runs on a worker
+    private Session authenticate(String username, char[] password) throws DineSmartException {
+        Optional<User> user = users.findByUsername(username);
+        String stored = user.map(User::passwordHash).orElse(decoyHash);
+        boolean matches = hasher.verify(password, stored);
+        if (user.isEmpty() || !matches) {
+            LOGGER.info("Failed login for '" + username + "'.");
+            throw new DineSmartException("Invalid username or password.");
+        }
+        purgeExpired();
+        Instant expiresAt = clock.instant().plus(config.sessionLifetime());
+        Session session = new Session(newToken(), user.get().id(), user.get().username(), user.get().role(), expiresAt);
+        sessions.put(session.token(), session);
+        LOGGER.info("User '" + username + "' logged in as " + session.role() + ".");
+        return session;
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        tokens.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void purgeExpired() {
+        Instant now = clock.instant();
+        sessions.values().removeIf(session -> !now.isBefore(session.expiresAt()));
+    }
+}
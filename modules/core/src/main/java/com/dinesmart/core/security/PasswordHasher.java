@@ -0,0 +1,111 @@
+package com.dinesmart.core.security;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted PBKDF2 password hashing with a tunable cost, for {@link com.dinesmart.core.model.entities.User#passwordHash()}.
+ * Demonstrates:
+ * - The JCA `SecretKeyFactory` with `PBKDF2WithHmacSHA256`.
+ * - `SecureRandom` salts and constant-time comparison with `MessageDigest.isEqual`.
+ * - A self-describing hash format, so the cost can be raised without invalidating stored hashes.
+ *
+ * Format: {@code pbkdf2-sha256$<iterations>$<base64 salt>$<base64 hash>}. Hashing is deliberately slow;
+ * never call it on the Swing event dispatch thread. Instances are thread-safe.
+ */
+public final class PasswordHasher {
+
+    static final int MIN_ITERATIONS = 10_000;
+    static final int MAX_ITERATIONS = 10_000_000; // Refuse stored hashes that would stall a worker
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param iterations The iteration count for new hashes.
+     */
+    public PasswordHasher(int iterations) {
+        if (iterations < MIN_ITERATIONS || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("Iterations must be between " + MIN_ITERATIONS + " and " + MAX_ITERATIONS + ".");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * @param password The password; the caller should clear the array afterwards.
+     * @return A new salted hash in this class's format.
+     */
+    public String hash(char[] password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$"
+               + base64.encodeToString(derive(password, salt, iterations, HASH_BITS));
+    }
+
+    /**
+     * @param password The password to check; the caller should clear the array afterwards.
+     * @param stored A hash from {@link #hash(char[])}, possibly made with another iteration count.
+     * @return true if the password matches; false if not, or if {@code stored} is not in this format.
+     */
+    public boolean verify(char[] password, String stored) {
+        String[] parts = stored == null ? new String[0] : stored.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            if (storedIterations < 1 || storedIterations > MAX_ITERATIONS) {
+                return false;
+            }
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] salt = base64.decode(parts[2]);
+            byte[] expected = base64.decode(parts[3]);
+            if (salt.length == 0 || expected.length == 0) {
+                return false;
+            }
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations, expected.length * 8));
+        } catch (IllegalArgumentException e) { // Bad number or Base64
+            return false;
+        }
+    }
+
+    /**
+     * @param stored A stored hash.
+     * @return true if it was made with fewer iterations than this hasher uses, or in another format,
+     *         so it should be replaced after the next successful login.
+     */
+    public boolean needsRehash(String stored) {
+        String[] parts = stored == null ? new String[0] : stored.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // Every Java SE runtime must provide PBKDF2WithHmacSHA256
+            throw new IllegalStateException(ALGORITHM + " is not available.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.dinesmart.core.security;
+
+import com.dinesmart.core.model.entities.Role;
+import com.dinesmart.util.Validator;
+
+import java.time.Instant;
+
+/**
+ * A `record` for a logged-in user, as issued by {@link AuthenticationService#login(String, char[])}.
+ * It holds no password hash, so it can be kept in memory for the whole shift.
+ *
+ * @param token     The opaque session token; pass it with every action that needs a role check.
+ * @param userId    The user's id.
+ * @param username  The user's name.
+ * @param role      The user's role at login time.
+ * @param expiresAt When the token stops being valid.
+ */
+public record Session(String token, int userId, String username, Role role, Instant expiresAt) {
+
+    public Session {
+        if (Validator.isNullOrEmpty(token) || Validator.isNullOrEmpty(username)) {
+            throw new IllegalArgumentException("Token and username cannot be null or empty.");
+        }
+        if (Validator.isNull(role) || Validator.isNull(expiresAt)) {
+            throw new IllegalArgumentException("Role and expiry cannot be null.");
+        }
+    }
+
+    /**
+     * @return The session without its token, e.g. for logging.
+     */
+    @Override
+    public String toString() {
+        return "Session[userId=" + userId + ", username=" + username + ", role=" + role + ", expiresAt=" + expiresAt + "]";
+    }
+}
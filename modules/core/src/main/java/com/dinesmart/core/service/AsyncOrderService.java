@@ -0,0 +1,65 @@
+package com.dinesmart.core.service;
+
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link OrderService}: every method returns at once with a
+ * `CompletableFuture`. Failures that {@link OrderService} reports with a `DineSmartException`
+ * complete the future exceptionally with that exception.
+ * Demonstrates:
+ * - `CompletableFuture` as the result type of an asynchronous API.
+ */
+public interface AsyncOrderService {
+
+    /**
+     * @see OrderService#createOrder(int, Map)
+     */
+    CompletableFuture<Order> createOrder(int tableId, Map<MenuItem, Integer> items);
+
+    /**
+     * @see OrderService#getOrderById(int)
+     */
+    CompletableFuture<Optional<Order>> getOrderById(int orderId);
+
+    /**
+     * @see OrderService#updateOrderStatus(int, OrderStatus)
+     */
+    CompletableFuture<Boolean> updateOrderStatus(int orderId, OrderStatus newStatus);
+
+    /**
+     * @see OrderService#addItemsToOrder(int, Map)
+     */
+    CompletableFuture<Boolean> addItemsToOrder(int orderId, Map<MenuItem, Integer> itemsToAdd);
+
+    /**
+     * @see OrderService#getAllActiveOrders()
+     */
+    CompletableFuture<List<Order>> getAllActiveOrders();
+
+    /**
+     * @see OrderService#getOrdersByStatus(OrderStatus)
+     */
+    CompletableFuture<List<Order>> getOrdersByStatus(OrderStatus status);
+
+    /**
+     * @see OrderService#getOrdersForTable(int)
+     */
+    CompletableFuture<List<Order>> getOrdersForTable(int tableId);
+
+    /**
+     * @see OrderService#getActiveOrders(int, int)
+     */
+    CompletableFuture<List<Order>> getActiveOrders(int afterOrderId, int limit);
+
+    /**
+     * @see OrderService#deleteOrder(int)
+     */
+    CompletableFuture<Boolean> deleteOrder(int orderId);
+}
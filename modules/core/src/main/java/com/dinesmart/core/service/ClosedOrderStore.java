@@ -0,0 +1,57 @@
+package com.dinesmart.core.service;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The cold tier for orders that can no longer change (paid or cancelled): an append-only store
+ * that takes them out of the live working set while keeping them readable.
+ * Demonstrates:
+ * - An interface declared in the service layer and implemented by the data layer.
+ * - A default method that implementations may override with something cheaper.
+ */
+public interface ClosedOrderStore {
+
+    /**
+     * Appends closed orders. Once this returns they are durable, so the caller may drop them from memory.
+     * An order archived again replaces the earlier copy.
+     * @param orders The orders to archive, all in a terminal status.
+     * @throws DineSmartException if they could not be stored; none of them should be dropped.
+     */
+    void archive(List<Order> orders) throws DineSmartException;
+
+    /**
+     * @param orderId The ID of the order.
+     * @return The archived order, or empty if it was never archived.
+     * @throws DineSmartException if the store cannot be read.
+     */
+    Optional<Order> find(int orderId) throws DineSmartException;
+
+    /**
+     * @param from The first day, inclusive, as the date of the order time.
+     * @param to The last day, inclusive.
+     * @return The archived orders placed on those days, ordered by id.
+     * @throws DineSmartException if the store cannot be read.
+     */
+    List<Order> findByDate(LocalDate from, LocalDate to) throws DineSmartException;
+
+    /**
+     * Lets the live tier keep new order ids clear of archived ones after a restart.
+     * @return The highest archived order ID, or 0 if the store is empty.
+     * @throws DineSmartException if the store cannot be read.
+     */
+    int maxId() throws DineSmartException;
+
+    /**
+     * @param orderId The ID of the order.
+     * @return true if the order has been archived.
+     * @throws DineSmartException if the store cannot be read.
+     */
+    default boolean contains(int orderId) throws DineSmartException {
+        return find(orderId).isPresent();
+    }
+}
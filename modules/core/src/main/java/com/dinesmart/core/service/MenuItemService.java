@@ -3,6 +3,7 @@ package com.dinesmart.core.service;
 import com.dinesmart.core.exceptions.DineSmartException;
 import com.dinesmart.core.model.entities.Category;
 import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,7 +29,7 @@ public interface MenuItemService {
      * @return The created MenuItem object.
      * @throws DineSmartException if the item cannot be added (e.g., name conflict).
      */
-    MenuItem addMenuItem(String name, String description, double price, Category category, boolean available) throws DineSmartException;
+    MenuItem addMenuItem(String name, String description, Money price, Category category, boolean available) throws DineSmartException;
 
     /**
      * Retrieves a menu item by its ID.
@@ -73,6 +74,17 @@ public interface MenuItemService {
      */
     List<MenuItem> getMenuItemsByCategory(Category category);
 
+    /**
+     * Searches menu items by name and description, as typed into a search box: partial words,
+     * missing accents and small typos are tolerated.
+     * @param query The search text.
+     * @param category Only return items of this category, or null for any category.
+     * @param availableOnly Whether to leave out items that are currently unavailable.
+     * @param limit The maximum number of results.
+     * @return The matching menu items, best match first.
+     */
+    List<MenuItem> searchMenuItems(String query, Category category, boolean availableOnly, int limit);
+
     /**
      * Retrieves all distinct categories.
      * @return A set of all distinct categories available.
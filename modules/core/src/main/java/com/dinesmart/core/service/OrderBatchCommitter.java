@@ -0,0 +1,29 @@
+package com.dinesmart.core.service;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.service.events.OrderEvent;
+
+import java.util.List;
+
+/**
+ * Makes a batch of order changes durable at once: one database transaction, or one fsync
+ * of a journal. Used by group-committing services to share the cost of a commit among
+ * all the writes that arrive while the previous commit is running.
+ * Demonstrates:
+ * - A functional interface whose single method may throw a checked exception.
+ */
+@FunctionalInterface
+public interface OrderBatchCommitter {
+
+    /**
+     * Commits a batch. It holds one event per order, carrying the order's latest state:
+     * {@code CREATED} if the order was created since the previous batch, {@code DELETED} if it no
+     * longer exists, otherwise {@code ITEMS_ADDED} or {@code STATUS_CHANGED}. An order may have
+     * been created in an earlier batch that is still being committed, so implementations should
+     * treat a change to an unknown order as a creation.
+     *
+     * @param batch The changes, in the order they were first made.
+     * @throws DineSmartException if the batch could not be made durable; every write in it fails.
+     */
+    void commit(List<OrderEvent> batch) throws DineSmartException;
+}
@@ -0,0 +1,64 @@
+package com.dinesmart.core.service;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+
+/**
+ * Callback interface for observing changes made through an {@link OrderService}.
+ * Demonstrates:
+ * - `default` interface methods, so implementations only override the events they care about.
+ * - The Observer pattern.
+ *
+ * Listeners are invoked while the order is still locked, in registration order. An ordinary
+ * listener runs just after the change became visible and cannot abort it: what it throws is
+ * logged. A vetoing listener (see {@code ConcurrentOrderService.addVetoingListener}) runs before
+ * the change is visible and before every ordinary listener; throwing `DineSmartException` aborts
+ * the change, which lets a write-ahead journal veto anything it could not record, and no other
+ * listener ever hears of it. Listeners must be fast and must not call back into the order service
+ * for the same order.
+ */
+public interface OrderChangeListener {
+
+    /**
+     * Called when a new order is created.
+     * @param order The new order.
+     * @throws DineSmartException to abort the creation, if registered as vetoing.
+     */
+    default void orderCreated(Order order) throws DineSmartException {
+    }
+
+    /**
+     * Called when items are added to an order.
+     * @param before The order before the change.
+     * @param after The order after the change.
+     * @throws DineSmartException to abort the change, if registered as vetoing.
+     */
+    default void itemsAdded(Order before, Order after) throws DineSmartException {
+    }
+
+    /**
+     * Called when the status of an order changes.
+     * @param before The order before the change.
+     * @param after The order after the change.
+     * @throws DineSmartException to abort the change, if registered as vetoing.
+     */
+    default void statusChanged(Order before, Order after) throws DineSmartException {
+    }
+
+    /**
+     * Called when an order is deleted.
+     * @param order The order being deleted.
+     * @throws DineSmartException to abort the deletion, if registered as vetoing.
+     */
+    default void orderDeleted(Order order) throws DineSmartException {
+    }
+
+    /**
+     * Called when a closed order is dropped from memory after being archived elsewhere. The order
+     * still exists, it has only left the live working set.
+     * @param order The order being evicted, in a terminal status.
+     * @throws DineSmartException to keep the order in memory, if registered as vetoing.
+     */
+    default void orderEvicted(Order order) throws DineSmartException {
+    }
+}
@@ -60,6 +60,29 @@ public interface OrderService {
      */
     List<Order> getAllActiveOrders();
 
+    /**
+     * Retrieves all orders currently in the given status, ordered by ID.
+     * @param status The status to look for.
+     * @return A list of orders in that status.
+     */
+    List<Order> getOrdersByStatus(OrderStatus status);
+
+    /**
+     * Retrieves the active orders of a table, ordered by ID.
+     * @param tableId The ID of the table.
+     * @return A list of the table's active orders; empty if it has none.
+     */
+    List<Order> getOrdersForTable(int tableId);
+
+    /**
+     * Retrieves one page of active orders, ordered by ID (keyset pagination).
+     * Pass 0 for the first page, then the ID of the last order of the previous page.
+     * @param afterOrderId Only orders with a greater ID are returned.
+     * @param limit The maximum number of orders to return.
+     * @return A list of at most {@code limit} active orders.
+     */
+    List<Order> getActiveOrders(int afterOrderId, int limit);
+
     /**
      * Deletes an order by its ID.
      * @param orderId The ID of the order to delete.
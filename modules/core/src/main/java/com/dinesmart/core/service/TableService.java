@@ -0,0 +1,107 @@
+package com.dinesmart.core.service;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Table;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for managing the dining tables and seating guests.
+ * Demonstrates:
+ * - Interface definition.
+ * - Use of `Optional` for queries that may find no table.
+ * - Custom `DineSmartException` for business logic errors.
+ */
+public interface TableService {
+
+    /**
+     * Adds a free table.
+     * @param tableId The table's ID.
+     * @param capacity The number of seats.
+     * @return The new table.
+     * @throws DineSmartException if a table with that ID already exists.
+     */
+    Table addTable(int tableId, int capacity) throws DineSmartException;
+
+    /**
+     * Removes a table.
+     * @param tableId The table's ID.
+     * @return true if the table existed and was removed.
+     * @throws DineSmartException if the table is occupied.
+     */
+    boolean removeTable(int tableId) throws DineSmartException;
+
+    /**
+     * @param tableId The table's ID.
+     * @return The table, or empty if there is none with that ID.
+     */
+    Optional<Table> getTableById(int tableId);
+
+    /**
+     * @return All tables, ordered by ID.
+     */
+    List<Table> getAllTables();
+
+    /**
+     * @return The free tables, ordered by ID.
+     */
+    List<Table> getFreeTables();
+
+    /**
+     * Finds the best free table for a party: the smallest one that seats everybody.
+     * @param partySize The number of guests.
+     * @return The table, or empty if no free table is large enough.
+     */
+    Optional<Table> findBestFreeTable(int partySize);
+
+    /**
+     * Seats guests at a given table.
+     * @param tableId The table's ID.
+     * @param orderRef The reference of the order the table is now serving.
+     * @return The occupied table.
+     * @throws DineSmartException if the table does not exist or is already occupied.
+     */
+    Table seatAt(int tableId, String orderRef) throws DineSmartException;
+
+    /**
+     * Atomically finds the best free table for a party and seats it there, so that two hosts can
+     * never give the same table away.
+     * @param partySize The number of guests.
+     * @param orderRef The reference of the order the table is now serving.
+     * @return The occupied table, or empty if no free table is large enough.
+     * @throws DineSmartException if the order reference is invalid.
+     */
+    Optional<Table> seatParty(int partySize, String orderRef) throws DineSmartException;
+
+    /**
+     * Frees a table.
+     * @param tableId The table's ID.
+     * @return true if the table was occupied.
+     * @throws DineSmartException if the table does not exist.
+     */
+    boolean releaseTable(int tableId) throws DineSmartException;
+
+    /**
+     * Records when an occupied table is expected to become free.
+     * @param tableId The table's ID.
+     * @param expectedRelease The expected time.
+     * @throws DineSmartException if the table does not exist or is free.
+     */
+    void setExpectedRelease(int tableId, LocalDateTime expectedRelease) throws DineSmartException;
+
+    /**
+     * Lists the occupied tables expected to be free before a deadline, soonest first.
+     * @param deadline The deadline.
+     * @return The tables.
+     */
+    List<Table> getTablesFreeingBefore(LocalDateTime deadline);
+
+    /**
+     * Finds the occupied table large enough for a party that is expected to be free first.
+     * @param partySize The number of guests.
+     * @return The table, or empty if no occupied table is large enough.
+     */
+    Optional<Table> findNextTableFreeing(int partySize);
+}
@@ -0,0 +1,42 @@
+package com.dinesmart.core.service.events;
+
+import com.dinesmart.core.model.entities.Order;
+
+/**
+ * A `record` describing one change to an order, as pushed to display subscribers.
+ * Demonstrates:
+ * - Records as immutable event messages.
+ * - A nested `enum` for the event kind.
+ *
+ * @param type  What happened.
+ * @param order The order after the change; for {@link Type#DELETED}, the order as it was before deletion.
+ */
+public record OrderEvent(Type type, Order order) {
+
+    /**
+     * The kinds of order lifecycle events.
+     */
+    public enum Type {
+        CREATED,
+        ITEMS_ADDED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    // Compact constructor for validation
+    public OrderEvent {
+        if (type == null) {
+            throw new IllegalArgumentException("Event type cannot be null.");
+        }
+        if (order == null) {
+            throw new IllegalArgumentException("Event order cannot be null.");
+        }
+    }
+
+    /**
+     * @return The id of the order this event is about.
+     */
+    public int orderId() {
+        return order.id();
+    }
+}
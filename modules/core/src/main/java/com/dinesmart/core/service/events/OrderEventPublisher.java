@@ -0,0 +1,324 @@
+package com.dinesmart.core.service.events;
+
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.util.Validator;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes order lifecycle events to subscribers (kitchen and floor displays) instead of having
+ * them poll the order service.
+ * Demonstrates:
+ * - The `java.util.concurrent.Flow` Reactive Streams interfaces: `Publisher`, `Subscriber`, `Subscription`.
+ * - Backpressure through `Subscription.request(n)` with a bounded buffer per subscriber.
+ * - A "work-in-progress" counter (`AtomicInteger`) so each subscriber is drained by at most one
+ *   executor task at a time, which keeps its signals serial without locking around `onNext`.
+ *
+ * Register it with {@code ConcurrentOrderService.addOrderChangeListener(publisher)}: ordinary listeners
+ * are told once a change is visible, so vetoed changes are never published and a subscriber that
+ * reads the order service on an event sees the change.
+ * Publishing only enqueues the event and never blocks: when a subscriber falls behind, its
+ * {@link OverflowPolicy} decides what is discarded.
+ */
+public class OrderEventPublisher implements Flow.Publisher<OrderEvent>, OrderChangeListener, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    // Strongest first: what a coalesced event reports when two events about one order merge
+    private static final OrderEvent.Type[] PRECEDENCE = {
+        OrderEvent.Type.DELETED, OrderEvent.Type.CREATED, OrderEvent.Type.ITEMS_ADDED, OrderEvent.Type.STATUS_CHANGED
+    };
+
+    private final Executor executor;
+    private final int defaultCapacity;
+    private final OverflowPolicy defaultPolicy;
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Creates a publisher delivering on the common fork-join pool, with a buffer of
+     * 256 events per subscriber that, once full, coalesces events by order.
+     */
+    public OrderEventPublisher() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CAPACITY, OverflowPolicy.COALESCE_BY_ORDER);
+    }
+
+    /**
+     * Creates a publisher.
+     * @param executor Runs the per-subscriber delivery tasks.
+     * @param defaultCapacity The buffer size for subscribers that don't choose one.
+     * @param defaultPolicy The overflow policy for subscribers that don't choose one.
+     */
+    public OrderEventPublisher(Executor executor, int defaultCapacity, OverflowPolicy defaultPolicy) {
+        if (Validator.isNull(executor) || Validator.isNull(defaultPolicy)) {
+            throw new IllegalArgumentException("Executor and overflow policy cannot be null.");
+        }
+        if (defaultCapacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive.");
+        }
+        this.executor = executor;
+        this.defaultCapacity = defaultCapacity;
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super OrderEvent> subscriber) {
+        subscribe(subscriber, defaultCapacity, defaultPolicy);
+    }
+
+    /**
+     * Subscribes with an explicit buffer size and overflow policy.
+     * @param subscriber The subscriber.
+     * @param capacity The maximum number of undelivered events kept for this subscriber.
+     * @param policy What to do when the buffer is full.
+     */
+    public void subscribe(Flow.Subscriber<? super OrderEvent> subscriber, int capacity, OverflowPolicy policy) {
+        if (Validator.isNull(subscriber)) {
+            throw new NullPointerException("Subscriber cannot be null."); // Required by the Flow specification
+        }
+        if (capacity <= 0 || Validator.isNull(policy)) {
+            throw new IllegalArgumentException("Capacity must be positive and policy cannot be null.");
+        }
+        EventSubscription subscription = new EventSubscription(subscriber, capacity, policy);
+        subscriber.onSubscribe(subscription);
+        // Only registered once onSubscribe has returned, so no onNext can overlap with it
+        subscriptions.add(subscription);
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * @return The number of subscribers currently attached.
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return The total number of events discarded or coalesced because a subscriber was too slow.
+     */
+    public long droppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Publishes an event to every subscriber without blocking.
+     * @param event The event.
+     */
+    public void publish(OrderEvent event) {
+        if (closed) {
+            return;
+        }
+        for (EventSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    @Override
+    public void orderCreated(Order order) {
+        publish(new OrderEvent(OrderEvent.Type.CREATED, order));
+    }
+
+    @Override
+    public void itemsAdded(Order before, Order after) {
+        publish(new OrderEvent(OrderEvent.Type.ITEMS_ADDED, after));
+    }
+
+    @Override
+    public void statusChanged(Order before, Order after) {
+        publish(new OrderEvent(OrderEvent.Type.STATUS_CHANGED, after));
+    }
+
+    @Override
+    public void orderDeleted(Order order) {
+        publish(new OrderEvent(OrderEvent.Type.DELETED, order));
+    }
+
+    /**
+     * Stops publishing; each subscriber receives `onComplete` once its buffered events are delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (EventSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    // A buffered event; coalescing replaces its event in place, so it keeps its place in line
+    private static final class Slot {
+        OrderEvent event;
+
+        Slot(OrderEvent event) {
+            this.event = event;
+        }
+    }
+
+    // One subscriber's buffer, demand and delivery state
+    private final class EventSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super OrderEvent> subscriber;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final ArrayDeque<Slot> queue = new ArrayDeque<>(); // Guarded by 'this'
+        private final Map<Integer, Slot> latestByOrder;            // COALESCE_BY_ORDER; guarded by 'this'
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean completed;
+        private volatile boolean cancelled;
+        private Throwable error; // Set by request(n <= 0), delivered by the drain task
+
+        EventSubscription(Flow.Subscriber<? super OrderEvent> subscriber, int capacity, OverflowPolicy policy) {
+            this.subscriber = subscriber;
+            this.capacity = capacity;
+            this.policy = policy;
+            this.latestByOrder = policy == OverflowPolicy.COALESCE_BY_ORDER ? new HashMap<>() : null;
+        }
+
+        void offer(OrderEvent event) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (this) {
+                // Only a full buffer coalesces; until then every event is delivered as published
+                Slot pending = queue.size() < capacity || latestByOrder == null ? null : latestByOrder.get(event.orderId());
+                if (pending != null) {
+                    pending.event = coalesce(pending.event, event);
+                    dropped.increment();
+                } else {
+                    if (queue.size() == capacity) {
+                        poll();
+                        dropped.increment();
+                    }
+                    Slot slot = new Slot(event);
+                    queue.addLast(slot);
+                    if (latestByOrder != null) {
+                        latestByOrder.put(event.orderId(), slot);
+                    }
+                }
+            }
+            signal();
+        }
+
+        void complete() {
+            completed = true;
+            signal();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                synchronized (this) {
+                    error = new IllegalArgumentException("Requested demand must be positive: " + n);
+                }
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum; // Cap overflow at "unbounded"
+                });
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                queue.clear();
+                if (latestByOrder != null) {
+                    latestByOrder.clear();
+                }
+            }
+        }
+
+        private void signal() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        // Runs on the executor; 'wip' guarantees a single drain per subscription at a time
+        private void drain() {
+            int missed = 1;
+            do {
+                deliver();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            while (!cancelled) {
+                Throwable failure;
+                OrderEvent next = null;
+                synchronized (this) {
+                    failure = error;
+                    if (failure == null && demand.get() > 0) {
+                        next = poll();
+                    }
+                }
+                if (failure != null) {
+                    cancel();
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (next == null) {
+                    if (completed && isEmpty()) {
+                        cancel();
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                try {
+                    subscriber.onNext(next);
+                } catch (RuntimeException e) {
+                    cancel();
+                    subscriber.onError(e);
+                    return;
+                }
+            }
+        }
+
+        // Must hold 'this'
+        private OrderEvent poll() {
+            Slot oldest = queue.pollFirst();
+            if (oldest == null) {
+                return null;
+            }
+            if (latestByOrder != null) {
+                latestByOrder.remove(oldest.event.orderId(), oldest);
+            }
+            return oldest.event;
+        }
+
+        private synchronized boolean isEmpty() {
+            return queue.isEmpty();
+        }
+    }
+
+    // One event standing for a pending one and a later one about the same order: the later order with
+    // the stronger type, so a subscriber still learns that a row was added or removed
+    private static OrderEvent coalesce(OrderEvent pending, OrderEvent later) {
+        for (OrderEvent.Type type : PRECEDENCE) {
+            if (pending.type() == type || later.type() == type) {
+                return new OrderEvent(type, later.order());
+            }
+        }
+        return later;
+    }
+}
@@ -0,0 +1,10 @@
+package com.dinesmart.core.service.events;
+
+/**
+ * What an {@link OrderEventPublisher} does when a subscriber's buffer is full.
+ * Either way the publisher never blocks, so a slow display cannot stall order entry.
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST,       // Discard the oldest buffered event to make room for the new one
+    COALESCE_BY_ORDER  // Merge into the newest buffered event for the same order, else drop the oldest
+}
@@ -0,0 +1,544 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.util.Validator;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Thread-safe in-memory `OrderService` that never serializes unrelated orders behind one lock.
+ * Demonstrates:
+ * - `ConcurrentHashMap` for lock-free reads.
+ * - Lock striping: an array of `ReentrantLock`s indexed by order id, so writers on different
+ *   tables (and therefore different orders) almost never contend.
+ * - `AtomicInteger` for id generation.
+ * - An order status state machine ({@link OrderStatus#canTransitionTo(OrderStatus)}) enforced
+ *   with compare-and-set semantics.
+ * - `CopyOnWriteArrayList` for rarely changed, frequently iterated {@link OrderChangeListener}s.
+ * - Secondary indexes (`ConcurrentSkipListMap` per status and per table) maintained on every change,
+ *   so active-order queries cost O(open orders) rather than O(all orders of the day).
+ *
+ * Listeners are told about a change in two passes, both under the order's stripe lock. Vetoing
+ * listeners ({@link #addVetoingListener(OrderChangeListener)}, e.g. a write-ahead journal) run first,
+ * before the change is visible, and may abort it by throwing. Only then is the change made visible
+ * and the other listeners told; they cannot fail the change, so nothing they do is ever undone.
+ */
+public class ConcurrentOrderService implements OrderService {
+
+    private static final Logger LOGGER = Logger.getLogger(ConcurrentOrderService.class.getName());
+    private static final int DEFAULT_STRIPES = 64;
+
+    // One listener callback, so each pass can be written once
+    @FunctionalInterface
+    private interface Notification {
+        void send(OrderChangeListener listener) throws DineSmartException;
+    }
+
+    private final ConcurrentHashMap<Integer, Order> orders = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrderId = new AtomicInteger(1);
+    private final List<OrderChangeListener> vetoing = new CopyOnWriteArrayList<>();   // Before visibility
+    private final List<OrderChangeListener> listeners = new CopyOnWriteArrayList<>(); // After visibility
+
+    // Secondary indexes, updated under the order's stripe lock; keyed by order id so reads come out sorted
+    private final Map<OrderStatus, ConcurrentSkipListMap<Integer, Order>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final ConcurrentSkipListMap<Integer, Order> active = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListMap<Integer, Order>> activeByTable = new ConcurrentHashMap<>();
+    private final Lock[] stripes;
+    private final Clock clock;
+
+    /**
+     * Creates a service using the system clock and the default number of lock stripes.
+     */
+    public ConcurrentOrderService() {
+        this(Clock.systemDefaultZone(), DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a service with an explicit clock and stripe count.
+     * @param clock The clock used to timestamp new orders.
+     * @param stripeCount The number of lock stripes; rounded up to a power of two.
+     */
+    public ConcurrentOrderService(Clock clock, int stripeCount) {
+        if (Validator.isNull(clock)) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive.");
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.clock = clock;
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListMap<>()); // Never modified afterwards
+        }
+    }
+
+    /**
+     * Registers a listener that is told about every change right after it becomes visible, while the
+     * order is still locked. It cannot veto: an exception it throws is logged and the change stands.
+     * @param listener The listener to add.
+     */
+    public void addOrderChangeListener(OrderChangeListener listener) {
+        if (Validator.isNull(listener)) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener that is told about every change before it becomes visible and before any
+     * other listener, and that aborts the change by throwing {@code DineSmartException}, e.g. a
+     * write-ahead journal that could not record it. A veto cannot undo what an earlier vetoing
+     * listener did, so register at most one with side effects, after any pure checks.
+     * @param listener The listener to add.
+     */
+    public void addVetoingListener(OrderChangeListener listener) {
+        if (Validator.isNull(listener)) {
+            throw new IllegalArgumentException("Listener cannot be null.");
+        }
+        vetoing.add(listener);
+    }
+
+    /**
+     * @param listener The listener to remove, however it was registered.
+     */
+    public void removeOrderChangeListener(OrderChangeListener listener) {
+        vetoing.remove(listener);
+        listeners.remove(listener);
+    }
+
+    /**
+     * Replaces the service's contents with previously persisted orders, e.g. after crash recovery.
+     * New order ids continue after the highest restored id; use {@link #reserveIdsThrough(int)}
+     * afterwards for orders kept elsewhere. Listeners are not notified.
+     * Runs with every stripe held, so no change interleaves with it, and changes the maps order by
+     * order instead of clearing them: a concurrent reader sees each order either as it was or as
+     * restored, and never an emptied service.
+     * @param restored The orders to load.
+     */
+    public void restore(Collection<Order> restored) {
+        Map<Integer, Order> byId = new HashMap<>();
+        int maxId = 0;
+        for (Order order : restored) {
+            byId.put(order.id(), order);
+            maxId = Math.max(maxId, order.id());
+        }
+        int nextId = maxId + 1;
+        whileAllLocked(() -> {
+            for (Order current : new ArrayList<>(orders.values())) {
+                if (!byId.containsKey(current.id())) {
+                    publish(current, null);
+                }
+            }
+            for (Order order : byId.values()) {
+                Order current = orders.get(order.id());
+                if (!order.equals(current)) {
+                    publish(current, order);
+                }
+            }
+            nextOrderId.set(nextId);
+            return null;
+        });
+    }
+
+    /**
+     * Installs the state of one order as decided elsewhere, e.g. by a replication primary, without
+     * checking the lifecycle or notifying listeners. New order ids continue after the highest id seen.
+     * @param orderId The order's id.
+     * @param order The order's new state, or null if it was deleted.
+     */
+    public void replicate(int orderId, Order order) {
+        if (order != null && order.id() != orderId) {
+            throw new IllegalArgumentException("Order " + order.id() + " replicated as order " + orderId + ".");
+        }
+        Lock lock = stripeFor(orderId);
+        lock.lock();
+        try {
+            Order current = orders.get(orderId);
+            if (current != null || order != null) {
+                publish(current, order);
+            }
+        } finally {
+            lock.unlock();
+        }
+        reserveIdsThrough(orderId);
+    }
+
+    /**
+     * Makes sure new orders get ids above {@code orderId}, e.g. the highest id already archived,
+     * so a restarted service never reuses the id of an order it no longer holds.
+     * @param orderId The highest id that must not be issued again.
+     */
+    public void reserveIdsThrough(int orderId) {
+        nextOrderId.accumulateAndGet(orderId + 1, Math::max);
+    }
+
+    /**
+     * @return The highest order id issued or reserved so far, or 0 if none.
+     */
+    public int lastOrderId() {
+        return nextOrderId.get() - 1;
+    }
+
+    /**
+     * Drops a closed order from memory once it has been archived elsewhere. Listeners are told
+     * through {@link OrderChangeListener#orderEvicted(Order)}, not {@code orderDeleted}, since the
+     * order still exists; it has only left this service's working set.
+     * @param order The order as archived.
+     * @return true if it was dropped, false if it is gone, no longer in exactly that state, or a
+     *         vetoing listener refused (the order then stays in memory).
+     * @throws IllegalArgumentException if the order is not in a terminal status.
+     */
+    public boolean evict(Order order) {
+        if (!order.status().isTerminal()) {
+            throw new IllegalArgumentException("Only closed orders can be evicted, not " + order.status() + ".");
+        }
+        Lock lock = stripeFor(order.id());
+        lock.lock();
+        try {
+            Order current = orders.get(order.id());
+            if (current == null || !current.equals(order)) {
+                return false;
+            }
+            try {
+                for (OrderChangeListener listener : vetoing) {
+                    listener.orderEvicted(current);
+                }
+            } catch (DineSmartException e) {
+                LOGGER.log(Level.WARNING, "Order " + order.id() + " kept in memory: eviction vetoed.", e);
+                return false;
+            }
+            publish(current, null);
+            notifyListeners(listener -> listener.orderEvicted(current));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Every order held, including paid and cancelled ones, ordered by id.
+     */
+    public List<Order> getAllOrders() {
+        List<Order> all = new ArrayList<>(orders.values());
+        all.sort(Comparator.comparingInt(Order::id));
+        return all;
+    }
+
+    /**
+     * Copies the open orders while no order can change. Every change runs its listeners and becomes
+     * visible under one stripe lock, so with all stripes held, whatever a listener has recorded is
+     * also in the copy. A write-ahead journal reads its sequence number in {@code whileQuiescent}
+     * to know exactly which records the copy covers. Writers wait while this runs, so keep it short.
+     * @param whileQuiescent Runs with every stripe held, before the copy is taken; it must not call
+     *                       back into this service from another thread.
+     * @return The open orders, ordered by id.
+     */
+    public List<Order> snapshotActiveOrders(Runnable whileQuiescent) {
+        return whileAllLocked(() -> {
+            whileQuiescent.run();
+            return new ArrayList<>(active.values());
+        });
+    }
+
+    @Override
+    public Order createOrder(int tableId, Map<MenuItem, Integer> items) throws DineSmartException {
+        if (tableId < 0) {
+            throw new DineSmartException("Table ID cannot be negative: " + tableId);
+        }
+        validateItems(items);
+        int orderId = nextOrderId.getAndIncrement();
+        Lock lock = stripeFor(orderId);
+        lock.lock();
+        try {
+            Order order = newOrder(orderId, tableId, LocalDateTime.now(clock), items, OrderStatus.PENDING);
+            for (OrderChangeListener listener : vetoing) {
+                listener.orderCreated(order);
+            }
+            publish(null, order);
+            notifyListeners(listener -> listener.orderCreated(order));
+            return order;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Order> getOrderById(int orderId) {
+        return Optional.ofNullable(orders.get(orderId));
+    }
+
+    /**
+     * Moves an order to {@code newStatus} if the lifecycle allows it.
+     * @param orderId The ID of the order to update.
+     * @param newStatus The new status for the order.
+     * @return true if the status changed, false if the order does not exist or already has that status.
+     * @throws DineSmartException if the transition is not allowed by {@link OrderStatus#canTransitionTo(OrderStatus)}.
+     */
+    @Override
+    public boolean updateOrderStatus(int orderId, OrderStatus newStatus) throws DineSmartException {
+        if (Validator.isNull(newStatus)) {
+            throw new DineSmartException("New order status cannot be null.");
+        }
+        Lock lock = stripeFor(orderId);
+        lock.lock();
+        try {
+            Order current = orders.get(orderId);
+            if (current == null || current.status() == newStatus) {
+                return false;
+            }
+            return transition(current, newStatus);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically moves an order from {@code expected} to {@code newStatus}.
+     * Unlike {@link #updateOrderStatus(int, OrderStatus)}, this fails if another terminal
+     * changed the status first, which lets the kitchen display and the floor race safely.
+     *
+     * @param orderId The ID of the order.
+     * @param expected The status the caller believes the order currently has.
+     * @param newStatus The status to move to.
+     * @return true if the order had {@code expected} and now has {@code newStatus}, false otherwise.
+     * @throws DineSmartException if {@code expected -> newStatus} is not a legal transition.
+     */
+    public boolean compareAndSetStatus(int orderId, OrderStatus expected, OrderStatus newStatus) throws DineSmartException {
+        if (Validator.isNull(expected) || Validator.isNull(newStatus)) {
+            throw new DineSmartException("Order statuses cannot be null.");
+        }
+        if (!expected.canTransitionTo(newStatus)) {
+            throw illegalTransition(orderId, expected, newStatus);
+        }
+        Lock lock = stripeFor(orderId);
+        lock.lock();
+        try {
+            Order current = orders.get(orderId);
+            if (current == null || current.status() != expected) {
+                return false;
+            }
+            return transition(current, newStatus);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addItemsToOrder(int orderId, Map<MenuItem, Integer> itemsToAdd) throws DineSmartException {
+        validateItems(itemsToAdd);
+        Lock lock = stripeFor(orderId);
+        lock.lock();
+        try {
+            Order current = orders.get(orderId);
+            if (current == null) {
+                throw new DineSmartException("Order not found: " + orderId);
+            }
+            if (current.status().isTerminal()) {
+                throw new DineSmartException("Cannot add items to order " + orderId + " in status " + current.status());
+            }
+            Order updated;
+            try {
+                updated = current.withAddedItems(itemsToAdd);
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                throw new DineSmartException("Invalid order: " + e.getMessage(), e);
+            }
+            for (OrderChangeListener listener : vetoing) {
+                listener.itemsAdded(current, updated);
+            }
+            publish(current, updated);
+            Order added = updated;
+            notifyListeners(listener -> listener.itemsAdded(current, added));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Order> getAllActiveOrders() {
+        return new ArrayList<>(active.values());
+    }
+
+    @Override
+    public List<Order> getOrdersByStatus(OrderStatus status) {
+        if (Validator.isNull(status)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(byStatus.get(status).values());
+    }
+
+    @Override
+    public List<Order> getOrdersForTable(int tableId) {
+        ConcurrentSkipListMap<Integer, Order> tableOrders = activeByTable.get(tableId);
+        return tableOrders == null ? new ArrayList<>() : new ArrayList<>(tableOrders.values());
+    }
+
+    @Override
+    public List<Order> getActiveOrders(int afterOrderId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        List<Order> page = new ArrayList<>(Math.min(limit, 64));
+        for (Order order : active.tailMap(afterOrderId, false).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(order);
+        }
+        return page;
+    }
+
+    @Override
+    public boolean deleteOrder(int orderId) throws DineSmartException {
+        Lock lock = stripeFor(orderId);
+        lock.lock();
+        try {
+            Order current = orders.get(orderId);
+            if (current == null) {
+                return false;
+            }
+            for (OrderChangeListener listener : vetoing) {
+                listener.orderDeleted(current);
+            }
+            publish(current, null);
+            notifyListeners(listener -> listener.orderDeleted(current));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Must be called with the order's stripe lock held.
+    private boolean transition(Order current, OrderStatus newStatus) throws DineSmartException {
+        if (!current.status().canTransitionTo(newStatus)) {
+            throw illegalTransition(current.id(), current.status(), newStatus);
+        }
+        Order updated = current.withStatus(newStatus); // Reuses the lines and total
+        for (OrderChangeListener listener : vetoing) {
+            listener.statusChanged(current, updated);
+        }
+        publish(current, updated);
+        notifyListeners(listener -> listener.statusChanged(current, updated));
+        return true;
+    }
+
+    // The second pass, after 'publish': failures are logged, since the change is already visible.
+    // Must be called with the order's stripe lock held, so listeners see each order's changes in order.
+    private void notifyListeners(Notification notification) {
+        for (OrderChangeListener listener : listeners) {
+            try {
+                notification.send(listener);
+            } catch (DineSmartException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Order change listener " + listener + " failed; the change stands.", e);
+            }
+        }
+    }
+
+    // Makes a change visible in the primary map and the indexes. Must be called with the
+    // order's stripe lock held; 'before' is null on creation and 'after' is null on deletion.
+    private void publish(Order before, Order after) {
+        int id = after != null ? after.id() : before.id();
+        if (after == null) {
+            orders.remove(id);
+        } else {
+            orders.put(id, after);
+        }
+        if (before != null && (after == null || before.status() != after.status())) {
+            byStatus.get(before.status()).remove(id);
+        }
+        if (after != null) {
+            byStatus.get(after.status()).put(id, after);
+        }
+        int tableId = after != null ? after.tableId() : before.tableId();
+        if (after != null && !after.status().isTerminal()) {
+            active.put(id, after);
+            // Per-table maps are kept even when empty; removing them could race with another stripe
+            activeByTable.computeIfAbsent(tableId, k -> new ConcurrentSkipListMap<>()).put(id, after);
+        } else if (before != null && !before.status().isTerminal()) {
+            active.remove(id);
+            ConcurrentSkipListMap<Integer, Order> tableOrders = activeByTable.get(tableId);
+            if (tableOrders != null) {
+                tableOrders.remove(id);
+            }
+        }
+    }
+
+    private <T> T whileAllLocked(Supplier<T> action) {
+        int locked = 0;
+        try {
+            for (Lock stripe : stripes) { // Always in index order, so two callers cannot deadlock
+                stripe.lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    private Lock stripeFor(int orderId) {
+        int h = orderId * 0x9E3779B9; // Fibonacci hashing spreads sequential ids across stripes
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static Order newOrder(int id, int tableId, LocalDateTime orderTime,
+                                  Map<MenuItem, Integer> items, OrderStatus status) throws DineSmartException {
+        try {
+            OrderLines lines = OrderLines.copyOf(items); // No-op when items already came from an Order
+            return new Order(id, tableId, orderTime, lines, status, lines.total());
+        } catch (IllegalArgumentException e) {
+            throw new DineSmartException("Invalid order: " + e.getMessage(), e);
+        }
+    }
+
+    private static void validateItems(Map<MenuItem, Integer> items) throws DineSmartException {
+        if (Validator.isNull(items) || items.isEmpty()) {
+            throw new DineSmartException("Order must contain items.");
+        }
+        for (Map.Entry<MenuItem, Integer> entry : items.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new DineSmartException("Order items cannot contain a null menu item.");
+            }
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new DineSmartException("Quantity for '" + entry.getKey().name() + "' must be positive.");
+            }
+        }
+    }
+
+    private static DineSmartException illegalTransition(int orderId, OrderStatus from, OrderStatus to) {
+        return new DineSmartException("Illegal status transition for order " + orderId + ": " + from + " -> " + to);
+    }
+}
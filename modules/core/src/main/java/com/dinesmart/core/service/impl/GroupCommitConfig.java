@@ -0,0 +1,31 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.util.Validator;
+
+import java.time.Duration;
+
+/**
+ * A `record` holding the batching settings of a {@link GroupCommitOrderService}.
+ *
+ * @param maxBatchSize The most writes committed together.
+ * @param maxLinger    How long the first write of a batch may wait for others to join it.
+ *                     Zero commits whatever has queued up while the previous commit ran.
+ */
+public record GroupCommitConfig(int maxBatchSize, Duration maxLinger) {
+
+    public GroupCommitConfig {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size must be positive.");
+        }
+        if (Validator.isNull(maxLinger) || maxLinger.isNegative()) {
+            throw new IllegalArgumentException("Maximum linger cannot be null or negative.");
+        }
+    }
+
+    /**
+     * @return Batches of up to 128 writes, lingering at most 2 ms.
+     */
+    public static GroupCommitConfig defaults() {
+        return new GroupCommitConfig(128, Duration.ofMillis(2));
+    }
+}
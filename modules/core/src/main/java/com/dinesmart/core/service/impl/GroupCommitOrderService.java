@@ -0,0 +1,344 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.AsyncOrderService;
+import com.dinesmart.core.service.OrderBatchCommitter;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.core.service.events.OrderEvent;
+import com.dinesmart.util.Validator;
+import com.dinesmart.util.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link AsyncOrderService} that runs each call on its own (virtual, where available) thread
+ * and makes concurrent writes durable in group commits.
+ * Demonstrates:
+ * - `CompletableFuture` completed from another thread once the work is durable.
+ * - Group commit: a single committer thread takes every write queued while the previous commit
+ *   ran (up to a maximum batch size, waiting at most a "linger" time for more) and commits them
+ *   with one call to an {@link OrderBatchCommitter}: one transaction or one fsync per batch
+ *   instead of per write.
+ * - `BlockingQueue.poll` with a timeout and `drainTo` for batching.
+ * - Thread-per-task executors from {@link VirtualThreads}.
+ *
+ * Writes are applied to the wrapped {@link OrderService} first, so validation errors fail at once
+ * and reads see the change immediately; the future completes only after a commit containing the change
+ * (or a later state of the order). If a commit fails, the futures of its writes fail, but the changes
+ * remain applied in memory. For a journal, pass {@code OrderJournal} itself as the committer and open it
+ * without {@code waitForSync}, so each batch costs one fsync.
+ */
+public class GroupCommitOrderService implements AsyncOrderService, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(GroupCommitOrderService.class.getName());
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final OrderEvent.Type[] PRECEDENCE = {
+        OrderEvent.Type.CREATED, OrderEvent.Type.ITEMS_ADDED, OrderEvent.Type.STATUS_CHANGED
+    };
+
+    // A write waiting for its commit; 'deleted' is the order as it was before a deletion
+    private record Pending(OrderEvent.Type type, int orderId, Order deleted, Runnable onCommit,
+                           CompletableFuture<?> future) {
+    }
+
+    private final OrderService delegate;
+    private final OrderBatchCommitter committer;
+    private final GroupCommitConfig config;
+    private final ExecutorService executor;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread committerThread;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder committedWrites = new LongAdder();
+    private volatile boolean closed;
+    private volatile boolean stopped; // The committer thread has exited; nothing queued will be committed
+
+    /**
+     * Creates a service with the default batching settings.
+     * @param delegate The service that applies the changes in memory.
+     * @param committer Makes batches of changes durable.
+     */
+    public GroupCommitOrderService(OrderService delegate, OrderBatchCommitter committer) {
+        this(delegate, committer, GroupCommitConfig.defaults());
+    }
+
+    /**
+     * Creates a service.
+     * @param delegate The service that applies the changes in memory.
+     * @param committer Makes batches of changes durable.
+     * @param config The batching settings.
+     */
+    public GroupCommitOrderService(OrderService delegate, OrderBatchCommitter committer, GroupCommitConfig config) {
+        if (Validator.isNull(delegate) || Validator.isNull(committer) || Validator.isNull(config)) {
+            throw new IllegalArgumentException("Delegate, committer and config cannot be null.");
+        }
+        this.delegate = delegate;
+        this.committer = committer;
+        this.config = config;
+        this.executor = VirtualThreads.newPerTaskExecutor("dinesmart-order-call");
+        this.committerThread = new Thread(this::commitLoop, "dinesmart-group-commit");
+        committerThread.setDaemon(true);
+        committerThread.start();
+    }
+
+    @Override
+    public CompletableFuture<Order> createOrder(int tableId, Map<MenuItem, Integer> items) {
+        CompletableFuture<Order> result = new CompletableFuture<>();
+        run(result, () -> {
+            Order order = delegate.createOrder(tableId, items);
+            enqueue(OrderEvent.Type.CREATED, order.id(), null, order, result);
+        });
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateOrderStatus(int orderId, OrderStatus newStatus) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        run(result, () -> {
+            if (delegate.updateOrderStatus(orderId, newStatus)) {
+                enqueue(OrderEvent.Type.STATUS_CHANGED, orderId, null, Boolean.TRUE, result);
+            } else {
+                result.complete(Boolean.FALSE);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addItemsToOrder(int orderId, Map<MenuItem, Integer> itemsToAdd) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        run(result, () -> {
+            if (delegate.addItemsToOrder(orderId, itemsToAdd)) {
+                enqueue(OrderEvent.Type.ITEMS_ADDED, orderId, null, Boolean.TRUE, result);
+            } else {
+                result.complete(Boolean.FALSE);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteOrder(int orderId) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        run(result, () -> {
+            Optional<Order> before = delegate.getOrderById(orderId);
+            if (before.isPresent() && delegate.deleteOrder(orderId)) {
+                enqueue(OrderEvent.Type.DELETED, orderId, before.get(), Boolean.TRUE, result);
+            } else {
+                result.complete(Boolean.FALSE);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Order>> getOrderById(int orderId) {
+        return read(() -> delegate.getOrderById(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllActiveOrders() {
+        return read(delegate::getAllActiveOrders);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersByStatus(OrderStatus status) {
+        return read(() -> delegate.getOrdersByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrdersForTable(int tableId) {
+        return read(() -> delegate.getOrdersForTable(tableId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getActiveOrders(int afterOrderId, int limit) {
+        return read(() -> delegate.getActiveOrders(afterOrderId, limit));
+    }
+
+    /**
+     * @return The number of commits made.
+     */
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * @return The number of writes made durable.
+     */
+    public long committedWriteCount() {
+        return committedWrites.sum();
+    }
+
+    /**
+     * Stops accepting calls, commits the writes already queued and stops the committer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS); // Running calls may still enqueue
+            committerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A write's body: applies it and either enqueues it or completes the future
+    @FunctionalInterface
+    private interface Write {
+        void apply() throws DineSmartException;
+    }
+
+    private void run(CompletableFuture<?> result, Write write) {
+        if (closed || stopped) {
+            result.completeExceptionally(new DineSmartException("Order service is closed."));
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    write.apply();
+                } catch (DineSmartException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new DineSmartException("Order service is closed.", e));
+        }
+    }
+
+    private <T> CompletableFuture<T> read(Supplier<T> query) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new DineSmartException("Order service is closed."));
+        }
+        try {
+            return CompletableFuture.supplyAsync(query, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new DineSmartException("Order service is closed.", e));
+        }
+    }
+
+    private <T> void enqueue(OrderEvent.Type type, int orderId, Order deleted, T value, CompletableFuture<T> result) {
+        queue.add(new Pending(type, orderId, deleted, () -> result.complete(value), result));
+        if (stopped) {
+            // The committer may have drained the queue before this write arrived
+            failQueued(new DineSmartException("Group commit has stopped; the change was applied but not committed."));
+        }
+    }
+
+    private void commitLoop() {
+        List<Pending> batch = new ArrayList<>(config.maxBatchSize());
+        long lingerNanos = config.maxLinger().toNanos();
+        try {
+            while (true) {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed && executor.isTerminated() && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.maxBatchSize() - batch.size());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < config.maxBatchSize()) {
+                    long wait = deadline - System.nanoTime();
+                    Pending next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, config.maxBatchSize() - batch.size());
+                }
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped = true; // Before draining, so a write queued afterwards fails itself in enqueue
+            DineSmartException failure = new DineSmartException("Group commit was interrupted.", e);
+            for (Pending pending : batch) {
+                pending.future().completeExceptionally(failure);
+            }
+            failQueued(failure);
+        }
+    }
+
+    // Fails every write still queued; used once the committer has stopped
+    private void failQueued(DineSmartException failure) {
+        List<Pending> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        for (Pending pending : abandoned) {
+            pending.future().completeExceptionally(failure);
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        // One event per order, with the order's state as of now: at least as new as every write in the batch
+        Map<Integer, Pending> byOrder = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            byOrder.merge(pending.orderId(), pending, GroupCommitOrderService::strongest);
+        }
+        List<OrderEvent> events = new ArrayList<>(byOrder.size());
+        for (Pending pending : byOrder.values()) {
+            Optional<Order> current = delegate.getOrderById(pending.orderId());
+            if (current.isPresent()) {
+                events.add(new OrderEvent(pending.type(), current.get()));
+            } else if (pending.type() == OrderEvent.Type.DELETED) {
+                events.add(new OrderEvent(OrderEvent.Type.DELETED, pending.deleted()));
+            }
+            // Otherwise it was created and deleted within the batch, or its deletion is still to be queued
+        }
+        try {
+            if (!events.isEmpty()) {
+                committer.commit(events);
+            }
+            batches.increment();
+            committedWrites.add(batch.size());
+            for (Pending pending : batch) {
+                pending.onCommit().run();
+            }
+        } catch (DineSmartException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Group commit of " + batch.size() + " writes failed.", e);
+            DineSmartException failure = new DineSmartException("Commit failed: " + e.getMessage(), e);
+            for (Pending pending : batch) {
+                pending.future().completeExceptionally(failure);
+            }
+        }
+    }
+
+    // What the store must do about an order changed by both writes. Order ids are never reused, so a
+    // deletion is final, and a creation in the batch means the order is new to the store.
+    private static Pending strongest(Pending a, Pending b) {
+        if (a.type() == OrderEvent.Type.DELETED || b.type() == OrderEvent.Type.DELETED) {
+            boolean createdHere = a.type() == OrderEvent.Type.CREATED || b.type() == OrderEvent.Type.CREATED;
+            Pending deletion = a.type() == OrderEvent.Type.DELETED ? a : b;
+            // Created and deleted in the same batch: the store never needs to see it
+            return createdHere ? new Pending(OrderEvent.Type.CREATED, a.orderId(), null, null, null) : deletion;
+        }
+        for (OrderEvent.Type type : PRECEDENCE) {
+            if (a.type() == type || b.type() == type) {
+                return a.type() == type ? a : b;
+            }
+        }
+        return a;
+    }
+}
@@ -0,0 +1,179 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.search.MenuSearchIndex;
+import com.dinesmart.core.search.SearchHit;
+import com.dinesmart.core.service.MenuItemService;
+import com.dinesmart.util.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory `MenuItemService` backed by an immutable, versioned {@link MenuSnapshot}.
+ * Demonstrates:
+ * - Lock-free reads: every query reads the current snapshot from an `AtomicReference` and never blocks.
+ * - Copy-on-write updates published with a compare-and-set retry loop.
+ * - Translating `IllegalArgumentException` from record validation into `DineSmartException`.
+ *
+ * The menu is read constantly by every terminal but changes only a few times an hour,
+ * so writers pay for rebuilding the indexes and readers pay nothing. The full-text
+ * {@link MenuSearchIndex} is updated incrementally after each published change.
+ */
+public class InMemoryMenuItemService implements MenuItemService {
+
+    private final AtomicReference<MenuSnapshot> current;
+    private final AtomicInteger nextItemId; // Only grows, so a deleted item's id is never handed out again
+    private final MenuSearchIndex searchIndex = new MenuSearchIndex();
+
+    /**
+     * Creates an empty menu.
+     */
+    public InMemoryMenuItemService() {
+        this.current = new AtomicReference<>(MenuSnapshot.empty());
+        this.nextItemId = new AtomicInteger(1);
+    }
+
+    /**
+     * Creates a menu pre-populated with existing items (e.g. loaded from the database).
+     * @param initialItems The items to start with; ids and names must be unique.
+     */
+    public InMemoryMenuItemService(Iterable<MenuItem> initialItems) {
+        this.current = new AtomicReference<>(MenuSnapshot.of(1L, initialItems));
+        this.nextItemId = new AtomicInteger(current.get().maxId() + 1);
+        reindex(current.get());
+    }
+
+    /**
+     * Returns the currently published snapshot. Callers that perform several lookups
+     * should grab the snapshot once so that they all see the same menu version.
+     * @return The current menu snapshot.
+     */
+    public MenuSnapshot snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public MenuItem addMenuItem(String name, String description, Money price, Category category, boolean available) throws DineSmartException {
+        if (Validator.isNullOrEmpty(name)) {
+            throw new DineSmartException("Menu item name cannot be null or empty.");
+        }
+        // The id is taken once, so a retry keeps it; a rejected item only leaves a gap
+        MenuItem created = newMenuItem(nextItemId.getAndIncrement(), name, description, price, category, available);
+        while (true) {
+            MenuSnapshot snapshot = current.get();
+            if (snapshot.byName(name) != null) {
+                throw new DineSmartException("A menu item named '" + name.trim() + "' already exists.");
+            }
+            MenuSnapshot next = snapshot.with(created);
+            if (current.compareAndSet(snapshot, next)) {
+                reindex(next);
+                return created;
+            }
+            // Another writer published first; retry against the fresh snapshot.
+        }
+    }
+
+    @Override
+    public Optional<MenuItem> getMenuItemById(int itemId) {
+        return Optional.ofNullable(current.get().byId(itemId));
+    }
+
+    @Override
+    public Optional<MenuItem> getMenuItemByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.get().byName(name));
+    }
+
+    @Override
+    public boolean updateMenuItem(MenuItem updatedMenuItem) throws DineSmartException {
+        if (Validator.isNull(updatedMenuItem)) {
+            throw new DineSmartException("Updated menu item cannot be null.");
+        }
+        while (true) {
+            MenuSnapshot snapshot = current.get();
+            MenuItem existing = snapshot.byId(updatedMenuItem.id());
+            if (existing == null) {
+                throw new DineSmartException("Menu item not found: " + updatedMenuItem.id());
+            }
+            if (existing.equals(updatedMenuItem)) {
+                return false; // Nothing to publish
+            }
+            MenuItem sameName = snapshot.byName(updatedMenuItem.name());
+            if (sameName != null && sameName.id() != updatedMenuItem.id()) {
+                throw new DineSmartException("A menu item named '" + updatedMenuItem.name().trim() + "' already exists.");
+            }
+            MenuSnapshot next = snapshot.with(updatedMenuItem);
+            if (current.compareAndSet(snapshot, next)) {
+                reindex(next);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteMenuItem(int itemId) throws DineSmartException {
+        while (true) {
+            MenuSnapshot snapshot = current.get();
+            MenuSnapshot next = snapshot.without(itemId);
+            if (next == snapshot) {
+                return false;
+            }
+            if (current.compareAndSet(snapshot, next)) {
+                reindex(next);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public List<MenuItem> getAllMenuItems() {
+        return current.get().items();
+    }
+
+    @Override
+    public List<MenuItem> getMenuItemsByCategory(Category category) {
+        if (category == null) {
+            return List.of();
+        }
+        return current.get().byCategory(category);
+    }
+
+    @Override
+    public Set<Category> getAllCategories() {
+        return current.get().categories();
+    }
+
+    @Override
+    public List<MenuItem> searchMenuItems(String query, Category category, boolean availableOnly, int limit) {
+        reindex(current.get()); // No-op unless a writer has not finished re-indexing yet
+        List<MenuItem> items = new ArrayList<>();
+        for (SearchHit hit : searchIndex.search(query, category, availableOnly, limit)) {
+            items.add(hit.item());
+        }
+        return items;
+    }
+
+    // Concurrent writers may call this out of order; the index ignores versions older than its own.
+    private void reindex(MenuSnapshot snapshot) {
+        searchIndex.sync(snapshot.version(), snapshot.items());
+    }
+
+    private static MenuItem newMenuItem(int id, String name, String description, Money price,
+                                        Category category, boolean available) throws DineSmartException {
+        try {
+            return new MenuItem(id, name, description, price, category, available);
+        } catch (IllegalArgumentException e) {
+            throw new DineSmartException("Invalid menu item: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.model.entities.Table;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.core.service.TableService;
+import com.dinesmart.util.Validator;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory `TableService` answering host-stand queries without scanning the floor.
+ * Demonstrates:
+ * - `BitSet`s of free tables, one per capacity bucket, plus a `BitSet` of the buckets that have a free
+ *   table: the best fit for a party is a binary search over the (few) capacities and two `nextSetBit` calls.
+ * - `TreeSet`s ordered by expected release time for "freeing up soon" queries in O(log n).
+ * - `ReadWriteLock`: many concurrent queries, short exclusive updates.
+ * - Each table's state is one immutable `Table` record, replaced as a whole, so `occupied` and
+ *   `currentOrderRef` can never disagree.
+ *
+ * Register it with {@code ConcurrentOrderService.addOrderChangeListener(tables)} to keep seating in step
+ * with orders: a new order seats its table if it is free, and the table is released when its last order
+ * is paid, cancelled or deleted. The order reference is the order ID. A table the host seated with
+ * {@link #seatAt(int, String)} or {@link #seatParty(int, String)} before anything was ordered takes the
+ * first order created for it as its current order, so it is released with that order like any other.
+ * Listener calls never veto an order change, and the service never calls back into the order service.
+ */
+public class InMemoryTableService implements TableService, OrderChangeListener {
+
+    private static final Duration DEFAULT_DWELL = Duration.ofMinutes(75);
+    private static final Duration DEFAULT_SETTLE = Duration.ofMinutes(20);
+
+    // An expected release, ordered by time then slot
+    private record Release(LocalDateTime at, int slot) {
+    }
+
+    private static final Comparator<Release> BY_TIME =
+        Comparator.comparing(Release::at).thenComparingInt(Release::slot);
+
+    // The tables of one capacity
+    private static final class Bucket {
+        final int capacity;
+        final BitSet free = new BitSet();                     // Free slots
+        final TreeSet<Release> releasing = new TreeSet<>(BY_TIME); // Occupied slots with an expected release
+
+        Bucket(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Clock clock;
+    private final Duration dwell;
+    private final Duration settle;
+
+    // All guarded by 'lock'. Tables live in slots; removed tables leave reusable holes.
+    private final TreeMap<Integer, Integer> slotById = new TreeMap<>();
+    private Table[] tables = new Table[16];
+    private Bucket[] bucketOf = new Bucket[16];
+    private LocalDateTime[] expected = new LocalDateTime[16];
+    private final BitSet usedSlots = new BitSet();
+    private final BitSet freeSlots = new BitSet();
+    private Bucket[] buckets = new Bucket[0];   // Sorted by capacity
+    private int[] capacities = new int[0];      // buckets[i].capacity, for binary search
+    private final BitSet bucketsWithFree = new BitSet();
+    private final TreeSet<Release> releasing = new TreeSet<>(BY_TIME);
+    private final Map<Integer, ArrayDeque<String>> laterOrders = new HashMap<>(); // Table ID -> further open orders
+    private final BitSet awaitingOrder = new BitSet(); // Slots seated by the host that have no order yet
+
+    /**
+     * Creates a service using the system clock, expecting tables to turn 75 minutes after seating
+     * and 20 minutes after being served.
+     */
+    public InMemoryTableService() {
+        this(Clock.systemDefaultZone(), DEFAULT_DWELL, DEFAULT_SETTLE);
+    }
+
+    /**
+     * Creates a service.
+     * @param clock The clock used for expected release times.
+     * @param dwell How long after seating a table is expected to be free.
+     * @param settle How long after its order is served a table is expected to be free.
+     */
+    public InMemoryTableService(Clock clock, Duration dwell, Duration settle) {
+        if (Validator.isNull(clock) || Validator.isNull(dwell) || Validator.isNull(settle)) {
+            throw new IllegalArgumentException("Clock and durations cannot be null.");
+        }
+        this.clock = clock;
+        this.dwell = dwell;
+        this.settle = settle;
+    }
+
+    @Override
+    public Table addTable(int tableId, int capacity) throws DineSmartException {
+        Table table = new Table(tableId, capacity, false, null); // Validates
+        lock.writeLock().lock();
+        try {
+            if (slotById.containsKey(tableId)) {
+                throw new DineSmartException("Table " + tableId + " already exists.");
+            }
+            int slot = usedSlots.nextClearBit(0);
+            if (slot == tables.length) {
+                tables = Arrays.copyOf(tables, slot * 2);
+                bucketOf = Arrays.copyOf(bucketOf, slot * 2);
+                expected = Arrays.copyOf(expected, slot * 2);
+            }
+            usedSlots.set(slot);
+            slotById.put(tableId, slot);
+            tables[slot] = table;
+            bucketOf[slot] = bucketFor(capacity);
+            markFree(slot);
+            return table;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeTable(int tableId) throws DineSmartException {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(tableId);
+            if (slot == null) {
+                return false;
+            }
+            if (tables[slot].occupied()) {
+                throw new DineSmartException("Table " + tableId + " is occupied.");
+            }
+            markOccupied(slot); // Takes it out of the free sets
+            slotById.remove(tableId);
+            usedSlots.clear(slot);
+            tables[slot] = null;
+            bucketOf[slot] = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Table> getTableById(int tableId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(tableId);
+            return slot == null ? Optional.empty() : Optional.of(tables[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Table> getAllTables() {
+        lock.readLock().lock();
+        try {
+            List<Table> all = new ArrayList<>(slotById.size());
+            for (int slot : slotById.values()) {
+                all.add(tables[slot]);
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Table> getFreeTables() {
+        lock.readLock().lock();
+        try {
+            List<Table> free = new ArrayList<>(freeSlots.cardinality());
+            for (int slot = freeSlots.nextSetBit(0); slot >= 0; slot = freeSlots.nextSetBit(slot + 1)) {
+                free.add(tables[slot]);
+            }
+            free.sort(Comparator.comparingInt(Table::id));
+            return free;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Table> findBestFreeTable(int partySize) {
+        lock.readLock().lock();
+        try {
+            int slot = bestFreeSlot(partySize);
+            return slot < 0 ? Optional.empty() : Optional.of(tables[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Table seatAt(int tableId, String orderRef) throws DineSmartException {
+        requireRef(orderRef);
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(tableId);
+            if (tables[slot].occupied()) {
+                throw new DineSmartException("Table " + tableId + " is already occupied by order "
+                                             + tables[slot].currentOrderRef() + ".");
+            }
+            awaitingOrder.set(slot);
+            return occupy(slot, orderRef);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Table> seatParty(int partySize, String orderRef) throws DineSmartException {
+        requireRef(orderRef);
+        lock.writeLock().lock();
+        try {
+            int slot = bestFreeSlot(partySize);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            awaitingOrder.set(slot);
+            return Optional.of(occupy(slot, orderRef));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean releaseTable(int tableId) throws DineSmartException {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(tableId);
+            if (!tables[slot].occupied()) {
+                return false;
+            }
+            laterOrders.remove(tableId);
+            release(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void setExpectedRelease(int tableId, LocalDateTime expectedRelease) throws DineSmartException {
+        if (Validator.isNull(expectedRelease)) {
+            throw new DineSmartException("Expected release time cannot be null.");
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(tableId);
+            if (!tables[slot].occupied()) {
+                throw new DineSmartException("Table " + tableId + " is free.");
+            }
+            expectRelease(slot, expectedRelease);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Table> getTablesFreeingBefore(LocalDateTime deadline) {
+        lock.readLock().lock();
+        try {
+            List<Table> soon = new ArrayList<>();
+            // Slot -1 sorts before every real slot with the same time, so the deadline itself is excluded
+            for (Release release : releasing.headSet(new Release(deadline, -1))) {
+                soon.add(tables[release.slot()]);
+            }
+            return soon;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Table> findNextTableFreeing(int partySize) {
+        lock.readLock().lock();
+        try {
+            Release first = null;
+            for (int b = firstBucketFor(partySize); b < buckets.length; b++) {
+                TreeSet<Release> candidates = buckets[b].releasing;
+                if (!candidates.isEmpty() && (first == null || BY_TIME.compare(candidates.first(), first) < 0)) {
+                    first = candidates.first();
+                }
+            }
+            return first == null ? Optional.empty() : Optional.of(tables[first.slot()]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void orderCreated(Order order) {
+        String ref = refOf(order);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(order.tableId());
+            if (slot == null) {
+                return; // Not a managed table (e.g. a takeaway counter)
+            }
+            if (awaitingOrder.get(slot)) {
+                // The party's first order replaces the host's reference; the expected release stays
+                awaitingOrder.clear(slot);
+                Table table = tables[slot];
+                tables[slot] = new Table(table.id(), table.capacity(), true, ref);
+            } else if (tables[slot].occupied()) {
+                laterOrders.computeIfAbsent(order.tableId(), k -> new ArrayDeque<>()).addLast(ref);
+            } else {
+                occupy(slot, ref);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void statusChanged(Order before, Order after) {
+        if (after.status() == OrderStatus.SERVED) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slotById.get(after.tableId());
+                if (slot != null && refOf(after).equals(tables[slot].currentOrderRef())) {
+                    expectRelease(slot, LocalDateTime.now(clock).plus(settle));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else if (after.status().isTerminal()) {
+            orderFinished(after);
+        }
+    }
+
+    @Override
+    public void orderDeleted(Order order) {
+        orderFinished(order);
+    }
+
+    // The table moves on to its next open order, or is released if there is none.
+    private void orderFinished(Order order) {
+        String ref = refOf(order);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(order.tableId());
+            if (slot == null) {
+                return;
+            }
+            ArrayDeque<String> later = laterOrders.get(order.tableId());
+            if (!ref.equals(tables[slot].currentOrderRef())) {
+                if (later != null) {
+                    later.remove(ref);
+                }
+                return;
+            }
+            String next = later == null ? null : later.pollFirst();
+            if (later != null && later.isEmpty()) {
+                laterOrders.remove(order.tableId());
+            }
+            if (next == null) {
+                release(slot);
+            } else {
+                Table table = tables[slot];
+                tables[slot] = new Table(table.id(), table.capacity(), true, next);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Helpers; all must hold the write lock, or the read lock for lookups ---
+
+    private int bestFreeSlot(int partySize) {
+        int b = bucketsWithFree.nextSetBit(firstBucketFor(partySize));
+        return b < 0 ? -1 : buckets[b].free.nextSetBit(0);
+    }
+
+    // Index of the first bucket with capacity >= partySize
+    private int firstBucketFor(int partySize) {
+        int i = Arrays.binarySearch(capacities, Math.max(1, partySize));
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private int slotOf(int tableId) throws DineSmartException {
+        Integer slot = slotById.get(tableId);
+        if (slot == null) {
+            throw new DineSmartException("Table " + tableId + " not found.");
+        }
+        return slot;
+    }
+
+    private Table occupy(int slot, String orderRef) {
+        Table table = tables[slot];
+        Table seated = new Table(table.id(), table.capacity(), true, orderRef);
+        tables[slot] = seated;
+        markOccupied(slot);
+        expectRelease(slot, LocalDateTime.now(clock).plus(dwell));
+        return seated;
+    }
+
+    private void release(int slot) {
+        awaitingOrder.clear(slot);
+        Table table = tables[slot];
+        tables[slot] = new Table(table.id(), table.capacity(), false, null);
+        markFree(slot);
+    }
+
+    private void expectRelease(int slot, LocalDateTime at) {
+        forgetRelease(slot);
+        expected[slot] = at;
+        Release release = new Release(at, slot);
+        releasing.add(release);
+        bucketOf[slot].releasing.add(release);
+    }
+
+    private void forgetRelease(int slot) {
+        if (expected[slot] != null) {
+            Release release = new Release(expected[slot], slot);
+            releasing.remove(release);
+            bucketOf[slot].releasing.remove(release);
+            expected[slot] = null;
+        }
+    }
+
+    private void markFree(int slot) {
+        forgetRelease(slot);
+        Bucket bucket = bucketOf[slot];
+        freeSlots.set(slot);
+        bucket.free.set(slot);
+        bucketsWithFree.set(indexOf(bucket));
+    }
+
+    private void markOccupied(int slot) {
+        forgetRelease(slot);
+        Bucket bucket = bucketOf[slot];
+        freeSlots.clear(slot);
+        bucket.free.clear(slot);
+        if (bucket.free.isEmpty()) {
+            bucketsWithFree.clear(indexOf(bucket));
+        }
+    }
+
+    private int indexOf(Bucket bucket) {
+        return Arrays.binarySearch(capacities, bucket.capacity);
+    }
+
+    // Finds or creates the bucket for a capacity; a new capacity shifts the bucket indexes
+    private Bucket bucketFor(int capacity) {
+        int i = Arrays.binarySearch(capacities, capacity);
+        if (i >= 0) {
+            return buckets[i];
+        }
+        int at = -i - 1;
+        Bucket bucket = new Bucket(capacity);
+        Bucket[] grown = new Bucket[buckets.length + 1];
+        int[] grownCapacities = new int[capacities.length + 1];
+        System.arraycopy(buckets, 0, grown, 0, at);
+        System.arraycopy(capacities, 0, grownCapacities, 0, at);
+        grown[at] = bucket;
+        grownCapacities[at] = capacity;
+        System.arraycopy(buckets, at, grown, at + 1, buckets.length - at);
+        System.arraycopy(capacities, at, grownCapacities, at + 1, capacities.length - at);
+        buckets = grown;
+        capacities = grownCapacities;
+        bucketsWithFree.clear();
+        for (int b = 0; b < buckets.length; b++) {
+            if (!buckets[b].free.isEmpty()) {
+                bucketsWithFree.set(b);
+            }
+        }
+        return bucket;
+    }
+
+    private static String refOf(Order order) {
+        return Integer.toString(order.id());
+    }
+
+    private static void requireRef(String orderRef) throws DineSmartException {
+        if (Validator.isNullOrEmpty(orderRef)) {
+            throw new DineSmartException("Order reference cannot be null or empty.");
+        }
+    }
+}
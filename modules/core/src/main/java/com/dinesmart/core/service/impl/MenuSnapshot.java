@@ -0,0 +1,200 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, versioned view of the whole menu, indexed for fast lookups.
+ * Demonstrates:
+ * - Immutable objects as a thread-safety strategy (safe to share between threads without locks).
+ * - Primitive `int[]` keys with `Arrays.binarySearch` instead of boxed `Integer` map keys.
+ * - Precomputed unmodifiable collections (`Collections.unmodifiableList`, `Map`, `Set`).
+ *
+ * A snapshot is never modified after construction; writers derive a new snapshot
+ * with {@link #with(MenuItem)} or {@link #without(int)} and publish it atomically.
+ */
+public final class MenuSnapshot {
+
+    private static final MenuSnapshot EMPTY = new MenuSnapshot(0L, new MenuItem[0]);
+
+    private final long version;
+    private final int[] ids;          // Sorted ascending, parallel to 'items'
+    private final MenuItem[] items;
+    private final List<MenuItem> allItems;
+    private final Map<String, MenuItem> byName;
+    private final Map<Category, List<MenuItem>> byCategory;
+    private final Set<Category> categories;
+
+    private MenuSnapshot(long version, MenuItem[] sortedItems) {
+        this.version = version;
+        this.items = sortedItems;
+        this.ids = new int[sortedItems.length];
+
+        Map<String, MenuItem> names = new HashMap<>();
+        Map<Category, List<MenuItem>> grouped = new LinkedHashMap<>();
+        for (int i = 0; i < sortedItems.length; i++) {
+            MenuItem item = sortedItems[i];
+            ids[i] = item.id();
+            names.put(normalizeName(item.name()), item);
+            grouped.computeIfAbsent(item.category(), c -> new ArrayList<>()).add(item);
+        }
+        grouped.replaceAll((category, list) -> Collections.unmodifiableList(list));
+
+        this.allItems = Collections.unmodifiableList(Arrays.asList(sortedItems));
+        this.byName = Collections.unmodifiableMap(names);
+        this.byCategory = Collections.unmodifiableMap(grouped);
+        this.categories = Collections.unmodifiableSet(new LinkedHashSet<>(grouped.keySet()));
+    }
+
+    /**
+     * Returns the empty snapshot (version 0).
+     * @return The empty snapshot.
+     */
+    public static MenuSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from an arbitrary collection of items, e.g. when loading from storage.
+     * @param version The version to assign to the snapshot.
+     * @param source The items to index; ids and normalized names must be unique.
+     * @return A new snapshot containing the given items.
+     * @throws IllegalArgumentException if two items share an id or a normalized name.
+     */
+    public static MenuSnapshot of(long version, Iterable<MenuItem> source) {
+        List<MenuItem> list = new ArrayList<>();
+        source.forEach(list::add);
+        MenuItem[] sorted = list.toArray(new MenuItem[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.id(), b.id()));
+        Set<String> seenNames = new HashSet<>();
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i - 1].id() == sorted[i].id()) {
+                throw new IllegalArgumentException("Duplicate menu item ID: " + sorted[i].id());
+            }
+            if (!seenNames.add(normalizeName(sorted[i].name()))) {
+                throw new IllegalArgumentException("Duplicate menu item name: " + sorted[i].name());
+            }
+        }
+        return new MenuSnapshot(version, sorted);
+    }
+
+    /**
+     * Normalizes a menu item name for case- and whitespace-insensitive lookups.
+     * @param name The raw name.
+     * @return The trimmed, lower-cased name.
+     */
+    public static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Derives a new snapshot that contains the given item, replacing any item with the same id.
+     * @param item The item to insert or replace.
+     * @return A new snapshot with {@code version + 1}.
+     */
+    public MenuSnapshot with(MenuItem item) {
+        int index = Arrays.binarySearch(ids, item.id());
+        MenuItem[] next;
+        if (index >= 0) {
+            next = items.clone();
+            next[index] = item;
+        } else {
+            int insertAt = -index - 1;
+            next = new MenuItem[items.length + 1];
+            System.arraycopy(items, 0, next, 0, insertAt);
+            next[insertAt] = item;
+            System.arraycopy(items, insertAt, next, insertAt + 1, items.length - insertAt);
+        }
+        return new MenuSnapshot(version + 1, next);
+    }
+
+    /**
+     * Derives a new snapshot without the item with the given id.
+     * @param itemId The id of the item to remove.
+     * @return A new snapshot with {@code version + 1}, or this snapshot if the id is absent.
+     */
+    public MenuSnapshot without(int itemId) {
+        int index = Arrays.binarySearch(ids, itemId);
+        if (index < 0) {
+            return this;
+        }
+        MenuItem[] next = new MenuItem[items.length - 1];
+        System.arraycopy(items, 0, next, 0, index);
+        System.arraycopy(items, index + 1, next, index, items.length - index - 1);
+        return new MenuSnapshot(version + 1, next);
+    }
+
+    /**
+     * @return The monotonically increasing version of this snapshot.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return The number of items in this snapshot.
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * @return The highest item id in this snapshot, or 0 if it is empty.
+     */
+    public int maxId() {
+        return ids.length == 0 ? 0 : ids[ids.length - 1];
+    }
+
+    /**
+     * Looks up an item by id using a binary search over the primitive id index.
+     * @param itemId The item id.
+     * @return The item, or {@code null} if absent.
+     */
+    public MenuItem byId(int itemId) {
+        int index = Arrays.binarySearch(ids, itemId);
+        return index >= 0 ? items[index] : null;
+    }
+
+    /**
+     * Looks up an item by its normalized name.
+     * @param name The name (any case, surrounding whitespace ignored).
+     * @return The item, or {@code null} if absent.
+     */
+    public MenuItem byName(String name) {
+        return byName.get(normalizeName(name));
+    }
+
+    /**
+     * @param category The category to filter by.
+     * @return An unmodifiable list of items in the category, ordered by id.
+     */
+    public List<MenuItem> byCategory(Category category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * @return An unmodifiable list of all items, ordered by id.
+     */
+    public List<MenuItem> items() {
+        return allItems;
+    }
+
+    /**
+     * @return An unmodifiable set of all categories that have at least one item.
+     */
+    public Set<Category> categories() {
+        return categories;
+    }
+}
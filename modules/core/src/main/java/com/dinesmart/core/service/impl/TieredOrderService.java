@@ -0,0 +1,270 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.ClosedOrderStore;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.util.Validator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link OrderService} with a hot and a cold tier: open orders live in a {@link ConcurrentOrderService},
+ * and paid or cancelled orders move to a {@link ClosedOrderStore} once they have been closed for a while.
+ * Without it, a long-running server keeps every ticket of the day on the heap and pays for it in
+ * GC work; with it, the heap holds the open orders plus those closed within the configured delay.
+ * Demonstrates:
+ * - Implementing {@link OrderChangeListener} to timestamp orders as they close.
+ * - `ConcurrentLinkedQueue` as a FIFO that writers append to without locking, drained by one sweeper.
+ * - A `ScheduledExecutorService` for periodic background work.
+ *
+ * {@link #getOrderById(int)} looks in memory, then in the archive, so callers do not see the move;
+ * orders are archived before they are evicted, so one tier always has them. Writes to an archived
+ * order fail as they would for any closed order. Status and table queries cover the live tier only;
+ * use {@link #getArchivedOrders(LocalDate, LocalDate)} for history.
+ *
+ * Restore the live service before wrapping it: orders already closed then are archived after the delay,
+ * and new order ids continue after the highest archived id, since the live tier alone cannot know it.
+ * Evictions reach the live service's listeners as {@link OrderChangeListener#orderEvicted(Order)}, so a
+ * {@code ReplicationPrimary} drops archived orders from its followers too.
+ */
+public class TieredOrderService implements OrderService, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(TieredOrderService.class.getName());
+
+    // An order that closed at 'closedAt' (System.nanoTime)
+    private record Closed(int orderId, long closedAt) {
+    }
+
+    private final ConcurrentOrderService live;
+    private final ClosedOrderStore archive;
+    private final TieringConfig config;
+    private final Queue<Closed> closing = new ConcurrentLinkedQueue<>(); // Oldest first; removed only by the sweeper
+    private final LongAdder archived = new LongAdder();
+    private final OrderChangeListener closeTracker = new OrderChangeListener() {
+        @Override
+        public void statusChanged(Order before, Order after) {
+            if (after.status().isTerminal()) {
+                closing.add(new Closed(after.id(), System.nanoTime()));
+            }
+        }
+    };
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Creates a service with the default archiving settings.
+     * @param live The hot tier.
+     * @param archive The cold tier.
+     * @throws DineSmartException if the archive cannot be read.
+     */
+    public TieredOrderService(ConcurrentOrderService live, ClosedOrderStore archive) throws DineSmartException {
+        this(live, archive, TieringConfig.defaults());
+    }
+
+    /**
+     * Creates a service and starts archiving in the background.
+     * @param live The hot tier.
+     * @param archive The cold tier.
+     * @param config The archiving settings.
+     * @throws DineSmartException if the archive cannot be read.
+     */
+    public TieredOrderService(ConcurrentOrderService live, ClosedOrderStore archive, TieringConfig config)
+            throws DineSmartException {
+        if (Validator.isNull(live) || Validator.isNull(archive) || Validator.isNull(config)) {
+            throw new IllegalArgumentException("Live service, archive and config cannot be null.");
+        }
+        this.live = live;
+        this.archive = archive;
+        this.config = config;
+        live.reserveIdsThrough(archive.maxId()); // Before any create, so no archived id is issued again
+        live.addOrderChangeListener(closeTracker);
+        long now = System.nanoTime();
+        for (OrderStatus status : OrderStatus.values()) {
+            if (status.isTerminal()) {
+                for (Order order : live.getOrdersByStatus(status)) {
+                    closing.add(new Closed(order.id(), now));
+                }
+            }
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dinesmart-order-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = config.sweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Archives every order that has been closed for at least the configured delay, then drops it
+     * from memory. Runs periodically in the background; call it directly to archive at once.
+     * @return The number of orders archived.
+     * @throws DineSmartException if the archive failed; the orders stay in memory and are retried.
+     */
+    public synchronized int archiveDue() throws DineSmartException {
+        int total = 0;
+        long delay = config.archiveAfter().toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            List<Order> batch = new ArrayList<>();
+            int taken = 0;
+            for (Iterator<Closed> it = closing.iterator(); it.hasNext() && taken < config.maxBatch(); taken++) {
+                Closed closed = it.next();
+                if (now - closed.closedAt() < delay) {
+                    break;
+                }
+                // Skip orders deleted since; the entry is still consumed
+                live.getOrderById(closed.orderId()).filter(o -> o.status().isTerminal()).ifPresent(batch::add);
+            }
+            if (taken == 0) {
+                return total;
+            }
+            int evicted = 0;
+            if (!batch.isEmpty()) {
+                archive.archive(batch); // Durable before anything is dropped
+                for (Order order : batch) {
+                    if (live.evict(order)) {
+                        evicted++;
+                    }
+                }
+            }
+            for (int i = 0; i < taken; i++) {
+                closing.poll(); // Only the sweeper removes, so these are the entries just handled
+            }
+            archived.add(evicted);
+            total += evicted;
+        }
+    }
+
+    /**
+     * @param from The first day, inclusive, as the date of the order time.
+     * @param to The last day, inclusive.
+     * @return The archived orders placed on those days, ordered by id.
+     * @throws DineSmartException if the archive cannot be read.
+     */
+    public List<Order> getArchivedOrders(LocalDate from, LocalDate to) throws DineSmartException {
+        return archive.findByDate(from, to);
+    }
+
+    /**
+     * @return The number of orders archived by this service.
+     */
+    public long archivedCount() {
+        return archived.sum();
+    }
+
+    /**
+     * @return The number of closed orders waiting in memory to be archived.
+     */
+    public int pendingCount() {
+        return closing.size();
+    }
+
+    /**
+     * Stops archiving. Closed orders not yet archived stay in the live service.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        try {
+            sweeper.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        live.removeOrderChangeListener(closeTracker);
+    }
+
+    @Override
+    public Order createOrder(int tableId, Map<MenuItem, Integer> items) throws DineSmartException {
+        return live.createOrder(tableId, items);
+    }
+
+    @Override
+    public Optional<Order> getOrderById(int orderId) {
+        Optional<Order> order = live.getOrderById(orderId);
+        if (order.isPresent()) {
+            return order;
+        }
+        try {
+            return archive.find(orderId);
+        } catch (DineSmartException e) {
+            LOGGER.log(Level.WARNING, "Could not read order " + orderId + " from the archive.", e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean updateOrderStatus(int orderId, OrderStatus newStatus) throws DineSmartException {
+        checkNotArchived(orderId);
+        return live.updateOrderStatus(orderId, newStatus);
+    }
+
+    @Override
+    public boolean addItemsToOrder(int orderId, Map<MenuItem, Integer> itemsToAdd) throws DineSmartException {
+        checkNotArchived(orderId);
+        return live.addItemsToOrder(orderId, itemsToAdd);
+    }
+
+    @Override
+    public List<Order> getAllActiveOrders() {
+        return live.getAllActiveOrders();
+    }
+
+    /**
+     * @param status The status to filter by.
+     * @return The live orders in that status; archived paid and cancelled orders are not included.
+     */
+    @Override
+    public List<Order> getOrdersByStatus(OrderStatus status) {
+        return live.getOrdersByStatus(status);
+    }
+
+    @Override
+    public List<Order> getOrdersForTable(int tableId) {
+        return live.getOrdersForTable(tableId);
+    }
+
+    @Override
+    public List<Order> getActiveOrders(int afterOrderId, int limit) {
+        return live.getActiveOrders(afterOrderId, limit);
+    }
+
+    @Override
+    public boolean deleteOrder(int orderId) throws DineSmartException {
+        checkNotArchived(orderId);
+        return live.deleteOrder(orderId);
+    }
+
+    private void checkNotArchived(int orderId) throws DineSmartException {
+        if (live.getOrderById(orderId).isEmpty() && archive.contains(orderId)) {
+            throw new DineSmartException("Order " + orderId + " is closed and archived; it can no longer change.");
+        }
+    }
+
+    private void sweep() {
+        try {
+            int count = archiveDue();
+            if (count > 0) {
+                LOGGER.fine("Archived " + count + " closed orders.");
+            }
+        } catch (DineSmartException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Archiving closed orders failed; will retry.", e);
+        }
+    }
+}
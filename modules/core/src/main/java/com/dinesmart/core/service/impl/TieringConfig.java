@@ -0,0 +1,35 @@
+package com.dinesmart.core.service.impl;
+
+import com.dinesmart.util.Validator;
+
+import java.time.Duration;
+
+/**
+ * A `record` holding the archiving settings of a {@link TieredOrderService}.
+ *
+ * @param archiveAfter  How long a paid or cancelled order stays in memory before it is archived,
+ *                      e.g. so a receipt can still be reprinted from the live tier.
+ * @param sweepInterval How often due orders are archived.
+ * @param maxBatch      The most orders archived in one sweep step; larger backlogs take several steps.
+ */
+public record TieringConfig(Duration archiveAfter, Duration sweepInterval, int maxBatch) {
+
+    public TieringConfig {
+        if (Validator.isNull(archiveAfter) || archiveAfter.isNegative()) {
+            throw new IllegalArgumentException("Archive delay cannot be null or negative.");
+        }
+        if (Validator.isNull(sweepInterval) || sweepInterval.isNegative() || sweepInterval.isZero()) {
+            throw new IllegalArgumentException("Sweep interval must be positive.");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Maximum batch size must be positive.");
+        }
+    }
+
+    /**
+     * @return Orders archived 30 minutes after closing, swept every minute in batches of up to 1,000.
+     */
+    public static TieringConfig defaults() {
+        return new TieringConfig(Duration.ofMinutes(30), Duration.ofMinutes(1), 1000);
+    }
+}
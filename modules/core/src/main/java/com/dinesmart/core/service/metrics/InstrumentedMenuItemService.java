@@ -0,0 +1,151 @@
+package com.dinesmart.core.service.metrics;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.service.MenuItemService;
+import com.dinesmart.util.Validator;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link MenuItemService} decorator that records latency and failures of every call in {@link ServiceMetrics}.
+ * See {@link InstrumentedOrderService}.
+ */
+public class InstrumentedMenuItemService implements MenuItemService {
+
+    private final MenuItemService delegate;
+    private final MethodMetrics addMenuItem;
+    private final MethodMetrics getMenuItemById;
+    private final MethodMetrics getMenuItemByName;
+    private final MethodMetrics updateMenuItem;
+    private final MethodMetrics deleteMenuItem;
+    private final MethodMetrics getAllMenuItems;
+    private final MethodMetrics getMenuItemsByCategory;
+    private final MethodMetrics getAllCategories;
+    private final MethodMetrics searchMenuItems;
+
+    /**
+     * Wraps a service.
+     * @param delegate The service doing the actual work.
+     * @param metrics The registry receiving the measurements.
+     */
+    public InstrumentedMenuItemService(MenuItemService delegate, ServiceMetrics metrics) {
+        if (Validator.isNull(delegate) || Validator.isNull(metrics)) {
+            throw new IllegalArgumentException("Delegate and metrics cannot be null.");
+        }
+        this.delegate = delegate;
+        String service = MenuItemService.class.getSimpleName();
+        this.addMenuItem = metrics.forMethod(service, "addMenuItem");
+        this.getMenuItemById = metrics.forMethod(service, "getMenuItemById");
+        this.getMenuItemByName = metrics.forMethod(service, "getMenuItemByName");
+        this.updateMenuItem = metrics.forMethod(service, "updateMenuItem");
+        this.deleteMenuItem = metrics.forMethod(service, "deleteMenuItem");
+        this.getAllMenuItems = metrics.forMethod(service, "getAllMenuItems");
+        this.getMenuItemsByCategory = metrics.forMethod(service, "getMenuItemsByCategory");
+        this.getAllCategories = metrics.forMethod(service, "getAllCategories");
+        this.searchMenuItems = metrics.forMethod(service, "searchMenuItems");
+    }
+
+    @Override
+    public MenuItem addMenuItem(String name, String description, Money price, Category category, boolean available) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            return delegate.addMenuItem(name, description, price, category, available);
+        } catch (DineSmartException e) {
+            addMenuItem.recordError(e);
+            throw e;
+        } finally {
+            addMenuItem.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Optional<MenuItem> getMenuItemById(int itemId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getMenuItemById(itemId);
+        } finally {
+            getMenuItemById.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Optional<MenuItem> getMenuItemByName(String name) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getMenuItemByName(name);
+        } finally {
+            getMenuItemByName.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean updateMenuItem(MenuItem updatedMenuItem) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateMenuItem(updatedMenuItem);
+        } catch (DineSmartException e) {
+            updateMenuItem.recordError(e);
+            throw e;
+        } finally {
+            updateMenuItem.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean deleteMenuItem(int itemId) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteMenuItem(itemId);
+        } catch (DineSmartException e) {
+            deleteMenuItem.recordError(e);
+            throw e;
+        } finally {
+            deleteMenuItem.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<MenuItem> getAllMenuItems() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllMenuItems();
+        } finally {
+            getAllMenuItems.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<MenuItem> getMenuItemsByCategory(Category category) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getMenuItemsByCategory(category);
+        } finally {
+            getMenuItemsByCategory.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Set<Category> getAllCategories() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllCategories();
+        } finally {
+            getAllCategories.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<MenuItem> searchMenuItems(String query, Category category, boolean availableOnly, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchMenuItems(query, category, availableOnly, limit);
+        } finally {
+            searchMenuItems.record(System.nanoTime() - start);
+        }
+    }
+}
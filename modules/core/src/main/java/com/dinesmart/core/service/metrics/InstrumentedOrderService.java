@@ -0,0 +1,159 @@
+package com.dinesmart.core.service.metrics;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.util.Validator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link OrderService} decorator that records latency and failures of every call in {@link ServiceMetrics}.
+ * Demonstrates:
+ * - The Decorator pattern: same interface, behaviour added around a delegate.
+ * - `try`/`catch`/`finally` to measure both successful and failing calls.
+ *
+ * The metrics of each method are looked up once in the constructor, so a call costs two
+ * `System.nanoTime()` reads and a few atomic increments.
+ */
+public class InstrumentedOrderService implements OrderService {
+
+    private final OrderService delegate;
+    private final MethodMetrics createOrder;
+    private final MethodMetrics getOrderById;
+    private final MethodMetrics updateOrderStatus;
+    private final MethodMetrics addItemsToOrder;
+    private final MethodMetrics getAllActiveOrders;
+    private final MethodMetrics getOrdersByStatus;
+    private final MethodMetrics getOrdersForTable;
+    private final MethodMetrics getActiveOrders;
+    private final MethodMetrics deleteOrder;
+
+    /**
+     * Wraps a service.
+     * @param delegate The service doing the actual work.
+     * @param metrics The registry receiving the measurements.
+     */
+    public InstrumentedOrderService(OrderService delegate, ServiceMetrics metrics) {
+        if (Validator.isNull(delegate) || Validator.isNull(metrics)) {
+            throw new IllegalArgumentException("Delegate and metrics cannot be null.");
+        }
+        this.delegate = delegate;
+        String service = OrderService.class.getSimpleName();
+        this.createOrder = metrics.forMethod(service, "createOrder");
+        this.getOrderById = metrics.forMethod(service, "getOrderById");
+        this.updateOrderStatus = metrics.forMethod(service, "updateOrderStatus");
+        this.addItemsToOrder = metrics.forMethod(service, "addItemsToOrder");
+        this.getAllActiveOrders = metrics.forMethod(service, "getAllActiveOrders");
+        this.getOrdersByStatus = metrics.forMethod(service, "getOrdersByStatus");
+        this.getOrdersForTable = metrics.forMethod(service, "getOrdersForTable");
+        this.getActiveOrders = metrics.forMethod(service, "getActiveOrders");
+        this.deleteOrder = metrics.forMethod(service, "deleteOrder");
+    }
+
+    @Override
+    public Order createOrder(int tableId, Map<MenuItem, Integer> items) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            return delegate.createOrder(tableId, items);
+        } catch (DineSmartException e) {
+            createOrder.recordError(e);
+            throw e;
+        } finally {
+            createOrder.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Optional<Order> getOrderById(int orderId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getOrderById(orderId);
+        } finally {
+            getOrderById.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean updateOrderStatus(int orderId, OrderStatus newStatus) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateOrderStatus(orderId, newStatus);
+        } catch (DineSmartException e) {
+            updateOrderStatus.recordError(e);
+            throw e;
+        } finally {
+            updateOrderStatus.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean addItemsToOrder(int orderId, Map<MenuItem, Integer> itemsToAdd) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            return delegate.addItemsToOrder(orderId, itemsToAdd);
+        } catch (DineSmartException e) {
+            addItemsToOrder.recordError(e);
+            throw e;
+        } finally {
+            addItemsToOrder.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Order> getAllActiveOrders() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllActiveOrders();
+        } finally {
+            getAllActiveOrders.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Order> getOrdersByStatus(OrderStatus status) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getOrdersByStatus(status);
+        } finally {
+            getOrdersByStatus.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Order> getOrdersForTable(int tableId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getOrdersForTable(tableId);
+        } finally {
+            getOrdersForTable.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Order> getActiveOrders(int afterOrderId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getActiveOrders(afterOrderId, limit);
+        } finally {
+            getActiveOrders.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean deleteOrder(int orderId) throws DineSmartException {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteOrder(orderId);
+        } catch (DineSmartException e) {
+            deleteOrder.recordError(e);
+            throw e;
+        } finally {
+            deleteOrder.record(System.nanoTime() - start);
+        }
+    }
+}
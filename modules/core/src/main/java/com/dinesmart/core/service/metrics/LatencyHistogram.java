@@ -0,0 +1,131 @@
+package com.dinesmart.core.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with HDR-style log-linear buckets.
+ * Demonstrates:
+ * - `AtomicLongArray` and `LongAdder` for contention-free counting from many threads.
+ * - Bit manipulation (`Long.numberOfLeadingZeros`) to find a bucket in constant time.
+ *
+ * Each power of two is split into 32 linear sub-buckets, so any recorded value is reported
+ * within about 3% of its true value, from 1 ns up to about 36 minutes, in under 10 KiB.
+ * Recording is wait-free apart from the max update; percentiles are computed on read.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 41;                       // Values up to 2^41 ns
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        // Buckets start at zero
+    }
+
+    /**
+     * Records one measurement. Negative values count as zero; huge values are clamped.
+     * @param nanos The measured latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0L), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // Retry; another thread raised the max concurrently
+        }
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Computes summary statistics from the current counts. Values recorded concurrently
+     * may or may not be included.
+     * @return A snapshot of the histogram.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        double mean = total == 0 ? 0.0 : (double) sum.sum() / total;
+        long highest = max.get();
+        // Bucket upper bounds can overshoot the largest real value, so clamp to it
+        return new Snapshot(total, mean,
+                            Math.min(percentile(copy, total, 0.50), highest),
+                            Math.min(percentile(copy, total, 0.99), highest),
+                            Math.min(percentile(copy, total, 0.999), highest),
+                            highest);
+    }
+
+    /**
+     * Summary statistics of a {@link LatencyHistogram}, all in nanoseconds.
+     *
+     * @param count The number of values.
+     * @param mean  The arithmetic mean.
+     * @param p50   The median.
+     * @param p99   The 99th percentile.
+     * @param p999  The 99.9th percentile.
+     * @param max   The largest value recorded.
+     */
+    public record Snapshot(long count, double mean, long p50, long p99, long p999, long max) {
+
+        @Override
+        public String toString() {
+            return String.format("n=%d mean=%.1fus p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                                 count, mean / 1e3, p50 / 1e3, p99 / 1e3, p999 / 1e3, max / 1e3);
+        }
+    }
+
+    private static long percentile(long[] counts, long total, double fraction) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValueIn(i);
+            }
+        }
+        return highestValueIn(counts.length - 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift); // (value >>> shift) is in [32, 64)
+    }
+
+    static long highestValueIn(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index - (long) shift * SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
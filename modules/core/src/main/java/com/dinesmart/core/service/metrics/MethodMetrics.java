@@ -0,0 +1,125 @@
+package com.dinesmart.core.service.metrics;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, throughput and error counts of one service method.
+ * Demonstrates:
+ * - Implementing an MXBean interface ({@link MethodMetricsMXBean}).
+ * - `ConcurrentHashMap.computeIfAbsent` with `LongAdder` values for concurrent counters by key.
+ */
+public final class MethodMetrics implements MethodMetricsMXBean {
+
+    private final String service;
+    private final String method;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+    private final long createdNanos = System.nanoTime();
+
+    MethodMetrics(String service, String method) {
+        this.service = service;
+        this.method = method;
+    }
+
+    /**
+     * @return The simple name of the instrumented service interface.
+     */
+    public String service() {
+        return service;
+    }
+
+    /**
+     * @return The instrumented method name.
+     */
+    public String method() {
+        return method;
+    }
+
+    /**
+     * @return The latency histogram of this method.
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * Records one completed call, successful or not.
+     * @param nanos The call's duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Counts a failed call. Failures are grouped by the type of the exception's root cause
+     * (e.g. {@code SQLException}), or by the exception itself when it has no cause.
+     * @param e The exception thrown by the call.
+     */
+    public void recordError(DineSmartException e) {
+        errors.increment();
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        errorsByCause.computeIfAbsent(root.getClass().getSimpleName(), k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByCause() {
+        Map<String, Long> result = new TreeMap<>();
+        errorsByCause.forEach((cause, count) -> result.put(cause, count.sum()));
+        return result;
+    }
+
+    @Override
+    public double getCallsPerSecond() {
+        double seconds = (System.nanoTime() - createdNanos) / 1e9;
+        return seconds <= 0 ? 0.0 : getCalls() / seconds;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.snapshot().mean() / 1e3;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.snapshot().p50() / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.snapshot().p99() / 1e3;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.snapshot().p999() / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.snapshot().max() / 1e3;
+    }
+
+    @Override
+    public String toString() {
+        return service + "." + method + ": " + latency.snapshot() + " errors=" + getErrors();
+    }
+}
@@ -0,0 +1,33 @@
+package com.dinesmart.core.service.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of one instrumented service method, as seen in JConsole or VisualVM under
+ * {@code com.dinesmart:type=ServiceMetrics}.
+ * Demonstrates:
+ * - The MXBean naming convention: an interface ending in `MXBean` whose getters become
+ *   read-only JMX attributes, with `Map` mapped to open types automatically.
+ *
+ * Latencies are in microseconds.
+ */
+public interface MethodMetricsMXBean {
+
+    long getCalls();
+
+    long getErrors();
+
+    Map<String, Long> getErrorsByCause();
+
+    double getCallsPerSecond();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
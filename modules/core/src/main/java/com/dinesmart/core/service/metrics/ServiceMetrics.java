@@ -0,0 +1,138 @@
+package com.dinesmart.core.service.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of {@link MethodMetrics}, published as platform MBeans and optionally dumped to the log.
+ * Demonstrates:
+ * - `ManagementFactory.getPlatformMBeanServer()` and `ObjectName` for JMX registration.
+ * - `ScheduledExecutorService` for periodic background work on a daemon thread.
+ *
+ * Each method appears as {@code com.dinesmart:type=ServiceMetrics,service=<Service>,method=<method>}.
+ */
+public final class ServiceMetrics implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ServiceMetrics.class.getName());
+    private static final String DOMAIN = "com.dinesmart";
+
+    private final MBeanServer server;
+    private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final List<ObjectName> registered = new ArrayList<>(); // Guarded by 'this'
+    private ScheduledExecutorService logger;                        // Guarded by 'this'
+
+    /**
+     * Creates a registry publishing to the platform MBean server.
+     */
+    public ServiceMetrics() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Creates a registry publishing to the given MBean server, or to none if it is null.
+     * @param server The MBean server, or null to skip JMX.
+     */
+    public ServiceMetrics(MBeanServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Returns the metrics of a method, creating and registering them on first use.
+     * @param service The service name, e.g. {@code OrderService}.
+     * @param method The method name.
+     * @return The method's metrics.
+     */
+    public MethodMetrics forMethod(String service, String method) {
+        return methods.computeIfAbsent(service + "." + method, key -> {
+            MethodMetrics metrics = new MethodMetrics(service, method);
+            register(metrics);
+            return metrics;
+        });
+    }
+
+    /**
+     * @return All metrics, ordered by service and method name.
+     */
+    public List<MethodMetrics> all() {
+        List<MethodMetrics> all = new ArrayList<>(methods.values());
+        all.sort(Comparator.comparing(MethodMetrics::service).thenComparing(MethodMetrics::method));
+        return all;
+    }
+
+    /**
+     * Logs a summary line for every method that has been called, at a fixed interval.
+     * @param every The interval between dumps.
+     */
+    public synchronized void logEvery(Duration every) {
+        if (logger != null) {
+            logger.shutdownNow();
+        }
+        logger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dinesmart-metrics-log");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = every.toMillis();
+        logger.scheduleAtFixedRate(this::dump, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Logs a summary line for every method that has been called.
+     */
+    public void dump() {
+        for (MethodMetrics metrics : all()) {
+            if (metrics.getCalls() > 0) {
+                LOGGER.info(metrics.toString());
+            }
+        }
+    }
+
+    /**
+     * Stops periodic logging and unregisters all MBeans.
+     */
+    @Override
+    public synchronized void close() {
+        if (logger != null) {
+            logger.shutdownNow();
+            logger = null;
+        }
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                LOGGER.log(Level.FINE, "Could not unregister " + name, e);
+            }
+        }
+        registered.clear();
+    }
+
+    private synchronized void register(MethodMetrics metrics) {
+        if (server == null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=ServiceMetrics,service=" + metrics.service()
+                                             + ",method=" + metrics.method());
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name); // A previous registry for the same service, e.g. after a restart in tests
+            }
+            server.registerMBean(metrics, name);
+            registered.add(name);
+        } catch (JMException e) {
+            // Metrics are still collected and logged, just not visible over JMX
+            LOGGER.log(Level.WARNING, "Could not register MBean for " + metrics.service() + "." + metrics.method(), e);
+        }
+    }
+}
@@ -5,7 +5,20 @@ module com.dinesmart.core {
     exports com.dinesmart.core.model.entities;
     exports com.dinesmart.core.exceptions;
     exports com.dinesmart.core.service;
+    exports com.dinesmart.core.service.impl; // In-memory service implementations
+    exports com.dinesmart.core.service.events; // Push-based order events for displays
+    exports com.dinesmart.core.service.metrics; // Service latency metrics, published over JMX
+    exports com.dinesmart.core.search; // Full-text menu search
+    exports com.dinesmart.core.analytics; // Sales reports from incremental rollups and parallel scans
+    exports com.dinesmart.core.codec; // Compact binary encoding of the entity records
+    exports com.dinesmart.core.kitchen; // Kitchen station scheduling
+    exports com.dinesmart.core.replication; // Order replication between POS terminals
+    exports com.dinesmart.core.security; // Password hashing, logins and session-based role checks
 
     // Requires the 'util' module to use its utility classes
     requires com.dinesmart.util;
+
+    // Requires 'java.management' to publish service metrics as MBeans, and 'java.logging' to dump them
+    requires java.management;
+    requires java.logging;
 }
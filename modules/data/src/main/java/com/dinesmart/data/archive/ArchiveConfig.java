@@ -0,0 +1,40 @@
+package com.dinesmart.data.archive;
+
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+
+/**
+ * A `record` holding the settings of a {@link FileOrderArchive}.
+ * Demonstrates:
+ * - Records as immutable configuration objects.
+ * - Compact constructor for validation.
+ *
+ * @param directory        The directory holding one archive file per day the orders were placed.
+ * @param compressionLevel The `Deflater` level, from 1 (fastest) to 9 (smallest).
+ * @param cachedBlocks     How many decompressed blocks are kept for repeated lookups, e.g. reprinting
+ *                         several receipts of the same evening; zero disables the cache.
+ */
+public record ArchiveConfig(Path directory, int compressionLevel, int cachedBlocks) {
+
+    // Compact constructor for validation
+    public ArchiveConfig {
+        if (directory == null) {
+            throw new IllegalArgumentException("Archive directory cannot be null.");
+        }
+        if (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9.");
+        }
+        if (cachedBlocks < 0) {
+            throw new IllegalArgumentException("Cached block count cannot be negative.");
+        }
+    }
+
+    /**
+     * Creates a configuration with compression level 6 and 16 cached blocks.
+     * @param directory The archive directory.
+     * @return The default configuration.
+     */
+    public static ArchiveConfig defaults(Path directory) {
+        return new ArchiveConfig(directory, 6, 16);
+    }
+}
@@ -0,0 +1,479 @@
+package com.dinesmart.data.archive;
+
+import com.dinesmart.core.codec.OrderArchive;
+import com.dinesmart.core.codec.OrderView;
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.service.ClosedOrderStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed, append-only archive of closed orders, partitioned by the day they were placed, implementing
+ * the cold tier of a {@code TieredOrderService}.
+ * Demonstrates:
+ * - `Deflater`/`Inflater` block compression of {@link OrderArchive} frames, scanned with {@link OrderView}.
+ * - A `TreeMap` of day partitions for range queries by date, and a primitive {@link IdIndex} by order id.
+ * - `FileChannel` positional reads and writes, with `force` before an append is reported durable.
+ * - A bounded LRU cache with an access-ordered `LinkedHashMap`.
+ *
+ * Files in the archive directory: {@code orders-<yyyy-MM-dd>.archive}, one per day the orders were
+ * placed. Each file is a sequence of blocks, one per day and {@link #archive(List)} call:
+ * <pre>
+ * [int magic][int count][int raw length][int compressed length][int crc32c]
+ * [int order id] * count
+ * [deflated OrderArchive frames]
+ * </pre>
+ * The ids sit outside the compressed data, so opening the archive rebuilds the id index from the
+ * block headers without decompressing anything; the index costs memory per order, the orders none.
+ * A block torn by a crash at the end of a file is cut off when the archive is opened; a damaged block
+ * followed by intact ones is logged, skipped and left on disk, so it never takes later blocks with it.
+ *
+ * Typical wiring:
+ * <pre>
+ * FileOrderArchive archive = FileOrderArchive.open(ArchiveConfig.defaults(dir));
+ * TieredOrderService orders = new TieredOrderService(liveOrders, archive);
+ * </pre>
+ */
+public final class FileOrderArchive implements ClosedOrderStore {
+
+    private static final Logger LOGGER = Logger.getLogger(FileOrderArchive.class.getName());
+    private static final String PREFIX = "orders-";
+    private static final String SUFFIX = ".archive";
+    private static final int BLOCK_MAGIC = 0x44534152; // "DSAR"
+    private static final int BLOCK_HEADER = 5 * 4;
+    private static final int PARTITION_SHIFT = 40;     // Location = partition number << 40 | block offset
+    private static final long OFFSET_MASK = (1L << PARTITION_SHIFT) - 1;
+
+    // One day's file; 'size' is the length of its complete blocks, guarded by the archive
+    private static final class Partition {
+        final int number;
+        final LocalDate day;
+        final Path path;
+        final Map<Long, Long> damaged = new HashMap<>(); // Start -> end of skipped bytes; filled when opened
+        long size;
+
+        Partition(int number, LocalDate day, Path path) {
+            this.number = number;
+            this.day = day;
+            this.path = path;
+        }
+    }
+
+    private final ArchiveConfig config;
+    private final TreeMap<LocalDate, Partition> byDay = new TreeMap<>(); // Guarded by 'this'
+    private final List<Partition> byNumber = new ArrayList<>();          // Guarded by 'this'
+    private final IdIndex byId = new IdIndex();                          // Guarded by 'this'
+    private final Map<Long, ByteBuffer> cache;                           // Guarded by itself
+
+    private FileOrderArchive(ArchiveConfig config) throws IOException {
+        this.config = config;
+        int capacity = config.cachedBlocks();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
+                return size() > capacity;
+            }
+        };
+        List<LocalDate> days = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(config.directory())) {
+            paths.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    try {
+                        days.add(LocalDate.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                    } catch (DateTimeParseException ignored) {
+                        // Not one of ours
+                    }
+                }
+            });
+        }
+        days.sort(Comparator.naturalOrder());
+        for (LocalDate day : days) {
+            Partition partition = addPartition(day);
+            partition.size = loadIndex(partition);
+        }
+    }
+
+    /**
+     * Opens (or creates) the archive in the configured directory and rebuilds its index.
+     * @param config The archive configuration.
+     * @return The open archive.
+     * @throws IOException if the directory cannot be used.
+     */
+    public static FileOrderArchive open(ArchiveConfig config) throws IOException {
+        Files.createDirectories(config.directory());
+        return new FileOrderArchive(config);
+    }
+
+    /**
+     * Compresses the orders into one block per day of their order times and forces them to disk.
+     * @param orders The orders to archive.
+     * @throws DineSmartException if they could not be written.
+     */
+    @Override
+    public synchronized void archive(List<Order> orders) throws DineSmartException {
+        Map<LocalDate, List<Order>> days = new TreeMap<>();
+        for (Order order : orders) {
+            if (!order.status().isTerminal()) {
+                throw new DineSmartException("Only closed orders can be archived; order " + order.id()
+                                             + " is " + order.status() + ".");
+            }
+            days.computeIfAbsent(order.orderTime().toLocalDate(), d -> new ArrayList<>()).add(order);
+        }
+        try {
+            for (Map.Entry<LocalDate, List<Order>> day : days.entrySet()) {
+                Partition partition = byDay.get(day.getKey());
+                if (partition == null) {
+                    partition = addPartition(day.getKey());
+                }
+                appendBlock(partition, day.getValue());
+            }
+        } catch (IOException e) {
+            throw new DineSmartException("Could not archive closed orders: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Order> find(int orderId) throws DineSmartException {
+        Partition partition;
+        long offset;
+        synchronized (this) {
+            long location = byId.get(orderId);
+            if (location == IdIndex.MISSING) {
+                return Optional.empty();
+            }
+            partition = byNumber.get((int) (location >>> PARTITION_SHIFT));
+            offset = location & OFFSET_MASK;
+        }
+        try {
+            OrderView view = new OrderView(block(partition, offset));
+            while (view.next()) {
+                if (view.id() == orderId) {
+                    return Optional.of(view.toOrder());
+                }
+            }
+            throw new DineSmartException("Archived order " + orderId + " is missing from its block in " + partition.path + ".");
+        } catch (IOException e) {
+            throw new DineSmartException("Could not read archived order " + orderId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Order> findByDate(LocalDate from, LocalDate to) throws DineSmartException {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date.");
+        }
+        List<Partition> partitions;
+        List<Long> sizes = new ArrayList<>();
+        synchronized (this) {
+            partitions = new ArrayList<>(byDay.subMap(from, true, to, true).values());
+            for (Partition partition : partitions) {
+                sizes.add(partition.size);
+            }
+        }
+        Map<Integer, Order> found = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < partitions.size(); i++) {
+                Partition partition = partitions.get(i);
+                ByteBuffer file = readFully(partition.path, 0, sizes.get(i));
+                while (file.hasRemaining()) {
+                    Long intact = partition.damaged.get((long) file.position());
+                    if (intact != null) {
+                        file.position(intact.intValue());
+                        continue;
+                    }
+                    OrderView view = new OrderView(inflate(file, partition.path));
+                    while (view.next()) {
+                        found.put(view.id(), view.toOrder()); // A later copy replaces an earlier one
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new DineSmartException("Could not read archived orders: " + e.getMessage(), e);
+        }
+        List<Order> orders = new ArrayList<>(found.values());
+        orders.sort(Comparator.comparingInt(Order::id));
+        return orders;
+    }
+
+    @Override
+    public synchronized boolean contains(int orderId) {
+        return byId.get(orderId) != IdIndex.MISSING;
+    }
+
+    @Override
+    public synchronized int maxId() {
+        return byId.maxId();
+    }
+
+    /**
+     * @return The number of distinct orders archived.
+     */
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    // ---- Writing ---------------------------------------------------------------------------
+
+    // Must hold 'this'
+    private Partition addPartition(LocalDate day) {
+        Partition partition = new Partition(byNumber.size(), day, config.directory().resolve(PREFIX + day + SUFFIX));
+        byNumber.add(partition);
+        byDay.put(day, partition);
+        return partition;
+    }
+
+    // Must hold 'this'. The index is updated only once the block is on disk.
+    private void appendBlock(Partition partition, List<Order> orders) throws IOException {
+        int rawLength = 0;
+        for (Order order : orders) {
+            rawLength += OrderArchive.frameSize(order);
+        }
+        ByteBuffer raw = ByteBuffer.allocate(rawLength);
+        for (Order order : orders) {
+            OrderArchive.append(raw, order);
+        }
+        byte[] compressed = deflate(raw.array());
+
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER + orders.size() * 4 + compressed.length);
+        block.position(BLOCK_HEADER);
+        for (Order order : orders) {
+            block.putInt(order.id());
+        }
+        block.put(compressed);
+        CRC32C crc = new CRC32C();
+        crc.update(block.array(), BLOCK_HEADER, block.position() - BLOCK_HEADER);
+        block.putInt(0, BLOCK_MAGIC)
+             .putInt(4, orders.size())
+             .putInt(8, rawLength)
+             .putInt(12, compressed.length)
+             .putInt(16, (int) crc.getValue());
+        block.flip();
+
+        long offset = partition.size;
+        if (offset + block.remaining() > OFFSET_MASK) {
+            throw new IOException("Archive partition " + partition.path + " is full.");
+        }
+        try (FileChannel channel = FileChannel.open(partition.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = offset;
+            while (block.hasRemaining()) {
+                position += channel.write(block, position);
+            }
+            channel.force(false);
+        }
+        partition.size = offset + block.limit();
+        long location = ((long) partition.number << PARTITION_SHIFT) | offset;
+        for (Order order : orders) {
+            byId.put(order.id(), location);
+        }
+    }
+
+    private byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(config.compressionLevel());
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] out = new byte[Math.max(64, raw.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // ---- Reading ---------------------------------------------------------------------------
+
+    // Returns the decompressed frames of the block at 'offset', from the cache if possible
+    private ByteBuffer block(Partition partition, long offset) throws IOException {
+        long location = ((long) partition.number << PARTITION_SHIFT) | offset;
+        synchronized (cache) {
+            ByteBuffer cached = cache.get(location);
+            if (cached != null) {
+                return cached.duplicate();
+            }
+        }
+        ByteBuffer header = readFully(partition.path, offset, BLOCK_HEADER);
+        int count = header.getInt(4);
+        int compressedLength = header.getInt(12);
+        ByteBuffer whole = readFully(partition.path, offset, BLOCK_HEADER + (long) count * 4 + compressedLength);
+        ByteBuffer frames = inflate(whole, partition.path).asReadOnlyBuffer();
+        if (config.cachedBlocks() > 0) {
+            synchronized (cache) {
+                cache.put(location, frames);
+            }
+        }
+        return frames.duplicate();
+    }
+
+    // Decompresses the block at the buffer's position and moves the position past it
+    private static ByteBuffer inflate(ByteBuffer in, Path path) throws IOException {
+        int start = in.position();
+        int count = checkHeader(in, path, in.remaining());
+        int rawLength = in.getInt(start + 8);
+        int compressedLength = in.getInt(start + 12);
+        int crc = in.getInt(start + 16);
+        int body = count * 4 + compressedLength;
+        CRC32C check = new CRC32C();
+        check.update(in.duplicate().position(start + BLOCK_HEADER).limit(start + BLOCK_HEADER + body));
+        if ((int) check.getValue() != crc) {
+            throw new IOException("Checksum mismatch in archive block at byte " + start + " of " + path + ".");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(in.duplicate().position(start + BLOCK_HEADER + count * 4).limit(start + BLOCK_HEADER + body));
+            ByteBuffer raw = ByteBuffer.allocate(rawLength);
+            while (raw.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(raw) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+            if (raw.hasRemaining() || !inflater.finished()) {
+                throw new IOException("Truncated archive block at byte " + start + " of " + path + ".");
+            }
+            in.position(start + BLOCK_HEADER + body);
+            return raw.flip();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block at byte " + start + " of " + path + ".", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // Validates the header at the buffer's position against 'available' bytes and returns the order count
+    private static int checkHeader(ByteBuffer in, Path path, long available) throws IOException {
+        int start = in.position();
+        if (available < BLOCK_HEADER || in.getInt(start) != BLOCK_MAGIC) {
+            throw new IOException("Bad archive block at byte " + start + " of " + path + ".");
+        }
+        int count = in.getInt(start + 4);
+        int rawLength = in.getInt(start + 8);
+        int compressedLength = in.getInt(start + 12);
+        if (count <= 0 || rawLength <= 0 || compressedLength <= 0
+            || BLOCK_HEADER + (long) count * 4 + compressedLength > available) {
+            throw new IOException("Truncated archive block at byte " + start + " of " + path + ".");
+        }
+        return count;
+    }
+
+    private static ByteBuffer readFully(Path path, long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Archive read of " + length + " bytes from " + path + " is too large.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of " + path + " at byte " + position + ".");
+                }
+                position += read;
+            }
+        }
+        return buffer.flip();
+    }
+
+    // ---- Recovery --------------------------------------------------------------------------
+
+    // Indexes every block of a partition from its headers and ids and returns the length of the blocks
+    // to keep. Only a torn tail (an append cut short by a crash) is cut off; a damaged block with
+    // valid blocks after it stays on disk and is skipped. Called from the constructor.
+    private long loadIndex(Partition partition) throws IOException {
+        try (FileChannel channel = FileChannel.open(partition.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            long position = 0;
+            while (position < fileSize) {
+                ByteBuffer header = readFully(partition.path, position, Math.min(BLOCK_HEADER, fileSize - position));
+                int count;
+                try {
+                    count = checkHeader(header, partition.path, fileSize - position);
+                } catch (IOException e) {
+                    count = -1;
+                }
+                long blockLength = count < 0 ? 0 : BLOCK_HEADER + (long) count * 4 + header.getInt(12);
+                // Only the last block can be torn; verify its checksum before trusting it
+                if (count > 0 && position + blockLength == fileSize && !isIntact(partition.path, position, blockLength)) {
+                    count = -1;
+                }
+                if (count < 0) {
+                    long next = nextIntactBlock(partition.path, position, fileSize);
+                    if (next < 0) {
+                        break; // Nothing intact follows, so this is a torn tail
+                    }
+                    LOGGER.severe("Order archive: skipping " + (next - position) + " damaged bytes at byte " + position
+                                  + " of " + partition.path + "; the orders in them cannot be read.");
+                    partition.damaged.put(position, next);
+                    position = next;
+                    continue;
+                }
+                ByteBuffer ids = readFully(partition.path, position + BLOCK_HEADER, count * 4L);
+                long location = ((long) partition.number << PARTITION_SHIFT) | position;
+                while (ids.hasRemaining()) {
+                    byId.put(ids.getInt(), location);
+                }
+                position += blockLength;
+            }
+            if (position < fileSize) {
+                LOGGER.warning("Order archive: discarding " + (fileSize - position) + " torn bytes at the end of "
+                               + partition.path);
+                channel.truncate(position);
+                channel.force(true);
+            }
+            return position;
+        }
+    }
+
+    private static boolean isIntact(Path path, long offset, long length) {
+        try {
+            inflate(readFully(path, offset, length), path);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Returns the offset of the first block after 'from' whose checksum holds, or -1 if there is none
+    private static long nextIntactBlock(Path path, long from, long fileSize) throws IOException {
+        ByteBuffer rest = readFully(path, from, fileSize - from);
+        for (int i = 1; i + BLOCK_HEADER <= rest.limit(); i++) {
+            if (rest.getInt(i) == BLOCK_MAGIC) {
+                try {
+                    inflate(rest.duplicate().position(i), path);
+                    return from + i;
+                } catch (IOException e) {
+                    // The magic number's bytes inside other data, or another damaged block
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.dinesmart.data.archive;
+
+/**
+ * Map from order id to a packed block location, stored in two primitive arrays.
+ * Demonstrates:
+ * - Open addressing with linear probing, so an entry costs about 24 bytes instead of
+ *   the boxed keys, values and nodes of a `HashMap<Integer, Long>`.
+ *
+ * Not thread-safe; {@link FileOrderArchive} guards it.
+ */
+final class IdIndex {
+
+    static final long MISSING = -1L;
+
+    private int[] keys;    // Order id + 1; 0 marks a free slot
+    private long[] values;
+    private int size;
+    private int maxId;
+
+    IdIndex() {
+        keys = new int[1024];
+        values = new long[1024];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The highest id ever put, or 0 if none
+    int maxId() {
+        return maxId;
+    }
+
+    long get(int orderId) {
+        int mask = keys.length - 1;
+        for (int i = slot(orderId, mask); ; i = (i + 1) & mask) {
+            int key = keys[i];
+            if (key == 0) {
+                return MISSING;
+            }
+            if (key == orderId + 1) {
+                return values[i];
+            }
+        }
+    }
+
+    void put(int orderId, long location) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        if (insert(keys, values, orderId, location)) {
+            size++;
+            maxId = Math.max(maxId, orderId);
+        }
+    }
+
+    private void grow() {
+        int[] newKeys = new int[keys.length * 2];
+        long[] newValues = new long[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                insert(newKeys, newValues, keys[i] - 1, values[i]);
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    // Returns true if the id was new
+    private static boolean insert(int[] keys, long[] values, int orderId, long location) {
+        int mask = keys.length - 1;
+        for (int i = slot(orderId, mask); ; i = (i + 1) & mask) {
+            if (keys[i] == 0) {
+                keys[i] = orderId + 1;
+                values[i] = location;
+                return true;
+            }
+            if (keys[i] == orderId + 1) {
+                values[i] = location;
+                return false;
+            }
+        }
+    }
+
+    private static int slot(int orderId, int mask) {
+        int h = orderId * 0x9E3779B9; // Fibonacci hashing spreads sequential ids
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dinesmart.data.bulk;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Package-private sequential reader of {@code [int length][payload]} records from a `FileChannel`.
+ * The buffer is refilled with `compact()` and only grows if a single record is larger than it.
+ */
+final class BinaryInput {
+
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long offset; // File offset of the buffer's position
+
+    BinaryInput(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        buffer.limit(0);
+    }
+
+    /**
+     * Reads exactly {@code length} bytes.
+     * @param length The number of bytes.
+     * @return A view of the bytes, valid until the next call.
+     * @throws IOException if reading fails or the file ends first.
+     */
+    ByteBuffer read(int length) throws IOException {
+        if (!fill(length)) {
+            throw new EOFException("File ends in the middle of a record at byte " + offset + ".");
+        }
+        ByteBuffer view = buffer.slice();
+        view.limit(length);
+        buffer.position(buffer.position() + length);
+        offset += length;
+        return view;
+    }
+
+    /**
+     * Reads the next record's payload.
+     * @return A view of the payload, valid until the next call, or null at the end of the file.
+     * @throws IOException if reading fails or the record is truncated or corrupt.
+     */
+    ByteBuffer next() throws IOException {
+        if (!fill(Integer.BYTES)) {
+            if (buffer.hasRemaining()) {
+                throw new EOFException("File ends in the middle of a record at byte " + offset + ".");
+            }
+            return null;
+        }
+        int length = buffer.getInt();
+        offset += Integer.BYTES;
+        if (length < 0 || length > ChannelOutput.MAX_RECORD) {
+            throw new IOException("Corrupt record length " + length + " at byte " + (offset - Integer.BYTES) + ".");
+        }
+        return read(length);
+    }
+
+    /**
+     * @return The file offset of the next unread byte.
+     */
+    long offset() {
+        return offset;
+    }
+
+    // Makes at least 'length' bytes available; false if the file ends first
+    private boolean fill(int length) throws IOException {
+        if (buffer.remaining() >= length) {
+            return true;
+        }
+        if (buffer.capacity() < length) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+            grown.put(buffer);
+            buffer = grown;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < length) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= length;
+    }
+}
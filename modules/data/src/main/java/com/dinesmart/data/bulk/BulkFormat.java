@@ -0,0 +1,19 @@
+package com.dinesmart.data.bulk;
+
+/**
+ * The file formats understood by {@link BulkTransfer}.
+ */
+public enum BulkFormat {
+    /**
+     * UTF-8 text with a header row, one record per line, fields separated by commas and quoted
+     * when needed. Orders take one line per order line, with the order columns repeated.
+     * Line breaks inside text fields are written as spaces, so every record fits on one line.
+     */
+    CSV,
+
+    /**
+     * A compact, length-prefixed binary layout; faster to write and read than CSV, but only
+     * readable by this tool. See {@link BulkTransfer} for the layout.
+     */
+    BINARY
+}
@@ -0,0 +1,330 @@
+package com.dinesmart.data.bulk;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.data.dao.OrderDAO;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming bulk import and export of menus and order history, as CSV or compact binary files.
+ * Demonstrates:
+ * - NIO `FileChannel` and `ByteBuffer` I/O with fixed-size buffers: memory use does not depend on file size.
+ * - Parallel parsing: a CSV file is split into byte ranges aligned on line (and order) boundaries,
+ *   and each range is parsed by its own thread through positional reads on one shared channel.
+ * - `ExecutorService` and `Future` for fork/join of the parse tasks, with the first failure cancelling the rest.
+ *
+ * Records are never collected: imports pass each record to a {@link RecordSink} as soon as it is parsed,
+ * and exports write each record as it is produced (see {@link #exportOrders}).
+ *
+ * Binary layout: {@code [int magic "DSB1"][byte type: 1 = menu, 2 = orders]}, then one
+ * {@code [int length][payload]} record per menu item or order. Strings are
+ * {@code [int byteLength][UTF-8 bytes]}, with -1 for null. Binary imports are read sequentially:
+ * decoding them costs little next to the reads themselves.
+ */
+public final class BulkTransfer {
+
+    /**
+     * The default I/O buffer size per file and per parse thread.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    static final int MAGIC = 0x44534231; // "DSB1"
+    static final int BINARY_HEADER = Integer.BYTES + 1;
+
+    private static final long MIN_CHUNK = 1024 * 1024; // Smaller files are not worth splitting
+
+    private static final MenuCodec MENU = new MenuCodec();
+    private static final OrderCodec ORDERS = new OrderCodec();
+
+    private final int bufferSize;
+    private final int parallelism;
+
+    /**
+     * Creates a transfer with 64 KiB buffers that parses CSV files on one thread per processor.
+     */
+    public BulkTransfer() {
+        this(DEFAULT_BUFFER_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param bufferSize The I/O buffer size per file and per parse thread.
+     * @param parallelism The maximum number of threads parsing one CSV file.
+     */
+    public BulkTransfer(int bufferSize, int parallelism) {
+        if (bufferSize < 1024 || parallelism <= 0) {
+            throw new IllegalArgumentException("Buffer size must be at least 1024 bytes and parallelism positive.");
+        }
+        this.bufferSize = bufferSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates (or truncates) a menu export file.
+     * @param file The file.
+     * @param format The file format.
+     * @return A writer to pass the menu items to; close it when done.
+     * @throws DineSmartException if the file cannot be created.
+     */
+    public BulkWriter<MenuItem> openMenuWriter(Path file, BulkFormat format) throws DineSmartException {
+        return new BulkWriter<>(file, format, MENU, bufferSize);
+    }
+
+    /**
+     * Creates (or truncates) an order export file.
+     * @param file The file.
+     * @param format The file format.
+     * @return A writer to pass the orders to; close it when done.
+     * @throws DineSmartException if the file cannot be created.
+     */
+    public BulkWriter<Order> openOrderWriter(Path file, BulkFormat format) throws DineSmartException {
+        return new BulkWriter<>(file, format, ORDERS, bufferSize);
+    }
+
+    /**
+     * Writes menu items to a file.
+     * @param items The items.
+     * @param file The file.
+     * @param format The file format.
+     * @return The number of items written.
+     * @throws DineSmartException if writing fails.
+     */
+    public long exportMenu(Iterable<MenuItem> items, Path file, BulkFormat format) throws DineSmartException {
+        try (BulkWriter<MenuItem> writer = openMenuWriter(file, format)) {
+            for (MenuItem item : items) {
+                writer.accept(item);
+            }
+            return writer.count();
+        }
+    }
+
+    /**
+     * Writes the orders placed in a range to a file, streaming them from the database one at a time.
+     * @param dao The order DAO.
+     * @param from The inclusive lower bound of the order time.
+     * @param to The exclusive upper bound of the order time.
+     * @param file The file.
+     * @param format The file format.
+     * @return The number of orders written.
+     * @throws DineSmartException if the query or writing fails.
+     */
+    public long exportOrders(OrderDAO dao, LocalDateTime from, LocalDateTime to, Path file, BulkFormat format)
+        throws DineSmartException {
+        try (BulkWriter<Order> writer = openOrderWriter(file, format)) {
+            return dao.forEachBetween(from, to, writer::accept);
+        }
+    }
+
+    /**
+     * Reads menu items from a file. CSV files are parsed in parallel, in which case {@code sink}
+     * is called concurrently, in no particular order, and must be thread-safe.
+     * @param file The file.
+     * @param format The file format.
+     * @param sink Receives each item.
+     * @return The number of items read.
+     * @throws DineSmartException if the file cannot be read or is malformed, or the sink throws.
+     */
+    public long importMenu(Path file, BulkFormat format, RecordSink<MenuItem> sink) throws DineSmartException {
+        return format == BulkFormat.CSV ? importCsv(file, MENU, sink) : importBinary(file, MENU, sink);
+    }
+
+    /**
+     * Reads orders from a file. CSV files are parsed in parallel, in which case {@code sink}
+     * is called concurrently, in no particular order, and must be thread-safe.
+     * @param file The file.
+     * @param format The file format.
+     * @param sink Receives each order.
+     * @return The number of orders read.
+     * @throws DineSmartException if the file cannot be read or is malformed, or the sink throws.
+     */
+    public long importOrders(Path file, BulkFormat format, RecordSink<Order> sink) throws DineSmartException {
+        return format == BulkFormat.CSV ? importCsv(file, ORDERS, sink) : importBinary(file, ORDERS, sink);
+    }
+
+    private <T> long importBinary(Path file, RecordCodec<T> codec, RecordSink<T> sink) throws DineSmartException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BinaryInput in = new BinaryInput(channel, bufferSize);
+            ByteBuffer header = in.read(BINARY_HEADER);
+            if (header.getInt() != MAGIC || header.get() != codec.binaryType()) {
+                throw new DineSmartException(file + " is not " + describe(codec) + " binary export.");
+            }
+            long count = 0;
+            long offset = in.offset();
+            ByteBuffer payload;
+            while ((payload = in.next()) != null) {
+                T record;
+                try {
+                    record = codec.getBinary(payload);
+                } catch (IllegalArgumentException | BufferUnderflowException e) {
+                    throw new DineSmartException("Malformed record at byte " + offset + " of " + file + ": " + e, e);
+                }
+                sink.accept(record);
+                count++;
+                offset = in.offset();
+            }
+            return count;
+        } catch (IOException e) {
+            throw new DineSmartException("Could not read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private <T> long importCsv(Path file, RecordCodec<T> codec, RecordSink<T> sink) throws DineSmartException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            LineReader header = new LineReader(channel, 0, size, bufferSize);
+            String expected = String.join(String.valueOf(Csv.SEPARATOR), codec.columns());
+            if (!header.next() || !header.text().equals(expected)) {
+                throw new DineSmartException(file + " is not " + describe(codec) + " CSV file; expected the header "
+                                             + expected);
+            }
+            long[] bounds = chunkBounds(channel, codec, header.nextLineStart(), size);
+            if (bounds.length == 2) {
+                return readChunk(file, channel, codec, sink, bounds[0], bounds[1], new AtomicBoolean());
+            }
+            return readChunks(file, channel, codec, sink, bounds);
+        } catch (IOException e) {
+            throw new DineSmartException("Could not read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Splits [start, size) into up to 'parallelism' ranges, each starting at the beginning of a record.
+    private long[] chunkBounds(FileChannel channel, RecordCodec<?> codec, long start, long size) throws IOException {
+        long chunk = Math.max(MIN_CHUNK, (size - start) / parallelism + 1);
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(start);
+        for (long target = start + chunk; target < size; target += chunk) {
+            // The line containing the byte before 'target' goes to the previous chunk
+            LineReader reader = new LineReader(channel, target - 1, size, bufferSize);
+            if (!reader.next() || !reader.next()) {
+                break;
+            }
+            if (codec.multiRow()) {
+                // So do the remaining rows of the same record
+                byte[] key = reader.firstField();
+                boolean more;
+                while ((more = reader.firstFieldEquals(key)) && reader.next()) {
+                    // Skip
+                }
+                if (more) {
+                    break; // The record runs to the end of the file
+                }
+            }
+            long boundary = reader.lineStart();
+            if (boundary > bounds.get(bounds.size() - 1)) {
+                bounds.add(boundary);
+            }
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private <T> long readChunks(Path file, FileChannel channel, RecordCodec<T> codec, RecordSink<T> sink,
+                                long[] bounds) throws DineSmartException {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(bounds.length - 1, r -> {
+            Thread t = new Thread(r, "dinesmart-bulk-import-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            List<Future<Long>> parts = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                parts.add(executor.submit(() -> readChunk(file, channel, codec, sink, from, to, failed)));
+            }
+            long count = 0;
+            DineSmartException failure = null;
+            for (Future<Long> part : parts) {
+                try {
+                    count += part.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof DineSmartException d
+                            ? d : new DineSmartException("Import of " + file + " failed: " + e.getCause(), e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return count;
+        } catch (InterruptedException e) {
+            failed.set(true);
+            Thread.currentThread().interrupt();
+            throw new DineSmartException("Import of " + file + " was interrupted.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Parses the records starting in [from, to); stops early once another chunk has failed.
+    private <T> long readChunk(Path file, FileChannel channel, RecordCodec<T> codec, RecordSink<T> sink,
+                               long from, long to, AtomicBoolean failed) throws DineSmartException {
+        LineReader reader = new LineReader(channel, from, to, bufferSize);
+        RecordCodec.RowParser<T> parser = codec.newParser();
+        String[] fields = new String[codec.columns().length];
+        StringBuilder scratch = new StringBuilder();
+        long count = 0;
+        try {
+            while (reader.next()) {
+                if (failed.get()) {
+                    return count;
+                }
+                if (reader.isBlank()) {
+                    continue;
+                }
+                T record;
+                try {
+                    Csv.split(reader.text(), fields, scratch);
+                    record = parser.row(fields);
+                } catch (RuntimeException e) {
+                    throw new DineSmartException("Malformed row at byte " + reader.lineStart() + " of " + file + ": "
+                                                 + e.getMessage(), e);
+                }
+                if (record != null) {
+                    sink.accept(record);
+                    count++;
+                }
+            }
+            T last;
+            try {
+                last = parser.finish();
+            } catch (RuntimeException e) {
+                throw new DineSmartException("Malformed record before byte " + to + " of " + file + ": "
+                                             + e.getMessage(), e);
+            }
+            if (last != null) {
+                sink.accept(last);
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            failed.set(true);
+            throw new DineSmartException("Could not read " + file + ": " + e.getMessage(), e);
+        } catch (DineSmartException | RuntimeException e) {
+            failed.set(true);
+            throw e;
+        }
+    }
+
+    private static String describe(RecordCodec<?> codec) {
+        return codec == MENU ? "a menu" : "an order";
+    }
+}
@@ -0,0 +1,118 @@
+package com.dinesmart.data.bulk;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams records to an export file as they are produced, e.g. straight from
+ * {@link com.dinesmart.data.dao.OrderDAO#forEachBetween}. Obtained from {@link BulkTransfer}.
+ * Demonstrates:
+ * - `try-with-resources` through `AutoCloseable`.
+ * - A writer that is also a {@link RecordSink}, so an import can be piped straight into an export.
+ *
+ * Not thread-safe. Memory use does not depend on the number of records written.
+ *
+ * @param <T> The record type.
+ */
+public final class BulkWriter<T> implements RecordSink<T>, AutoCloseable {
+
+    private static final int MAX_RETAINED_LINE = 16 * 1024;
+
+    private final Path file;
+    private final BulkFormat format;
+    private final RecordCodec<T> codec;
+    private final ChannelOutput out;
+    private StringBuilder line = new StringBuilder(256);
+    private long count;
+    private boolean closed;
+
+    BulkWriter(Path file, BulkFormat format, RecordCodec<T> codec, int bufferSize) throws DineSmartException {
+        this.file = file;
+        this.format = format;
+        this.codec = codec;
+        try {
+            this.out = new ChannelOutput(FileChannel.open(file, StandardOpenOption.CREATE,
+                                                          StandardOpenOption.TRUNCATE_EXISTING,
+                                                          StandardOpenOption.WRITE), bufferSize);
+        } catch (IOException e) {
+            throw new DineSmartException("Could not create " + file + ": " + e.getMessage(), e);
+        }
+        try {
+            if (format == BulkFormat.CSV) {
+                out.writeText(String.join(String.valueOf(Csv.SEPARATOR), codec.columns()) + "\n");
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(BulkTransfer.BINARY_HEADER);
+                header.putInt(BulkTransfer.MAGIC).put(codec.binaryType()).flip();
+                out.writeBytes(header);
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            throw new DineSmartException("Could not write to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Appends a record to the file.
+     * @param record The record.
+     * @throws DineSmartException if writing fails or the writer is closed.
+     */
+    @Override
+    public void accept(T record) throws DineSmartException {
+        if (closed) {
+            throw new DineSmartException("Writer for " + file + " is closed.");
+        }
+        try {
+            if (format == BulkFormat.CSV) {
+                line.setLength(0);
+                codec.appendCsv(record, line);
+                out.writeText(line);
+                if (line.capacity() > MAX_RETAINED_LINE) {
+                    line = new StringBuilder(256); // Don't keep one huge order's buffer for the rest of the file
+                }
+            } else {
+                out.writeRecord(codec, record);
+            }
+        } catch (IOException e) {
+            throw new DineSmartException("Could not write to " + file + ": " + e.getMessage(), e);
+        }
+        count++;
+    }
+
+    /**
+     * @return The number of records written so far.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Flushes the remaining buffered bytes and closes the file. Calling it again has no effect.
+     * @throws DineSmartException if writing or closing fails.
+     */
+    @Override
+    public void close() throws DineSmartException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new DineSmartException("Could not write to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void closeQuietly() {
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Already reporting the original failure
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.dinesmart.data.bulk;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Package-private buffered writer over a `FileChannel`: text is encoded straight into a fixed
+ * `ByteBuffer` with a reused `CharsetEncoder`, and binary records are length-prefixed.
+ * Memory use is the buffer plus the largest single record, whatever the size of the file.
+ */
+final class ChannelOutput implements AutoCloseable {
+
+    static final int MAX_RECORD = 64 * 1024 * 1024; // Guards readers against corrupt lengths too
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer record = ByteBuffer.allocate(1024); // Grows to the largest binary record
+
+    ChannelOutput(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Encodes text as UTF-8.
+     * @param text The text.
+     * @throws IOException if writing fails.
+     */
+    void writeText(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                flush();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes raw bytes.
+     * @param bytes The bytes, from position to limit.
+     * @throws IOException if writing fails.
+     */
+    void writeBytes(ByteBuffer bytes) throws IOException {
+        if (bytes.remaining() > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.remaining() > buffer.remaining()) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes); // Larger than the whole buffer: bypass it
+            }
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Writes a record as {@code [int length][payload]}.
+     * @param codec Encodes the payload.
+     * @param value The record.
+     * @param <T> The record type.
+     * @throws IOException if writing fails or the record exceeds {@link #MAX_RECORD} bytes.
+     */
+    <T> void writeRecord(RecordCodec<T> codec, T value) throws IOException {
+        while (true) {
+            record.clear().position(Integer.BYTES); // Room for the length, filled in below
+            try {
+                codec.putBinary(value, record);
+                break;
+            } catch (BufferOverflowException e) {
+                if (record.capacity() >= MAX_RECORD) {
+                    throw new IOException("Record exceeds " + MAX_RECORD + " bytes.");
+                }
+                record = ByteBuffer.allocate(Math.min(record.capacity() * 2, MAX_RECORD));
+            }
+        }
+        record.putInt(0, record.position() - Integer.BYTES);
+        record.flip();
+        writeBytes(record);
+    }
+
+    /**
+     * Writes out the buffered bytes.
+     * @throws IOException if writing fails.
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes and closes the channel.
+     * @throws IOException if writing or closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
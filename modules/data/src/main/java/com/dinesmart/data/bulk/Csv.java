@@ -0,0 +1,124 @@
+package com.dinesmart.data.bulk;
+
+/**
+ * Package-private helpers for writing and splitting CSV fields (RFC 4180 quoting).
+ *
+ * Line breaks inside a field are written as spaces, so that a record never spans lines: the
+ * parallel import splits files at line boundaries and must be able to start reading anywhere.
+ */
+final class Csv {
+
+    static final char SEPARATOR = ',';
+    static final char QUOTE = '"';
+
+    private Csv() {
+        throw new AssertionError("Csv cannot be instantiated.");
+    }
+
+    /**
+     * Appends a field, quoting it if it contains a separator or quote or has surrounding spaces.
+     * @param out The line being built.
+     * @param value The field; null is written as an empty field.
+     */
+    static void appendField(StringBuilder out, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ';
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                out.append(QUOTE).append(QUOTE);
+            } else if (c == '\n' || c == '\r') {
+                out.append(' ');
+            } else {
+                out.append(c);
+            }
+        }
+        out.append(QUOTE);
+    }
+
+    /**
+     * Splits one line into exactly {@code fields.length} fields.
+     * @param line The line, without its line terminator.
+     * @param fields Receives the fields; empty fields are returned as "".
+     * @param scratch Reused to unescape quoted fields.
+     * @throws IllegalArgumentException if the line has a different number of fields or an unterminated quote.
+     */
+    static void split(String line, String[] fields, StringBuilder scratch) {
+        int count = 0;
+        int i = 0;
+        int length = line.length();
+        while (true) {
+            if (count == fields.length) {
+                throw new IllegalArgumentException("Expected " + fields.length + " fields, found more.");
+            }
+            if (i < length && line.charAt(i) == QUOTE) {
+                scratch.setLength(0);
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("Unterminated quoted field.");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != QUOTE) {
+                        scratch.append(c);
+                    } else if (i < length && line.charAt(i) == QUOTE) {
+                        scratch.append(QUOTE); // Escaped quote
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                fields[count++] = scratch.toString();
+                if (i < length && line.charAt(i) != SEPARATOR) {
+                    throw new IllegalArgumentException("Unexpected character after quoted field at column " + i + ".");
+                }
+            } else {
+                int next = line.indexOf(SEPARATOR, i);
+                int stop = next < 0 ? length : next;
+                fields[count++] = line.substring(i, stop);
+                i = stop;
+            }
+            if (i >= length) {
+                break;
+            }
+            i++; // Skip the separator
+            if (i == length) {
+                // Trailing separator: one more, empty field
+                if (count == fields.length) {
+                    throw new IllegalArgumentException("Expected " + fields.length + " fields, found more.");
+                }
+                fields[count++] = "";
+                break;
+            }
+        }
+        if (count != fields.length) {
+            throw new IllegalArgumentException("Expected " + fields.length + " fields, found " + count + ".");
+        }
+    }
+
+    /**
+     * @param field A field read with {@link #split}.
+     * @return The boolean it holds.
+     * @throws IllegalArgumentException unless it is "true" or "false".
+     */
+    static boolean parseBoolean(String field) {
+        if ("true".equals(field)) {
+            return true;
+        }
+        if ("false".equals(field)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + field);
+    }
+}
@@ -0,0 +1,154 @@
+package com.dinesmart.data.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Package-private reader of the lines starting in one byte range of a file.
+ * Demonstrates:
+ * - Positional `FileChannel.read(ByteBuffer, long)`, which several threads may call on the
+ *   same channel at once: each import chunk gets its own reader over a shared channel.
+ *
+ * A line belongs to the range if it starts before the range's end, so the last line is read to
+ * its terminator even if that lies past the end. Lines end with LF; a preceding CR is dropped.
+ */
+final class LineReader {
+
+    private final FileChannel channel;
+    private final long end;
+    private final ByteBuffer buffer;
+    private long readPosition;  // File offset of the next channel read
+    private long nextLine;      // File offset of the next line's first byte
+    private long lineStart;
+    private byte[] line = new byte[256];
+    private int lineLength;
+
+    /**
+     * @param channel The file.
+     * @param start The offset of the first line.
+     * @param end Lines starting at or after this offset are not read.
+     * @param bufferSize The read buffer size.
+     */
+    LineReader(FileChannel channel, long start, long end, int bufferSize) {
+        this.channel = channel;
+        this.end = end;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        buffer.limit(0);
+        this.readPosition = start;
+        this.nextLine = start;
+    }
+
+    /**
+     * Advances to the next line.
+     * @return false at the end of the range or of the file.
+     * @throws IOException if reading fails.
+     */
+    boolean next() throws IOException {
+        if (nextLine >= end) {
+            return false;
+        }
+        lineStart = nextLine;
+        lineLength = 0;
+        boolean any = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer, readPosition);
+                buffer.flip();
+                if (read <= 0) {
+                    nextLine = end; // End of file: a last line without terminator still counts
+                    return any;
+                }
+                readPosition += read;
+            }
+            any = true;
+            byte[] bytes = buffer.array();
+            int from = buffer.position();
+            int limit = buffer.limit();
+            int i = from;
+            while (i < limit && bytes[i] != '\n') {
+                i++;
+            }
+            append(bytes, from, i - from);
+            if (i < limit) {
+                buffer.position(i + 1);
+                nextLine += i - from + 1;
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                return true;
+            }
+            buffer.position(limit);
+            nextLine += i - from;
+        }
+    }
+
+    /**
+     * @return The current line, decoded as UTF-8.
+     */
+    String text() {
+        return new String(line, 0, lineLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return true if the current line is empty.
+     */
+    boolean isBlank() {
+        return lineLength == 0;
+    }
+
+    /**
+     * @return The file offset of the current line.
+     */
+    long lineStart() {
+        return lineStart;
+    }
+
+    /**
+     * @return The file offset just after the current line's terminator.
+     */
+    long nextLineStart() {
+        return nextLine;
+    }
+
+    /**
+     * Returns whether the current line's first field equals {@code key}; used to keep the rows
+     * of one order in the same chunk without decoding the whole line.
+     */
+    boolean firstFieldEquals(byte[] key) {
+        if (lineLength < key.length || (lineLength > key.length && line[key.length] != Csv.SEPARATOR)) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (line[i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The raw bytes of the current line's first field.
+     */
+    byte[] firstField() {
+        int i = 0;
+        while (i < lineLength && line[i] != Csv.SEPARATOR) {
+            i++;
+        }
+        byte[] key = new byte[i];
+        System.arraycopy(line, 0, key, 0, i);
+        return key;
+    }
+
+    private void append(byte[] bytes, int from, int length) {
+        if (lineLength + length > line.length) {
+            byte[] grown = new byte[Math.max(line.length * 2, lineLength + length)];
+            System.arraycopy(line, 0, grown, 0, lineLength);
+            line = grown;
+        }
+        System.arraycopy(bytes, from, line, lineLength, length);
+        lineLength += length;
+    }
+}
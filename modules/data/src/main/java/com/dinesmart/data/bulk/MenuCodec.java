@@ -0,0 +1,73 @@
+package com.dinesmart.data.bulk;
+
+import com.dinesmart.core.model.entities.MenuItem;
+
+import java.nio.ByteBuffer;
+import java.util.Currency;
+
+/**
+ * Package-private codec for menu items: one CSV row or binary record per item.
+ * The price's currency is written with each item, so a franchise menu may mix currencies.
+ */
+final class MenuCodec extends RecordCodec<MenuItem> {
+
+    static final byte TYPE = 1;
+
+    private static final String[] COLUMNS = layout();
+
+    private static String[] layout() {
+        String[] columns = new String[ITEM_COLUMNS.length + 1];
+        System.arraycopy(ITEM_COLUMNS, 0, columns, 0, ITEM_COLUMNS.length);
+        columns[ITEM_COLUMNS.length] = "currency";
+        return columns;
+    }
+
+    @Override
+    byte binaryType() {
+        return TYPE;
+    }
+
+    @Override
+    String[] columns() {
+        return COLUMNS.clone();
+    }
+
+    @Override
+    boolean multiRow() {
+        return false;
+    }
+
+    @Override
+    void appendCsv(MenuItem item, StringBuilder out) {
+        appendItem(out, item);
+        out.append(Csv.SEPARATOR).append(item.price().currency().getCurrencyCode()).append('\n');
+    }
+
+    @Override
+    RowParser<MenuItem> newParser() {
+        return new RowParser<>() {
+            @Override
+            MenuItem row(String[] fields) {
+                return parseItem(fields, 0, Currency.getInstance(fields[ITEM_COLUMNS.length]));
+            }
+
+            @Override
+            MenuItem finish() {
+                return null;
+            }
+        };
+    }
+
+    // Layout: [str currency][item]
+    @Override
+    void putBinary(MenuItem item, ByteBuffer out) {
+        putString(out, item.price().currency().getCurrencyCode());
+        putItem(out, item);
+    }
+
+    @Override
+    MenuItem getBinary(ByteBuffer in) {
+        Currency currency = Currency.getInstance(getString(in));
+        return getItem(in, currency);
+    }
+}
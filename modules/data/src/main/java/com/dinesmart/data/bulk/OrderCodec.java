@@ -0,0 +1,161 @@
+package com.dinesmart.data.bulk;
+
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Package-private codec for orders. In CSV an order takes one row per order line, with the
+ * order columns repeated on each (the layout accountants expect in a spreadsheet); in binary
+ * it is a single record. Line items keep their own name and price, as in the database.
+ */
+final class OrderCodec extends RecordCodec<Order> {
+
+    static final byte TYPE = 2;
+
+    private static final String[] ORDER_COLUMNS = {
+        "order_id", "table_id", "order_time", "status", "currency", "total_minor", "quantity"
+    };
+    private static final int QUANTITY = 6; // Index of the first per-line column
+    private static final String[] COLUMNS = layout();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private static String[] layout() {
+        String[] columns = new String[ORDER_COLUMNS.length + ITEM_COLUMNS.length];
+        System.arraycopy(ORDER_COLUMNS, 0, columns, 0, ORDER_COLUMNS.length);
+        System.arraycopy(ITEM_COLUMNS, 0, columns, ORDER_COLUMNS.length, ITEM_COLUMNS.length);
+        return columns;
+    }
+
+    @Override
+    byte binaryType() {
+        return TYPE;
+    }
+
+    @Override
+    String[] columns() {
+        return COLUMNS.clone();
+    }
+
+    @Override
+    boolean multiRow() {
+        return true;
+    }
+
+    @Override
+    void appendCsv(Order order, StringBuilder out) {
+        OrderLines lines = order.lines();
+        for (int i = 0; i < lines.size(); i++) {
+            out.append(order.id()).append(Csv.SEPARATOR)
+               .append(order.tableId()).append(Csv.SEPARATOR)
+               .append(order.orderTime()).append(Csv.SEPARATOR) // ISO-8601
+               .append(order.status().name()).append(Csv.SEPARATOR)
+               .append(order.totalAmount().currency().getCurrencyCode()).append(Csv.SEPARATOR)
+               .append(order.totalAmount().minorUnits()).append(Csv.SEPARATOR)
+               .append(lines.quantityAt(i)).append(Csv.SEPARATOR);
+            appendItem(out, lines.itemAt(i));
+            out.append('\n');
+        }
+    }
+
+    @Override
+    RowParser<Order> newParser() {
+        return new RowParser<>() {
+            private int id = -1;
+            private int tableId;
+            private LocalDateTime orderTime;
+            private OrderStatus status;
+            private Money total;
+            private final Map<MenuItem, Integer> items = new LinkedHashMap<>();
+            private final String[] orderFields = new String[QUANTITY]; // As read from the order's first row
+
+            @Override
+            Order row(String[] fields) {
+                int rowId = Integer.parseInt(fields[0]);
+                Order completed = null;
+                if (rowId == id) {
+                    // The order columns are repeated on every row; they must agree
+                    for (int i = 1; i < QUANTITY; i++) {
+                        if (!fields[i].equals(orderFields[i])) {
+                            throw new IllegalArgumentException("Rows of order " + id + " disagree on " + COLUMNS[i] + ".");
+                        }
+                    }
+                } else {
+                    completed = finish();
+                    System.arraycopy(fields, 0, orderFields, 0, QUANTITY);
+                    id = rowId;
+                    tableId = Integer.parseInt(fields[1]);
+                    orderTime = LocalDateTime.parse(fields[2]);
+                    status = OrderStatus.valueOf(fields[3]);
+                    total = Money.of(Long.parseLong(fields[5]), Currency.getInstance(fields[4]));
+                }
+                int quantity = Integer.parseInt(fields[QUANTITY]);
+                items.merge(parseItem(fields, ORDER_COLUMNS.length, total.currency()), quantity, Integer::sum);
+                return completed;
+            }
+
+            @Override
+            Order finish() {
+                if (id < 0) {
+                    return null;
+                }
+                Order order = new Order(id, tableId, orderTime, items, status, total);
+                items.clear();
+                id = -1;
+                return order;
+            }
+        };
+    }
+
+    // Layout: [int id][int tableId][long epochSecond][int nano][byte status][str currency][long totalMinor]
+    // [int lineCount] then per line [int quantity][item]; times are stored as UTC-based local date-times
+    @Override
+    void putBinary(Order order, ByteBuffer out) {
+        LocalDateTime time = order.orderTime();
+        out.putInt(order.id());
+        out.putInt(order.tableId());
+        out.putLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(time.getNano());
+        out.put((byte) order.status().ordinal());
+        putString(out, order.totalAmount().currency().getCurrencyCode());
+        out.putLong(order.totalAmount().minorUnits());
+        OrderLines lines = order.lines();
+        out.putInt(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            out.putInt(lines.quantityAt(i));
+            putItem(out, lines.itemAt(i));
+        }
+    }
+
+    @Override
+    Order getBinary(ByteBuffer in) {
+        int id = in.getInt();
+        int tableId = in.getInt();
+        LocalDateTime time = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+        int ordinal = in.get();
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new IllegalArgumentException("Unknown order status ordinal: " + ordinal);
+        }
+        Currency currency = Currency.getInstance(getString(in));
+        Money total = Money.of(in.getLong(), currency);
+        int lineCount = in.getInt();
+        if (lineCount < 0 || lineCount > in.remaining()) {
+            throw new IllegalArgumentException("Invalid line count: " + lineCount);
+        }
+        Map<MenuItem, Integer> items = new LinkedHashMap<>();
+        for (int i = 0; i < lineCount; i++) {
+            int quantity = in.getInt();
+            items.merge(getItem(in, currency), quantity, Integer::sum);
+        }
+        return new Order(id, tableId, time, items, STATUSES[ordinal], total);
+    }
+}
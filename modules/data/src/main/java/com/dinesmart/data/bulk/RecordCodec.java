@@ -0,0 +1,198 @@
+package com.dinesmart.data.bulk;
+
+import com.dinesmart.core.model.entities.BeverageCategory;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.FoodCategory;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+
+/**
+ * Package-private mapping of one record type to CSV rows and binary records.
+ * Demonstrates:
+ * - The template method pattern: {@link BulkTransfer} drives the I/O, subclasses map the fields.
+ * - Exhaustive handling of the sealed `Category` with `instanceof` pattern matching.
+ *
+ * Menu items are written the same way in both record types, with the category codes used by
+ * the database's {@code category_kind} column ("F" for food, "B" for beverages).
+ *
+ * @param <T> The record type.
+ */
+abstract class RecordCodec<T> {
+
+    static final String FOOD = "F";
+    static final String BEVERAGE = "B";
+
+    // The menu item columns, shared by both CSV layouts; the currency is written separately
+    static final String[] ITEM_COLUMNS = {
+        "menu_item_id", "item_name", "description", "price_minor",
+        "category_kind", "category_id", "category_name", "category_flag", "available"
+    };
+
+    /**
+     * Turns CSV rows back into records. Not thread-safe: each import chunk uses its own parser.
+     * @param <T> The record type.
+     */
+    abstract static class RowParser<T> {
+
+        /**
+         * @param fields The fields of the next row.
+         * @return A record completed by this row (or by the previous ones), or null if none is complete yet.
+         * @throws IllegalArgumentException if the row is malformed.
+         */
+        abstract T row(String[] fields);
+
+        /**
+         * @return The record still being assembled at the end of the input, or null.
+         */
+        abstract T finish();
+    }
+
+    /**
+     * @return The record type written after the binary file magic.
+     */
+    abstract byte binaryType();
+
+    /**
+     * @return The CSV header columns.
+     */
+    abstract String[] columns();
+
+    /**
+     * @return true if one record may take several consecutive CSV rows sharing the same first field.
+     */
+    abstract boolean multiRow();
+
+    /**
+     * Appends the CSV rows of a record, each terminated by a line feed.
+     * @param record The record.
+     * @param out The text being built.
+     */
+    abstract void appendCsv(T record, StringBuilder out);
+
+    /**
+     * @return A new parser for one sequence of rows.
+     */
+    abstract RowParser<T> newParser();
+
+    /**
+     * Writes a binary record.
+     * @param record The record.
+     * @param out The buffer; an overflow makes the caller retry with a larger one.
+     */
+    abstract void putBinary(T record, ByteBuffer out);
+
+    /**
+     * Reads a binary record.
+     * @param in The record's payload.
+     * @return The record.
+     * @throws IllegalArgumentException or {@link java.nio.BufferUnderflowException} if the payload is malformed.
+     */
+    abstract T getBinary(ByteBuffer in);
+
+    // --- Menu items, shared by both layouts ---
+
+    static void appendItem(StringBuilder out, MenuItem item) {
+        Category category = item.category();
+        out.append(item.id()).append(Csv.SEPARATOR);
+        Csv.appendField(out, item.name());
+        out.append(Csv.SEPARATOR);
+        Csv.appendField(out, item.description());
+        out.append(Csv.SEPARATOR).append(item.price().minorUnits()).append(Csv.SEPARATOR)
+           .append(kindOf(category)).append(Csv.SEPARATOR)
+           .append(idOf(category)).append(Csv.SEPARATOR);
+        Csv.appendField(out, category.name());
+        out.append(Csv.SEPARATOR).append(flagOf(category)).append(Csv.SEPARATOR).append(item.available());
+    }
+
+    static MenuItem parseItem(String[] fields, int offset, Currency currency) {
+        Category category = category(fields[offset + 4], Integer.parseInt(fields[offset + 5]),
+                                     fields[offset + 6], Csv.parseBoolean(fields[offset + 7]));
+        return new MenuItem(Integer.parseInt(fields[offset]), fields[offset + 1], fields[offset + 2],
+                            Money.of(Long.parseLong(fields[offset + 3]), currency), category,
+                            Csv.parseBoolean(fields[offset + 8]));
+    }
+
+    // Layout: [int id][str name][str description][long priceMinor][byte kind][int categoryId][str categoryName]
+    // [byte flags: 1 = category flag, 2 = available]
+    static void putItem(ByteBuffer out, MenuItem item) {
+        Category category = item.category();
+        out.putInt(item.id());
+        putString(out, item.name());
+        putString(out, item.description());
+        out.putLong(item.price().minorUnits());
+        out.put((byte) kindOf(category).charAt(0));
+        out.putInt(idOf(category));
+        putString(out, category.name());
+        out.put((byte) ((flagOf(category) ? 1 : 0) | (item.available() ? 2 : 0)));
+    }
+
+    static MenuItem getItem(ByteBuffer in, Currency currency) {
+        int id = in.getInt();
+        String name = getString(in);
+        String description = getString(in);
+        long priceMinor = in.getLong();
+        String kind = String.valueOf((char) in.get());
+        int categoryId = in.getInt();
+        String categoryName = getString(in);
+        byte flags = in.get();
+        Category category = category(kind, categoryId, categoryName, (flags & 1) != 0);
+        return new MenuItem(id, name, description, Money.of(priceMinor, currency), category, (flags & 2) != 0);
+    }
+
+    // Strings: [int byteLength or -1 for null][UTF-8 bytes]
+    static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " exceeds the record.");
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    static String kindOf(Category category) {
+        if (category instanceof FoodCategory) {
+            return FOOD;
+        }
+        return BEVERAGE; // Category is sealed: FoodCategory or BeverageCategory
+    }
+
+    static int idOf(Category category) {
+        if (category instanceof FoodCategory food) {
+            return food.id();
+        }
+        return ((BeverageCategory) category).id();
+    }
+
+    static boolean flagOf(Category category) {
+        if (category instanceof FoodCategory food) {
+            return food.isVeganFriendly();
+        }
+        return ((BeverageCategory) category).hasAlcohol();
+    }
+
+    static Category category(String kind, int id, String name, boolean flag) {
+        return switch (kind) {
+            case FOOD -> new FoodCategory(id, name, flag);
+            case BEVERAGE -> new BeverageCategory(id, name, flag);
+            default -> throw new IllegalArgumentException("Unknown category kind: " + kind);
+        };
+    }
+}
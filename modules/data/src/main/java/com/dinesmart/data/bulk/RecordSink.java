@@ -0,0 +1,20 @@
+package com.dinesmart.data.bulk;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+
+/**
+ * Receives the records read by an import, one at a time.
+ * Demonstrates:
+ * - A functional interface whose single method may throw a checked exception.
+ *
+ * @param <T> The record type.
+ */
+@FunctionalInterface
+public interface RecordSink<T> {
+
+    /**
+     * @param record The next record.
+     * @throws DineSmartException to abort the import; it is rethrown to the caller.
+     */
+    void accept(T record) throws DineSmartException;
+}
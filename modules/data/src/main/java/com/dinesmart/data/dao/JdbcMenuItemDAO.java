@@ -0,0 +1,162 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.data.database.ConnectionPool;
+import com.dinesmart.data.database.DatabaseConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * JDBC implementation of {@link MenuItemDAO}.
+ * Demonstrates:
+ * - `PreparedStatement` reuse through {@link DatabaseConnection#prepare(String)}.
+ * - JDBC batching (`addBatch` / `executeBatch`) inside a transaction.
+ * - try-with-resources for `ResultSet`.
+ */
+public class JdbcMenuItemDAO implements MenuItemDAO {
+
+    private static final String SELECT = """
+        SELECT m.id, m.name, m.description, m.price_minor, m.currency, m.available,
+               m.category_kind, m.category_id, c.name AS category_name, c.flag
+        FROM menu_items m
+        JOIN categories c ON c.kind = m.category_kind AND c.id = m.category_id
+        """;
+    private static final String SELECT_BY_ID = SELECT + "WHERE m.id = ?";
+    private static final String SELECT_ALL = SELECT + "ORDER BY m.id";
+    private static final String INSERT = """
+        INSERT INTO menu_items (id, name, description, price_minor, currency, category_kind, category_id, available)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String UPDATE = """
+        UPDATE menu_items SET name = ?, description = ?, price_minor = ?, currency = ?,
+               category_kind = ?, category_id = ?, available = ?
+        WHERE id = ?""";
+    private static final String DELETE = "DELETE FROM menu_items WHERE id = ?";
+
+    private final ConnectionPool pool;
+
+    /**
+     * @param pool The pool every call borrows its connection from.
+     */
+    public JdbcMenuItemDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void insert(MenuItem item) throws DineSmartException {
+        pool.inTransaction(c -> {
+            Rows.saveCategory(c, item.category());
+            PreparedStatement ps = c.prepare(INSERT);
+            bindInsert(ps, item);
+            ps.executeUpdate();
+            return null;
+        });
+    }
+
+    @Override
+    public void insertAll(Collection<MenuItem> items) throws DineSmartException {
+        pool.inTransaction(c -> {
+            Set<Category> seen = new HashSet<>();
+            for (MenuItem item : items) {
+                if (seen.add(item.category())) {
+                    Rows.saveCategory(c, item.category());
+                }
+            }
+            PreparedStatement ps = c.prepare(INSERT);
+            for (MenuItem item : items) {
+                bindInsert(ps, item);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean update(MenuItem item) throws DineSmartException {
+        return pool.inTransaction(c -> {
+            Rows.saveCategory(c, item.category());
+            PreparedStatement ps = c.prepare(UPDATE);
+            ps.setString(1, item.name());
+            ps.setString(2, item.description());
+            ps.setLong(3, item.price().minorUnits());
+            ps.setString(4, item.price().currency().getCurrencyCode());
+            ps.setString(5, Rows.kindOf(item.category()));
+            ps.setInt(6, Rows.idOf(item.category()));
+            ps.setBoolean(7, item.available());
+            ps.setInt(8, item.id());
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public boolean delete(int itemId) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(DELETE);
+            ps.setInt(1, itemId);
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public Optional<MenuItem> findById(int itemId) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_BY_ID);
+            ps.setInt(1, itemId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(read(rs)) : Optional.<MenuItem>empty();
+            }
+        });
+    }
+
+    @Override
+    public List<MenuItem> findAll() throws DineSmartException {
+        return pool.execute(c -> {
+            List<MenuItem> items = new ArrayList<>();
+            try (ResultSet rs = c.prepare(SELECT_ALL).executeQuery()) {
+                while (rs.next()) {
+                    items.add(read(rs));
+                }
+            }
+            return items;
+        });
+    }
+
+    @Override
+    public void saveCategory(Category category) throws DineSmartException {
+        pool.execute(c -> {
+            Rows.saveCategory(c, category);
+            return null;
+        });
+    }
+
+    private static void bindInsert(PreparedStatement ps, MenuItem item) throws SQLException {
+        ps.setInt(1, item.id());
+        ps.setString(2, item.name());
+        ps.setString(3, item.description());
+        ps.setLong(4, item.price().minorUnits());
+        ps.setString(5, item.price().currency().getCurrencyCode());
+        ps.setString(6, Rows.kindOf(item.category()));
+        ps.setInt(7, Rows.idOf(item.category()));
+        ps.setBoolean(8, item.available());
+    }
+
+    private static MenuItem read(ResultSet rs) throws SQLException {
+        Category category = Rows.category(rs.getString("category_kind"), rs.getInt("category_id"),
+                                          rs.getString("category_name"), rs.getBoolean("flag"));
+        Money price = Money.of(rs.getLong("price_minor"), Currency.getInstance(rs.getString("currency")));
+        return new MenuItem(rs.getInt("id"), rs.getString("name"), rs.getString("description"),
+                            price, category, rs.getBoolean("available"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.service.OrderBatchCommitter;
+import com.dinesmart.core.service.events.OrderEvent;
+import com.dinesmart.data.database.ConnectionPool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link OrderBatchCommitter} that writes each batch of order changes to the database in one transaction.
+ * Demonstrates:
+ * - Nesting DAO calls in {@link ConnectionPool#inTransaction}, so they share one connection and one commit.
+ * - Batching the inserts of new orders into a single {@link OrderDAO#insertAll} call.
+ */
+public class JdbcOrderCommitter implements OrderBatchCommitter {
+
+    private final ConnectionPool pool;
+    private final OrderDAO orderDAO;
+
+    /**
+     * @param pool The pool the DAO borrows its connections from.
+     * @param orderDAO Writes the orders; it must use {@code pool}.
+     */
+    public JdbcOrderCommitter(ConnectionPool pool, OrderDAO orderDAO) {
+        this.pool = pool;
+        this.orderDAO = orderDAO;
+    }
+
+    @Override
+    public void commit(List<OrderEvent> batch) throws DineSmartException {
+        pool.inTransaction(c -> {
+            List<Order> created = new ArrayList<>();
+            for (OrderEvent event : batch) {
+                Order order = event.order();
+                switch (event.type()) {
+                    case CREATED -> created.add(order);
+                    case ITEMS_ADDED -> {
+                        if (!orderDAO.update(order)) {
+                            created.add(order);
+                        }
+                    }
+                    case STATUS_CHANGED -> {
+                        if (!orderDAO.updateStatus(order.id(), order.status())) {
+                            created.add(order);
+                        }
+                    }
+                    case DELETED -> orderDAO.delete(order.id());
+                }
+            }
+            if (!created.isEmpty()) {
+                orderDAO.insertAll(created);
+            }
+            return null;
+        });
+    }
+}
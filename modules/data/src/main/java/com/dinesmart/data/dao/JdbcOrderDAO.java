@@ -0,0 +1,317 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.data.database.ConnectionPool;
+import com.dinesmart.data.database.DatabaseConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * JDBC implementation of {@link OrderDAO}.
+ * Demonstrates:
+ * - Batched inserts of order rows and line rows in one transaction.
+ * - Rebuilding a one-to-many relationship from a single joined query (no N+1 queries).
+ * - Self-contained line rows: each holds the menu item as ordered, so history never mixes in the live menu.
+ * - `PreparedStatement` reuse through {@link DatabaseConnection#prepare(String)}.
+ * - Streaming a large result with a fetch size, so the driver holds only a window of rows.
+ * - LIMIT/OFFSET paging of orders (not of joined rows) for views that load pages on demand.
+ */
+public class JdbcOrderDAO implements OrderDAO {
+
+    private static final String SELECT = """
+        SELECT o.id, o.table_id, o.order_time, o.status, o.total_minor, o.currency,
+               l.menu_item_id, l.item_name, l.item_description, l.item_available, l.unit_price_minor, l.quantity,
+               l.category_kind, l.category_id, l.category_name, l.category_flag
+        FROM orders o
+        JOIN order_lines l ON l.order_id = o.id
+        """;
+    private static final String ORDER_BY = " ORDER BY o.id, l.line_no";
+    private static final String SELECT_BY_ID = SELECT + "WHERE o.id = ?" + ORDER_BY;
+    private static final String SELECT_BETWEEN = SELECT + "WHERE o.order_time >= ? AND o.order_time < ?" + ORDER_BY;
+    // Pages by order, not by joined row; the extra derived table is for MySQL, which rejects LIMIT directly in IN
+    private static final String SELECT_PAGE = SELECT + """
+        WHERE o.id IN (SELECT id FROM (
+            SELECT id FROM orders WHERE order_time >= ? AND order_time < ? ORDER BY id LIMIT ? OFFSET ?) page)"""
+        + ORDER_BY;
+    private static final String COUNT_BETWEEN = "SELECT COUNT(*) FROM orders WHERE order_time >= ? AND order_time < ?";
+    private static final String INSERT_ORDER = """
+        INSERT INTO orders (id, table_id, order_time, status, total_minor, currency)
+        VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_LINE = """
+        INSERT INTO order_lines (order_id, line_no, menu_item_id, item_name, item_description, item_available,
+                                 unit_price_minor, quantity, category_kind, category_id, category_name, category_flag)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String UPDATE_ORDER = """
+        UPDATE orders SET table_id = ?, order_time = ?, status = ?, total_minor = ?, currency = ?
+        WHERE id = ?""";
+    private static final String UPDATE_STATUS = "UPDATE orders SET status = ? WHERE id = ?";
+    private static final String DELETE_LINES = "DELETE FROM order_lines WHERE order_id = ?";
+    private static final String DELETE_ORDER = "DELETE FROM orders WHERE id = ?";
+    private static final int STREAM_FETCH_SIZE = 500; // Rows per round-trip when streaming
+    private static final String MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM orders";
+
+    private final ConnectionPool pool;
+
+    /**
+     * @param pool The pool every call borrows its connection from.
+     */
+    public JdbcOrderDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void insert(Order order) throws DineSmartException {
+        insertAll(List.of(order));
+    }
+
+    @Override
+    public void insertAll(Collection<Order> orders) throws DineSmartException {
+        pool.inTransaction(c -> {
+            PreparedStatement orderRows = c.prepare(INSERT_ORDER);
+            PreparedStatement lineRows = c.prepare(INSERT_LINE);
+            for (Order order : orders) {
+                bindOrder(orderRows, order);
+                orderRows.addBatch();
+                addLineBatch(lineRows, order);
+            }
+            orderRows.executeBatch();
+            lineRows.executeBatch();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean update(Order order) throws DineSmartException {
+        return pool.inTransaction(c -> {
+            PreparedStatement ps = c.prepare(UPDATE_ORDER);
+            ps.setInt(1, order.tableId());
+            ps.setTimestamp(2, Timestamp.valueOf(order.orderTime()));
+            ps.setString(3, order.status().name());
+            ps.setLong(4, order.totalAmount().minorUnits());
+            ps.setString(5, order.totalAmount().currency().getCurrencyCode());
+            ps.setInt(6, order.id());
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+            PreparedStatement deleteLines = c.prepare(DELETE_LINES);
+            deleteLines.setInt(1, order.id());
+            deleteLines.executeUpdate();
+            PreparedStatement lineRows = c.prepare(INSERT_LINE);
+            addLineBatch(lineRows, order);
+            lineRows.executeBatch();
+            return true;
+        });
+    }
+
+    @Override
+    public boolean updateStatus(int orderId, OrderStatus status) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(UPDATE_STATUS);
+            ps.setString(1, status.name());
+            ps.setInt(2, orderId);
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public boolean delete(int orderId) throws DineSmartException {
+        return pool.inTransaction(c -> {
+            PreparedStatement lines = c.prepare(DELETE_LINES);
+            lines.setInt(1, orderId);
+            lines.executeUpdate();
+            PreparedStatement ps = c.prepare(DELETE_ORDER);
+            ps.setInt(1, orderId);
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public Optional<Order> findById(int orderId) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_BY_ID);
+            ps.setInt(1, orderId);
+            List<Order> found = readOrders(ps);
+            return found.isEmpty() ? Optional.<Order>empty() : Optional.of(found.get(0));
+        });
+    }
+
+    @Override
+    public List<Order> findByStatus(Set<OrderStatus> statuses) throws DineSmartException {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        // One placeholder per status; the SQL text (and so the cached statement) depends only on the count
+        StringJoiner placeholders = new StringJoiner(", ", "WHERE o.status IN (", ")");
+        statuses.forEach(s -> placeholders.add("?"));
+        String sql = SELECT + placeholders + ORDER_BY;
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(sql);
+            int i = 1;
+            for (OrderStatus status : statuses) {
+                ps.setString(i++, status.name());
+            }
+            return readOrders(ps);
+        });
+    }
+
+    @Override
+    public List<Order> findBetween(LocalDateTime from, LocalDateTime to) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_BETWEEN);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            return readOrders(ps);
+        });
+    }
+
+    @Override
+    public List<Order> findBetween(LocalDateTime from, LocalDateTime to, int offset, int limit) throws DineSmartException {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        if (limit == 0) {
+            return List.of();
+        }
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_PAGE);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            ps.setInt(3, limit);
+            ps.setInt(4, offset);
+            return readOrders(ps);
+        });
+    }
+
+    @Override
+    public int countBetween(LocalDateTime from, LocalDateTime to) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(COUNT_BETWEEN);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
+    }
+
+    @Override
+    public long forEachBetween(LocalDateTime from, LocalDateTime to, OrderVisitor visitor) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_BETWEEN);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            try {
+                return readOrders(ps, visitor);
+            } finally {
+                ps.setFetchSize(0); // The statement is cached; give the next user the driver's default
+            }
+        });
+    }
+
+    @Override
+    public int maxId() throws DineSmartException {
+        return pool.execute(c -> {
+            try (ResultSet rs = c.prepare(MAX_ID).executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
+    }
+
+    private static void bindOrder(PreparedStatement ps, Order order) throws SQLException {
+        ps.setInt(1, order.id());
+        ps.setInt(2, order.tableId());
+        ps.setTimestamp(3, Timestamp.valueOf(order.orderTime()));
+        ps.setString(4, order.status().name());
+        ps.setLong(5, order.totalAmount().minorUnits());
+        ps.setString(6, order.totalAmount().currency().getCurrencyCode());
+    }
+
+    private static void addLineBatch(PreparedStatement ps, Order order) throws SQLException {
+        OrderLines lines = order.lines();
+        for (int i = 0; i < lines.size(); i++) {
+            MenuItem item = lines.itemAt(i);
+            Category category = item.category();
+            ps.setInt(1, order.id());
+            ps.setInt(2, i);
+            ps.setInt(3, item.id());
+            ps.setString(4, item.name());
+            ps.setString(5, item.description());
+            ps.setBoolean(6, item.available());
+            ps.setLong(7, item.price().minorUnits());
+            ps.setInt(8, lines.quantityAt(i));
+            ps.setString(9, Rows.kindOf(category));
+            ps.setInt(10, Rows.idOf(category));
+            ps.setString(11, category.name());
+            ps.setBoolean(12, Rows.flagOf(category));
+            ps.addBatch();
+        }
+    }
+
+    private static List<Order> readOrders(PreparedStatement ps) throws SQLException, DineSmartException {
+        List<Order> orders = new ArrayList<>();
+        readOrders(ps, orders::add);
+        return orders;
+    }
+
+    // Rows arrive sorted by order id, so each order's lines are contiguous.
+    private static long readOrders(PreparedStatement ps, OrderVisitor visitor) throws SQLException, DineSmartException {
+        long count = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            int currentId = -1;
+            int tableId = 0;
+            LocalDateTime orderTime = null;
+            OrderStatus status = null;
+            Money total = null;
+            Map<MenuItem, Integer> items = new LinkedHashMap<>();
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                if (id != currentId) {
+                    if (currentId >= 0) {
+                        visitor.visit(new Order(currentId, tableId, orderTime, items, status, total));
+                        items.clear();
+                        count++;
+                    }
+                    currentId = id;
+                    tableId = rs.getInt("table_id");
+                    orderTime = rs.getTimestamp("order_time").toLocalDateTime();
+                    status = OrderStatus.valueOf(rs.getString("status"));
+                    total = Money.of(rs.getLong("total_minor"), Currency.getInstance(rs.getString("currency")));
+                }
+                items.put(readLineItem(rs, total.currency()), rs.getInt("quantity"));
+            }
+            if (currentId >= 0) {
+                visitor.visit(new Order(currentId, tableId, orderTime, items, status, total));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static MenuItem readLineItem(ResultSet rs, Currency currency) throws SQLException {
+        Category category = Rows.category(rs.getString("category_kind"), rs.getInt("category_id"),
+                                          rs.getString("category_name"), rs.getBoolean("category_flag"));
+        // The item exactly as ordered, whatever has become of the menu since
+        return new MenuItem(rs.getInt("menu_item_id"), rs.getString("item_name"), rs.getString("item_description"),
+                            Money.of(rs.getLong("unit_price_minor"), currency), category, rs.getBoolean("item_available"));
+    }
+}
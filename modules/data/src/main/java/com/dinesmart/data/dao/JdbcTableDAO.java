@@ -0,0 +1,99 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Table;
+import com.dinesmart.data.database.ConnectionPool;
+import com.dinesmart.data.database.DatabaseConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of {@link TableDAO}.
+ * Demonstrates:
+ * - `PreparedStatement` reuse through {@link DatabaseConnection#prepare(String)}.
+ * - Mapping SQL NULL to a nullable record component.
+ */
+public class JdbcTableDAO implements TableDAO {
+
+    private static final String SELECT = "SELECT id, capacity, occupied, current_order_ref FROM dining_tables ";
+    private static final String SELECT_BY_ID = SELECT + "WHERE id = ?";
+    private static final String SELECT_ALL = SELECT + "ORDER BY id";
+    private static final String INSERT = "INSERT INTO dining_tables (id, capacity, occupied, current_order_ref) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE dining_tables SET capacity = ?, occupied = ?, current_order_ref = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM dining_tables WHERE id = ?";
+
+    private final ConnectionPool pool;
+
+    /**
+     * @param pool The pool every call borrows its connection from.
+     */
+    public JdbcTableDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void insert(Table table) throws DineSmartException {
+        pool.execute(c -> {
+            PreparedStatement ps = c.prepare(INSERT);
+            ps.setInt(1, table.id());
+            ps.setInt(2, table.capacity());
+            ps.setBoolean(3, table.occupied());
+            ps.setString(4, table.currentOrderRef());
+            return ps.executeUpdate();
+        });
+    }
+
+    @Override
+    public boolean update(Table table) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(UPDATE);
+            ps.setInt(1, table.capacity());
+            ps.setBoolean(2, table.occupied());
+            ps.setString(3, table.currentOrderRef());
+            ps.setInt(4, table.id());
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public boolean delete(int tableId) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(DELETE);
+            ps.setInt(1, tableId);
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public Optional<Table> findById(int tableId) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_BY_ID);
+            ps.setInt(1, tableId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(read(rs)) : Optional.<Table>empty();
+            }
+        });
+    }
+
+    @Override
+    public List<Table> findAll() throws DineSmartException {
+        return pool.execute(c -> {
+            List<Table> tables = new ArrayList<>();
+            try (ResultSet rs = c.prepare(SELECT_ALL).executeQuery()) {
+                while (rs.next()) {
+                    tables.add(read(rs));
+                }
+            }
+            return tables;
+        });
+    }
+
+    private static Table read(ResultSet rs) throws SQLException {
+        return new Table(rs.getInt("id"), rs.getInt("capacity"), rs.getBoolean("occupied"), rs.getString("current_order_ref"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Role;
+import com.dinesmart.core.model.entities.User;
+import com.dinesmart.data.database.ConnectionPool;
+import com.dinesmart.data.database.DatabaseConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of {@link UserDAO}.
+ * Demonstrates:
+ * - `PreparedStatement` reuse through {@link DatabaseConnection#prepare(String)}.
+ * - Storing an `enum` by name.
+ */
+public class JdbcUserDAO implements UserDAO {
+
+    private static final String SELECT = "SELECT id, username, password_hash, role FROM users ";
+    private static final String SELECT_BY_ID = SELECT + "WHERE id = ?";
+    private static final String SELECT_BY_USERNAME = SELECT + "WHERE username = ?";
+    private static final String SELECT_ALL = SELECT + "ORDER BY id";
+    private static final String INSERT = "INSERT INTO users (id, username, password_hash, role) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE users SET username = ?, password_hash = ?, role = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+
+    private final ConnectionPool pool;
+
+    /**
+     * @param pool The pool every call borrows its connection from.
+     */
+    public JdbcUserDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void insert(User user) throws DineSmartException {
+        pool.execute(c -> {
+            PreparedStatement ps = c.prepare(INSERT);
+            ps.setInt(1, user.id());
+            ps.setString(2, user.username());
+            ps.setString(3, user.passwordHash());
+            ps.setString(4, user.role().name());
+            return ps.executeUpdate();
+        });
+    }
+
+    @Override
+    public boolean update(User user) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(UPDATE);
+            ps.setString(1, user.username());
+            ps.setString(2, user.passwordHash());
+            ps.setString(3, user.role().name());
+            ps.setInt(4, user.id());
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public boolean delete(int userId) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(DELETE);
+            ps.setInt(1, userId);
+            return ps.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public Optional<User> findById(int userId) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_BY_ID);
+            ps.setInt(1, userId);
+            return readOne(ps);
+        });
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) throws DineSmartException {
+        return pool.execute(c -> {
+            PreparedStatement ps = c.prepare(SELECT_BY_USERNAME);
+            ps.setString(1, username);
+            return readOne(ps);
+        });
+    }
+
+    @Override
+    public List<User> findAll() throws DineSmartException {
+        return pool.execute(c -> {
+            List<User> users = new ArrayList<>();
+            try (ResultSet rs = c.prepare(SELECT_ALL).executeQuery()) {
+                while (rs.next()) {
+                    users.add(read(rs));
+                }
+            }
+            return users;
+        });
+    }
+
+    private static Optional<User> readOne(PreparedStatement ps) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? Optional.of(read(rs)) : Optional.empty();
+        }
+    }
+
+    private static User read(ResultSet rs) throws SQLException {
+        return new User(rs.getInt("id"), rs.getString("username"), rs.getString("password_hash"),
+                        Role.valueOf(rs.getString("role")));
+    }
+}
@@ -0,0 +1,68 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.MenuItem;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object for menu items and their categories.
+ * Demonstrates:
+ * - The DAO pattern: persistence details hidden behind an interface.
+ * - `Optional` for lookups that may not find a row.
+ */
+public interface MenuItemDAO {
+
+    /**
+     * Inserts a menu item, creating or updating its category as needed.
+     * @param item The item to insert.
+     * @throws DineSmartException if the insert fails (e.g. duplicate id or name).
+     */
+    void insert(MenuItem item) throws DineSmartException;
+
+    /**
+     * Inserts many menu items in one transaction using JDBC batching.
+     * @param items The items to insert.
+     * @throws DineSmartException if the insert fails; no item is inserted.
+     */
+    void insertAll(Collection<MenuItem> items) throws DineSmartException;
+
+    /**
+     * Updates an existing menu item.
+     * @param item The item with updated values.
+     * @return true if a row was updated, false if the id does not exist.
+     * @throws DineSmartException if the update fails.
+     */
+    boolean update(MenuItem item) throws DineSmartException;
+
+    /**
+     * Deletes a menu item. Order history keeps its own copy of the item's name and price.
+     * @param itemId The id of the item.
+     * @return true if a row was deleted.
+     * @throws DineSmartException if the delete fails.
+     */
+    boolean delete(int itemId) throws DineSmartException;
+
+    /**
+     * @param itemId The id of the item.
+     * @return The item, or empty if not found.
+     * @throws DineSmartException if the query fails.
+     */
+    Optional<MenuItem> findById(int itemId) throws DineSmartException;
+
+    /**
+     * @return All menu items ordered by id, loaded in a single query.
+     * @throws DineSmartException if the query fails.
+     */
+    List<MenuItem> findAll() throws DineSmartException;
+
+    /**
+     * Inserts or updates a category.
+     * @param category The category to save.
+     * @throws DineSmartException if the statement fails.
+     */
+    void saveCategory(Category category) throws DineSmartException;
+}
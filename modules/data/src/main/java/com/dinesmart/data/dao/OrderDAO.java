@@ -0,0 +1,131 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Data Access Object for orders and their lines.
+ * Demonstrates:
+ * - The DAO pattern with batch-oriented methods.
+ * - Generics in method signatures (`Collection<Order>`, `Set<OrderStatus>`).
+ *
+ * All finder methods rebuild complete `Order`s, lines included, from a single joined query.
+ */
+public interface OrderDAO {
+
+    /**
+     * Receives orders one at a time from the streaming finders.
+     */
+    @FunctionalInterface
+    interface OrderVisitor {
+        /**
+         * @param order The next order.
+         * @throws DineSmartException to stop the query; it is rethrown to the caller.
+         */
+        void visit(Order order) throws DineSmartException;
+    }
+
+    /**
+     * Inserts an order and all of its lines.
+     * @param order The order to insert.
+     * @throws DineSmartException if the insert fails.
+     */
+    void insert(Order order) throws DineSmartException;
+
+    /**
+     * Inserts many orders in one transaction, batching the order rows and the line rows.
+     * @param orders The orders to insert.
+     * @throws DineSmartException if the insert fails; no order is inserted.
+     */
+    void insertAll(Collection<Order> orders) throws DineSmartException;
+
+    /**
+     * Replaces an order's header and lines with the given values.
+     * @param order The order with updated values.
+     * @return true if the order existed and was updated.
+     * @throws DineSmartException if the update fails.
+     */
+    boolean update(Order order) throws DineSmartException;
+
+    /**
+     * Updates only the status column of an order.
+     * @param orderId The id of the order.
+     * @param status The new status.
+     * @return true if the order existed.
+     * @throws DineSmartException if the update fails.
+     */
+    boolean updateStatus(int orderId, OrderStatus status) throws DineSmartException;
+
+    /**
+     * Deletes an order and its lines.
+     * @param orderId The id of the order.
+     * @return true if the order existed.
+     * @throws DineSmartException if the delete fails.
+     */
+    boolean delete(int orderId) throws DineSmartException;
+
+    /**
+     * @param orderId The id of the order.
+     * @return The order with its lines, or empty if not found.
+     * @throws DineSmartException if the query fails.
+     */
+    Optional<Order> findById(int orderId) throws DineSmartException;
+
+    /**
+     * @param statuses The statuses to include.
+     * @return Matching orders ordered by id.
+     * @throws DineSmartException if the query fails.
+     */
+    List<Order> findByStatus(Set<OrderStatus> statuses) throws DineSmartException;
+
+    /**
+     * @param from The inclusive lower bound of the order time.
+     * @param to The exclusive upper bound of the order time.
+     * @return Orders placed in the range, ordered by id.
+     * @throws DineSmartException if the query fails.
+     */
+    List<Order> findBetween(LocalDateTime from, LocalDateTime to) throws DineSmartException;
+
+    /**
+     * One page of {@link #findBetween(LocalDateTime, LocalDateTime)}, for views that load rows on demand.
+     * @param from The inclusive lower bound of the order time.
+     * @param to The exclusive upper bound of the order time.
+     * @param offset The number of matching orders to skip.
+     * @param limit The maximum number of orders to return.
+     * @return Orders placed in the range, ordered by id.
+     * @throws DineSmartException if the query fails.
+     */
+    List<Order> findBetween(LocalDateTime from, LocalDateTime to, int offset, int limit) throws DineSmartException;
+
+    /**
+     * @param from The inclusive lower bound of the order time.
+     * @param to The exclusive upper bound of the order time.
+     * @return The number of orders placed in the range.
+     * @throws DineSmartException if the query fails.
+     */
+    int countBetween(LocalDateTime from, LocalDateTime to) throws DineSmartException;
+
+    /**
+     * Streams the orders placed in a range without holding them all in memory: each order is passed
+     * to {@code visitor} as soon as its last line has been read, and can be garbage-collected afterwards.
+     * @param from The inclusive lower bound of the order time.
+     * @param to The exclusive upper bound of the order time.
+     * @param visitor Called once per order, in id order, on the calling thread.
+     * @return The number of orders visited.
+     * @throws DineSmartException if the query fails or the visitor throws.
+     */
+    long forEachBetween(LocalDateTime from, LocalDateTime to, OrderVisitor visitor) throws DineSmartException;
+
+    /**
+     * @return The highest order id in use, or 0 if there are no orders.
+     * @throws DineSmartException if the query fails.
+     */
+    int maxId() throws DineSmartException;
+}
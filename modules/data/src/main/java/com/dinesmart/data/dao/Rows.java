@@ -0,0 +1,92 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.model.entities.BeverageCategory;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.FoodCategory;
+import com.dinesmart.data.database.DatabaseConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Package-private helpers shared by the JDBC DAOs for mapping between columns and entities.
+ * Demonstrates:
+ * - Exhaustive handling of a `sealed interface` with `instanceof` pattern matching.
+ */
+final class Rows {
+
+    static final String FOOD = "F";
+    static final String BEVERAGE = "B";
+
+    private static final String UPDATE_CATEGORY = "UPDATE categories SET name = ?, flag = ? WHERE kind = ? AND id = ?";
+    private static final String INSERT_CATEGORY = "INSERT INTO categories (kind, id, name, flag) VALUES (?, ?, ?, ?)";
+
+    private Rows() {
+        throw new AssertionError("Rows cannot be instantiated.");
+    }
+
+    /**
+     * @param category The category.
+     * @return The discriminator stored in the {@code kind} / {@code category_kind} columns.
+     */
+    static String kindOf(Category category) {
+        if (category instanceof FoodCategory) {
+            return FOOD;
+        }
+        return BEVERAGE; // Category is sealed: FoodCategory or BeverageCategory
+    }
+
+    /**
+     * @param category The category.
+     * @return The category's own id.
+     */
+    static int idOf(Category category) {
+        if (category instanceof FoodCategory food) {
+            return food.id();
+        }
+        return ((BeverageCategory) category).id();
+    }
+
+    /**
+     * @param category The category.
+     * @return The value stored in the {@code flag} column (vegan-friendly or has-alcohol).
+     */
+    static boolean flagOf(Category category) {
+        if (category instanceof FoodCategory food) {
+            return food.isVeganFriendly();
+        }
+        return ((BeverageCategory) category).hasAlcohol();
+    }
+
+    /**
+     * Rebuilds a category from its columns.
+     * @throws SQLException if the discriminator is unknown.
+     */
+    static Category category(String kind, int id, String name, boolean flag) throws SQLException {
+        return switch (kind) {
+            case FOOD -> new FoodCategory(id, name, flag);
+            case BEVERAGE -> new BeverageCategory(id, name, flag);
+            default -> throw new SQLException("Unknown category kind: " + kind);
+        };
+    }
+
+    /**
+     * Inserts or updates a category row. Portable upsert: UPDATE first, INSERT only if no row matched.
+     * @throws SQLException if a statement fails.
+     */
+    static void saveCategory(DatabaseConnection c, Category category) throws SQLException {
+        PreparedStatement update = c.prepare(UPDATE_CATEGORY);
+        update.setString(1, category.name());
+        update.setBoolean(2, flagOf(category));
+        update.setString(3, kindOf(category));
+        update.setInt(4, idOf(category));
+        if (update.executeUpdate() == 0) {
+            PreparedStatement insert = c.prepare(INSERT_CATEGORY);
+            insert.setString(1, kindOf(category));
+            insert.setInt(2, idOf(category));
+            insert.setString(3, category.name());
+            insert.setBoolean(4, flagOf(category));
+            insert.executeUpdate();
+        }
+    }
+}
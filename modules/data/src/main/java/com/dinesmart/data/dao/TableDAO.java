@@ -0,0 +1,49 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Table;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object for dining tables.
+ * Demonstrates:
+ * - The DAO pattern.
+ * - `Optional` for lookups that may not find a row.
+ */
+public interface TableDAO {
+
+    /**
+     * @param table The table to insert.
+     * @throws DineSmartException if the insert fails.
+     */
+    void insert(Table table) throws DineSmartException;
+
+    /**
+     * @param table The table with updated values.
+     * @return true if a row was updated.
+     * @throws DineSmartException if the update fails.
+     */
+    boolean update(Table table) throws DineSmartException;
+
+    /**
+     * @param tableId The id of the table.
+     * @return true if a row was deleted.
+     * @throws DineSmartException if the delete fails.
+     */
+    boolean delete(int tableId) throws DineSmartException;
+
+    /**
+     * @param tableId The id of the table.
+     * @return The table, or empty if not found.
+     * @throws DineSmartException if the query fails.
+     */
+    Optional<Table> findById(int tableId) throws DineSmartException;
+
+    /**
+     * @return All tables ordered by id.
+     * @throws DineSmartException if the query fails.
+     */
+    List<Table> findAll() throws DineSmartException;
+}
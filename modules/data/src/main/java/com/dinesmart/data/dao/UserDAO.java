@@ -0,0 +1,56 @@
+package com.dinesmart.data.dao;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.User;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object for application users.
+ * Demonstrates:
+ * - The DAO pattern.
+ * - `Optional` for lookups that may not find a row.
+ */
+public interface UserDAO {
+
+    /**
+     * @param user The user to insert.
+     * @throws DineSmartException if the insert fails (e.g. duplicate username).
+     */
+    void insert(User user) throws DineSmartException;
+
+    /**
+     * @param user The user with updated values.
+     * @return true if a row was updated.
+     * @throws DineSmartException if the update fails.
+     */
+    boolean update(User user) throws DineSmartException;
+
+    /**
+     * @param userId The id of the user.
+     * @return true if a row was deleted.
+     * @throws DineSmartException if the delete fails.
+     */
+    boolean delete(int userId) throws DineSmartException;
+
+    /**
+     * @param userId The id of the user.
+     * @return The user, or empty if not found.
+     * @throws DineSmartException if the query fails.
+     */
+    Optional<User> findById(int userId) throws DineSmartException;
+
+    /**
+     * @param username The username (case-sensitive).
+     * @return The user, or empty if not found.
+     * @throws DineSmartException if the query fails.
+     */
+    Optional<User> findByUsername(String username) throws DineSmartException;
+
+    /**
+     * @return All users ordered by id.
+     * @throws DineSmartException if the query fails.
+     */
+    List<User> findAll() throws DineSmartException;
+}
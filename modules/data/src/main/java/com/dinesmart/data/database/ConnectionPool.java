@@ -0,0 +1,356 @@
+package com.dinesmart.data.database;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A small, dependency-free, bounded JDBC connection pool.
+ * Demonstrates:
+ * - A fair `Semaphore` to bound the pool size and give waiters first-come-first-served, timed acquisition.
+ * - `ConcurrentLinkedDeque` used as a LIFO stack so the most recently used (warm) connection is reused first.
+ * - A `ScheduledExecutorService` for idle eviction and leak detection.
+ * - `ThreadLocal` to let nested DAO calls join the connection (and transaction) already held by the thread.
+ * - `LongAdder` / `AtomicLong` for contention-free statistics.
+ *
+ * Each pooled {@link DatabaseConnection} keeps its own prepared-statement cache, so statements
+ * survive across borrows. Connections are validated with {@code Connection.isValid} on borrow.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Opens physical connections for the pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * A borrowed connection. Closing the lease returns the connection to the pool.
+     */
+    public final class Lease implements AutoCloseable {
+        private final DatabaseConnection connection;
+        private final long borrowedAtNanos;
+        private final Throwable borrowSite; // Captured only when leak detection is enabled
+        private boolean released;
+        private volatile boolean leakReported;
+
+        private Lease(DatabaseConnection connection, long borrowedAtNanos, Throwable borrowSite) {
+            this.connection = connection;
+            this.borrowedAtNanos = borrowedAtNanos;
+            this.borrowSite = borrowSite;
+        }
+
+        /**
+         * @return The borrowed connection; do not close it directly.
+         */
+        public DatabaseConnection connection() {
+            return connection;
+        }
+
+        /**
+         * Returns the connection to the pool. Calling this more than once has no effect.
+         */
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+
+    // An idle connection and the time it was returned to the pool
+    private record Idle(DatabaseConnection connection, long sinceNanos) {
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final PoolConfig config;
+    private final ConnectionFactory factory;
+    private final Semaphore permits;
+    private final Deque<Idle> idle = new ConcurrentLinkedDeque<>();
+    private final Set<Lease> borrowed = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Lease> bound = new ThreadLocal<>();
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool that opens connections through `DriverManager`.
+     * @param config The pool configuration.
+     */
+    public ConnectionPool(PoolConfig config) {
+        this(config, () -> DriverManager.getConnection(config.url(), config.user(), config.password()));
+    }
+
+    /**
+     * Creates a pool that opens connections through the given factory (e.g. a `DataSource`).
+     * @param config The pool configuration.
+     * @param factory Opens new physical connections.
+     */
+    public ConnectionPool(PoolConfig config, ConnectionFactory factory) {
+        if (config == null || factory == null) {
+            throw new IllegalArgumentException("Pool configuration and connection factory cannot be null.");
+        }
+        this.config = config;
+        this.factory = factory;
+        this.permits = new Semaphore(config.maxSize(), true); // fair: waiters are served in arrival order
+
+        Duration period = config.idleTimeout().dividedBy(2);
+        if (!config.leakThreshold().isZero() && config.leakThreshold().dividedBy(2).compareTo(period) < 0) {
+            period = config.leakThreshold().dividedBy(2);
+        }
+        long periodMillis = Math.max(1_000L, period.toMillis());
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dinesmart-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured acquire timeout.
+     * Use it in try-with-resources so it is always returned.
+     *
+     * @return A lease on a validated connection.
+     * @throws SQLTimeoutException if no connection became available in time.
+     * @throws SQLException if the pool is closed or a new connection cannot be opened.
+     */
+    public Lease acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.acquireTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + config.acquireTimeout().toMillis()
+                                              + " ms waiting for a database connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        try {
+            DatabaseConnection connection = takeValidIdle();
+            if (connection == null) {
+                connection = new DatabaseConnection(factory.open());
+            }
+            long now = System.nanoTime();
+            Throwable site = config.leakThreshold().isZero() ? null : new Throwable("Connection borrowed here");
+            Lease lease = new Lease(connection, now, site);
+            borrowed.add(lease);
+            recordAcquire(now - start);
+            return lease;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@code work} on a pooled connection in auto-commit mode. If the calling thread
+     * already holds a connection from {@link #execute} or {@link #inTransaction}, that one is reused.
+     *
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     * @throws DineSmartException if no connection is available or a database error occurs.
+     */
+    public <T> T execute(DatabaseConnection.Work<T> work) throws DineSmartException {
+        Lease lease = bound.get();
+        if (lease != null) {
+            return lease.connection().execute(work);
+        }
+        lease = acquireBound();
+        try {
+            return lease.connection().execute(work);
+        } finally {
+            bound.remove();
+            lease.close();
+        }
+    }
+
+    /**
+     * Runs {@code work} in one transaction on a pooled connection. DAO calls made by the same
+     * thread inside {@code work} join the transaction.
+     *
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     * @throws DineSmartException if no connection is available or the transaction fails.
+     */
+    public <T> T inTransaction(DatabaseConnection.Work<T> work) throws DineSmartException {
+        Lease lease = bound.get();
+        if (lease != null) {
+            return lease.connection().inTransaction(work);
+        }
+        lease = acquireBound();
+        try {
+            return lease.connection().inTransaction(work);
+        } finally {
+            bound.remove();
+            lease.close();
+        }
+    }
+
+    /**
+     * @return A snapshot of the pool's statistics.
+     */
+    public PoolStats stats() {
+        long count = acquired.sum();
+        double meanMicros = count == 0 ? 0.0 : acquireNanos.sum() / (count * 1_000.0);
+        return new PoolStats(borrowed.size(), idle.size(), permits.getQueueLength(), count,
+                             timeouts.sum(), leaks.sum(), meanMicros, maxAcquireNanos.get() / 1_000L);
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping. Borrowed connections are
+     * closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        Idle entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry.connection());
+        }
+    }
+
+    private Lease acquireBound() throws DineSmartException {
+        try {
+            Lease lease = acquire();
+            bound.set(lease);
+            return lease;
+        } catch (SQLException e) {
+            throw new DineSmartException("Could not obtain a database connection: " + e.getMessage(), e);
+        }
+    }
+
+    private DatabaseConnection takeValidIdle() {
+        Idle candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            if (isValid(candidate.connection())) {
+                return candidate.connection();
+            }
+            closeQuietly(candidate.connection());
+        }
+        return null;
+    }
+
+    private void release(Lease lease) {
+        synchronized (lease) {
+            if (lease.released) {
+                return;
+            }
+            lease.released = true;
+        }
+        borrowed.remove(lease);
+        DatabaseConnection connection = lease.connection();
+        if (closed || !resetForReuse(connection)) {
+            closeQuietly(connection);
+        } else {
+            idle.offerFirst(new Idle(connection, System.nanoTime()));
+        }
+        permits.release();
+    }
+
+    // Rolls back anything a careless borrower left open so the next borrower starts clean.
+    private static boolean resetForReuse(DatabaseConnection connection) {
+        try {
+            Connection raw = connection.connection();
+            if (raw.isClosed()) {
+                return false;
+            }
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isValid(DatabaseConnection connection) {
+        try {
+            return connection.connection().isValid(config.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordAcquire(long nanos) {
+        acquired.increment();
+        acquireNanos.add(nanos);
+        maxAcquireNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void housekeep() {
+        try {
+            evictIdle();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    // Idle connections are pushed at the head, so the oldest ones sit at the tail.
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - config.idleTimeout().toNanos();
+        while (idle.size() > config.minIdle()) {
+            Idle oldest = idle.peekLast();
+            if (oldest == null || oldest.sinceNanos() - cutoff > 0) {
+                return;
+            }
+            if (idle.removeLastOccurrence(oldest)) { // false if a borrower took it meanwhile
+                closeQuietly(oldest.connection());
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (config.leakThreshold().isZero()) {
+            return;
+        }
+        long cutoff = System.nanoTime() - config.leakThreshold().toNanos();
+        for (Lease lease : borrowed) {
+            if (!lease.leakReported && lease.borrowedAtNanos - cutoff < 0) {
+                lease.leakReported = true;
+                leaks.increment();
+                LOGGER.log(Level.WARNING, "Possible connection leak: borrowed for more than "
+                           + config.leakThreshold().toMillis() + " ms", lease.borrowSite);
+            }
+        }
+    }
+
+    private static void closeQuietly(DatabaseConnection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing pooled connection", e);
+        }
+    }
+}
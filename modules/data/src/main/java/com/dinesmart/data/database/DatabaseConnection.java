@@ -0,0 +1,159 @@
+package com.dinesmart.data.database;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wraps a JDBC {@link Connection} together with a cache of its prepared statements.
+ * Demonstrates:
+ * - JDBC `Connection`, `PreparedStatement` and manual transaction control (`setAutoCommit`, `commit`, `rollback`).
+ * - `AutoCloseable` for use in try-with-resources.
+ * - A functional interface ({@link Work}) for passing SQL work as a lambda.
+ *
+ * Preparing a statement means a round-trip to the driver (and often the database) to parse
+ * and plan the SQL, so statements are prepared once per connection and reused.
+ * Callers must not close statements returned by {@link #prepare(String)}.
+ */
+public final class DatabaseConnection implements AutoCloseable {
+
+    /**
+     * A unit of SQL work executed against a connection. It may call DAO methods,
+     * which is why it may also throw `DineSmartException`.
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(DatabaseConnection db) throws SQLException, DineSmartException;
+    }
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private int transactionDepth;
+
+    /**
+     * Wraps an already open connection.
+     * @param connection The JDBC connection to wrap.
+     */
+    public DatabaseConnection(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null.");
+        }
+        this.connection = connection;
+    }
+
+    /**
+     * Opens a new connection through `DriverManager`.
+     * @param url The JDBC URL, e.g. {@code jdbc:sqlite:dinesmart.db}.
+     * @param user The user name, or null.
+     * @param password The password, or null.
+     * @return A new database connection.
+     * @throws SQLException if the connection cannot be opened.
+     */
+    public static DatabaseConnection open(String url, String user, String password) throws SQLException {
+        return new DatabaseConnection(DriverManager.getConnection(url, user, password));
+    }
+
+    /**
+     * @return The underlying JDBC connection.
+     */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Returns a prepared statement for {@code sql}, preparing it on first use only.
+     * Parameters left over from a previous use are cleared.
+     *
+     * @param sql The SQL text; used verbatim as the cache key.
+     * @return A cached prepared statement. Do not close it.
+     * @throws SQLException if the statement cannot be prepared.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    /**
+     * Runs {@code work} in auto-commit mode (or inside the enclosing transaction, if any).
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     * @throws DineSmartException if a database error occurs.
+     */
+    public synchronized <T> T execute(Work<T> work) throws DineSmartException {
+        try {
+            return work.run(this);
+        } catch (SQLException e) {
+            throw new DineSmartException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs {@code work} in a single transaction, committing on success and rolling back on failure.
+     * Nested calls join the outermost transaction.
+     *
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     * @throws DineSmartException if a database error occurs; the transaction is rolled back.
+     */
+    public synchronized <T> T inTransaction(Work<T> work) throws DineSmartException {
+        if (transactionDepth > 0) {
+            transactionDepth++;
+            try {
+                return work.run(this);
+            } catch (SQLException e) {
+                throw new DineSmartException("Database error: " + e.getMessage(), e);
+            } finally {
+                transactionDepth--;
+            }
+        }
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            transactionDepth = 1;
+            try {
+                T result = work.run(this);
+                connection.commit();
+                return result;
+            } catch (SQLException | DineSmartException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                transactionDepth = 0;
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DineSmartException("Database transaction failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes all cached statements and the underlying connection.
+     * @throws SQLException if closing the connection fails.
+     */
+    @Override
+    public synchronized void close() throws SQLException {
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Closing the connection below releases it anyway
+            }
+        }
+        statements.clear();
+        connection.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.dinesmart.data.database;
+
+import java.time.Duration;
+
+/**
+ * A `record` holding the settings of a {@link ConnectionPool}.
+ * Demonstrates:
+ * - Records as immutable configuration objects.
+ * - Compact constructor for validation.
+ *
+ * @param url              The JDBC URL.
+ * @param user             The database user, or null.
+ * @param password         The database password, or null.
+ * @param maxSize          The maximum number of connections, borrowed or idle.
+ * @param minIdle          The number of idle connections kept open by idle eviction.
+ * @param acquireTimeout   How long {@link ConnectionPool#acquire()} waits for a free connection.
+ * @param idleTimeout      How long a connection may sit idle before it is closed.
+ * @param leakThreshold    How long a connection may stay borrowed before a leak is reported; zero disables.
+ * @param validationTimeoutSeconds The timeout passed to {@code Connection.isValid} on borrow.
+ */
+public record PoolConfig(
+    String url,
+    String user,
+    String password,
+    int maxSize,
+    int minIdle,
+    Duration acquireTimeout,
+    Duration idleTimeout,
+    Duration leakThreshold,
+    int validationTimeoutSeconds
+) {
+    // Compact constructor for validation
+    public PoolConfig {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("JDBC URL cannot be null or empty.");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive.");
+        }
+        if (minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Minimum idle connections must be between 0 and the pool size.");
+        }
+        if (acquireTimeout == null || acquireTimeout.isNegative()) {
+            throw new IllegalArgumentException("Acquire timeout cannot be null or negative.");
+        }
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive.");
+        }
+        if (leakThreshold == null || leakThreshold.isNegative()) {
+            throw new IllegalArgumentException("Leak threshold cannot be null or negative.");
+        }
+        if (validationTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("Validation timeout cannot be negative.");
+        }
+    }
+
+    /**
+     * Creates a configuration with sensible defaults for a single restaurant server:
+     * 10 connections, 2 kept idle, 5 s acquire timeout, 10 min idle timeout, 30 s leak threshold.
+     * @param url The JDBC URL.
+     * @param user The database user, or null.
+     * @param password The database password, or null.
+     * @return The default configuration.
+     */
+    public static PoolConfig defaults(String url, String user, String password) {
+        return new PoolConfig(url, user, password, 10, 2, Duration.ofSeconds(5),
+                              Duration.ofMinutes(10), Duration.ofSeconds(30), 2);
+    }
+}
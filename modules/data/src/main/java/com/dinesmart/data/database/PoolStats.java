@@ -0,0 +1,25 @@
+package com.dinesmart.data.database;
+
+/**
+ * A point-in-time `record` of {@link ConnectionPool} statistics.
+ *
+ * @param active             Connections currently borrowed.
+ * @param idle               Connections open and waiting in the pool.
+ * @param waiters            Threads currently blocked in {@link ConnectionPool#acquire()}.
+ * @param acquired           Total successful acquisitions.
+ * @param timeouts           Total acquisitions that gave up after the acquire timeout.
+ * @param leaks              Total borrowed connections reported as leaked.
+ * @param meanAcquireMicros  Mean time spent in {@code acquire()}, in microseconds.
+ * @param maxAcquireMicros   Longest time spent in {@code acquire()}, in microseconds.
+ */
+public record PoolStats(
+    int active,
+    int idle,
+    int waiters,
+    long acquired,
+    long timeouts,
+    long leaks,
+    double meanAcquireMicros,
+    long maxAcquireMicros
+) {
+}
@@ -0,0 +1,97 @@
+package com.dinesmart.data.database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The relational schema used by the DAOs, written in portable SQL (SQLite, H2, MySQL).
+ * Demonstrates:
+ * - Java text blocks for multi-line SQL.
+ * - JDBC `Statement` for DDL.
+ *
+ * Order lines keep a full copy of the menu item as ordered (name, description, unit price,
+ * availability and category) so that order history stays exact when the menu changes or an
+ * item is deleted; reading an order never consults the menu.
+ */
+public final class Schema {
+
+    private static final String[] DDL = {
+        """
+        CREATE TABLE IF NOT EXISTS categories (
+            kind CHAR(1) NOT NULL,
+            id INTEGER NOT NULL,
+            name VARCHAR(100) NOT NULL,
+            flag BOOLEAN NOT NULL,
+            PRIMARY KEY (kind, id)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS menu_items (
+            id INTEGER PRIMARY KEY,
+            name VARCHAR(200) NOT NULL UNIQUE,
+            description VARCHAR(1000),
+            price_minor BIGINT NOT NULL,
+            currency CHAR(3) NOT NULL,
+            category_kind CHAR(1) NOT NULL,
+            category_id INTEGER NOT NULL,
+            available BOOLEAN NOT NULL
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS dining_tables (
+            id INTEGER PRIMARY KEY,
+            capacity INTEGER NOT NULL,
+            occupied BOOLEAN NOT NULL,
+            current_order_ref VARCHAR(64)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS users (
+            id INTEGER PRIMARY KEY,
+            username VARCHAR(100) NOT NULL UNIQUE,
+            password_hash VARCHAR(255) NOT NULL,
+            role VARCHAR(20) NOT NULL
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS orders (
+            id INTEGER PRIMARY KEY,
+            table_id INTEGER NOT NULL,
+            order_time TIMESTAMP NOT NULL,
+            status VARCHAR(20) NOT NULL,
+            total_minor BIGINT NOT NULL,
+            currency CHAR(3) NOT NULL
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS order_lines (
+            order_id INTEGER NOT NULL,
+            line_no INTEGER NOT NULL,
+            menu_item_id INTEGER NOT NULL,
+            item_name VARCHAR(200) NOT NULL,
+            item_description VARCHAR(1000),
+            item_available BOOLEAN NOT NULL,
+            unit_price_minor BIGINT NOT NULL,
+            quantity INTEGER NOT NULL,
+            category_kind CHAR(1) NOT NULL,
+            category_id INTEGER NOT NULL,
+            category_name VARCHAR(100) NOT NULL,
+            category_flag BOOLEAN NOT NULL,
+            PRIMARY KEY (order_id, line_no)
+        )""",
+        "CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status)",
+        "CREATE INDEX IF NOT EXISTS idx_orders_time ON orders (order_time)"
+    };
+
+    private Schema() {
+        throw new AssertionError("Schema cannot be instantiated.");
+    }
+
+    /**
+     * Creates all tables and indexes that do not exist yet.
+     * @param db The connection to run the DDL on.
+     * @throws SQLException if a statement fails.
+     */
+    public static void createIfMissing(DatabaseConnection db) throws SQLException {
+        try (Statement statement = db.connection().createStatement()) {
+            for (String ddl : DDL) {
+                statement.execute(ddl);
+            }
+        }
+    }
+}
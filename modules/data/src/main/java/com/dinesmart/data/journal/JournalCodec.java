@@ -0,0 +1,189 @@
+package com.dinesmart.data.journal;
+
+import com.dinesmart.core.model.entities.BeverageCategory;
+import com.dinesmart.core.model.entities.Category;
+import com.dinesmart.core.model.entities.FoodCategory;
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Package-private binary encoding of journal records.
+ * Demonstrates:
+ * - `ByteBuffer` absolute and relative puts/gets of primitives.
+ * - `CRC32` to detect torn or corrupted records.
+ *
+ * Frame layout: {@code [int payloadLength][int crc32(payload)][payload]}; a zero length marks
+ * the end of the written part of a segment. Payload layout: {@code [byte type][long seq][int orderId]}
+ * followed, for {@link #ORDER} records, by the complete order state. Because every record carries
+ * the full resulting state of what it touches, replaying a record twice is harmless.
+ *
+ * Each order line holds the whole menu item as it was ordered (name, description, unit price,
+ * category, availability), so recovery never consults the live menu: a deleted or re-used item id
+ * cannot break or alter a recovered order. Strings are {@code [int byteLength or -1 for null][UTF-8 bytes]}.
+ */
+final class JournalCodec {
+
+    static final byte ORDER = 1;   // Order created or items added: full order state
+    static final byte STATUS = 2;  // Status changed: new status only
+    static final byte DELETE = 3;  // Order deleted
+    static final byte EVICT = 4;   // Closed order archived elsewhere and dropped from memory
+
+    static final byte FOOD = 'F';     // Menu item category kinds in ORDER records
+    static final byte BEVERAGE = 'B';
+
+    static final int FRAME_HEADER = 8;
+    static final int RECORD_HEADER = 1 + 8 + 4;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private JournalCodec() {
+        throw new AssertionError("JournalCodec cannot be instantiated.");
+    }
+
+    /**
+     * @return The number of payload bytes needed for an {@link #ORDER} record.
+     */
+    static int orderPayloadSize(Order order) {
+        // header + tableId + epochSecond + nano + status + currency + lineCount + lines
+        OrderLines lines = order.lines();
+        int size = RECORD_HEADER + 4 + 8 + 4 + 1 + 3 + 4;
+        for (int i = 0; i < lines.size(); i++) {
+            MenuItem item = lines.itemAt(i);
+            // itemId + quantity + price + name + description + kind + categoryId + categoryName + flags
+            size += 4 + 4 + 8 + stringSize(item.name()) + stringSize(item.description())
+                    + 1 + 4 + stringSize(item.category().name()) + 1;
+        }
+        return size;
+    }
+
+    static void putOrder(ByteBuffer out, long seq, Order order) {
+        out.put(ORDER).putLong(seq).putInt(order.id());
+        out.putInt(order.tableId());
+        out.putLong(order.orderTime().toEpochSecond(ZoneOffset.UTC)).putInt(order.orderTime().getNano());
+        out.put((byte) order.status().ordinal());
+        out.put(order.totalAmount().currency().getCurrencyCode().getBytes(StandardCharsets.US_ASCII));
+        OrderLines lines = order.lines();
+        out.putInt(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            MenuItem item = lines.itemAt(i);
+            Category category = item.category();
+            out.putInt(item.id()).putInt(lines.quantityAt(i)).putLong(item.price().minorUnits());
+            putString(out, item.name());
+            putString(out, item.description());
+            if (category instanceof FoodCategory food) {
+                out.put(FOOD).putInt(food.id());
+            } else {
+                out.put(BEVERAGE).putInt(((BeverageCategory) category).id()); // Category is sealed
+            }
+            putString(out, category.name());
+            out.put((byte) ((categoryFlag(category) ? 1 : 0) | (item.available() ? 2 : 0)));
+        }
+    }
+
+    static void putStatus(ByteBuffer out, long seq, int orderId, OrderStatus status) {
+        out.put(STATUS).putLong(seq).putInt(orderId).put((byte) status.ordinal());
+    }
+
+    static void putDelete(ByteBuffer out, long seq, int orderId) {
+        out.put(DELETE).putLong(seq).putInt(orderId);
+    }
+
+    static void putEvict(ByteBuffer out, long seq, int orderId) {
+        out.put(EVICT).putLong(seq).putInt(orderId);
+    }
+
+    /**
+     * Decodes the order state following the record header.
+     */
+    static Order getOrder(ByteBuffer in, int orderId) throws IOException {
+        int tableId = in.getInt();
+        LocalDateTime orderTime = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+        OrderStatus status = status(in.get());
+        byte[] code = new byte[3];
+        in.get(code);
+        Currency currency = Currency.getInstance(new String(code, StandardCharsets.US_ASCII));
+        int lineCount = in.getInt();
+        Map<MenuItem, Integer> items = new LinkedHashMap<>();
+        long total = 0L;
+        for (int i = 0; i < lineCount; i++) {
+            int itemId = in.getInt();
+            int quantity = in.getInt();
+            Money price = Money.of(in.getLong(), currency);
+            String name = getString(in);
+            String description = getString(in);
+            byte kind = in.get();
+            int categoryId = in.getInt();
+            String categoryName = getString(in);
+            byte flags = in.get();
+            Category category = switch (kind) {
+                case FOOD -> new FoodCategory(categoryId, categoryName, (flags & 1) != 0);
+                case BEVERAGE -> new BeverageCategory(categoryId, categoryName, (flags & 1) != 0);
+                default -> throw new IOException("Invalid menu category kind in journal: " + kind);
+            };
+            items.put(new MenuItem(itemId, name, description, price, category, (flags & 2) != 0), quantity);
+            total += price.minorUnits() * quantity;
+        }
+        return new Order(orderId, tableId, orderTime, items, status, Money.of(total, currency));
+    }
+
+    static OrderStatus status(byte ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new IOException("Invalid order status in journal: " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+
+    private static boolean categoryFlag(Category category) {
+        if (category instanceof FoodCategory food) {
+            return food.isVeganFriendly();
+        }
+        return ((BeverageCategory) category).hasAlcohol();
+    }
+
+    private static int stringSize(String value) {
+        return 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    // Copies the bytes out: recovery reads from mapped buffers, which have no backing array
+    private static String getString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new IOException("String length " + length + " exceeds the journal record.");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int crc(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+}
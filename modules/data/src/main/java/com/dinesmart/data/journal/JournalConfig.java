@@ -0,0 +1,41 @@
+package com.dinesmart.data.journal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * A `record` holding the settings of an {@link OrderJournal}.
+ * Demonstrates:
+ * - Records as immutable configuration objects.
+ * - Compact constructor for validation.
+ *
+ * @param directory     The directory holding journal segments and snapshots.
+ * @param segmentBytes  The size of each memory-mapped segment file.
+ * @param syncInterval  How often the background flusher forces written records to disk.
+ * @param waitForSync   Whether each change waits until its record is on disk before returning.
+ *                      Concurrent writers waiting together share a single fsync (group commit).
+ */
+public record JournalConfig(Path directory, int segmentBytes, Duration syncInterval, boolean waitForSync) {
+
+    // Compact constructor for validation
+    public JournalConfig {
+        if (directory == null) {
+            throw new IllegalArgumentException("Journal directory cannot be null.");
+        }
+        if (segmentBytes < 4096) {
+            throw new IllegalArgumentException("Journal segments must be at least 4 KiB.");
+        }
+        if (syncInterval == null || syncInterval.isNegative() || syncInterval.isZero()) {
+            throw new IllegalArgumentException("Sync interval must be positive.");
+        }
+    }
+
+    /**
+     * Creates a configuration with 8 MiB segments, a 5 ms flush interval and durable writes.
+     * @param directory The journal directory.
+     * @return The default configuration.
+     */
+    public static JournalConfig defaults(Path directory) {
+        return new JournalConfig(directory, 8 * 1024 * 1024, Duration.ofMillis(5), true);
+    }
+}
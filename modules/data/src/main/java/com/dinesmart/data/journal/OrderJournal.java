@@ -0,0 +1,625 @@
+package com.dinesmart.data.journal;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderBatchCommitter;
+import com.dinesmart.core.service.OrderChangeListener;
+import com.dinesmart.core.service.events.OrderEvent;
+import com.dinesmart.core.service.impl.ConcurrentOrderService;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped write-ahead journal of order changes, used to rebuild the
+ * open orders after a crash without reloading the database.
+ * Demonstrates:
+ * - NIO `FileChannel.map` / `MappedByteBuffer` for appends that are plain memory writes.
+ * - Group commit: a background flusher forces pending records to disk, and concurrent writers
+ *   waiting for durability share one `force()` (`ReentrantLock` + `Condition`).
+ * - Crash-safe snapshots written to a temporary file and renamed with `ATOMIC_MOVE`.
+ * - Implementing {@link OrderChangeListener} as a vetoing listener: a change it fails to record never happens.
+ * - Implementing {@link OrderBatchCommitter}: a group-committing service pays one fsync per batch.
+ *
+ * Files in the journal directory:
+ * {@code orders-<firstSeq>.journal} (fixed-size segments) and {@code orders-<seq>.snapshot}
+ * (all in-flight orders as of record {@code seq}). Recovery loads the newest valid snapshot and
+ * replays the records that follow it; segments fully covered by a snapshot are deleted. Records
+ * and snapshots hold complete orders, menu items included, so recovery needs nothing but this directory.
+ * Orders evicted by a {@code TieredOrderService} are recorded as well, so recovery does not bring
+ * back orders that now live in the archive.
+ *
+ * Typical wiring:
+ * <pre>
+ * OrderJournal journal = OrderJournal.open(JournalConfig.defaults(dir));
+ * orderService.restore(journal.recoveredOrders());
+ * orderService.addVetoingListener(journal);
+ * journal.scheduleSnapshots(orderService, Duration.ofMinutes(1));
+ * </pre>
+ */
+public final class OrderJournal implements OrderChangeListener, OrderBatchCommitter, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(OrderJournal.class.getName());
+    private static final String PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x44534E50; // "DSNP"
+
+    // A closed, fully written segment kept until a snapshot covers it
+    private record SegmentFile(long firstSeq, Path path) {
+    }
+
+    private final JournalConfig config;
+    private final Deque<SegmentFile> sealed = new ArrayDeque<>(); // Oldest first, guarded by 'this'
+    private long activeFirstSeq;                                  // Guarded by 'this'
+    private FileChannel activeChannel;                            // Guarded by 'this'
+    private MappedByteBuffer active;                              // Guarded by 'this'
+    private int forcedPosition;                                   // Guarded by 'this'
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);       // Guarded by 'this'
+    private long lastSeq;                                         // Guarded by 'this'
+    private final List<Order> recovered;
+
+    private final ReentrantLock snapshotLock = new ReentrantLock(); // One snapshot at a time: they share a temporary file
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncRequested = syncLock.newCondition();
+    private final Condition synced = syncLock.newCondition();
+    private boolean flushWanted;                                  // Guarded by syncLock
+    private volatile long durableSeq;
+    private volatile boolean closed;
+    private final Thread flusher;
+    private ScheduledExecutorService snapshotter;                 // Guarded by 'this'
+
+    private OrderJournal(JournalConfig config) throws IOException {
+        this.config = config;
+        Map<Integer, Order> state = new HashMap<>();
+        long snapshotSeq = loadLatestSnapshot(state);
+        this.lastSeq = snapshotSeq;
+
+        List<SegmentFile> files = listFiles(SEGMENT_SUFFIX);
+        for (int i = 0; i < files.size(); i++) {
+            SegmentFile file = files.get(i);
+            boolean last = i == files.size() - 1;
+            FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = last ? Math.max(channel.size(), config.segmentBytes()) : channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int end = replay(buffer, snapshotSeq, state);
+            if (last) {
+                // Zero any torn record left after the last valid one so it can never be misread
+                for (int p = end; p < buffer.limit(); p++) {
+                    buffer.put(p, (byte) 0);
+                }
+                buffer.position(end);
+                activeFirstSeq = file.firstSeq();
+                activeChannel = channel;
+                active = buffer;
+                forcedPosition = end;
+            } else {
+                channel.close();
+                sealed.addLast(file);
+            }
+        }
+        if (active == null) {
+            openSegment(lastSeq + 1);
+        }
+        this.durableSeq = lastSeq;
+
+        List<Order> orders = new ArrayList<>(state.values());
+        orders.sort(Comparator.comparingInt(Order::id));
+        this.recovered = List.copyOf(orders);
+
+        this.flusher = new Thread(this::flushLoop, "dinesmart-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Opens (or creates) the journal in the configured directory and recovers its contents.
+     * @param config The journal configuration.
+     * @return The open journal, positioned after the last valid record.
+     * @throws IOException if the directory cannot be used or a record cannot be decoded.
+     */
+    public static OrderJournal open(JournalConfig config) throws IOException {
+        Files.createDirectories(config.directory());
+        return new OrderJournal(config);
+    }
+
+    /**
+     * @return The orders rebuilt from the snapshot and journal when this journal was opened, ordered by id.
+     */
+    public List<Order> recoveredOrders() {
+        return recovered;
+    }
+
+    /**
+     * @return The sequence number of the last appended record.
+     */
+    public synchronized long lastSequence() {
+        return lastSeq;
+    }
+
+    @Override
+    public void orderCreated(Order order) throws DineSmartException {
+        record(() -> appendOrder(order));
+    }
+
+    @Override
+    public void itemsAdded(Order before, Order after) throws DineSmartException {
+        record(() -> appendOrder(after));
+    }
+
+    @Override
+    public void statusChanged(Order before, Order after) throws DineSmartException {
+        record(() -> appendStatus(after.id(), after.status()));
+    }
+
+    @Override
+    public void orderDeleted(Order order) throws DineSmartException {
+        record(() -> appendDelete(order.id()));
+    }
+
+    // Recorded so recovery does not bring an archived order back into memory
+    @Override
+    public void orderEvicted(Order order) throws DineSmartException {
+        record(() -> appendEvict(order.id()));
+    }
+
+    /**
+     * Blocks until every record up to {@code seq} has been forced to disk. Concurrent callers
+     * are served by the same flush.
+     * @param seq The sequence number to wait for.
+     * @throws IOException if the journal is closed or the wait is interrupted.
+     */
+    public void awaitDurable(long seq) throws IOException {
+        syncLock.lock();
+        try {
+            while (durableSeq < seq) {
+                if (closed) {
+                    throw new IOException("Order journal is closed.");
+                }
+                flushWanted = true;
+                syncRequested.signal();
+                synced.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the order journal to sync.");
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk.
+     * @throws IOException if the journal is closed or the wait is interrupted.
+     */
+    public void sync() throws IOException {
+        awaitDurable(lastSequence());
+    }
+
+    /**
+     * Makes a batch durable. The listener methods have already appended its changes, so this
+     * only forces them to disk; open the journal without {@code waitForSync} when using it this way.
+     * @param batch The changes to make durable.
+     * @throws DineSmartException if the journal could not be synced.
+     */
+    @Override
+    public void commit(List<OrderEvent> batch) throws DineSmartException {
+        try {
+            sync();
+        } catch (IOException e) {
+            throw new DineSmartException("Could not sync the order journal: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the open orders and deletes journal segments it makes obsolete.
+     * The sequence number is read while {@code orders} holds every order lock, the same locks under
+     * which a change is journaled and then made visible. So every record up to that number is in
+     * the snapshot, and every later record is replayed on top of it. Reading the sequence and the
+     * orders separately would not be enough: a record is appended before its change becomes
+     * visible, so it could be pruned without being in the snapshot. A call made while another
+     * snapshot is being written (e.g. a scheduled one) waits for it to finish.
+     *
+     * @param orders The service this journal listens to.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public void snapshot(ConcurrentOrderService orders) throws IOException {
+        snapshotLock.lock();
+        try {
+            long[] seqHolder = new long[1];
+            List<Order> open = orders.snapshotActiveOrders(() -> seqHolder[0] = lastSequence());
+            writeSnapshot(seqHolder[0], open);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // Must hold snapshotLock
+    private void writeSnapshot(long seq, Collection<Order> orders) throws IOException {
+        int size = 4 + 8 + 4;
+        for (Order order : orders) {
+            size += JournalCodec.FRAME_HEADER + JournalCodec.orderPayloadSize(order);
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(SNAPSHOT_MAGIC).putLong(seq).putInt(orders.size());
+        for (Order order : orders) {
+            int start = out.position();
+            out.position(start + JournalCodec.FRAME_HEADER);
+            JournalCodec.putOrder(out, seq, order);
+            int length = out.position() - start - JournalCodec.FRAME_HEADER;
+            out.putInt(start, length);
+            out.putInt(start + 4, JournalCodec.crc(out.duplicate().position(start + JournalCodec.FRAME_HEADER).limit(out.position())));
+        }
+        out.flip();
+
+        Path tmp = config.directory().resolve(PREFIX + "snapshot.tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Path target = config.directory().resolve(fileName(seq, SNAPSHOT_SUFFIX));
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (SegmentFile old : listFiles(SNAPSHOT_SUFFIX)) {
+            if (old.firstSeq() < seq) {
+                Files.deleteIfExists(old.path());
+            }
+        }
+        pruneSegments(seq);
+    }
+
+    /**
+     * Takes a snapshot periodically on a background thread.
+     * @param orders The service this journal listens to.
+     * @param every The interval between snapshots.
+     */
+    public synchronized void scheduleSnapshots(ConcurrentOrderService orders, Duration every) {
+        if (snapshotter == null) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "dinesmart-journal-snapshot");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        long millis = every.toMillis();
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(orders);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Order journal snapshot failed", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Flushes all records and stops the background threads.
+     * @throws IOException if the final flush fails.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (snapshotter != null) {
+                snapshotter.shutdownNow();
+            }
+        }
+        syncLock.lock();
+        try {
+            closed = true;
+            syncRequested.signal();
+        } finally {
+            syncLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        forceActive();
+        syncLock.lock();
+        try {
+            synced.signalAll(); // Wake writers still waiting; they will see the journal is closed
+        } finally {
+            syncLock.unlock();
+        }
+        synchronized (this) {
+            activeChannel.close();
+        }
+    }
+
+    // ---- Appending -------------------------------------------------------------------------
+
+    @FunctionalInterface
+    private interface Append {
+        long run() throws IOException;
+    }
+
+    private void record(Append append) throws DineSmartException {
+        try {
+            long seq = append.run();
+            if (config.waitForSync()) {
+                awaitDurable(seq);
+            }
+        } catch (IOException e) {
+            throw new DineSmartException("Could not record order change in the journal: " + e.getMessage(), e);
+        }
+    }
+
+    private synchronized long appendOrder(Order order) throws IOException {
+        ByteBuffer payload = payload(JournalCodec.orderPayloadSize(order));
+        long seq = ++lastSeq;
+        JournalCodec.putOrder(payload, seq, order);
+        return write(payload.flip(), seq);
+    }
+
+    private synchronized long appendStatus(int orderId, OrderStatus status) throws IOException {
+        ByteBuffer payload = payload(JournalCodec.RECORD_HEADER + 1);
+        long seq = ++lastSeq;
+        JournalCodec.putStatus(payload, seq, orderId, status);
+        return write(payload.flip(), seq);
+    }
+
+    private synchronized long appendDelete(int orderId) throws IOException {
+        ByteBuffer payload = payload(JournalCodec.RECORD_HEADER);
+        long seq = ++lastSeq;
+        JournalCodec.putDelete(payload, seq, orderId);
+        return write(payload.flip(), seq);
+    }
+
+    private synchronized long appendEvict(int orderId) throws IOException {
+        ByteBuffer payload = payload(JournalCodec.RECORD_HEADER);
+        long seq = ++lastSeq;
+        JournalCodec.putEvict(payload, seq, orderId);
+        return write(payload.flip(), seq);
+    }
+
+    // Reuses one heap buffer for encoding; must be called while holding 'this'.
+    private ByteBuffer payload(int size) throws IOException {
+        if (closed) {
+            throw new IOException("Order journal is closed.");
+        }
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        return scratch.clear();
+    }
+
+    // Must be called while holding 'this'. The length is written last, so a record only
+    // becomes visible to recovery once it is complete (and its CRC guards against torn pages).
+    private long write(ByteBuffer payload, long seq) throws IOException {
+        int length = payload.remaining();
+        int frame = JournalCodec.FRAME_HEADER + length;
+        if (frame + 4 > config.segmentBytes()) {
+            throw new IOException("Journal record of " + frame + " bytes does not fit in a segment.");
+        }
+        if (active.remaining() < frame + 4) { // Keep room for the terminating zero length
+            rollSegment(seq);
+        }
+        int position = active.position();
+        active.putInt(position + 4, JournalCodec.crc(payload));
+        active.put(position + JournalCodec.FRAME_HEADER, payload, payload.position(), length);
+        active.putInt(position, length);
+        active.position(position + frame);
+        syncLock.lock();
+        try {
+            syncRequested.signal(); // Let the flusher start early; it still coalesces
+        } finally {
+            syncLock.unlock();
+        }
+        return seq;
+    }
+
+    private void rollSegment(long nextSeq) throws IOException {
+        forceActiveLocked();
+        activeChannel.close();
+        sealed.addLast(new SegmentFile(activeFirstSeq, config.directory().resolve(fileName(activeFirstSeq, SEGMENT_SUFFIX))));
+        openSegment(nextSeq);
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        Path path = config.directory().resolve(fileName(firstSeq, SEGMENT_SUFFIX));
+        activeChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        active = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, config.segmentBytes());
+        activeFirstSeq = firstSeq;
+        forcedPosition = 0;
+    }
+
+    // ---- Group commit ----------------------------------------------------------------------
+
+    private void flushLoop() {
+        long intervalNanos = config.syncInterval().toNanos();
+        while (true) {
+            syncLock.lock();
+            try {
+                if (!flushWanted && !closed) {
+                    syncRequested.awaitNanos(intervalNanos);
+                }
+                flushWanted = false;
+                if (closed) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                syncLock.unlock();
+            }
+            try {
+                forceActive();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Order journal flush failed", e);
+            }
+        }
+    }
+
+    private void forceActive() {
+        long target;
+        synchronized (this) {
+            target = lastSeq;
+            if (target == durableSeq) {
+                return;
+            }
+            forceActiveLocked();
+        }
+        syncLock.lock();
+        try {
+            if (target > durableSeq) {
+                durableSeq = target;
+            }
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Forces only the part of the segment written since the last force. Must hold 'this'.
+    private void forceActiveLocked() {
+        int end = active.position();
+        if (end > forcedPosition) {
+            active.force(forcedPosition, end - forcedPosition);
+            forcedPosition = end;
+        }
+    }
+
+    // ---- Recovery and housekeeping ---------------------------------------------------------
+
+    // Applies every valid record after 'afterSeq' and returns the offset just past the last valid record.
+    private int replay(ByteBuffer buffer, long afterSeq, Map<Integer, Order> state) throws IOException {
+        int position = 0;
+        while (buffer.limit() - position >= JournalCodec.FRAME_HEADER) {
+            int length = buffer.getInt(position);
+            if (length < JournalCodec.RECORD_HEADER || length > buffer.limit() - position - JournalCodec.FRAME_HEADER) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(position + JournalCodec.FRAME_HEADER, length);
+            if (JournalCodec.crc(payload) != buffer.getInt(position + 4)) {
+                LOGGER.warning("Order journal: discarding torn record at offset " + position);
+                break;
+            }
+            byte type = payload.get();
+            long seq = payload.getLong();
+            int orderId = payload.getInt();
+            if (seq > afterSeq) {
+                apply(type, orderId, payload, state);
+            }
+            lastSeq = Math.max(lastSeq, seq);
+            position += JournalCodec.FRAME_HEADER + length;
+        }
+        return position;
+    }
+
+    private static void apply(byte type, int orderId, ByteBuffer payload, Map<Integer, Order> state) throws IOException {
+        switch (type) {
+            case JournalCodec.ORDER -> state.put(orderId, JournalCodec.getOrder(payload, orderId));
+            case JournalCodec.STATUS -> {
+                OrderStatus status = JournalCodec.status(payload.get());
+                Order order = state.get(orderId);
+                if (order != null) { // Closed orders may have been left out of the snapshot
+                    state.put(orderId, order.withStatus(status));
+                }
+            }
+            case JournalCodec.DELETE, JournalCodec.EVICT -> state.remove(orderId);
+            default -> throw new IOException("Unknown order journal record type: " + type);
+        }
+    }
+
+    private long loadLatestSnapshot(Map<Integer, Order> state) throws IOException {
+        List<SegmentFile> snapshots = listFiles(SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            SegmentFile file = snapshots.get(i);
+            try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+                ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (in.getInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("bad magic number");
+                }
+                long seq = in.getLong();
+                int count = in.getInt();
+                Map<Integer, Order> loaded = new HashMap<>();
+                for (int n = 0; n < count; n++) {
+                    int length = in.getInt();
+                    int crc = in.getInt();
+                    ByteBuffer payload = in.slice(in.position(), length);
+                    if (JournalCodec.crc(payload) != crc) {
+                        throw new IOException("checksum mismatch");
+                    }
+                    payload.get();
+                    payload.getLong();
+                    int orderId = payload.getInt();
+                    loaded.put(orderId, JournalCodec.getOrder(payload, orderId));
+                    in.position(in.position() + length);
+                }
+                state.putAll(loaded);
+                return seq;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Ignoring unreadable order snapshot " + file.path(), e);
+            }
+        }
+        return 0L;
+    }
+
+    private synchronized void pruneSegments(long snapshotSeq) throws IOException {
+        while (!sealed.isEmpty()) {
+            Iterator<SegmentFile> it = sealed.iterator();
+            SegmentFile oldest = it.next();
+            long nextFirstSeq = it.hasNext() ? it.next().firstSeq() : activeFirstSeq;
+            if (nextFirstSeq > snapshotSeq + 1) {
+                return; // 'oldest' still holds records newer than the snapshot
+            }
+            Files.deleteIfExists(oldest.path());
+            sealed.removeFirst();
+        }
+    }
+
+    private List<SegmentFile> listFiles(String suffix) throws IOException {
+        List<SegmentFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(config.directory())) {
+            paths.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(suffix)) {
+                    try {
+                        long seq = Long.parseLong(name.substring(PREFIX.length(), name.length() - suffix.length()));
+                        files.add(new SegmentFile(seq, path));
+                    } catch (NumberFormatException ignored) {
+                        // Not one of ours
+                    }
+                }
+            });
+        }
+        files.sort(Comparator.comparingLong(SegmentFile::firstSeq));
+        return files;
+    }
+
+    private static String fileName(long seq, String suffix) {
+        return String.format("%s%020d%s", PREFIX, seq, suffix);
+    }
+}
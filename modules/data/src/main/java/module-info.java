@@ -9,10 +9,16 @@ module com.dinesmart.data {
     // For this project, 'core' will depend on 'data' for service implementations.
     exports com.dinesmart.data.dao; // Exporting DAO interfaces for core module to implement/use
     exports com.dinesmart.data.database; // Exporting DB connection utilities if needed externally
+    exports com.dinesmart.data.journal; // Order write-ahead journal for crash recovery
+    exports com.dinesmart.data.bulk; // Streaming CSV / binary import and export of menus and orders
+    exports com.dinesmart.data.archive; // Compressed day-partitioned archive of closed orders
 
     // Requires the 'core' module to access entity classes (e.g., MenuItem, Order)
     requires com.dinesmart.core;
 
     // Requires the 'java.sql' module for JDBC database connectivity
     requires java.sql;
+
+    // Requires 'java.logging' for connection pool diagnostics (leak reports)
+    requires java.logging;
 }
@@ -0,0 +1,394 @@
+package com.dinesmart.gui.view.components;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.util.Validator;
+
+import javax.swing.JTable;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Table model that loads its rows in pages, on demand and off the event dispatch thread, and keeps
+ * only a window of pages around the viewport in memory.
+ * Demonstrates:
+ * - Extending `AbstractTableModel`, with `getValueAt` answering from a cache and never blocking.
+ * - Handing work to a background `Executor` and results back with `SwingUtilities.invokeLater`.
+ * - An access-ordered `LinkedHashMap` with `removeEldestEntry` as an LRU page cache.
+ * - Coalescing: updates from any thread are collected in a `ConcurrentHashMap` and applied on a
+ *   `javax.swing.Timer` tick as a few `fireTableRowsUpdated` ranges instead of one repaint each.
+ *
+ * A row that has not been loaded yet shows as empty cells until its page arrives. Create the model
+ * and call {@link #refresh()}, {@link #followViewport(JTable)} and {@link #getRow(int)} on the event
+ * dispatch thread; {@link #update(Object)} and {@link #invalidate()} may be called from any thread.
+ * Don't install a `RowSorter` on the table: sorting needs every row, so sort in the {@link RowSource}.
+ *
+ * @param <T> The row type.
+ */
+public abstract class LazyTableModel<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(LazyTableModel.class.getName());
+    private static final int UPDATE_DELAY_MILLIS = 100;
+    private static final int PREFETCH_PAGES = 1; // Loaded ahead on each side of the viewport
+
+    // One daemon thread for all tables: page loads are short, and running them in order keeps
+    // a refresh and the loads that follow it consistent
+    private static final Executor SHARED_LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "dinesmart-table-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final RowSource<T> source;
+    private final String[] columnNames;
+    private final Class<?>[] columnClasses;
+    private final int pageSize;
+    private final int maxCachedPages;
+    private final Executor loader;
+
+    // Confined to the event dispatch thread
+    private final Map<Integer, List<T>> pages;
+    private final Map<Object, Integer> rowIndex = new HashMap<>(); // Key of each cached row -> row number
+    private final Set<Integer> loading = new HashSet<>();
+    private int rowCount;
+    private int generation; // Bumped by each refresh, so loads started before it are discarded
+    private boolean refreshing;
+    private boolean refreshAgain;
+
+    // Written from any thread
+    private final Map<Object, T> pendingUpdates = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean refreshPending;
+    private volatile int wantedFirstPage = 0;
+    private volatile int wantedLastPage = Integer.MAX_VALUE; // Everything, until a viewport is followed
+    private final Timer flushTimer;
+
+    /**
+     * Creates a model that loads pages of 100 rows on a shared background thread and caches up to 20 pages.
+     * @param source Where the rows come from.
+     * @param columnNames The column headers.
+     * @param columnClasses The type of each column's values, for choosing renderers.
+     */
+    protected LazyTableModel(RowSource<T> source, String[] columnNames, Class<?>[] columnClasses) {
+        this(source, columnNames, columnClasses, 100, 20, SHARED_LOADER);
+    }
+
+    /**
+     * Creates a model.
+     * @param source Where the rows come from.
+     * @param columnNames The column headers.
+     * @param columnClasses The type of each column's values, for choosing renderers.
+     * @param pageSize The number of rows loaded at a time.
+     * @param maxCachedPages The most pages kept in memory; at least the visible pages plus one on each side.
+     * @param loader Runs the queries; it should run them in submission order.
+     */
+    protected LazyTableModel(RowSource<T> source, String[] columnNames, Class<?>[] columnClasses,
+                             int pageSize, int maxCachedPages, Executor loader) {
+        if (Validator.isNull(source) || Validator.isNull(columnNames) || Validator.isNull(columnClasses)
+                || Validator.isNull(loader)) {
+            throw new IllegalArgumentException("Source, columns and loader cannot be null.");
+        }
+        if (columnNames.length != columnClasses.length) {
+            throw new IllegalArgumentException("Every column needs a name and a class.");
+        }
+        if (pageSize <= 0 || maxCachedPages < 3) {
+            throw new IllegalArgumentException("Page size must be positive and at least 3 pages must be cached.");
+        }
+        this.source = source;
+        this.columnNames = columnNames.clone();
+        this.columnClasses = columnClasses.clone();
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.loader = loader;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                if (size() <= LazyTableModel.this.maxCachedPages) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+        this.flushTimer = new Timer(UPDATE_DELAY_MILLIS, e -> flush());
+        flushTimer.setRepeats(false);
+    }
+
+    /**
+     * @param row A row.
+     * @param column The column index.
+     * @return The value shown in that cell.
+     */
+    protected abstract Object valueAt(T row, int column);
+
+    /**
+     * Identifies a row across reloads, so {@link #update(Object)} can find it. Defaults to the row itself.
+     * @param row A row.
+     * @return Its key.
+     */
+    protected Object rowKey(T row) {
+        return row;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columnClasses[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        T value = getRow(row);
+        return value == null ? null : valueAt(value, column);
+    }
+
+    /**
+     * Returns a row if its page is in memory, and otherwise starts loading the page.
+     * @param row The row number.
+     * @return The row, or null if it is not loaded yet.
+     */
+    public T getRow(int row) {
+        int page = row / pageSize;
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        int offset = row - page * pageSize;
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    /**
+     * Reloads the row count and the cached pages in the background, then redraws the table.
+     * Until then the table keeps showing the old rows.
+     */
+    public void refresh() {
+        if (refreshing) {
+            refreshAgain = true; // After the running refresh, which may have read the source too early
+            return;
+        }
+        refreshing = true;
+        int gen = ++generation;
+        loading.clear(); // Loads already queued belong to the old generation and will be ignored
+        List<Integer> cached = new ArrayList<>(pages.keySet());
+        loader.execute(() -> {
+            try {
+                int count = source.rowCount();
+                Map<Integer, List<T>> fresh = new HashMap<>();
+                for (int page : cached) {
+                    if (page * pageSize < count && isWanted(page)) {
+                        fresh.put(page, new ArrayList<>(source.rows(page * pageSize, pageSize)));
+                    }
+                }
+                SwingUtilities.invokeLater(() -> refreshed(gen, count, fresh));
+            } catch (DineSmartException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not refresh the table.", e);
+                SwingUtilities.invokeLater(() -> refreshed(gen, -1, null));
+            }
+        });
+    }
+
+    /**
+     * Replaces a row, if it is in memory, with a newer version of it (same {@link #rowKey(Object)}).
+     * Updates are applied in batches a fraction of a second later; for the same row only the last one counts.
+     * @param row The new version of the row.
+     */
+    public void update(T row) {
+        pendingUpdates.put(rowKey(row), row);
+        scheduleFlush();
+    }
+
+    /**
+     * Schedules a {@link #refresh()}, for changes that add, remove or move rows.
+     * Like updates, several calls in quick succession lead to one refresh.
+     */
+    public void invalidate() {
+        refreshPending = true;
+        scheduleFlush();
+    }
+
+    /**
+     * Loads the pages around the visible rows of {@code table} as it scrolls, and skips loading
+     * pages that were scrolled past before their turn came. The table must be in a scroll pane.
+     * @param table A table showing this model.
+     */
+    public void followViewport(JTable table) {
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, table);
+        if (viewport == null) {
+            throw new IllegalStateException("The table must be inside a scroll pane.");
+        }
+        viewport.addChangeListener(e -> viewportChanged(table, viewport));
+        viewportChanged(table, viewport);
+    }
+
+    private void viewportChanged(JTable table, JViewport viewport) {
+        Rectangle view = viewport.getViewRect();
+        int first = table.rowAtPoint(view.getLocation());
+        int last = table.rowAtPoint(new Point(view.x, view.y + view.height - 1));
+        if (first < 0) {
+            first = 0;
+        }
+        if (last < 0) {
+            last = rowCount - 1; // The view reaches past the last row
+        }
+        wantedFirstPage = Math.max(0, first / pageSize - PREFETCH_PAGES);
+        wantedLastPage = Math.max(0, last) / pageSize + PREFETCH_PAGES;
+        for (int page = wantedFirstPage; page <= wantedLastPage && page * pageSize < rowCount; page++) {
+            if (!pages.containsKey(page)) {
+                load(page);
+            }
+        }
+    }
+
+    private boolean isWanted(int page) {
+        return page >= wantedFirstPage && page <= wantedLastPage;
+    }
+
+    private void load(int page) {
+        if (page * pageSize >= rowCount || !loading.add(page)) {
+            return;
+        }
+        int gen = generation;
+        loader.execute(() -> {
+            if (!isWanted(page)) {
+                SwingUtilities.invokeLater(() -> loaded(gen, page, null)); // Scrolled away while queued
+                return;
+            }
+            List<T> rows = null;
+            try {
+                rows = new ArrayList<>(source.rows(page * pageSize, pageSize)); // Our own copy, updated in place
+            } catch (DineSmartException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not load rows " + page * pageSize + " to "
+                                          + (page * pageSize + pageSize - 1) + ".", e);
+            }
+            List<T> result = rows;
+            SwingUtilities.invokeLater(() -> loaded(gen, page, result));
+        });
+    }
+
+    private void loaded(int gen, int page, List<T> rows) {
+        if (gen != generation) {
+            return; // A refresh started after this load and reloads the page itself
+        }
+        loading.remove(page);
+        if (rows == null) {
+            return; // Loaded again the next time it is painted
+        }
+        pages.put(page, rows);
+        index(page, rows);
+        int first = page * pageSize;
+        int last = Math.min(rowCount, first + rows.size()) - 1;
+        if (first <= last) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    private void refreshed(int gen, int count, Map<Integer, List<T>> fresh) {
+        refreshing = false;
+        if (gen == generation && fresh != null) {
+            generation++; // Drop loads that overlapped the refresh; they may predate the new row count
+            loading.clear();
+            pages.clear();
+            rowIndex.clear();
+            for (Map.Entry<Integer, List<T>> entry : fresh.entrySet()) {
+                pages.put(entry.getKey(), entry.getValue());
+                index(entry.getKey(), entry.getValue());
+            }
+            rowCount = count;
+            fireTableDataChanged();
+        }
+        if (refreshAgain) {
+            refreshAgain = false;
+            refresh();
+        }
+    }
+
+    private void index(int page, List<T> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            rowIndex.put(rowKey(rows.get(i)), page * pageSize + i);
+        }
+    }
+
+    private void unindex(int page, List<T> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            rowIndex.remove(rowKey(rows.get(i)), page * pageSize + i);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(flushTimer::start);
+        }
+    }
+
+    // Applies the collected updates on the event dispatch thread
+    private void flush() {
+        flushScheduled.set(false);
+        if (refreshPending) {
+            refreshPending = false;
+            pendingUpdates.clear(); // The refresh reloads them
+            refresh();
+            return;
+        }
+        List<Integer> changed = new ArrayList<>();
+        for (Map.Entry<Object, T> entry : pendingUpdates.entrySet()) {
+            // Conditional remove, so an update that arrives meanwhile stays for the next flush
+            if (!pendingUpdates.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            Integer row = rowIndex.get(entry.getKey());
+            List<T> rows = row == null ? null : pages.get(row / pageSize);
+            if (rows != null) {
+                rows.set(row % pageSize, entry.getValue());
+                changed.add(row);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        Collections.sort(changed);
+        int start = changed.get(0);
+        int end = start;
+        for (int i = 1; i < changed.size(); i++) {
+            int row = changed.get(i);
+            if (row > end + 1) {
+                fireTableRowsUpdated(start, end);
+                start = row;
+            }
+            end = row;
+        }
+        fireTableRowsUpdated(start, end);
+    }
+}
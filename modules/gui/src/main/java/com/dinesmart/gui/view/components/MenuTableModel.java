@@ -0,0 +1,54 @@
+package com.dinesmart.gui.view.components;
+
+import com.dinesmart.core.model.entities.MenuItem;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.service.MenuItemService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lazily loaded table of menu items.
+ * Demonstrates:
+ * - A {@link LazyTableModel} over an in-memory snapshot, so only the visible rows are wrapped for display.
+ *
+ * Call {@link #update(Object)} after editing an item, and {@link #invalidate()} after adding or deleting one.
+ */
+public class MenuTableModel extends LazyTableModel<MenuItem> {
+
+    private static final long serialVersionUID = 1L;
+    private static final String[] COLUMNS = {"Id", "Name", "Description", "Price", "Category", "Available"};
+    private static final Class<?>[] COLUMN_CLASSES = {
+        Integer.class, String.class, String.class, Money.class, String.class, Boolean.class
+    };
+
+    /**
+     * @param menuItemService The menu, read in name order.
+     */
+    public MenuTableModel(MenuItemService menuItemService) {
+        super(RowSource.of(() -> {
+            List<MenuItem> items = new ArrayList<>(menuItemService.getAllMenuItems());
+            items.sort(Comparator.comparing(MenuItem::name));
+            return items;
+        }), COLUMNS, COLUMN_CLASSES);
+    }
+
+    @Override
+    protected Object valueAt(MenuItem item, int column) {
+        return switch (column) {
+            case 0 -> item.id();
+            case 1 -> item.name();
+            case 2 -> item.description();
+            case 3 -> item.price();
+            case 4 -> item.category().name();
+            case 5 -> item.available();
+            default -> throw new IndexOutOfBoundsException("No column " + column);
+        };
+    }
+
+    @Override
+    protected Object rowKey(MenuItem item) {
+        return item.id();
+    }
+}
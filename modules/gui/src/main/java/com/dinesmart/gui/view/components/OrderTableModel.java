@@ -0,0 +1,162 @@
+package com.dinesmart.gui.view.components;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+import com.dinesmart.core.model.entities.Money;
+import com.dinesmart.core.model.entities.Order;
+import com.dinesmart.core.model.entities.OrderLines;
+import com.dinesmart.core.model.entities.OrderStatus;
+import com.dinesmart.core.service.OrderService;
+import com.dinesmart.core.service.events.OrderEvent;
+import com.dinesmart.data.dao.OrderDAO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lazily loaded table of orders that stays current by subscribing to order events.
+ * Demonstrates:
+ * - Implementing `Flow.Subscriber` to turn pushed events into coalesced table updates.
+ * - Static factory methods for the two kinds of {@link RowSource}: in memory and in the database.
+ *
+ * Typical wiring, on the event dispatch thread:
+ * <pre>
+ * OrderTableModel model = new OrderTableModel(OrderTableModel.history(orderDAO, from, to));
+ * JTable table = new JTable(model);
+ * panel.add(new JScrollPane(table));
+ * model.followViewport(table);
+ * model.refresh();
+ * publisher.subscribe(model);
+ * </pre>
+ */
+public class OrderTableModel extends LazyTableModel<Order> implements Flow.Subscriber<OrderEvent> {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(OrderTableModel.class.getName());
+    private static final String[] COLUMNS = {"Order", "Table", "Time", "Status", "Items", "Total"};
+    private static final Class<?>[] COLUMN_CLASSES = {
+        Integer.class, Integer.class, LocalDateTime.class, OrderStatus.class, Integer.class, Money.class
+    };
+
+    // The source of activeOrders(), recognized so that closed orders are dropped from the view
+    private static final class ActiveOrders implements RowSource<Order> {
+        private final RowSource<Order> snapshot;
+
+        ActiveOrders(OrderService orderService) {
+            this.snapshot = RowSource.of(() -> {
+                List<Order> orders = new ArrayList<>(orderService.getAllActiveOrders());
+                orders.sort(Comparator.comparingInt(Order::id));
+                return orders;
+            });
+        }
+
+        @Override
+        public int rowCount() throws DineSmartException {
+            return snapshot.rowCount();
+        }
+
+        @Override
+        public List<Order> rows(int offset, int limit) throws DineSmartException {
+            return snapshot.rows(offset, limit);
+        }
+    }
+
+    private final boolean activeOnly;
+
+    /**
+     * @param source Where the orders come from, e.g. {@link #activeOrders(OrderService)} or
+     *               {@link #history(OrderDAO, LocalDateTime, LocalDateTime)}.
+     */
+    public OrderTableModel(RowSource<Order> source) {
+        super(source, COLUMNS, COLUMN_CLASSES);
+        this.activeOnly = source instanceof ActiveOrders;
+    }
+
+    /**
+     * @param orderService The service holding the orders in progress.
+     * @return A source of the active orders, ordered by id. A model over it removes orders as soon
+     *         as they are paid or cancelled.
+     */
+    public static RowSource<Order> activeOrders(OrderService orderService) {
+        return new ActiveOrders(orderService);
+    }
+
+    /**
+     * @param orderDAO The stored orders.
+     * @param from The inclusive lower bound of the order time.
+     * @param to The exclusive upper bound of the order time.
+     * @return A source of the orders placed in the range, ordered by id, queried one page at a time.
+     */
+    public static RowSource<Order> history(OrderDAO orderDAO, LocalDateTime from, LocalDateTime to) {
+        return new RowSource<>() {
+            @Override
+            public int rowCount() throws DineSmartException {
+                return orderDAO.countBetween(from, to);
+            }
+
+            @Override
+            public List<Order> rows(int offset, int limit) throws DineSmartException {
+                return orderDAO.findBetween(from, to, offset, limit);
+            }
+        };
+    }
+
+    @Override
+    protected Object valueAt(Order order, int column) {
+        return switch (column) {
+            case 0 -> order.id();
+            case 1 -> order.tableId();
+            case 2 -> order.orderTime();
+            case 3 -> order.status();
+            case 4 -> itemCount(order.lines());
+            case 5 -> order.totalAmount();
+            default -> throw new IndexOutOfBoundsException("No column " + column);
+        };
+    }
+
+    @Override
+    protected Object rowKey(Order order) {
+        return order.id();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE); // Updates are coalesced here, so never hold the publisher back
+    }
+
+    @Override
+    public void onNext(OrderEvent event) {
+        switch (event.type()) {
+            case ITEMS_ADDED, STATUS_CHANGED -> {
+                if (activeOnly && event.order().status().isTerminal()) {
+                    invalidate(); // Paid or cancelled: the row leaves the active view
+                } else {
+                    update(event.order());
+                }
+            }
+            case CREATED, DELETED -> invalidate(); // Rows are added or removed, so positions change
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        LOGGER.log(Level.WARNING, "Order events stopped; the order table is no longer updated.", throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        // The publisher was closed; the table keeps its last contents
+    }
+
+    private static int itemCount(OrderLines lines) {
+        int count = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            count += lines.quantityAt(i);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dinesmart.gui.view.components;
+
+import com.dinesmart.core.exceptions.DineSmartException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Where a {@link LazyTableModel} loads its rows from, one page at a time.
+ * Both methods are called on a background thread, never on the event dispatch thread.
+ * Demonstrates:
+ * - An interface with a static factory method returning an anonymous implementation.
+ *
+ * @param <T> The row type.
+ */
+public interface RowSource<T> {
+
+    /**
+     * @return The current number of rows.
+     * @throws DineSmartException if the rows could not be counted.
+     */
+    int rowCount() throws DineSmartException;
+
+    /**
+     * @param offset The index of the first row.
+     * @param limit The maximum number of rows to return.
+     * @return The rows from {@code offset}; fewer than {@code limit} at the end.
+     * @throws DineSmartException if the rows could not be loaded.
+     */
+    List<T> rows(int offset, int limit) throws DineSmartException;
+
+    /**
+     * Creates a source for data that is already in memory. Each {@link #rowCount()} takes a new
+     * snapshot from {@code snapshot}, and pages are served from the latest one, so the model
+     * only has to wrap (not copy) the rows it displays.
+     *
+     * @param snapshot Returns the current rows; called on the loader thread.
+     * @param <T> The row type.
+     * @return A new source.
+     */
+    static <T> RowSource<T> of(Supplier<? extends List<T>> snapshot) {
+        return new RowSource<>() {
+            private volatile List<T> rows = List.of();
+
+            @Override
+            public int rowCount() {
+                rows = snapshot.get();
+                return rows.size();
+            }
+
+            @Override
+            public List<T> rows(int offset, int limit) {
+                List<T> current = rows;
+                int from = Math.min(offset, current.size());
+                return current.subList(from, Math.min(current.size(), from + limit));
+            }
+        };
+    }
+}
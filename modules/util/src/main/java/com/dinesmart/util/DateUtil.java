@@ -15,6 +15,7 @@ import java.util.Optional;
  * - `DateTimeFormatter` for localized date/time formatting
  * - `Locale` for internationalization
  * - `Optional` for safe return of potentially null values.
+ * Formatters are cached by {@link LocalizedFormats} rather than built on every call.
  */
 public final class DateUtil { // 'final' to prevent inheritance, utility class pattern
 
@@ -30,12 +31,11 @@ public final class DateUtil { // 'final' to prevent inheritance, utility class p
      */
     public static String formatCurrentDateTime() {
         // Get the current date and time in the system default timezone
-        ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+        ZoneId zone = ZoneId.systemDefault();
+        ZonedDateTime now = ZonedDateTime.now(zone);
 
-        // Use FormatStyle.LONG for a more complete date and time format
-        DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG);
-
-        return now.format(formatter);
+        // Use FormatStyle.LONG for a more complete date and time format; the formatter is cached
+        return LocalizedFormats.formatDateTime(now, Locale.getDefault(Locale.Category.FORMAT), zone, FormatStyle.LONG);
     }
 
     /**
@@ -52,14 +52,8 @@ public final class DateUtil { // 'final' to prevent inheritance, utility class p
             return Optional.empty(); // Return empty Optional for invalid inputs
         }
 
-        // Convert LocalDateTime to ZonedDateTime in the specified zone
-        ZonedDateTime zonedDateTime = dateTime.atZone(zoneId);
-
-        // Create a localized formatter
-        DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM)
-                                                .withLocale(locale);
-
-        return Optional.of(zonedDateTime.format(formatter));
+        // The cached formatter carries the zone, so the LocalDateTime is read as being in that zone
+        return Optional.of(LocalizedFormats.formatDateTime(dateTime, locale, zoneId, FormatStyle.MEDIUM));
     }
 
     /**
@@ -73,7 +67,8 @@ public final class DateUtil { // 'final' to prevent inheritance, utility class p
 
     /**
      * Parses a date string into a LocalDateTime using a default format.
-     * Demonstrates basic exception handling for parsing.
+     * Malformed input is an expected outcome, so it is neither thrown nor logged;
+     * use {@link LocalizedFormats#parseDateTime(CharSequence, DateTimeFormatter)} to learn where parsing failed.
      *
      * @param dateString The date string to parse.
      * @return An Optional containing the parsed LocalDateTime, or empty if parsing fails.
@@ -81,11 +76,6 @@ public final class DateUtil { // 'final' to prevent inheritance, utility class p
     public static Optional<LocalDateTime> parseDateTime(String dateString) {
         // Define a common format, or accept a formatter as a parameter for more flexibility
         DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME; // e.g., "yyyy-MM-ddTHH:mm:ss"
-        try {
-            return Optional.of(LocalDateTime.parse(dateString, formatter));
-        } catch (java.time.format.DateTimeParseException e) {
-            System.err.println("Error parsing date: " + dateString + " - " + e.getMessage());
-            return Optional.empty();
-        }
+        return LocalizedFormats.parseDateTime(dateString, formatter).toOptional();
     }
 }
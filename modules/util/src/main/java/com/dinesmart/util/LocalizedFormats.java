@@ -0,0 +1,224 @@
+package com.dinesmart.util;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached, thread-safe localized formatting of dates and currency amounts for the UI.
+ * Demonstrates:
+ * - `DateTimeFormatter` (immutable, thread-safe) cached per locale, zone and `FormatStyle`.
+ * - `DecimalFormat` / `DecimalFormatSymbols` (not thread-safe) used once per locale and currency to
+ *   extract an immutable pattern, which then renders amounts without further allocation.
+ * - `ConcurrentHashMap.computeIfAbsent` as a cache, with a single-entry fast path for repeated calls.
+ * - Formatting into a caller-supplied `StringBuilder` to avoid intermediate strings.
+ *
+ * The GUI's clock and order tables render the same few (locale, zone, style) combinations
+ * thousands of times per second, so building a formatter per call is avoided.
+ */
+public final class LocalizedFormats { // 'final' to prevent inheritance, utility class pattern
+
+    // Cache key for date-time formatters
+    private record DateKey(Locale locale, ZoneId zone, FormatStyle style) {
+    }
+
+    // A currency layout extracted from DecimalFormat, e.g. "-$1,234.50" (en_US) or "-1 234,50 $US" (fr_FR)
+    private record CurrencyPattern(Locale locale, Currency currency,
+                                   String positivePrefix, String positiveSuffix,
+                                   String negativePrefix, String negativeSuffix,
+                                   char zeroDigit, char decimalSeparator, char groupingSeparator,
+                                   int groupingSize, int fractionDigits) {
+    }
+
+    // The most recently used date-time formatter, together with its key
+    private record DateEntry(DateKey key, DateTimeFormatter formatter) {
+    }
+
+    private static final ConcurrentHashMap<DateKey, DateTimeFormatter> DATE_FORMATTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Locale, ConcurrentHashMap<Currency, CurrencyPattern>> CURRENCY_PATTERNS =
+        new ConcurrentHashMap<>();
+
+    // Most callers ask for the same combination over and over; these skip the map lookup
+    private static volatile DateEntry lastDate;
+    private static volatile CurrencyPattern lastCurrency;
+
+    // Private constructor to prevent instantiation for a utility class
+    private LocalizedFormats() {
+        throw new AssertionError("LocalizedFormats cannot be instantiated.");
+    }
+
+    /**
+     * Returns a cached localized date-time formatter that converts to {@code zone} when formatting.
+     *
+     * @param locale The locale.
+     * @param zone   The time zone shown to the user.
+     * @param style  The format style.
+     * @return A thread-safe formatter.
+     */
+    public static DateTimeFormatter dateTimeFormatter(Locale locale, ZoneId zone, FormatStyle style) {
+        DateEntry last = lastDate;
+        if (last != null && last.key().style() == style && last.key().locale().equals(locale)
+            && last.key().zone().equals(zone)) {
+            return last.formatter();
+        }
+        DateKey key = new DateKey(locale, zone, style);
+        DateTimeFormatter formatter = DATE_FORMATTERS.computeIfAbsent(key, k ->
+            DateTimeFormatter.ofLocalizedDateTime(k.style()).withLocale(k.locale()).withZone(k.zone()));
+        lastDate = new DateEntry(key, formatter);
+        return formatter;
+    }
+
+    /**
+     * Formats a date-time as seen in {@code zone}. A `LocalDateTime` is interpreted as being in {@code zone}.
+     *
+     * @param dateTime The date-time to format.
+     * @param locale   The locale.
+     * @param zone     The time zone.
+     * @param style    The format style.
+     * @return The formatted text.
+     */
+    public static String formatDateTime(TemporalAccessor dateTime, Locale locale, ZoneId zone, FormatStyle style) {
+        return dateTimeFormatter(locale, zone, style).format(dateTime);
+    }
+
+    /**
+     * Appends a formatted date-time to {@code out}; reusing the builder avoids allocating a string per call.
+     *
+     * @param dateTime The date-time to format.
+     * @param locale   The locale.
+     * @param zone     The time zone.
+     * @param style    The format style.
+     * @param out      The builder to append to.
+     * @return {@code out}, for chaining.
+     */
+    public static StringBuilder formatDateTime(TemporalAccessor dateTime, Locale locale, ZoneId zone,
+                                               FormatStyle style, StringBuilder out) {
+        dateTimeFormatter(locale, zone, style).formatTo(dateTime, out);
+        return out;
+    }
+
+    /**
+     * Formats an amount given in minor units (e.g. cents) the way {@link NumberFormat#getCurrencyInstance(Locale)}
+     * would, e.g. {@code 123450} USD as "$1,234.50" in English and "1 234,50 $US" in French.
+     * Unlike `NumberFormat.setCurrency`, the currency's own number of fraction digits is always
+     * used, so yen have no decimals even in an English locale.
+     *
+     * @param minorUnits The amount in minor units of {@code currency}.
+     * @param currency   The currency.
+     * @param locale     The locale.
+     * @return The formatted amount.
+     */
+    public static String formatCurrency(long minorUnits, Currency currency, Locale locale) {
+        return formatCurrency(minorUnits, currency, locale, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Appends a formatted currency amount to {@code out} without allocating.
+     *
+     * @param minorUnits The amount in minor units of {@code currency}.
+     * @param currency   The currency.
+     * @param locale     The locale.
+     * @param out        The builder to append to.
+     * @return {@code out}, for chaining.
+     */
+    public static StringBuilder formatCurrency(long minorUnits, Currency currency, Locale locale, StringBuilder out) {
+        CurrencyPattern pattern = currencyPattern(currency, locale);
+        boolean negative = minorUnits < 0;
+        long remaining = negative ? -minorUnits : minorUnits; // Read as unsigned, so Long.MIN_VALUE works too
+        out.append(negative ? pattern.negativePrefix() : pattern.positivePrefix());
+
+        // Digits are produced from least to most significant, then reversed in place
+        int start = out.length();
+        for (int i = 0; i < pattern.fractionDigits(); i++) {
+            out.append((char) (pattern.zeroDigit() + Long.remainderUnsigned(remaining, 10)));
+            remaining = Long.divideUnsigned(remaining, 10);
+        }
+        if (pattern.fractionDigits() > 0) {
+            out.append(pattern.decimalSeparator());
+        }
+        int digits = 0;
+        do {
+            if (pattern.groupingSize() > 0 && digits > 0 && digits % pattern.groupingSize() == 0) {
+                out.append(pattern.groupingSeparator());
+            }
+            out.append((char) (pattern.zeroDigit() + Long.remainderUnsigned(remaining, 10)));
+            remaining = Long.divideUnsigned(remaining, 10);
+            digits++;
+        } while (remaining != 0);
+        for (int i = start, j = out.length() - 1; i < j; i++, j--) {
+            char c = out.charAt(i);
+            out.setCharAt(i, out.charAt(j));
+            out.setCharAt(j, c);
+        }
+
+        out.append(negative ? pattern.negativeSuffix() : pattern.positiveSuffix());
+        return out;
+    }
+
+    /**
+     * Parses a date-time without throwing or logging on malformed input.
+     * Exceptions are only created for text that is well-formed but not a valid date (e.g. February 30).
+     *
+     * @param text      The text to parse; null counts as a failure at index 0.
+     * @param formatter The expected format, e.g. {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
+     * @return The parsed value, or the index at which parsing failed.
+     */
+    public static ParseResult<LocalDateTime> parseDateTime(CharSequence text, DateTimeFormatter formatter) {
+        if (text == null) {
+            return ParseResult.failure(0);
+        }
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(text, position) == null || position.getErrorIndex() >= 0) {
+            return ParseResult.failure(position.getErrorIndex());
+        }
+        if (position.getIndex() < text.length()) {
+            return ParseResult.failure(position.getIndex()); // Trailing characters
+        }
+        try {
+            return ParseResult.success(LocalDateTime.parse(text, formatter));
+        } catch (DateTimeException e) {
+            return ParseResult.failure(0);
+        }
+    }
+
+    private static CurrencyPattern currencyPattern(Currency currency, Locale locale) {
+        CurrencyPattern last = lastCurrency;
+        if (last != null && last.currency() == currency && last.locale().equals(locale)) {
+            return last;
+        }
+        CurrencyPattern pattern = CURRENCY_PATTERNS
+            .computeIfAbsent(locale, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(currency, c -> extractPattern(c, locale));
+        lastCurrency = pattern;
+        return pattern;
+    }
+
+    private static CurrencyPattern extractPattern(Currency currency, Locale locale) {
+        NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+        format.setCurrency(currency);
+        int fractionDigits = Math.max(0, currency.getDefaultFractionDigits());
+        if (!(format instanceof DecimalFormat decimal)) {
+            // Not expected from the JDK providers; fall back to a plain "1234.50 EUR" layout
+            return new CurrencyPattern(locale, currency, "", " " + currency.getCurrencyCode(),
+                                       "-", " " + currency.getCurrencyCode(), '0', '.', ',', 0, fractionDigits);
+        }
+        DecimalFormatSymbols symbols = decimal.getDecimalFormatSymbols();
+        return new CurrencyPattern(locale, currency,
+                                   decimal.getPositivePrefix(), decimal.getPositiveSuffix(),
+                                   decimal.getNegativePrefix(), decimal.getNegativeSuffix(),
+                                   symbols.getZeroDigit(), symbols.getMonetaryDecimalSeparator(),
+                                   symbols.getGroupingSeparator(),
+                                   decimal.isGroupingUsed() ? decimal.getGroupingSize() : 0,
+                                   fractionDigits);
+    }
+}
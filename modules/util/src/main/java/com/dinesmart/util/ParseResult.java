@@ -0,0 +1,55 @@
+package com.dinesmart.util;
+
+import java.util.Optional;
+
+/**
+ * The outcome of parsing user input: either a value or the position where parsing failed.
+ * Demonstrates:
+ * - A generic `record` with static factory methods.
+ * - Reporting expected failures as values instead of exceptions or log output.
+ *
+ * @param value      The parsed value, or null on failure.
+ * @param errorIndex The index in the input where parsing failed, or -1 on success.
+ * @param <T>        The type of the parsed value.
+ */
+public record ParseResult<T>(T value, int errorIndex) {
+
+    // Compact constructor for validation
+    public ParseResult {
+        if ((value == null) == (errorIndex < 0)) {
+            throw new IllegalArgumentException("A parse result has either a value or an error index.");
+        }
+    }
+
+    /**
+     * @param value The parsed value.
+     * @param <T> The type of the value.
+     * @return A successful result.
+     */
+    public static <T> ParseResult<T> success(T value) {
+        return new ParseResult<>(value, -1);
+    }
+
+    /**
+     * @param errorIndex Where in the input parsing failed.
+     * @param <T> The type of the value that could not be parsed.
+     * @return A failed result.
+     */
+    public static <T> ParseResult<T> failure(int errorIndex) {
+        return new ParseResult<>(null, Math.max(0, errorIndex));
+    }
+
+    /**
+     * @return true if a value was parsed.
+     */
+    public boolean isSuccess() {
+        return errorIndex < 0;
+    }
+
+    /**
+     * @return The value, or empty on failure.
+     */
+    public Optional<T> toOptional() {
+        return Optional.ofNullable(value);
+    }
+}
@@ -4,6 +4,7 @@ package com.dinesmart.util;
  * Utility class for common validation checks.
  * Demonstrates:
  * - Basic null and empty string checks.
+ * - Allocation-free checks: record constructors call these on every update, so they must not create garbage.
  */
 public final class Validator { // 'final' to prevent inheritance, utility class pattern
 
@@ -12,13 +13,22 @@ public final class Validator { // 'final' to prevent inheritance, utility class
     }
 
     /**
-     * Checks if a string is null or empty.
+     * Checks if a string is null, empty or only whitespace (as {@code String.trim()} defines it).
      *
      * @param str The string to check.
-     * @return true if the string is null or empty, false otherwise.
+     * @return true if the string is null or blank, false otherwise.
      */
     public static boolean isNullOrEmpty(String str) {
-        return str == null || str.trim().isEmpty();
+        if (str == null) {
+            return true;
+        }
+        // Same result as str.trim().isEmpty(), without allocating the trimmed copy
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -40,4 +50,14 @@ public final class Validator { // 'final' to prevent inheritance, utility class
     public static boolean isPositive(double number) {
         return number > 0;
     }
+
+    /**
+     * Checks if a whole number is positive, e.g. an amount in minor currency units.
+     *
+     * @param number The number to check.
+     * @return true if the number is positive (greater than 0), false otherwise.
+     */
+    public static boolean isPositive(long number) {
+        return number > 0;
+    }
 }
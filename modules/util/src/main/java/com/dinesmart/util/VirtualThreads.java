@@ -0,0 +1,67 @@
+package com.dinesmart.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates thread-per-task executors backed by virtual threads when the runtime has them.
+ * Demonstrates:
+ * - `MethodHandles.Lookup.findStatic` to call an API that may not exist at compile time.
+ * - Graceful degradation: on Java 17-20 a cached pool of daemon platform threads is used instead.
+ *
+ * The project compiles against Java 17, where `Executors.newVirtualThreadPerTaskExecutor()`
+ * does not exist yet; on Java 21 and later it is looked up once and used.
+ */
+public final class VirtualThreads { // 'final' to prevent inheritance, utility class pattern
+
+    private static final MethodHandle NEW_VIRTUAL_EXECUTOR = findVirtualExecutorFactory();
+
+    // Private constructor to prevent instantiation for a utility class
+    private VirtualThreads() {
+        throw new AssertionError("VirtualThreads cannot be instantiated.");
+    }
+
+    /**
+     * @return true if executors from {@link #newPerTaskExecutor(String)} run tasks on virtual threads.
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts a new thread for each task: a virtual thread if supported,
+     * otherwise a (reused) daemon platform thread.
+     *
+     * @param fallbackName The name prefix of the platform threads, if virtual threads are not supported.
+     * @return A new executor; shut it down when done.
+     */
+    public static ExecutorService newPerTaskExecutor(String fallbackName) {
+        if (NEW_VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invokeExact();
+            } catch (Throwable e) {
+                // Not expected: the factory takes no arguments and declares no checked exceptions
+                throw new IllegalStateException("Could not create a virtual thread executor.", e);
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, fallbackName + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                                                           MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null; // Java 17-20
+        }
+    }
+}